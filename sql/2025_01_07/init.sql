@@ -15,6 +15,28 @@
 /*!40101 SET @OLD_SQL_MODE=@@SQL_MODE, SQL_MODE='NO_AUTO_VALUE_ON_ZERO' */;
 /*!40111 SET @OLD_SQL_NOTES=@@SQL_NOTES, SQL_NOTES=0 */;
 
+--
+-- Table structure for table `audit_log`
+--
+
+DROP TABLE IF EXISTS `audit_log`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `audit_log` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `entity_type` varchar(30) NOT NULL,
+  `entity_id` varchar(30) NOT NULL,
+  `action` varchar(10) NOT NULL,
+  `username` varchar(125) NOT NULL,
+  `changed_at` datetime(6) NOT NULL,
+  `changes` longtext,
+  PRIMARY KEY (`id`),
+  KEY `idx_audit_entity` (`entity_type`,`entity_id`,`changed_at`),
+  KEY `idx_audit_user` (`username`,`changed_at`),
+  KEY `idx_audit_changed_at` (`changed_at`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `bidlist`
 --
@@ -45,7 +67,34 @@ CREATE TABLE `bidlist` (
   `status` varchar(10) DEFAULT NULL,
   `trader` varchar(125) DEFAULT NULL,
   `type` varchar(30) NOT NULL,
-  PRIMARY KEY (`bid_list_id`)
+  `version` bigint NOT NULL DEFAULT '0',
+  PRIMARY KEY (`bid_list_id`),
+  KEY `idx_bidlist_account_date` (`account`,`bid_list_date`),
+  KEY `idx_bidlist_book_date` (`book`,`bid_list_date`),
+  KEY `idx_bidlist_trader_date` (`trader`,`bid_list_date`),
+  KEY `idx_bidlist_status_date` (`status`,`bid_list_date`),
+  KEY `idx_bidlist_type_date` (`type`,`bid_list_date`),
+  KEY `idx_bidlist_date` (`bid_list_date`),
+  KEY `idx_bidlist_creation_date` (`creation_date`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `cache_invalidation`
+--
+
+DROP TABLE IF EXISTS `cache_invalidation`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `cache_invalidation` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `entity_type` varchar(125) NOT NULL,
+  `entity_id` varchar(64) DEFAULT NULL,
+  `change_type` varchar(10) NOT NULL,
+  `origin` varchar(64) NOT NULL,
+  `created_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_cache_invalidation_created_at` (`created_at`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -63,8 +112,73 @@ CREATE TABLE `curvepoint` (
   `curve_id` int NOT NULL,
   `term` double NOT NULL,
   `value` double NOT NULL,
+  `version` bigint NOT NULL DEFAULT '0',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UK3199atmgukekp0fcl5s2l66vx` (`curve_id`),
+  KEY `idx_curvepoint_as_of_date` (`as_of_date`),
+  KEY `idx_curvepoint_creation_date` (`creation_date`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `job`
+--
+
+DROP TABLE IF EXISTS `job`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `job` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `type` varchar(50) NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `parameters` longtext,
+  `submitted_by` varchar(125) DEFAULT NULL,
+  `total_items` bigint NOT NULL,
+  `processed_items` bigint NOT NULL DEFAULT '0',
+  `failed_items` bigint NOT NULL DEFAULT '0',
+  `resume_from` bigint NOT NULL DEFAULT '0',
+  `last_error` varchar(1000) DEFAULT NULL,
+  `cancel_requested` bit(1) NOT NULL DEFAULT b'0',
+  `created_at` datetime(6) NOT NULL,
+  `started_at` datetime(6) DEFAULT NULL,
+  `finished_at` datetime(6) DEFAULT NULL,
+  `owner` varchar(100) DEFAULT NULL,
+  `heartbeat_at` datetime(6) DEFAULT NULL,
   PRIMARY KEY (`id`),
-  UNIQUE KEY `UK3199atmgukekp0fcl5s2l66vx` (`curve_id`)
+  KEY `idx_job_status` (`status`,`id`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `journal_checkpoint`
+--
+
+DROP TABLE IF EXISTS `journal_checkpoint`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `journal_checkpoint` (
+  `name` varchar(50) NOT NULL,
+  `applied_sequence` bigint NOT NULL,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `journal_dead_letter`
+--
+
+DROP TABLE IF EXISTS `journal_dead_letter`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `journal_dead_letter` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `journal` varchar(50) NOT NULL,
+  `sequence` bigint NOT NULL,
+  `payload` longtext NOT NULL,
+  `error` varchar(1000) DEFAULT NULL,
+  `failed_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_dead_letter_entry` (`journal`,`sequence`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -81,7 +195,35 @@ CREATE TABLE `rating` (
   `fitch_rating` varchar(125) NOT NULL,
   `moodys_rating` varchar(125) NOT NULL,
   `order_number` int NOT NULL,
-  PRIMARY KEY (`id`)
+  `moodys_notch` int DEFAULT NULL,
+  `sandp_notch` int DEFAULT NULL,
+  `fitch_notch` int DEFAULT NULL,
+  `version` bigint NOT NULL DEFAULT '0',
+  PRIMARY KEY (`id`),
+  KEY `idx_rating_moodys_notch` (`moodys_notch`),
+  KEY `idx_rating_sandp_notch` (`sandp_notch`),
+  KEY `idx_rating_fitch_notch` (`fitch_notch`),
+  KEY `idx_rating_order_number` (`order_number`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `rating_history`
+--
+
+DROP TABLE IF EXISTS `rating_history`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `rating_history` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `rating_id` int NOT NULL,
+  `moodys_notch` int DEFAULT NULL,
+  `sandp_notch` int DEFAULT NULL,
+  `fitch_notch` int DEFAULT NULL,
+  `effective_date` datetime(6) NOT NULL,
+  `changed_by` varchar(125) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_rating_history_rating_date` (`rating_id`,`effective_date`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -100,10 +242,85 @@ CREATE TABLE `rulename` (
   `sql_part` varchar(125) NOT NULL,
   `sql_str` varchar(125) NOT NULL,
   `template` varchar(512) NOT NULL,
-  PRIMARY KEY (`id`)
+  `version` bigint NOT NULL DEFAULT '0',
+  PRIMARY KEY (`id`),
+  KEY `idx_rulename_name` (`name`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
+--
+-- Table structure for table `rule_violation`
+--
+
+DROP TABLE IF EXISTS `rule_violation`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `rule_violation` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `rule_id` int NOT NULL,
+  `rule_name` varchar(125) DEFAULT NULL,
+  `trade_id` int NOT NULL,
+  `detected_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_rule_violation_rule_trade` (`rule_id`,`trade_id`),
+  KEY `idx_rule_violation_trade` (`trade_id`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `scenario_set`
+--
+
+DROP TABLE IF EXISTS `scenario_set`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `scenario_set` (
+  `name` varchar(50) NOT NULL,
+  `axes` longtext NOT NULL,
+  `updated_by` varchar(125) DEFAULT NULL,
+  `updated_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `SPRING_SESSION`
+--
+
+DROP TABLE IF EXISTS `SPRING_SESSION`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `SPRING_SESSION` (
+  `PRIMARY_ID` char(36) NOT NULL,
+  `SESSION_ID` char(36) NOT NULL,
+  `CREATION_TIME` bigint NOT NULL,
+  `LAST_ACCESS_TIME` bigint NOT NULL,
+  `MAX_INACTIVE_INTERVAL` int NOT NULL,
+  `EXPIRY_TIME` bigint NOT NULL,
+  `PRINCIPAL_NAME` varchar(100) DEFAULT NULL,
+  PRIMARY KEY (`PRIMARY_ID`),
+  UNIQUE KEY `SPRING_SESSION_IX1` (`SESSION_ID`),
+  KEY `SPRING_SESSION_IX2` (`EXPIRY_TIME`),
+  KEY `SPRING_SESSION_IX3` (`PRINCIPAL_NAME`)
+) ENGINE=InnoDB ROW_FORMAT=DYNAMIC DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `SPRING_SESSION_ATTRIBUTES`
+--
+
+DROP TABLE IF EXISTS `SPRING_SESSION_ATTRIBUTES`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `SPRING_SESSION_ATTRIBUTES` (
+  `SESSION_PRIMARY_ID` char(36) NOT NULL,
+  `ATTRIBUTE_NAME` varchar(200) NOT NULL,
+  `ATTRIBUTE_BYTES` blob NOT NULL,
+  PRIMARY KEY (`SESSION_PRIMARY_ID`,`ATTRIBUTE_NAME`),
+  CONSTRAINT `SPRING_SESSION_ATTRIBUTES_FK` FOREIGN KEY (`SESSION_PRIMARY_ID`) REFERENCES `SPRING_SESSION` (`PRIMARY_ID`) ON DELETE CASCADE
+) ENGINE=InnoDB ROW_FORMAT=DYNAMIC DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `trade`
 --
@@ -130,11 +347,71 @@ CREATE TABLE `trade` (
   `side` varchar(125) DEFAULT NULL,
   `source_list_id` varchar(125) DEFAULT NULL,
   `status` varchar(10) DEFAULT NULL,
-  `trade_date` datetime(6) DEFAULT NULL,
+  `trade_date` datetime(6) NOT NULL,
   `trader` varchar(125) DEFAULT NULL,
   `type` varchar(30) NOT NULL,
-  PRIMARY KEY (`trade_id`)
-) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+  `version` bigint NOT NULL DEFAULT '0',
+  PRIMARY KEY (`trade_id`,`trade_date`),
+  KEY `idx_trade_account_date` (`account`,`trade_date`),
+  KEY `idx_trade_book_date` (`book`,`trade_date`),
+  KEY `idx_trade_trader_date` (`trader`,`trade_date`),
+  KEY `idx_trade_status_date` (`status`,`trade_date`),
+  KEY `idx_trade_type_date` (`type`,`trade_date`),
+  KEY `idx_trade_date` (`trade_date`),
+  KEY `idx_trade_creation_date` (`creation_date`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci
+/*!50500 PARTITION BY RANGE  COLUMNS(trade_date)
+(PARTITION p_old VALUES LESS THAN ('2025-01-01'),
+ PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+ PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+ PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+ PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+ PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+ PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+ PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+ PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+ PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+ PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+ PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+ PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+ PARTITION p_future VALUES LESS THAN (MAXVALUE)) */;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `trade_archive`
+--
+
+DROP TABLE IF EXISTS `trade_archive`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `trade_archive` (
+  `trade_id` int NOT NULL,
+  `version` bigint NOT NULL,
+  `account` varchar(30) NOT NULL,
+  `type` varchar(30) NOT NULL,
+  `buy_quantity` double DEFAULT NULL,
+  `sell_quantity` double DEFAULT NULL,
+  `buy_price` double DEFAULT NULL,
+  `sell_price` double DEFAULT NULL,
+  `trade_date` datetime(6) DEFAULT NULL,
+  `security` varchar(125) DEFAULT NULL,
+  `status` varchar(10) DEFAULT NULL,
+  `trader` varchar(125) DEFAULT NULL,
+  `benchmark` varchar(125) DEFAULT NULL,
+  `book` varchar(125) DEFAULT NULL,
+  `creation_name` varchar(125) DEFAULT NULL,
+  `creation_date` datetime(6) DEFAULT NULL,
+  `revision_name` varchar(125) DEFAULT NULL,
+  `revision_date` datetime(6) DEFAULT NULL,
+  `deal_name` varchar(125) DEFAULT NULL,
+  `deal_type` varchar(125) DEFAULT NULL,
+  `source_list_id` varchar(125) DEFAULT NULL,
+  `side` varchar(125) DEFAULT NULL,
+  `archived_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`trade_id`),
+  KEY `idx_trade_archive_account_date` (`account`,`trade_date`),
+  KEY `idx_trade_archive_date` (`trade_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci ROW_FORMAT=COMPRESSED;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
 --
@@ -151,7 +428,10 @@ CREATE TABLE `users` (
   `role` varchar(125) NOT NULL,
   `username` varchar(125) NOT NULL,
   `github_id` varchar(255) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  `version` bigint NOT NULL DEFAULT '0',
+  PRIMARY KEY (`id`),
+  KEY `idx_users_username` (`username`),
+  KEY `idx_users_role` (`role`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -0,0 +1,46 @@
+package com.nnk.springboot.analytics;
+
+import com.nnk.springboot.domain.Trade;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * A dictionary-encoded text column of the {@link TradeColumnStore}, usable to filter and group trades.
+ */
+public enum Dimension {
+
+    ACCOUNT("account", Trade::getAccount),
+    BOOK("book", Trade::getBook),
+    TRADER("trader", Trade::getTrader),
+    SECURITY("security", Trade::getSecurity);
+
+    private final String parameter;
+    private final Function<Trade, String> accessor;
+
+    Dimension(String parameter, Function<Trade, String> accessor) {
+        this.parameter = parameter;
+        this.accessor = accessor;
+    }
+
+    /**
+     * @return the name of the column in request parameters
+     */
+    public String parameter() {
+        return parameter;
+    }
+
+    String of(Trade trade) {
+        return accessor.apply(trade);
+    }
+
+    /**
+     * @param parameter the name of a column in request parameters
+     * @return the dimension of that name
+     * @throws IllegalArgumentException if no dimension has that name
+     */
+    public static Dimension fromParameter(String parameter) {
+        return Arrays.stream(values()).filter(dimension -> dimension.parameter.equals(parameter)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Cannot group or filter on " + parameter));
+    }
+}
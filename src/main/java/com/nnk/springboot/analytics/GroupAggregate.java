@@ -0,0 +1,13 @@
+package com.nnk.springboot.analytics;
+
+/**
+ * The aggregate of a measure over a group of trades.
+ *
+ * @param key   the dimension value of the group, {@code null} for trades without one or when not grouping
+ * @param count the number of trades in the group
+ * @param sum   the sum of the measure, trades without a value left out
+ * @param min   the smallest value of the measure, or {@code null} if no trade has one
+ * @param max   the largest value of the measure, or {@code null} if no trade has one
+ */
+public record GroupAggregate(String key, long count, double sum, Double min, Double max) {
+}
@@ -0,0 +1,46 @@
+package com.nnk.springboot.analytics;
+
+import com.nnk.springboot.domain.Trade;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * A numeric column of the {@link TradeColumnStore}, usable in aggregates.
+ */
+public enum Measure {
+
+    BUY_QUANTITY("buyQuantity", Trade::getBuyQuantity),
+    SELL_QUANTITY("sellQuantity", Trade::getSellQuantity),
+    BUY_PRICE("buyPrice", Trade::getBuyPrice),
+    SELL_PRICE("sellPrice", Trade::getSellPrice);
+
+    private final String parameter;
+    private final Function<Trade, Double> accessor;
+
+    Measure(String parameter, Function<Trade, Double> accessor) {
+        this.parameter = parameter;
+        this.accessor = accessor;
+    }
+
+    /**
+     * @return the name of the column in request parameters
+     */
+    public String parameter() {
+        return parameter;
+    }
+
+    Double of(Trade trade) {
+        return accessor.apply(trade);
+    }
+
+    /**
+     * @param parameter the name of a column in request parameters
+     * @return the measure of that name
+     * @throws IllegalArgumentException if no measure has that name
+     */
+    public static Measure fromParameter(String parameter) {
+        return Arrays.stream(values()).filter(measure -> measure.parameter.equals(parameter)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Cannot aggregate " + parameter));
+    }
+}
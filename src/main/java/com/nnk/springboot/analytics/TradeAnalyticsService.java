@@ -0,0 +1,176 @@
+package com.nnk.springboot.analytics;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventConsumer;
+import com.nnk.springboot.event.OverflowPolicy;
+import com.nnk.springboot.event.RemoteChange;
+import com.nnk.springboot.repositories.TradeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers aggregate queries over the trades from a {@link TradeColumnStore} instead of the database.
+ *
+ * <p>The store is loaded at startup by reading the trade table in ID ranges, then refreshed from
+ * the committed trade changes delivered by the domain event bus. Trades changed while the load
+ * runs are read again once it is over, so a stale range read cannot win over a newer change.
+ * Trades changed by another application instance are read again from the database, and the whole
+ * store is reloaded when that instance could not tell which trades it changed. A reload fills a new
+ * store while queries keep reading the current one, then swaps it in.
+ */
+@Slf4j
+@Service
+public class TradeAnalyticsService implements DomainEventConsumer<Trade> {
+
+    private final TradeRepository tradeRepository;
+    private final int initialCapacity;
+    private final int chunkSize;
+    private volatile TradeColumnStore store;
+    private final Set<Integer> changedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+
+    /**
+     * Constructs a new instance of {@link TradeAnalyticsService}.
+     *
+     * @param tradeRepository the repository for accessing trade data
+     * @param initialCapacity the number of trades the store allocates room for up front
+     * @param chunkSize       the number of IDs read by each range query at startup
+     */
+    public TradeAnalyticsService(TradeRepository tradeRepository,
+                                 @Value("${analytics.trades.initial-capacity:65536}") int initialCapacity,
+                                 @Value("${analytics.trades.chunk-size:5000}") int chunkSize) {
+        this.tradeRepository = tradeRepository;
+        this.initialCapacity = initialCapacity;
+        this.chunkSize = chunkSize;
+        this.store = new TradeColumnStore(initialCapacity);
+    }
+
+    /**
+     * Loads the store from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        loading = true;
+        long start = System.nanoTime();
+        try {
+            TradeColumnStore loaded = new TradeColumnStore(initialCapacity);
+            int maxId = tradeRepository.findTopByOrderByTradeIdDesc().map(Trade::getTradeId).orElse(0);
+            for (int from = 0; from <= maxId; from += chunkSize) {
+                for (Trade trade : tradeRepository.findByTradeIdBetweenOrderByTradeIdAsc(from, from + chunkSize - 1)) {
+                    if (!changedDuringLoad.contains(trade.getTradeId())) {
+                        loaded.put(trade);
+                    }
+                }
+            }
+            // swapped while changes are still noted, so those applied to the old store are read again
+            store = loaded;
+        } finally {
+            loading = false;
+        }
+        List<Integer> changed = List.copyOf(changedDuringLoad);
+        changedDuringLoad.clear();
+        reload(changed);
+        log.info("Trade column store loaded in {} ms: {}", (System.nanoTime() - start) / 1_000_000, store.getStats());
+    }
+
+    private void reload(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Integer> missing = new HashSet<>(ids);
+        for (Trade trade : tradeRepository.findAllById(ids)) {
+            store.put(trade);
+            missing.remove(trade.getTradeId());
+        }
+        missing.forEach(store::remove);
+    }
+
+    /**
+     * Reads again the trade changed by another instance, or every trade if its ID is unknown.
+     *
+     * @param change the remote change
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChange change) {
+        if (change.entityType() != Trade.class) {
+            return;
+        }
+        if (change.id() == null) {
+            load();
+            return;
+        }
+        int id = Integer.parseInt(change.id());
+        if (loading) {
+            changedDuringLoad.add(id);
+        }
+        reload(List.of(id));
+    }
+
+    @Override
+    public String name() {
+        return "trade-analytics";
+    }
+
+    @Override
+    public Class<Trade> entityType() {
+        return Trade.class;
+    }
+
+    /**
+     * Waits rather than drops changes when the queue is full, as a dropped change would leave the
+     * store wrong until the next restart.
+     */
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.BLOCK;
+    }
+
+    @Override
+    public void accept(List<DomainEvent<Trade>> events) {
+        for (DomainEvent<Trade> event : events) {
+            if (event.id() == null) {
+                continue;
+            }
+            int id = ((Number) event.id()).intValue();
+            if (loading) {
+                changedDuringLoad.add(id);
+            }
+            if (event.changeType() == ChangeType.DELETED) {
+                store.remove(id);
+            } else if (event.changeType() == ChangeType.CREATED) {
+                store.put(event.entity());
+            } else {
+                store.patch(event.entity());
+            }
+        }
+    }
+
+    /**
+     * Aggregates a measure over the trades selected by a query.
+     *
+     * @param query   the trades to aggregate
+     * @param groupBy the dimension to group by, or {@code null} for a single group
+     * @param measure the measure to aggregate
+     * @return the aggregate of each non-empty group
+     */
+    public List<GroupAggregate> aggregate(TradeQuery query, Dimension groupBy, Measure measure) {
+        return store.aggregate(query, groupBy, measure);
+    }
+
+    /**
+     * @return a snapshot of the size of the store
+     */
+    public TradeColumnStoreStats getStats() {
+        return store.getStats();
+    }
+}
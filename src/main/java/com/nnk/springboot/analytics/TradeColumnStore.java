@@ -0,0 +1,390 @@
+package com.nnk.springboot.analytics;
+
+import com.nnk.springboot.domain.Trade;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar copy of the analytic columns of the trades, held in off-heap memory.
+ *
+ * <p>Every column is a direct buffer indexed by row: the {@link Measure}s as doubles ({@code NaN}
+ * for {@code null}), the trade date as microseconds since the epoch, and each {@link Dimension} as
+ * an {@code int} code into a dictionary of its distinct values ({@code -1} for {@code null}). The
+ * heap only holds the dictionaries and the map from trade ID to row, so the collector sees a few
+ * dozen objects whatever the number of trades, and a scan reads contiguous primitive columns.
+ *
+ * <p>New trades are appended; deleted ones are flagged and their rows reclaimed by compacting the
+ * columns once they make up half of the rows. Dictionary values are never reclaimed. Writes take
+ * an exclusive lock and scans a shared one.
+ */
+public class TradeColumnStore {
+
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int NULL_CODE = -1;
+    private static final int MIN_COMPACTION_ROWS = 1024;
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+    private static final Measure[] MEASURES = Measure.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntIntMap rowsById;
+    private final Dictionary[] dictionaries = new Dictionary[DIMENSIONS.length];
+    private int capacity;
+    private int rows;
+    private int trades;
+    private ByteBuffer ids;
+    private ByteBuffer live;
+    private ByteBuffer dates;
+    private final ByteBuffer[] measures = new ByteBuffer[MEASURES.length];
+    private final ByteBuffer[] codes = new ByteBuffer[DIMENSIONS.length];
+
+    /**
+     * Constructs a new instance of {@link TradeColumnStore}.
+     *
+     * @param initialCapacity the number of rows allocated up front; the columns double when full
+     */
+    public TradeColumnStore(int initialCapacity) {
+        capacity = Math.max(16, initialCapacity);
+        rowsById = new IntIntMap(capacity);
+        for (int i = 0; i < dictionaries.length; i++) {
+            dictionaries[i] = new Dictionary();
+        }
+        ids = allocate(Integer.BYTES);
+        live = allocate(Byte.BYTES);
+        dates = allocate(Long.BYTES);
+        for (int i = 0; i < measures.length; i++) {
+            measures[i] = allocate(Double.BYTES);
+        }
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = allocate(Integer.BYTES);
+        }
+    }
+
+    /**
+     * Stores every column of a trade, replacing the trade if it is already held.
+     *
+     * @param trade the trade
+     */
+    public void put(Trade trade) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(trade.getTradeId());
+            if (row < 0) {
+                row = append(trade.getTradeId());
+            }
+            dates.putLong(row * Long.BYTES, encode(trade.getTradeDate()));
+            for (Measure measure : MEASURES) {
+                Double value = measure.of(trade);
+                measures[measure.ordinal()].putDouble(row * Double.BYTES, value == null ? Double.NaN : value);
+            }
+            for (Dimension dimension : DIMENSIONS) {
+                codes[dimension.ordinal()].putInt(row * Integer.BYTES,
+                        dictionaries[dimension.ordinal()].encode(dimension.of(trade)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the non-{@code null} columns of a trade, as update events only carry the written columns.
+     *
+     * @param written the written columns of the trade
+     * @return {@code false} if the trade is not held, in which case nothing is stored
+     */
+    public boolean patch(Trade written) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(written.getTradeId());
+            if (row < 0) {
+                return false;
+            }
+            if (written.getTradeDate() != null) {
+                dates.putLong(row * Long.BYTES, encode(written.getTradeDate()));
+            }
+            for (Measure measure : MEASURES) {
+                Double value = measure.of(written);
+                if (value != null) {
+                    measures[measure.ordinal()].putDouble(row * Double.BYTES, value);
+                }
+            }
+            for (Dimension dimension : DIMENSIONS) {
+                String value = dimension.of(written);
+                if (value != null) {
+                    codes[dimension.ordinal()].putInt(row * Integer.BYTES, dictionaries[dimension.ordinal()].encode(value));
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a trade.
+     *
+     * @param tradeId the ID of the trade
+     * @return {@code false} if the trade was not held
+     */
+    public boolean remove(int tradeId) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(tradeId);
+            if (row < 0) {
+                return false;
+            }
+            live.put(row, (byte) 0);
+            rowsById.remove(tradeId);
+            trades--;
+            if (rows >= MIN_COMPACTION_ROWS && trades < rows / 2) {
+                compact();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every trade, keeping the allocated columns.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rowsById.clear();
+            rows = 0;
+            trades = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param tradeId the ID of a trade
+     * @return whether the trade is held
+     */
+    public boolean contains(int tradeId) {
+        lock.readLock().lock();
+        try {
+            return rowsById.get(tradeId) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans the trades selected by a query and aggregates a measure, per value of a dimension.
+     *
+     * @param query   the trades to scan
+     * @param groupBy the dimension to group by, or {@code null} for a single group
+     * @param measure the measure to aggregate
+     * @return the aggregate of each non-empty group, ordered by key with trades without one last
+     */
+    public List<GroupAggregate> aggregate(TradeQuery query, Dimension groupBy, Measure measure) {
+        lock.readLock().lock();
+        try {
+            int[] filterColumns = new int[query.equalTo().size()];
+            int[] filterCodes = new int[filterColumns.length];
+            int filters = 0;
+            for (Map.Entry<Dimension, String> filter : query.equalTo().entrySet()) {
+                int code = dictionaries[filter.getKey().ordinal()].code(filter.getValue());
+                if (code == NULL_CODE) {
+                    return List.of();
+                }
+                filterColumns[filters] = filter.getKey().ordinal();
+                filterCodes[filters++] = code;
+            }
+            boolean dated = query.from() != null || query.to() != null;
+            long from = query.from() == null ? Long.MIN_VALUE : encode(query.from());
+            long to = query.to() == null ? Long.MAX_VALUE : encode(query.to());
+
+            int groups = groupBy == null ? 1 : dictionaries[groupBy.ordinal()].size() + 1;
+            int nullGroup = groups - 1;
+            ByteBuffer groupCodes = groupBy == null ? null : codes[groupBy.ordinal()];
+            ByteBuffer values = measures[measure.ordinal()];
+            long[] counts = new long[groups];
+            double[] sums = new double[groups];
+            double[] mins = new double[groups];
+            double[] maxs = new double[groups];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+
+            rows:
+            for (int row = 0; row < rows; row++) {
+                if (live.get(row) == 0) {
+                    continue;
+                }
+                if (dated) {
+                    long date = dates.getLong(row * Long.BYTES);
+                    if (date == NULL_DATE || date < from || date >= to) {
+                        continue;
+                    }
+                }
+                for (int i = 0; i < filters; i++) {
+                    if (codes[filterColumns[i]].getInt(row * Integer.BYTES) != filterCodes[i]) {
+                        continue rows;
+                    }
+                }
+                int group = groupCodes == null ? 0 : groupCodes.getInt(row * Integer.BYTES);
+                if (group == NULL_CODE) {
+                    group = nullGroup;
+                }
+                counts[group]++;
+                double value = values.getDouble(row * Double.BYTES);
+                if (!Double.isNaN(value)) {
+                    sums[group] += value;
+                    mins[group] = Math.min(mins[group], value);
+                    maxs[group] = Math.max(maxs[group], value);
+                }
+            }
+
+            List<GroupAggregate> result = new ArrayList<>();
+            for (int group = 0; group < groups; group++) {
+                if (counts[group] > 0) {
+                    boolean valued = mins[group] != Double.POSITIVE_INFINITY;
+                    String key = groupBy == null || group == nullGroup ? null
+                            : dictionaries[groupBy.ordinal()].value(group);
+                    result.add(new GroupAggregate(key, counts[group], sums[group],
+                            valued ? mins[group] : null, valued ? maxs[group] : null));
+                }
+            }
+            result.sort(Comparator.comparing(GroupAggregate::key, Comparator.nullsLast(Comparator.naturalOrder())));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return a snapshot of the size of the store
+     */
+    public TradeColumnStoreStats getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> dictionarySizes = new LinkedHashMap<>();
+            for (Dimension dimension : DIMENSIONS) {
+                dictionarySizes.put(dimension.parameter(), dictionaries[dimension.ordinal()].size());
+            }
+            return new TradeColumnStoreStats(trades, rows, capacity, (long) capacity * rowBytes(), dictionarySizes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int append(int tradeId) {
+        if (rows == capacity) {
+            grow();
+        }
+        int row = rows++;
+        ids.putInt(row * Integer.BYTES, tradeId);
+        live.put(row, (byte) 1);
+        rowsById.put(tradeId, row);
+        trades++;
+        return row;
+    }
+
+    private void grow() {
+        int newCapacity = Math.multiplyExact(capacity, 2);
+        ids = copy(ids, newCapacity, Integer.BYTES);
+        live = copy(live, newCapacity, Byte.BYTES);
+        dates = copy(dates, newCapacity, Long.BYTES);
+        for (int i = 0; i < measures.length; i++) {
+            measures[i] = copy(measures[i], newCapacity, Double.BYTES);
+        }
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = copy(codes[i], newCapacity, Integer.BYTES);
+        }
+        capacity = newCapacity;
+    }
+
+    /**
+     * Moves the live rows down over the deleted ones, keeping their order.
+     */
+    private void compact() {
+        int target = 0;
+        for (int row = 0; row < rows; row++) {
+            if (live.get(row) == 0) {
+                continue;
+            }
+            if (target != row) {
+                int tradeId = ids.getInt(row * Integer.BYTES);
+                ids.putInt(target * Integer.BYTES, tradeId);
+                live.put(target, (byte) 1);
+                dates.putLong(target * Long.BYTES, dates.getLong(row * Long.BYTES));
+                for (ByteBuffer column : measures) {
+                    column.putDouble(target * Double.BYTES, column.getDouble(row * Double.BYTES));
+                }
+                for (ByteBuffer column : codes) {
+                    column.putInt(target * Integer.BYTES, column.getInt(row * Integer.BYTES));
+                }
+                rowsById.put(tradeId, target);
+            }
+            target++;
+        }
+        rows = target;
+    }
+
+    private int rowBytes() {
+        return Integer.BYTES + Byte.BYTES + Long.BYTES + MEASURES.length * Double.BYTES
+                + DIMENSIONS.length * Integer.BYTES;
+    }
+
+    private ByteBuffer allocate(int width) {
+        return ByteBuffer.allocateDirect(capacity * width).order(ByteOrder.nativeOrder());
+    }
+
+    private ByteBuffer copy(ByteBuffer column, int newCapacity, int width) {
+        ByteBuffer copy = ByteBuffer.allocateDirect(newCapacity * width).order(ByteOrder.nativeOrder());
+        copy.put(0, column, 0, rows * width);
+        return copy;
+    }
+
+    private static long encode(LocalDateTime date) {
+        if (date == null) {
+            return NULL_DATE;
+        }
+        return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + date.getNano() / 1_000;
+    }
+
+    /**
+     * The distinct values of a dimension, coded by order of first appearance.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        int code(String value) {
+            return codes.getOrDefault(value, NULL_CODE);
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
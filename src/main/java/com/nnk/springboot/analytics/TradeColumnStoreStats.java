@@ -0,0 +1,16 @@
+package com.nnk.springboot.analytics;
+
+import java.util.Map;
+
+/**
+ * A snapshot of the size of the {@link TradeColumnStore}.
+ *
+ * @param trades          the number of trades held
+ * @param rows            the number of rows in use, deleted trades included until the next compaction
+ * @param capacity        the number of rows allocated
+ * @param offHeapBytes    the off-heap memory held by the columns
+ * @param dictionarySizes the number of distinct values of each dimension
+ */
+public record TradeColumnStoreStats(int trades, int rows, int capacity, long offHeapBytes,
+                                    Map<String, Integer> dictionarySizes) {
+}
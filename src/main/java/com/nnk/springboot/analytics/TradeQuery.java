@@ -0,0 +1,28 @@
+package com.nnk.springboot.analytics;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Selects the trades of a scan: a half-open trade date range and exact dimension values.
+ *
+ * @param from    the first trade date included, or {@code null} for no lower bound
+ * @param to      the first trade date excluded, or {@code null} for no upper bound
+ * @param equalTo the values the dimensions must have
+ */
+public record TradeQuery(LocalDateTime from, LocalDateTime to, Map<Dimension, String> equalTo) {
+
+    public TradeQuery {
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new IllegalArgumentException("Trade date range must have a start before its end.");
+        }
+        equalTo = Map.copyOf(equalTo);
+    }
+
+    /**
+     * @return a query selecting every trade
+     */
+    public static TradeQuery all() {
+        return new TradeQuery(null, null, Map.of());
+    }
+}
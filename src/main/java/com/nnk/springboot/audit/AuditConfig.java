@@ -0,0 +1,41 @@
+package com.nnk.springboot.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Audits the changes of bids and trades.
+ */
+@Configuration
+public class AuditConfig {
+
+    /**
+     * @param auditTrail   the audit log
+     * @param objectMapper the mapper reading the entity fields
+     * @return the audit feed of trades
+     */
+    @Bean
+    public AuditFeed<Trade> tradeAuditFeed(AuditTrail auditTrail, ObjectMapper objectMapper) {
+        // the columns written by TradeRepository.updateIfVersion
+        return new AuditFeed<>(Trade.class, "tradeId", Set.of("account", "type", "buyQuantity"), auditTrail,
+                objectMapper);
+    }
+
+    /**
+     * @param auditTrail   the audit log
+     * @param objectMapper the mapper reading the entity fields
+     * @return the audit feed of bids
+     */
+    @Bean
+    public AuditFeed<BidList> bidAuditFeed(AuditTrail auditTrail, ObjectMapper objectMapper) {
+        // the columns written by BidListRepository.updateIfVersion
+        return new AuditFeed<>(BidList.class, "id",
+                Set.of("account", "type", "bidQuantity", "askQuantity", "bid", "ask", "security"), auditTrail,
+                objectMapper);
+    }
+}
@@ -0,0 +1,152 @@
+package com.nnk.springboot.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.AuditLog;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventConsumer;
+import com.nnk.springboot.event.OverflowPolicy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Turns the committed changes of one entity type into {@link AuditLog} records holding the
+ * changed fields, and appends them to the {@link AuditTrail} in batches.
+ *
+ * <p>The feed asks for before images, so the services read the row before updating or deleting
+ * it. An update event only carries the written columns: a field is reported as changed when it
+ * was written with a value different from the before image, a field the update writes being
+ * reported as cleared when written empty. The ID, the version and the
+ * creation and revision columns are left out of the diffs, the record itself holding who made the
+ * change and when. Writers are held back rather than changes dropped when the feed falls behind.
+ *
+ * @param <T> the entity type
+ */
+public class AuditFeed<T> implements DomainEventConsumer<T> {
+
+    private static final TypeReference<Map<String, Object>> FIELDS = new TypeReference<>() { };
+    private static final Set<String> METADATA = Set.of("version", "creationName", "creationDate",
+            "revisionName", "revisionDate");
+
+    private final Class<T> entityType;
+    private final String idField;
+    private final Set<String> updatedFields;
+    private final AuditTrail auditTrail;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new instance of {@link AuditFeed}.
+     *
+     * @param entityType   the class of the audited entities
+     * @param idField       the name of the ID field of the entity
+     * @param updatedFields the fields written by an update, whose {@code null} values are written ones
+     * @param auditTrail    the audit log the records are appended to
+     * @param objectMapper  the mapper reading the entity fields and writing the diffs
+     */
+    public AuditFeed(Class<T> entityType, String idField, Set<String> updatedFields, AuditTrail auditTrail,
+                     ObjectMapper objectMapper) {
+        this.entityType = entityType;
+        this.idField = idField;
+        this.updatedFields = Set.copyOf(updatedFields);
+        this.auditTrail = auditTrail;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "audit-" + entityType.getSimpleName();
+    }
+
+    @Override
+    public Class<T> entityType() {
+        return entityType;
+    }
+
+    @Override
+    public void accept(List<DomainEvent<T>> events) {
+        List<AuditLog> records = new ArrayList<>(events.size());
+        for (DomainEvent<T> event : events) {
+            AuditLog auditLog = new AuditLog();
+            auditLog.setEntityType(entityType.getSimpleName());
+            auditLog.setEntityId(String.valueOf(event.id()));
+            auditLog.setAction(event.changeType());
+            auditLog.setUsername(event.actor());
+            auditLog.setChangedAt(event.occurredAt());
+            auditLog.setChanges(diff(event.before(), event.entity()));
+            records.add(auditLog);
+        }
+        auditTrail.append(records);
+    }
+
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.BLOCK;
+    }
+
+    @Override
+    public boolean needsBeforeImages() {
+        return true;
+    }
+
+    /**
+     * Compares the before and after images of a change.
+     *
+     * @return the changed fields as a JSON object, each with its {@code from} value unless the
+     *         field was created and its {@code to} value unless it was deleted
+     */
+    String diff(T before, T after) {
+        Map<String, Object> from = fields(before);
+        Map<String, Object> to = fields(after);
+        Map<String, Map<String, Object>> changes = new LinkedHashMap<>();
+        if (after == null) {
+            from.forEach((field, value) -> {
+                if (value != null) {
+                    changes.put(field, change(value, null));
+                }
+            });
+        } else {
+            to.forEach((field, value) -> {
+                // a null is only a written value for the fields the update writes
+                if (value == null && !updatedFields.contains(field)) {
+                    return;
+                }
+                Object previous = from.get(field);
+                if (!Objects.equals(previous, value)) {
+                    changes.put(field, change(previous, value));
+                }
+            });
+        }
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to write the changes of " + entityType.getSimpleName(), e);
+        }
+    }
+
+    private Map<String, Object> fields(T entity) {
+        if (entity == null) {
+            return Map.of();
+        }
+        Map<String, Object> fields = objectMapper.convertValue(entity, FIELDS);
+        fields.keySet().removeAll(METADATA);
+        fields.remove(idField);
+        return fields;
+    }
+
+    private static Map<String, Object> change(Object from, Object to) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        if (from != null) {
+            change.put("from", from);
+        }
+        if (to != null) {
+            change.put("to", to);
+        }
+        return change;
+    }
+}
@@ -0,0 +1,132 @@
+package com.nnk.springboot.audit;
+
+import com.nnk.springboot.domain.AuditLog;
+import com.nnk.springboot.dto.AuditLogDTO;
+import com.nnk.springboot.repositories.AuditLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores and searches the audit log of entity changes.
+ *
+ * <p>Records are appended by the {@link AuditFeed}s from their own thread, after the audited
+ * transaction committed, so auditing adds no statement to the user's transaction. A batch of
+ * records is inserted with a single batched statement.
+ */
+@Slf4j
+@Service
+public class AuditTrail {
+
+    private static final String INSERT = "insert into audit_log (entity_type, entity_id, action, username, changed_at, changes) "
+            + "values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogRepository auditLogRepository;
+    private final int maxPageSize;
+
+    /**
+     * Constructs a new instance of {@link AuditTrail}.
+     *
+     * @param jdbcTemplate       the template inserting the records
+     * @param auditLogRepository the repository searching the records
+     * @param maxPageSize        the maximum number of records returned by a search
+     */
+    public AuditTrail(JdbcTemplate jdbcTemplate, AuditLogRepository auditLogRepository,
+                      @Value("${audit.max-page-size:500}") int maxPageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditLogRepository = auditLogRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Appends records to the audit log in one batch.
+     *
+     * @param records the records, oldest first
+     */
+    void append(List<AuditLog> records) {
+        jdbcTemplate.batchUpdate(INSERT, records, records.size(), (statement, auditLog) -> {
+            statement.setString(1, auditLog.getEntityType());
+            statement.setString(2, auditLog.getEntityId());
+            statement.setString(3, auditLog.getAction().name());
+            statement.setString(4, auditLog.getUsername());
+            statement.setTimestamp(5, Timestamp.valueOf(auditLog.getChangedAt()));
+            statement.setString(6, auditLog.getChanges());
+        });
+        log.debug("{} audit records appended", records.size());
+    }
+
+    /**
+     * Searches the audit log, most recent changes first. Each criterion is optional; the entity ID
+     * only narrows a search by entity type.
+     *
+     * @param entityType the simple class name of the changed entities, such as {@code Trade}
+     * @param entityId   the ID of the changed entity
+     * @param username   the user who made the changes
+     * @param from       the start of the time range, inclusive
+     * @param to         the end of the time range, exclusive
+     * @param page       the page number, from 0
+     * @param size       the page size
+     * @return the matching records
+     * @throws IllegalArgumentException if the entity ID is given without entity type, the time
+     *                                  range is empty or the page is out of bounds
+     */
+    public Page<AuditLogDTO> search(String entityType, String entityId, String username,
+                                    LocalDateTime from, LocalDateTime to, int page, int size) {
+        if (entityId != null && entityType == null) {
+            throw new IllegalArgumentException("An entity ID requires an entity type.");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("The start of the time range must be before its end.");
+        }
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize + ".");
+        }
+        List<Specification<AuditLog>> criteria = new ArrayList<>();
+        if (entityType != null) {
+            criteria.add((root, query, cb) -> cb.equal(root.get("entityType"), entityType));
+        }
+        if (entityId != null) {
+            criteria.add((root, query, cb) -> cb.equal(root.get("entityId"), entityId));
+        }
+        if (username != null) {
+            criteria.add((root, query, cb) -> cb.equal(root.get("username"), username));
+        }
+        if (from != null) {
+            criteria.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("changedAt"), from));
+        }
+        if (to != null) {
+            criteria.add((root, query, cb) -> cb.lessThan(root.get("changedAt"), to));
+        }
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Order.desc("changedAt"), Sort.Order.desc("id")));
+        return auditLogRepository.findAll(Specification.allOf(criteria), pageRequest).map(AuditTrail::convertToDTO);
+    }
+
+    /**
+     * Converts an {@link AuditLog} entity to an {@link AuditLogDTO}.
+     *
+     * @param auditLog the audit log entity to convert
+     * @return the converted {@link AuditLogDTO}
+     */
+    public static AuditLogDTO convertToDTO(AuditLog auditLog) {
+        AuditLogDTO auditLogDTO = new AuditLogDTO();
+        auditLogDTO.setId(auditLog.getId());
+        auditLogDTO.setEntityType(auditLog.getEntityType());
+        auditLogDTO.setEntityId(auditLog.getEntityId());
+        auditLogDTO.setAction(auditLog.getAction());
+        auditLogDTO.setUsername(auditLog.getUsername());
+        auditLogDTO.setChangedAt(auditLog.getChangedAt());
+        auditLogDTO.setChanges(auditLog.getChanges());
+        return auditLogDTO;
+    }
+}
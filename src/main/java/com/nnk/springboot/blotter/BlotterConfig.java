@@ -0,0 +1,44 @@
+package com.nnk.springboot.blotter;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Feeds the trade and bid list pages with the changes of their tables. The column names match the
+ * {@code data-field} attributes of the list templates.
+ */
+@Configuration
+public class BlotterConfig {
+
+    /**
+     * @param hub the hub streaming the deltas
+     * @return the feed of the trade list
+     */
+    @Bean
+    public BlotterFeed<Trade> tradeBlotterFeed(BlotterHub hub) {
+        Map<String, Function<Trade, Object>> columns = new LinkedHashMap<>();
+        columns.put("account", Trade::getAccount);
+        columns.put("type", Trade::getType);
+        columns.put("buyQuantity", Trade::getBuyQuantity);
+        return new BlotterFeed<>("trade", Trade.class, columns, hub);
+    }
+
+    /**
+     * @param hub the hub streaming the deltas
+     * @return the feed of the bid list
+     */
+    @Bean
+    public BlotterFeed<BidList> bidBlotterFeed(BlotterHub hub) {
+        Map<String, Function<BidList, Object>> columns = new LinkedHashMap<>();
+        columns.put("account", BidList::getAccount);
+        columns.put("type", BidList::getType);
+        columns.put("bidQuantity", BidList::getBidQuantity);
+        return new BlotterFeed<>("bid", BidList.class, columns, hub);
+    }
+}
@@ -0,0 +1,36 @@
+package com.nnk.springboot.blotter;
+
+import com.nnk.springboot.event.ChangeType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Change of one blotter row, as sent to the browsers.
+ *
+ * @param op     the kind of change
+ * @param id     the ID of the row
+ * @param fields the displayed columns written by the change, absent columns being unchanged;
+ *               {@code null} for deletions
+ */
+public record BlotterDelta(ChangeType op, Object id, Map<String, Object> fields) {
+
+    /**
+     * Coalesces a later change of the same row into this one, so that a burst of changes is sent
+     * as the single change with the same end result.
+     *
+     * @param next the later change
+     * @return the combined change, or {@code null} if the row was created and deleted in between
+     */
+    BlotterDelta merge(BlotterDelta next) {
+        if (next.op() == ChangeType.DELETED) {
+            return op == ChangeType.CREATED ? null : next;
+        }
+        if (op == ChangeType.DELETED) {
+            return next;
+        }
+        Map<String, Object> merged = new LinkedHashMap<>(fields);
+        merged.putAll(next.fields());
+        return new BlotterDelta(op, id, merged);
+    }
+}
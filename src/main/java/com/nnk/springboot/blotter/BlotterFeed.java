@@ -0,0 +1,75 @@
+package com.nnk.springboot.blotter;
+
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventConsumer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Turns the committed changes of one entity type into {@link BlotterDelta}s for the {@link BlotterHub}.
+ *
+ * @param <T> the entity type
+ */
+public class BlotterFeed<T> implements DomainEventConsumer<T> {
+
+    private final String table;
+    private final Class<T> entityType;
+    private final Map<String, Function<T, Object>> columns;
+    private final BlotterHub hub;
+
+    /**
+     * Constructs a new instance of {@link BlotterFeed}.
+     *
+     * @param table      the name of the blotter table the browsers subscribe to
+     * @param entityType the class of the entities shown in the table
+     * @param columns    the displayed columns, by name, in display order
+     * @param hub        the hub streaming the deltas
+     */
+    public BlotterFeed(String table, Class<T> entityType, Map<String, Function<T, Object>> columns, BlotterHub hub) {
+        this.table = table;
+        this.entityType = entityType;
+        this.columns = columns;
+        this.hub = hub;
+    }
+
+    @Override
+    public String name() {
+        return "blotter-" + table;
+    }
+
+    @Override
+    public Class<T> entityType() {
+        return entityType;
+    }
+
+    @Override
+    public void accept(List<DomainEvent<T>> events) {
+        List<BlotterDelta> deltas = new ArrayList<>(events.size());
+        for (DomainEvent<T> event : events) {
+            deltas.add(event.changeType() == ChangeType.DELETED
+                    ? new BlotterDelta(ChangeType.DELETED, event.id(), null)
+                    : new BlotterDelta(event.changeType(), event.id(), fields(event.entity())));
+        }
+        hub.enqueue(table, deltas);
+    }
+
+    /**
+     * Reads the displayed columns of an entity. Update events only carry the written columns, so
+     * {@code null} columns are left out and keep their current value in the browser.
+     */
+    private Map<String, Object> fields(T entity) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        columns.forEach((name, column) -> {
+            Object value = column.apply(entity);
+            if (value != null) {
+                fields.put(name, value);
+            }
+        });
+        return fields;
+    }
+}
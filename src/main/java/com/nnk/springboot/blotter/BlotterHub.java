@@ -0,0 +1,392 @@
+package com.nnk.springboot.blotter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the changes of the blotter tables to the connected browsers over Server-Sent Events.
+ *
+ * <p>Changes are not sent as they arrive: they are collected per row and flushed every
+ * {@code blotter.flush-interval-ms}, so a burst of updates to one row reaches the browsers as a
+ * single delta. Each flush sends one event per table, named after the table, whose data is the
+ * JSON array of deltas serialized once for all subscribers.
+ *
+ * <p>Events are not written by the flush: each subscriber has a backlog of at most
+ * {@code blotter.max-backlog} events, written to its connection by one of
+ * {@code blotter.send-threads} sender threads, so a slow browser only delays itself. A browser
+ * whose backlog is full is disconnected and reconnects.
+ *
+ * <p>Every event carries an ID made of the epoch of this hub, drawn at startup, and an increasing
+ * sequence. The last {@code blotter.replay-frames} events are kept, so a browser reconnecting with
+ * {@code Last-Event-ID} gets what it missed; when that is no longer possible, as its events were
+ * sent by another instance or before a restart, it gets a {@code reset} event and reloads the page.
+ * An idle subscriber holds no thread, only its connection; a comment is sent every
+ * {@code blotter.heartbeat-interval-ms} to detect closed connections and keep proxies from timing
+ * them out.
+ */
+@Slf4j
+@Component
+public class BlotterHub {
+
+    private static final Frame PING = new Frame(0, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final int maxConnections;
+    private final int replayFrames;
+    private final int maxBacklog;
+    private final long timeoutMillis;
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService senders;
+    private final Object pendingLock = new Object();
+    private Map<String, Map<Object, BlotterDelta>> pending = new LinkedHashMap<>();
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private long lastSequence;
+
+    /**
+     * Constructs a new instance of {@link BlotterHub}.
+     *
+     * @param objectMapper            the mapper serializing the deltas
+     * @param flushIntervalMillis     the interval at which the collected changes are sent
+     * @param heartbeatIntervalMillis the interval at which idle connections are checked
+     * @param maxConnections          the maximum number of connected browsers
+     * @param replayFrames            the number of events kept for reconnecting browsers
+     * @param maxBacklog              the number of events a browser may fall behind before it is disconnected
+     * @param sendThreads             the number of threads writing the events to the connections
+     * @param timeoutMillis           the lifetime of a connection, after which the browser reconnects
+     */
+    public BlotterHub(ObjectMapper objectMapper,
+                      @Value("${blotter.flush-interval-ms:250}") long flushIntervalMillis,
+                      @Value("${blotter.heartbeat-interval-ms:20000}") long heartbeatIntervalMillis,
+                      @Value("${blotter.max-connections:5000}") int maxConnections,
+                      @Value("${blotter.replay-frames:1000}") int replayFrames,
+                      @Value("${blotter.max-backlog:200}") int maxBacklog,
+                      @Value("${blotter.send-threads:4}") int sendThreads,
+                      @Value("${blotter.timeout-ms:1800000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.maxConnections = maxConnections;
+        this.replayFrames = replayFrames;
+        this.maxBacklog = maxBacklog;
+        this.timeoutMillis = timeoutMillis;
+        this.senders = Executors.newFixedThreadPool(sendThreads,
+                Thread.ofPlatform().name("blotter-send-", 1).daemon(true).factory());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("blotter-flush").daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(() -> guarded(this::flush), flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> guarded(this::heartbeat), heartbeatIntervalMillis,
+                heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Connects a browser.
+     *
+     * @param tables      the tables whose changes the browser receives
+     * @param lastEventId the ID of the last event the browser received before reconnecting, or
+     *                    {@code null} on a first connection
+     * @return the open event stream
+     * @throws RejectedExecutionException if too many browsers are connected
+     */
+    public SseEmitter subscribe(Set<String> tables, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, tables);
+        synchronized (subscribers) {
+            if (subscribers.size() >= maxConnections) {
+                log.warn("Rejected blotter connection: {} browsers already connected", maxConnections);
+                throw new RejectedExecutionException("Too many blotter connections, retry later");
+            }
+            if (lastEventId != null && !replay(subscriber, lastEventId)) {
+                return emitter;
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Collects changes of a table until the next flush, merging them with the pending changes of
+     * the same rows.
+     *
+     * @param table  the name of the table
+     * @param deltas the changes, oldest first
+     */
+    void enqueue(String table, List<BlotterDelta> deltas) {
+        synchronized (pendingLock) {
+            Map<Object, BlotterDelta> rows = pending.computeIfAbsent(table, t -> new LinkedHashMap<>());
+            for (BlotterDelta delta : deltas) {
+                BlotterDelta previous = rows.get(delta.id());
+                BlotterDelta merged = previous == null ? delta : previous.merge(delta);
+                if (merged == null) {
+                    rows.remove(delta.id());
+                } else {
+                    rows.put(delta.id(), merged);
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the collected changes to every subscriber, one event per table.
+     */
+    void flush() {
+        Map<String, List<BlotterDelta>> batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (subscribers) {
+            batch.forEach((table, deltas) -> {
+                Frame frame = new Frame(++lastSequence, table, serialize(deltas));
+                frames.addLast(frame);
+                if (frames.size() > replayFrames) {
+                    frames.removeFirst();
+                }
+                subscribers.removeIf(subscriber -> !subscriber.offer(frame, false));
+            });
+        }
+    }
+
+    /**
+     * Takes the changes collected since the last flush.
+     *
+     * @return the coalesced changes per table, in order of first change; tables without any are left out
+     */
+    Map<String, List<BlotterDelta>> drain() {
+        Map<String, Map<Object, BlotterDelta>> batch;
+        synchronized (pendingLock) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        Map<String, List<BlotterDelta>> deltas = new LinkedHashMap<>();
+        batch.forEach((table, rows) -> {
+            if (!rows.isEmpty()) {
+                deltas.put(table, List.copyOf(rows.values()));
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * @return the number of connected browsers
+     */
+    public int getConnections() {
+        synchronized (subscribers) {
+            return subscribers.size();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        synchronized (subscribers) {
+            subscribers.forEach(subscriber -> subscriber.emitter().complete());
+            subscribers.clear();
+        }
+    }
+
+    /**
+     * Runs a scheduled task, logging its failure so that the next runs are still scheduled.
+     */
+    private static void guarded(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("Blotter task failed", e);
+        }
+    }
+
+    private void heartbeat() {
+        synchronized (subscribers) {
+            subscribers.removeIf(subscriber -> !subscriber.offer(PING, false));
+        }
+    }
+
+    /**
+     * Queues the events a reconnecting browser missed, or sends a {@code reset} event if they are
+     * gone or were not sent by this hub.
+     *
+     * @return whether the browser can keep its connection
+     */
+    private boolean replay(Subscriber subscriber, String lastEventId) {
+        long oldest = frames.isEmpty() ? lastSequence + 1 : frames.getFirst().sequence();
+        long sequence = sequenceOf(lastEventId);
+        if (sequence < 0 || sequence > lastSequence || sequence < oldest - 1) {
+            try {
+                subscriber.emitter().send(SseEmitter.event().name("reset").data(""));
+                subscriber.emitter().complete();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Failed to reset a blotter connection", e);
+            }
+            return false;
+        }
+        for (Frame frame : frames) {
+            // the missed events may outnumber the backlog, which bounds live events only
+            if (frame.sequence() > sequence && !subscriber.offer(frame, true)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the sequence of an event ID of this hub, or -1 for an ID of another epoch
+     */
+    private long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        synchronized (subscribers) {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private String serialize(List<BlotterDelta> deltas) {
+        try {
+            return objectMapper.writeValueAsString(deltas);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize blotter deltas", e);
+        }
+    }
+
+    private record Frame(long sequence, String table, String data) {
+    }
+
+    /**
+     * A connected browser and the events queued for it. The events are written by a sender
+     * thread, one at a time, and the emitter is only touched by that thread once subscribed.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<String> tables;
+        private final Deque<Frame> backlog = new ArrayDeque<>();
+        private boolean sending;
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter, Set<String> tables) {
+            this.emitter = emitter;
+            this.tables = tables;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        /**
+         * Queues an event for the browser, without waiting for the connection.
+         *
+         * @param frame     the event, or {@link #PING} for a heartbeat
+         * @param unbounded whether the event is queued even beyond the backlog limit
+         * @return {@code false} if the browser is disconnected, having fallen too far behind
+         */
+        synchronized boolean offer(Frame frame, boolean unbounded) {
+            if (closed) {
+                return false;
+            }
+            if (frame == PING ? !backlog.isEmpty() : !tables.contains(frame.table())) {
+                return true;
+            }
+            if (!unbounded && backlog.size() >= maxBacklog) {
+                log.warn("Disconnecting a blotter browser {} events behind", backlog.size());
+                close();
+                return false;
+            }
+            backlog.addLast(frame);
+            if (!sending) {
+                startSending();
+            }
+            return !closed;
+        }
+
+        private void send() {
+            while (true) {
+                Frame frame;
+                boolean complete;
+                synchronized (this) {
+                    complete = closed;
+                    frame = closed ? null : backlog.pollFirst();
+                    if (frame == null) {
+                        sending = false;
+                    }
+                }
+                if (complete) {
+                    emitter.complete();
+                }
+                if (frame == null) {
+                    return;
+                }
+                try {
+                    if (frame == PING) {
+                        emitter.send(SseEmitter.event().comment(""));
+                    } else {
+                        emitter.send(SseEmitter.event().id(epoch + "-" + frame.sequence()).name(frame.table())
+                                .data(frame.data()));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        closed = true;
+                        sending = false;
+                        backlog.clear();
+                    }
+                    emitter.completeWithError(e);
+                    remove(this);
+                    return;
+                }
+            }
+        }
+
+        // the emitter is completed by the sender thread, as a write to the connection may be blocking it
+        private void close() {
+            closed = true;
+            backlog.clear();
+            if (!sending) {
+                startSending();
+            }
+        }
+
+        private void startSending() {
+            sending = true;
+            try {
+                senders.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                // shutting down, the emitters are completed by the hub
+                closed = true;
+                sending = false;
+                backlog.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.nnk.springboot.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least-recently-used store of rendered pages, bounded by the total size of the pages.
+ *
+ * <p>Keys embed the version of the table a page was rendered from, so pages of older
+ * versions are never served again and simply age out.
+ */
+@Component
+public class PageCache {
+
+    /**
+     * A rendered page.
+     *
+     * @param body        the response body
+     * @param contentType the response content type
+     */
+    public record Page(byte[] body, String contentType) {
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Page> pages = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructs a new instance of {@link PageCache}.
+     *
+     * @param maxBytes the maximum total size of the cached pages
+     */
+    public PageCache(@Value("${page-cache.max-bytes:16777216}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Looks up a page, counting a hit or a miss.
+     *
+     * @param key the page key
+     * @return the cached page, or {@code null}
+     */
+    public synchronized Page get(String key) {
+        Page page = pages.get(key);
+        (page != null ? hits : misses).incrementAndGet();
+        return page;
+    }
+
+    /**
+     * Caches a page, evicting the least recently used pages beyond the size limit.
+     * Pages larger than a quarter of the limit are not cached.
+     *
+     * @param key  the page key
+     * @param page the rendered page
+     */
+    public synchronized void put(String key, Page page) {
+        if (page.body().length > maxBytes / 4) {
+            return;
+        }
+        Page previous = pages.put(key, page);
+        if (previous != null) {
+            bytes -= previous.body().length;
+        }
+        bytes += page.body().length;
+        Iterator<Map.Entry<String, Page>> eldest = pages.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Counts a request that could not use the cache.
+     */
+    public void recordBypass() {
+        bypassed.incrementAndGet();
+    }
+
+    /**
+     * Removes every cached page.
+     */
+    public synchronized void clear() {
+        pages.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return a snapshot of the cache statistics
+     */
+    public synchronized PageCacheStats getStats() {
+        long lookups = hits.get() + misses.get();
+        return new PageCacheStats(pages.size(), bytes, maxBytes, hits.get(), misses.get(), bypassed.get(),
+                evictions.get(), lookups == 0 ? 0 : (double) hits.get() / lookups);
+    }
+}
@@ -0,0 +1,127 @@
+package com.nnk.springboot.cache;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.event.TableVersions;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.support.SessionFlashMapManager;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the list pages from the {@link PageCache} while their table is unchanged.
+ *
+ * <p>A page is keyed by its path, its query parameters, the user and roles it was rendered
+ * for (the page header shows the user name) and the current version of its table, so any
+ * write through the services makes the next request render again. Requests carrying flash
+ * attributes, such as the confirmation shown after a save, always render and are not cached.
+ */
+@Slf4j
+@Component
+public class PageCacheFilter extends OncePerRequestFilter {
+
+    private static final String FLASH_MAPS = SessionFlashMapManager.class.getName() + ".FLASH_MAPS";
+
+    private static final Map<String, Class<?>> LIST_PAGES = Map.of(
+            "/bidList/list", BidList.class,
+            "/curvePoint/list", CurvePoint.class,
+            "/rating/list", Rating.class,
+            "/ruleName/list", RuleName.class,
+            "/trade/list", Trade.class,
+            "/user/list", User.class);
+
+    private final PageCache pageCache;
+    private final TableVersions tableVersions;
+    private final boolean enabled;
+
+    /**
+     * Constructs a new instance of {@link PageCacheFilter}.
+     *
+     * @param pageCache     the store of rendered pages
+     * @param tableVersions the modification counters of the entity tables
+     * @param enabled       whether list pages are cached at all
+     */
+    public PageCacheFilter(PageCache pageCache, TableVersions tableVersions,
+                           @Value("${page-cache.enabled:true}") boolean enabled) {
+        this.pageCache = pageCache;
+        this.tableVersions = tableVersions;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod()) || !LIST_PAGES.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || hasFlashAttributes(request)) {
+            pageCache.recordBypass();
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = key(request, authentication);
+        PageCache.Page page = pageCache.get(key);
+        if (page != null) {
+            response.setContentType(page.contentType());
+            response.setContentLength(page.body().length);
+            response.getOutputStream().write(page.body());
+            return;
+        }
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null
+                && !wrapper.getHeaderNames().contains(HttpHeaders.SET_COOKIE)) {
+            pageCache.put(key, new PageCache.Page(wrapper.getContentAsByteArray(), wrapper.getContentType()));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private String key(HttpServletRequest request, Authentication authentication) {
+        String path = path(request);
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        String roles = authorities.stream().map(GrantedAuthority::getAuthority).sorted()
+                .collect(Collectors.joining(","));
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        StringBuilder key = new StringBuilder(path).append('|').append(authentication.getName())
+                .append('|').append(roles).append('|').append(tableVersions.version(LIST_PAGES.get(path)));
+        parameters.forEach((name, values) -> key.append('|').append(name).append('=').append(String.join(",", values)));
+        return key.toString();
+    }
+
+    private static boolean hasFlashAttributes(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return false;
+        }
+        Object flashMaps = session.getAttribute(FLASH_MAPS);
+        return flashMaps instanceof Collection<?> maps && !maps.isEmpty();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,17 @@
+package com.nnk.springboot.cache;
+
+/**
+ * Point-in-time statistics of the {@link PageCache}.
+ *
+ * @param entries   the number of cached pages
+ * @param bytes     the total size of the cached pages
+ * @param maxBytes  the maximum total size of the cached pages
+ * @param hits      the number of requests answered from the cache
+ * @param misses    the number of requests rendered and then cached
+ * @param bypassed  the number of requests rendered without using the cache
+ * @param evictions the number of pages evicted to stay within {@code maxBytes}
+ * @param hitRate   the share of cacheable requests answered from the cache
+ */
+public record PageCacheStats(int entries, long bytes, long maxBytes, long hits, long misses, long bypassed,
+                             long evictions, double hitRate) {
+}
@@ -0,0 +1,90 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.analytics.Dimension;
+import com.nnk.springboot.analytics.GroupAggregate;
+import com.nnk.springboot.analytics.Measure;
+import com.nnk.springboot.analytics.TradeAnalyticsService;
+import com.nnk.springboot.analytics.TradeColumnStoreStats;
+import com.nnk.springboot.analytics.TradeQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON aggregates over the trades, computed from the in-memory column store.
+ */
+@Slf4j
+@RestController
+public class AnalyticsController {
+
+    private final TradeAnalyticsService tradeAnalyticsService;
+
+    /**
+     * Constructs a new instance of {@link AnalyticsController}.
+     *
+     * @param tradeAnalyticsService the service aggregating the trades
+     */
+    public AnalyticsController(TradeAnalyticsService tradeAnalyticsService) {
+        this.tradeAnalyticsService = tradeAnalyticsService;
+    }
+
+    /**
+     * Aggregates a measure of the trades, e.g.
+     * {@code /api/v1/analytics/trades?measure=buyQuantity&groupBy=account&from=2025-01-01T00:00:00&book=B1}.
+     *
+     * @param measure    the measure to aggregate: {@code buyQuantity}, {@code sellQuantity}, {@code buyPrice}
+     *                   or {@code sellPrice}
+     * @param groupBy    the dimension to group by: {@code account}, {@code book}, {@code trader} or
+     *                   {@code security}; no grouping when absent
+     * @param from       the start of the trade date range, inclusive, in ISO format
+     * @param to         the end of the trade date range, exclusive, in ISO format
+     * @param parameters the request parameters, among which dimension values the trades must have
+     * @return the aggregate of each group
+     */
+    @GetMapping("/api/v1/analytics/trades")
+    public List<GroupAggregate> trades(@RequestParam("measure") String measure,
+                                       @RequestParam(value = "groupBy", required = false) String groupBy,
+                                       @RequestParam(value = "from", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                       @RequestParam(value = "to", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                       @RequestParam Map<String, String> parameters) {
+        Map<Dimension, String> equalTo = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            String value = parameters.get(dimension.parameter());
+            if (value != null && !value.isBlank()) {
+                equalTo.put(dimension, value);
+            }
+        }
+        return tradeAnalyticsService.aggregate(new TradeQuery(from, to, equalTo),
+                groupBy == null || groupBy.isBlank() ? null : Dimension.fromParameter(groupBy),
+                Measure.fromParameter(measure));
+    }
+
+    /**
+     * Returns the size and memory use of the trade column store.
+     *
+     * @return the current statistics
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/api/v1/analytics/stats")
+    public TradeColumnStoreStats stats() {
+        return tradeAnalyticsService.getStats();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        log.warn("Rejected analytics query: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,270 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.dto.ApiPage;
+import com.nnk.springboot.dto.BidDTO;
+import com.nnk.springboot.dto.CurveDTO;
+import com.nnk.springboot.dto.RatingDTO;
+import com.nnk.springboot.dto.RuleNameDTO;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.event.TableVersions;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.query.EntityFilter;
+import com.nnk.springboot.query.FilterQueryService;
+import com.nnk.springboot.service.BidListService;
+import com.nnk.springboot.service.CurveService;
+import com.nnk.springboot.service.RatingService;
+import com.nnk.springboot.service.RuleNameService;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-only JSON API over the application's entities.
+ *
+ * <p>Every response carries an ETag derived from the modification counter of the
+ * entity's table. A request whose {@code If-None-Match} still matches is answered with
+ * {@code 304 Not Modified} before any query runs. The counter is read before the query,
+ * so a write racing with a request can only make the next poll download again, never
+ * hide a change.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1")
+public class ApiController {
+
+    private static final String PAGE = "page";
+    private static final String SIZE = "size";
+    private static final int DEFAULT_SIZE = 100;
+    private static final int MAX_SIZE = 1000;
+
+    private final FilterQueryService filterQueryService;
+    private final TableVersions tableVersions;
+    private final TradeService tradeService;
+    private final BidListService bidListService;
+    private final CurveService curveService;
+    private final RatingService ratingService;
+    private final RuleNameService ruleNameService;
+    private final UserService userService;
+
+    /**
+     * Constructs a new instance of {@link ApiController}.
+     *
+     * @param filterQueryService the service running filtered queries
+     * @param tableVersions      the modification counters of the entity tables
+     * @param tradeService       the service for managing trades
+     * @param bidListService     the service for managing bid lists
+     * @param curveService       the service for managing curve points
+     * @param ratingService      the service for managing ratings
+     * @param ruleNameService    the service for managing rule names
+     * @param userService        the service for managing users
+     */
+    public ApiController(FilterQueryService filterQueryService, TableVersions tableVersions,
+                         TradeService tradeService, BidListService bidListService, CurveService curveService,
+                         RatingService ratingService, RuleNameService ruleNameService, UserService userService) {
+        this.filterQueryService = filterQueryService;
+        this.tableVersions = tableVersions;
+        this.tradeService = tradeService;
+        this.bidListService = bidListService;
+        this.curveService = curveService;
+        this.ratingService = ratingService;
+        this.ruleNameService = ruleNameService;
+        this.userService = userService;
+    }
+
+    /**
+     * Lists trades. Query parameters other than {@code page} and {@code size} filter and
+     * sort the trades, see {@link EntityFilter#fromParameters(Map)}.
+     */
+    @GetMapping("/trades")
+    public ResponseEntity<ApiPage<TradeDTO>> trades(@RequestParam Map<String, String> parameters, WebRequest request) {
+        return list(Trade.class, parameters, request, tradeService::convertToDTOList);
+    }
+
+    /**
+     * Returns a single trade, looked up in the archive too when {@code includeArchived} is set.
+     */
+    @GetMapping("/trades/{id}")
+    public ResponseEntity<TradeDTO> trade(@PathVariable("id") int id,
+                                          @RequestParam(name = "includeArchived", defaultValue = "false")
+                                          boolean includeArchived, WebRequest request) {
+        return item(Trade.class, request, () -> tradeService.getTradeDTOById(id, includeArchived));
+    }
+
+    /**
+     * Lists the trades dated in {@code [from, to)}, archived ones included when {@code includeArchived} is set.
+     */
+    @GetMapping("/trades/dated")
+    public ResponseEntity<List<TradeDTO>> tradesDated(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "includeArchived", defaultValue = "false") boolean includeArchived,
+            WebRequest request) {
+        return item(Trade.class, request, () -> tradeService.getTradeDTOsByTradeDate(from, to, includeArchived));
+    }
+
+    /**
+     * Lists bid lists, filtered and sorted like {@link #trades(Map, WebRequest)}.
+     */
+    @GetMapping("/bidLists")
+    public ResponseEntity<ApiPage<BidDTO>> bidLists(@RequestParam Map<String, String> parameters,
+                                                    WebRequest request) {
+        return list(BidList.class, parameters, request, bidListService::convertToDTOList);
+    }
+
+    /**
+     * Returns a single bid list.
+     */
+    @GetMapping("/bidLists/{id}")
+    public ResponseEntity<BidDTO> bidList(@PathVariable("id") int id, WebRequest request) {
+        return item(BidList.class, request, () -> bidListService.getBidDTOById(id));
+    }
+
+    /**
+     * Lists curve points, filtered and sorted like {@link #trades(Map, WebRequest)}.
+     */
+    @GetMapping("/curvePoints")
+    public ResponseEntity<ApiPage<CurveDTO>> curvePoints(@RequestParam Map<String, String> parameters,
+                                                         WebRequest request) {
+        return list(CurvePoint.class, parameters, request, curveService::convertToDtoList);
+    }
+
+    /**
+     * Returns a single curve point.
+     */
+    @GetMapping("/curvePoints/{id}")
+    public ResponseEntity<CurveDTO> curvePoint(@PathVariable("id") int id, WebRequest request) {
+        return item(CurvePoint.class, request, () -> curveService.getCurveDTOById(id));
+    }
+
+    /**
+     * Lists ratings, filtered and sorted like {@link #trades(Map, WebRequest)}.
+     */
+    @GetMapping("/ratings")
+    public ResponseEntity<ApiPage<RatingDTO>> ratings(@RequestParam Map<String, String> parameters,
+                                                      WebRequest request) {
+        return list(Rating.class, parameters, request, ratingService::convertToDTOList);
+    }
+
+    /**
+     * Returns a single rating.
+     */
+    @GetMapping("/ratings/{id}")
+    public ResponseEntity<RatingDTO> rating(@PathVariable("id") int id, WebRequest request) {
+        return item(Rating.class, request, () -> ratingService.getRatingDTOById(id));
+    }
+
+    /**
+     * Lists rule names, filtered and sorted like {@link #trades(Map, WebRequest)}.
+     */
+    @GetMapping("/ruleNames")
+    public ResponseEntity<ApiPage<RuleNameDTO>> ruleNames(@RequestParam Map<String, String> parameters,
+                                                          WebRequest request) {
+        return list(RuleName.class, parameters, request, ruleNameService::convertToDTOList);
+    }
+
+    /**
+     * Returns a single rule name.
+     */
+    @GetMapping("/ruleNames/{id}")
+    public ResponseEntity<RuleNameDTO> ruleName(@PathVariable("id") int id, WebRequest request) {
+        return item(RuleName.class, request, () -> ruleNameService.getRuleNameDTOById(id));
+    }
+
+    /**
+     * Lists users, without their passwords.
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/users")
+    public ResponseEntity<ApiPage<UserDTO>> users(@RequestParam Map<String, String> parameters, WebRequest request) {
+        return list(User.class, parameters, request,
+                users -> userService.convertToDTO(users).stream().map(ApiController::withoutPassword).toList());
+    }
+
+    /**
+     * Returns a single user, without its password.
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/users/{id}")
+    public ResponseEntity<UserDTO> user(@PathVariable("id") int id, WebRequest request) {
+        return item(User.class, request, () -> withoutPassword(userService.getUserDTOById(id)));
+    }
+
+    private <T, D> ResponseEntity<ApiPage<D>> list(Class<T> entityType, Map<String, String> parameters,
+                                                   WebRequest request, Function<List<T>, List<D>> toDTO) {
+        String etag = tableVersions.etag(entityType);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Map<String, String> criteria = new HashMap<>(parameters);
+        int page = parseInt(criteria.remove(PAGE), 0);
+        int size = Math.min(parseInt(criteria.remove(SIZE), DEFAULT_SIZE), MAX_SIZE);
+        Page<T> result = filterQueryService.find(entityType, EntityFilter.fromParameters(criteria), page, size);
+        ApiPage<D> body = new ApiPage<>(toDTO.apply(result.getContent()), page, size, result.getTotalElements());
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+
+    private <D> ResponseEntity<D> item(Class<?> entityType, WebRequest request, Supplier<D> finder) {
+        String etag = tableVersions.etag(entityType);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(finder.get());
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException("Negative paging parameter: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid paging parameter: " + value, e);
+        }
+    }
+
+    private static UserDTO withoutPassword(UserDTO userDTO) {
+        userDTO.setPassword(null);
+        return userDTO;
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    ResponseEntity<Map<String, String>> notFound(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        log.warn("Rejected API request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
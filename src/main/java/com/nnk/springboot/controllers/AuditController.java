@@ -0,0 +1,69 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.audit.AuditTrail;
+import com.nnk.springboot.dto.ApiPage;
+import com.nnk.springboot.dto.AuditLogDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * JSON search over the audit log of entity changes, for administrators.
+ */
+@Slf4j
+@RestController
+public class AuditController {
+
+    private final AuditTrail auditTrail;
+
+    /**
+     * Constructs a new instance of {@link AuditController}.
+     *
+     * @param auditTrail the audit log
+     */
+    public AuditController(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    /**
+     * Lists the recorded changes matching every given criterion, most recent first.
+     *
+     * @param entityType the simple class name of the changed entities, such as {@code Trade}
+     * @param entityId   the ID of the changed entity, with its entity type
+     * @param username   the user who made the changes
+     * @param from       the start of the time range, inclusive, in ISO format
+     * @param to         the end of the time range, exclusive, in ISO format
+     * @param page       the page number, from 0
+     * @param size       the page size
+     * @return the matching changes
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/api/v1/audit")
+    public ApiPage<AuditLogDTO> search(@RequestParam(value = "entityType", required = false) String entityType,
+                                       @RequestParam(value = "entityId", required = false) String entityId,
+                                       @RequestParam(value = "user", required = false) String username,
+                                       @RequestParam(value = "from", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                       @RequestParam(value = "to", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                       @RequestParam(value = "page", defaultValue = "0") int page,
+                                       @RequestParam(value = "size", defaultValue = "100") int size) {
+        Page<AuditLogDTO> result = auditTrail.search(entityType, entityId, username, from, to, page, size);
+        return new ApiPage<>(result.getContent(), page, size, result.getTotalElements());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        log.warn("Rejected audit search: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -3,6 +3,8 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.dto.BidDTO;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.search.SearchIndexService;
 import com.nnk.springboot.service.BidListService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -20,14 +22,17 @@ import java.util.List;
 public class BidListController {
 
     private final BidListService bidListService;
+    private final SearchIndexService searchIndexService;
 
     /**
      * Constructs a new instance of {@link BidListController}.
      *
-     * @param bidListService the service for managing bid lists
+     * @param bidListService     the service for managing bid lists
+     * @param searchIndexService the service searching the in-memory bid index
      */
-    public BidListController(BidListService bidListService) {
+    public BidListController(BidListService bidListService, SearchIndexService searchIndexService) {
         this.bidListService = bidListService;
+        this.searchIndexService = searchIndexService;
     }
 
     /**
@@ -45,6 +50,21 @@ public class BidListController {
         return "bidList/list";
     }
 
+    /**
+     * Displays the bids matching a search query.
+     *
+     * @param query the search terms, optionally prefixed by a field such as {@code book:}
+     * @param model the model to pass attributes to the view
+     * @return the view name for the bid list page
+     */
+    @GetMapping("/bidList/search")
+    public String search(@RequestParam("q") String query, Model model) {
+        List<BidList> bidLists = searchIndexService.searchBids(query);
+        model.addAttribute("bidLists", bidListService.convertToDTOList(bidLists));
+        model.addAttribute("query", query);
+        return "bidList/list";
+    }
+
     /**
      * Displays the form to add a new bid.
      *
@@ -130,6 +150,12 @@ public class BidListController {
             redirectAttributes.addFlashAttribute("successMessage", "Bid successfully Updated");
 
             return "redirect:/bidList/list";
+        } catch (EntityVersionConflictException e) {
+            log.warn("Conflicting update of bidList with ID: {}", id);
+            model.addAttribute("id", id);
+            model.addAttribute("bidList", bidDTO);
+            model.addAttribute("errorMessage", "This record was modified by another user. Reload it before saving again.");
+            return "bidList/update";
         } catch (IllegalArgumentException | EntitySaveException e) {
             log.error("Error occurred while updating bid with ID: {}", id, e);
             model.addAttribute("id", id);
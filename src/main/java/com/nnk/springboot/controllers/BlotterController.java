@@ -0,0 +1,62 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.blotter.BlotterHub;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Server-Sent Events stream of the changes shown on the trade and bid list pages.
+ */
+@RestController
+public class BlotterController {
+
+    private static final Set<String> TABLES = Set.of("trade", "bid");
+
+    private final BlotterHub blotterHub;
+
+    /**
+     * Constructs a new instance of {@link BlotterController}.
+     *
+     * @param blotterHub the hub streaming the changes
+     */
+    public BlotterController(BlotterHub blotterHub) {
+        this.blotterHub = blotterHub;
+    }
+
+    /**
+     * Opens the change stream of the given tables.
+     *
+     * @param tables      the tables to follow, {@code trade} and/or {@code bid}
+     * @param lastEventId the ID of the last event received, sent by browsers when they reconnect
+     * @return the event stream
+     * @throws IllegalArgumentException if a table is unknown
+     */
+    @GetMapping(value = "/blotter/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(value = "tables", defaultValue = "trade,bid") Set<String> tables,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (tables.isEmpty() || !TABLES.containsAll(tables)) {
+            throw new IllegalArgumentException("Unknown blotter tables: " + tables);
+        }
+        return blotterHub.subscribe(tables, lastEventId);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    ResponseEntity<String> unavailable(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+    }
+}
@@ -3,6 +3,7 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.dto.CurveDTO;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.service.CurveService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -127,6 +128,12 @@ public class CurveController {
             redirectAttributes.addFlashAttribute("successMessage", "Curve successfully Updated");
 
             return "redirect:/curvePoint/list";
+        } catch (EntityVersionConflictException e) {
+            log.warn("Conflicting update of curvePoint with ID: {}", id);
+            model.addAttribute("id", id);
+            model.addAttribute("curvePoint", curvePoint);
+            model.addAttribute("errorMessage", "This record was modified by another user. Reload it before saving again.");
+            return "curvePoint/update";
         }catch (IllegalArgumentException | EntitySaveException e) {
             log.error("An error occurred while updating bid with ID: {}", id);
             model.addAttribute("errorMessage", "An error occurred while updating bid");
@@ -0,0 +1,54 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.event.DomainEventBus;
+import com.nnk.springboot.event.EventConsumerStats;
+import com.nnk.springboot.event.InvalidationChannel;
+import com.nnk.springboot.event.InvalidationStats;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+@Controller
+public class EventBusController {
+
+    private final DomainEventBus eventBus;
+    private final InvalidationChannel invalidationChannel;
+
+    /**
+     * Constructs a new instance of {@link EventBusController}.
+     *
+     * @param eventBus            the bus delivering committed changes to its consumers
+     * @param invalidationChannel the channel exchanging committed changes with the other instances
+     */
+    public EventBusController(DomainEventBus eventBus, InvalidationChannel invalidationChannel) {
+        this.eventBus = eventBus;
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    /**
+     * Returns the queue depth, throughput and lag of every event consumer.
+     *
+     * @return the current statistics
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/events/stats")
+    @ResponseBody
+    public List<EventConsumerStats> stats() {
+        return eventBus.getStats();
+    }
+
+    /**
+     * Returns the number of changes exchanged with the other instances.
+     *
+     * @return the current statistics
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/events/invalidation/stats")
+    @ResponseBody
+    public InvalidationStats invalidationStats() {
+        return invalidationChannel.getStats();
+    }
+}
@@ -0,0 +1,98 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.JobDTO;
+import com.nnk.springboot.dto.JobRequest;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.jobs.JobService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * JSON endpoints submitting bulk jobs and reporting their progress.
+ *
+ * <p>A submitted job is answered with {@code 202 Accepted} and its location, which clients
+ * poll until the job's status is final.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    /**
+     * Constructs a new instance of {@link JobController}.
+     *
+     * @param jobService the service running the jobs
+     */
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * Queues a job.
+     *
+     * @param request   the type and parameters of the job
+     * @param principal the user submitting the job
+     * @return the queued job
+     */
+    @PostMapping
+    public ResponseEntity<JobDTO> submit(@Valid @RequestBody JobRequest request, Principal principal) {
+        Map<String, String> parameters = request.getParameters() == null ? Map.of() : request.getParameters();
+        JobDTO job = jobService.submit(request.getType(), parameters, principal.getName());
+        return ResponseEntity.accepted().location(URI.create("/jobs/" + job.getId())).body(job);
+    }
+
+    /**
+     * Returns the progress, throughput and last error of a job.
+     */
+    @GetMapping("/{id}")
+    public JobDTO job(@PathVariable("id") long id) {
+        return jobService.getJob(id);
+    }
+
+    /**
+     * Cancels a job.
+     */
+    @PostMapping("/{id}/cancel")
+    public JobDTO cancel(@PathVariable("id") long id) {
+        return jobService.cancel(id);
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    ResponseEntity<Map<String, String>> notFound(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        log.warn("Rejected job request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    ResponseEntity<Map<String, String>> invalid(MethodArgumentNotValidException e) {
+        return ResponseEntity.badRequest().body(Map.of("error",
+                String.valueOf(e.getBindingResult().getFieldErrors().get(0).getDefaultMessage())));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    ResponseEntity<Map<String, String>> unavailable(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+    }
+}
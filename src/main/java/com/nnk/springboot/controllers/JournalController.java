@@ -0,0 +1,50 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.JournalDeadLetter;
+import com.nnk.springboot.journal.JournalStats;
+import com.nnk.springboot.journal.TradeJournalService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+@Controller
+public class JournalController {
+
+    private final TradeJournalService tradeJournalService;
+
+    /**
+     * Constructs a new instance of {@link JournalController}.
+     *
+     * @param tradeJournalService the service booking trades through the trade journal
+     */
+    public JournalController(TradeJournalService tradeJournalService) {
+        this.tradeJournalService = tradeJournalService;
+    }
+
+    /**
+     * Returns the last appended, durable and applied entries of the trade journal.
+     *
+     * @return the current statistics
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/journal/stats")
+    @ResponseBody
+    public JournalStats stats() {
+        return tradeJournalService.getStats();
+    }
+
+    /**
+     * Returns the most recent journal entries the database refused, with their errors.
+     *
+     * @return the dead letters, newest first
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/journal/dead-letters")
+    @ResponseBody
+    public List<JournalDeadLetter> deadLetters() {
+        return tradeJournalService.getDeadLetters();
+    }
+}
@@ -0,0 +1,68 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.matching.MatchingEngine;
+import com.nnk.springboot.matching.MatchingStats;
+import com.nnk.springboot.service.BidListService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+@Slf4j
+@Controller
+public class MatchingController {
+
+    private final MatchingEngine matchingEngine;
+    private final BidListService bidListService;
+
+    /**
+     * Constructs a new instance of {@link MatchingController}.
+     *
+     * @param matchingEngine the engine matching bids against asks
+     * @param bidListService the service for managing bid lists
+     */
+    public MatchingController(MatchingEngine matchingEngine, BidListService bidListService) {
+        this.matchingEngine = matchingEngine;
+        this.bidListService = bidListService;
+    }
+
+    /**
+     * Submits the bid and ask sides of a bid list to the matching engine again. New bid lists are
+     * submitted automatically; this is for resubmitting one, e.g. after a rejection. It is refused
+     * while orders of the bid list are still open, as they would be matched twice.
+     *
+     * @param id                 the ID of the bid list to submit
+     * @param redirectAttributes the attributes to pass on redirection
+     * @return the redirect URL for the bid list
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/matching/submit/{id}")
+    public String submit(@PathVariable("id") Integer id, RedirectAttributes redirectAttributes) {
+        BidList bidList = bidListService.getBidListById(id);
+        try {
+            int accepted = matchingEngine.resubmit(bidList);
+            redirectAttributes.addFlashAttribute("successMessage", accepted + " order(s) submitted for matching");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("Bid list {} cannot be matched: {}", id, e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/bidList/list";
+    }
+
+    /**
+     * Returns the matching engine's throughput and latency statistics.
+     *
+     * @return the current statistics
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/matching/stats")
+    @ResponseBody
+    public MatchingStats stats() {
+        return matchingEngine.getStats();
+    }
+}
@@ -0,0 +1,35 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.cache.PageCache;
+import com.nnk.springboot.cache.PageCacheStats;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+@Controller
+public class PageCacheController {
+
+    private final PageCache pageCache;
+
+    /**
+     * Constructs a new instance of {@link PageCacheController}.
+     *
+     * @param pageCache the store of rendered list pages
+     */
+    public PageCacheController(PageCache pageCache) {
+        this.pageCache = pageCache;
+    }
+
+    /**
+     * Returns the size and hit rate of the rendered page cache.
+     *
+     * @return the current statistics
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/cache/pages/stats")
+    @ResponseBody
+    public PageCacheStats stats() {
+        return pageCache.getStats();
+    }
+}
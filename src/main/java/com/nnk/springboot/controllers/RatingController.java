@@ -3,6 +3,8 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.dto.RatingDTO;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.rating.RatingAgency;
 import com.nnk.springboot.service.RatingService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +46,29 @@ public class RatingController {
         return "rating/list";
     }
 
+    /**
+     * Displays the ratings of an agency between two notations.
+     *
+     * @param agency the agency whose notations bound the range
+     * @param from   one bound of the range, e.g. {@code BBB-}
+     * @param to     the other bound of the range, e.g. {@code A+}
+     * @param model  the model to pass attributes to the view
+     * @return the view name for the rating list
+     */
+    @GetMapping("/rating/range")
+    public String range(@RequestParam("agency") RatingAgency agency, @RequestParam("from") String from,
+                        @RequestParam("to") String to, Model model) {
+        try {
+            List<Rating> ratings = ratingService.getRatingsBetween(agency, from, to);
+            model.addAttribute("ratings", ratingService.convertToDTOList(ratings));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid rating range {} - {} for {}", from, to, agency);
+            model.addAttribute("ratings", List.of());
+            model.addAttribute("errorMessage", e.getMessage());
+        }
+        return "rating/list";
+    }
+
     /**
      * Displays the form to add a new rating.
      *
@@ -131,6 +156,12 @@ public class RatingController {
             redirectAttributes.addFlashAttribute("successMessage", "Rating successfully Updated");
 
             return "redirect:/rating/list";
+        } catch (EntityVersionConflictException e) {
+            log.warn("Conflicting update of rating with ID: {}", id);
+            model.addAttribute("id", id);
+            model.addAttribute("rating", rating);
+            model.addAttribute("errorMessage", "This record was modified by another user. Reload it before saving again.");
+            return "rating/update";
         }catch (IllegalArgumentException | EntitySaveException e){
             log.warn("error updating rating {}", rating);
             model.addAttribute("id", id);
@@ -0,0 +1,79 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.RatingHistory;
+import com.nnk.springboot.rating.RatingAgency;
+import com.nnk.springboot.rating.RatingTransitionService;
+import com.nnk.springboot.rating.TransitionMatrix;
+import com.nnk.springboot.rating.TransitionWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON endpoints exposing the rating history and the rating transition matrices built from it.
+ */
+@Slf4j
+@RestController
+public class RatingTransitionController {
+
+    private final RatingTransitionService ratingTransitionService;
+
+    /**
+     * Constructs a new instance of {@link RatingTransitionController}.
+     *
+     * @param ratingTransitionService the service recording the history and computing the matrices
+     */
+    public RatingTransitionController(RatingTransitionService ratingTransitionService) {
+        this.ratingTransitionService = ratingTransitionService;
+    }
+
+    /**
+     * Computes the transition matrix of an agency, e.g.
+     * {@code /api/v1/ratings/transitions?agency=SANDP&from=2020-01-01T00:00:00&horizonMonths=12}.
+     *
+     * @param agency        the agency: {@code MOODYS}, {@code SANDP} or {@code FITCH}
+     * @param from          the start of the first cohort, in ISO format
+     * @param to            the date no cohort horizon ends after, in ISO format; now when absent
+     * @param horizonMonths the migration horizon, in months
+     * @param stepMonths    the interval between two cohorts, in months; the horizon when absent
+     * @return the counts and probabilities of the agency's migrations
+     */
+    @GetMapping("/api/v1/ratings/transitions")
+    public TransitionMatrix transitions(@RequestParam("agency") RatingAgency agency,
+                                        @RequestParam("from")
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                        @RequestParam(value = "to", required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                        @RequestParam(value = "horizonMonths", defaultValue = "12") int horizonMonths,
+                                        @RequestParam(value = "stepMonths", required = false) Integer stepMonths) {
+        TransitionWindow window = new TransitionWindow(from, to == null ? LocalDateTime.now() : to, horizonMonths,
+                stepMonths == null ? horizonMonths : stepMonths);
+        return ratingTransitionService.transitionMatrix(agency, window);
+    }
+
+    /**
+     * Returns the history of a rating, oldest first.
+     *
+     * @param id the ID of the rating
+     * @return the history rows of the rating
+     */
+    @GetMapping("/api/v1/ratings/{id}/history")
+    public List<RatingHistory> history(@PathVariable("id") int id) {
+        return ratingTransitionService.getHistory(id);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        log.warn("Rejected rating transition query: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
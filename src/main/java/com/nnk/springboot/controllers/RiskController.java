@@ -0,0 +1,65 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.risk.VarReport;
+import com.nnk.springboot.risk.VarRequest;
+import com.nnk.springboot.risk.VarService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * JSON value-at-risk of the trades.
+ */
+@Slf4j
+@RestController
+public class RiskController {
+
+    private final VarService varService;
+    private final int defaultPaths;
+
+    /**
+     * Constructs a new instance of {@link RiskController}.
+     *
+     * @param varService   the service simulating the value-at-risk
+     * @param defaultPaths the number of paths simulated when the request names none
+     */
+    public RiskController(VarService varService, @Value("${risk.var.default-paths:20000}") int defaultPaths) {
+        this.varService = varService;
+        this.defaultPaths = defaultPaths;
+    }
+
+    /**
+     * Measures the value-at-risk and expected shortfall of the whole book, of every book and of
+     * every trader, e.g. {@code /api/v1/risk/var?paths=50000&confidence=0.99,0.975&horizonDays=10}.
+     *
+     * @param paths       the number of simulated curve moves
+     * @param confidences the confidence levels
+     * @param horizonDays the number of curve observation intervals each move spans
+     * @param seed        the seed of the simulation; a random one, reported in the result, when absent
+     * @return the risk of each group
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/api/v1/risk/var")
+    public VarReport valueAtRisk(@RequestParam(value = "paths", required = false) Integer paths,
+                                 @RequestParam(value = "confidence", defaultValue = "0.99,0.975") List<Double> confidences,
+                                 @RequestParam(value = "horizonDays", defaultValue = "1") int horizonDays,
+                                 @RequestParam(value = "seed", required = false) Long seed) {
+        return varService.valueAtRisk(new VarRequest(paths == null ? defaultPaths : paths, horizonDays, confidences,
+                seed == null ? ThreadLocalRandom.current().nextLong() : seed));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        log.warn("Rejected value-at-risk request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -3,30 +3,56 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.dto.RuleNameDTO;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.rules.RuleEvaluationPipeline;
+import com.nnk.springboot.rules.RuleEvaluationStats;
+import com.nnk.springboot.rules.RuleExecutionResult;
+import com.nnk.springboot.rules.RuleExecutionService;
+import com.nnk.springboot.rules.TemplateRenderingService;
 import com.nnk.springboot.service.RuleNameService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Controller
 public class RuleNameController {
 
     private final RuleNameService ruleNameService;
+    private final RuleExecutionService ruleExecutionService;
+    private final TemplateRenderingService templateRenderingService;
+    private final RuleEvaluationPipeline ruleEvaluationPipeline;
 
     /**
      * Constructs a new instance of {@link RuleNameController}.
      *
-     * @param ruleNameService the service for managing rule names
+     * @param ruleNameService          the service for managing rule names
+     * @param ruleExecutionService     the service executing the rules' SQL
+     * @param templateRenderingService the service rendering the rules' templates
+     * @param ruleEvaluationPipeline   the pipeline evaluating the rules against written trades
      */
-    public RuleNameController(RuleNameService ruleNameService) {
+    public RuleNameController(RuleNameService ruleNameService, RuleExecutionService ruleExecutionService,
+                              TemplateRenderingService templateRenderingService,
+                              RuleEvaluationPipeline ruleEvaluationPipeline) {
         this.ruleNameService = ruleNameService;
+        this.ruleExecutionService = ruleExecutionService;
+        this.templateRenderingService = templateRenderingService;
+        this.ruleEvaluationPipeline = ruleEvaluationPipeline;
     }
 
     /**
@@ -49,6 +75,7 @@ public class RuleNameController {
      * @param model the model to pass attributes to the view
      * @return the view name for the add rule name form
      */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/ruleName/add")
     public String addRuleForm(Model model) {
         model.addAttribute("ruleName", new RuleNameDTO());
@@ -64,6 +91,7 @@ public class RuleNameController {
      * @param redirectAttributes the attributes to pass on redirection
      * @return the view name or redirect URL
      */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/ruleName/validate")
     public String validate(@Valid @ModelAttribute("ruleName") RuleNameDTO ruleName, BindingResult result,
                            Model model, RedirectAttributes redirectAttributes) {
@@ -92,6 +120,7 @@ public class RuleNameController {
      * @param model the model to pass attributes to the view
      * @return the view name for the update rule name form
      */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/ruleName/update/{id}")
     public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
         // TODO: get RuleName by Id and to model then show to the form
@@ -110,6 +139,7 @@ public class RuleNameController {
      * @param redirectAttributes the attributes to pass on redirection
      * @return the view name or redirect URL
      */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/ruleName/update/{id}")
     public String updateRuleName(@PathVariable("id") Integer id, @Valid @ModelAttribute("ruleName") RuleNameDTO ruleName,
                                  BindingResult result, Model model, RedirectAttributes redirectAttributes) {
@@ -125,6 +155,12 @@ public class RuleNameController {
             redirectAttributes.addFlashAttribute("successMessage", "Bid successfully Updated");
             log.info("Updating ruleName successfully");
             return "redirect:/ruleName/list";
+        } catch (EntityVersionConflictException e) {
+            log.warn("Conflicting update of ruleName with ID: {}", id);
+            model.addAttribute("id", id);
+            model.addAttribute("ruleName", ruleName);
+            model.addAttribute("errorMessage", "This record was modified by another user. Reload it before saving again.");
+            return "ruleName/update";
         } catch (IllegalArgumentException | EntitySaveException e) {
             log.error("An error occurred while updating rule with ID: {}", id);
             model.addAttribute("ruleName", ruleName);
@@ -140,6 +176,7 @@ public class RuleNameController {
      * @param redirectAttributes the attributes to pass on redirection
      * @return the redirect URL for the rule name list
      */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/ruleName/delete/{id}")
     public String deleteRuleName(@PathVariable("id") Integer id, RedirectAttributes redirectAttributes) {
         // TODO: Find RuleName by Id and delete the RuleName, return to Rule list
@@ -147,4 +184,106 @@ public class RuleNameController {
         redirectAttributes.addFlashAttribute("successMessage", "Rule successfully deleted");
         return "redirect:/ruleName/list";
     }
+
+    /**
+     * Runs every rule and displays the per-rule execution results.
+     *
+     * @param parameters the request parameters, bound to the rules' named parameters
+     * @param model      the model to pass attributes to the view
+     * @return the view name for the rule execution results
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/ruleName/run")
+    public String runAll(@RequestParam Map<String, String> parameters, Model model) {
+        List<RuleExecutionResult> results = ruleExecutionService.runAllRules(parameters);
+        model.addAttribute("results", results);
+        return "ruleName/run";
+    }
+
+    /**
+     * Runs a single rule and displays its execution result.
+     *
+     * @param id         the ID of the rule to run
+     * @param parameters the request parameters, bound to the rule's named parameters
+     * @param model      the model to pass attributes to the view
+     * @return the view name for the rule execution results
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/ruleName/run/{id}")
+    public String run(@PathVariable("id") Integer id, @RequestParam Map<String, String> parameters, Model model) {
+        RuleExecutionResult result = ruleExecutionService.runRule(id, parameters);
+        model.addAttribute("results", List.of(result));
+        return "ruleName/run";
+    }
+
+    /**
+     * Renders a rule's template against a single trade.
+     *
+     * @param id      the ID of the rule
+     * @param tradeId the ID of the trade
+     * @return the rendered text
+     */
+    @GetMapping(value = "/ruleName/{id}/render/trade/{tradeId}", produces = MediaType.TEXT_PLAIN_VALUE)
+    @ResponseBody
+    public String renderTrade(@PathVariable("id") Integer id, @PathVariable("tradeId") Integer tradeId) {
+        return templateRenderingService.renderTrade(id, tradeId);
+    }
+
+    /**
+     * Renders a rule's template against a single bid.
+     *
+     * @param id    the ID of the rule
+     * @param bidId the ID of the bid list
+     * @return the rendered text
+     */
+    @GetMapping(value = "/ruleName/{id}/render/bid/{bidId}", produces = MediaType.TEXT_PLAIN_VALUE)
+    @ResponseBody
+    public String renderBid(@PathVariable("id") Integer id, @PathVariable("bidId") Integer bidId) {
+        return templateRenderingService.renderBid(id, bidId);
+    }
+
+    /**
+     * Streams a rule's template rendered against every trade of a book, one line per trade.
+     *
+     * @param id   the ID of the rule
+     * @param book the book whose trades are rendered
+     * @return the streamed response
+     */
+    @GetMapping("/ruleName/{id}/render/trades")
+    public ResponseEntity<StreamingResponseBody> renderTradesForBook(@PathVariable("id") Integer id,
+                                                                     @RequestParam("book") String book) {
+        templateRenderingService.tradeTemplate(id);
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            templateRenderingService.renderTradesForBook(id, book, writer);
+        };
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(body);
+    }
+
+    /**
+     * Displays the rule violations detected on written trades.
+     *
+     * @param ruleId  restricts the list to this rule, if present
+     * @param tradeId restricts the list to this trade, if present
+     * @param model   the model to pass attributes to the view
+     * @return the view name for the rule violation list
+     */
+    @GetMapping("/ruleName/violations")
+    public String violations(@RequestParam(value = "ruleId", required = false) Integer ruleId,
+                             @RequestParam(value = "tradeId", required = false) Integer tradeId, Model model) {
+        model.addAttribute("violations", ruleEvaluationPipeline.getViolations(ruleId, tradeId));
+        return "ruleName/violations";
+    }
+
+    /**
+     * Returns the queue and latency statistics of the incremental rule evaluation.
+     *
+     * @return the evaluation statistics
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/ruleName/evaluation/stats")
+    @ResponseBody
+    public RuleEvaluationStats evaluationStats() {
+        return ruleEvaluationPipeline.getStats();
+    }
 }
@@ -0,0 +1,148 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.scenario.CurveValuation;
+import com.nnk.springboot.scenario.ScenarioDefinition;
+import com.nnk.springboot.scenario.ScenarioService;
+import com.nnk.springboot.scenario.StandardValuation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON endpoints storing curve scenario definitions and streaming their valuations.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/scenarios")
+public class ScenarioController {
+
+    private final ScenarioService scenarioService;
+
+    /**
+     * Constructs a new instance of {@link ScenarioController}.
+     *
+     * @param scenarioService the service storing and running the scenario definitions
+     */
+    public ScenarioController(ScenarioService scenarioService) {
+        this.scenarioService = scenarioService;
+    }
+
+    /**
+     * Returns the stored scenario definitions.
+     */
+    @GetMapping
+    public List<ScenarioDefinition> definitions() {
+        return scenarioService.getAll();
+    }
+
+    /**
+     * Returns a scenario definition.
+     */
+    @GetMapping("/{name}")
+    public ScenarioDefinition definition(@PathVariable("name") String name) {
+        return scenarioService.get(name);
+    }
+
+    /**
+     * Stores a scenario definition, replacing the one of the same name, e.g.
+     * {@code {"name":"rates","axes":[{"shape":{"type":"parallel"},"from":-2,"to":2,"steps":41}]}}.
+     *
+     * @param definition the definition
+     * @return the stored definition
+     */
+    @PostMapping
+    public ResponseEntity<ScenarioDefinition> save(@RequestBody ScenarioDefinition definition) {
+        ScenarioDefinition saved = scenarioService.save(definition);
+        return ResponseEntity.created(URI.create("/api/v1/scenarios/" + saved.name())).body(saved);
+    }
+
+    /**
+     * Deletes a scenario definition.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> delete(@PathVariable("name") String name) {
+        scenarioService.delete(name);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Values a portfolio under every scenario of a definition applied to the current curves,
+     * streaming one JSON line per scenario as chunks of scenarios complete, e.g.
+     * {@code {"scenario":12,"amplitudes":[-1.4,0.0],"value":97.31}}.
+     *
+     * @param name      the name of the definition
+     * @param valuation the valuation: {@code presentValue} or {@code averageValue}
+     * @return the streamed values
+     */
+    @GetMapping("/{name}/results")
+    public ResponseEntity<StreamingResponseBody> results(@PathVariable("name") String name,
+                                                         @RequestParam(value = "valuation", defaultValue = "presentValue")
+                                                         String valuation) {
+        ScenarioDefinition definition = scenarioService.get(name);
+        CurveValuation curveValuation = StandardValuation.fromParameter(valuation);
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            double[] amplitudes = new double[definition.axes().size()];
+            try {
+                scenarioService.run(definition, curveValuation, (first, values, count) -> {
+                    try {
+                        for (int i = 0; i < count; i++) {
+                            definition.amplitudes(first + i, amplitudes);
+                            writeLine(writer, first + i, amplitudes, values[i]);
+                        }
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                log.warn("Scenario results of {} no longer read: {}", name, e.getMessage());
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static void writeLine(Writer writer, int scenario, double[] amplitudes, double value) throws IOException {
+        writer.write("{\"scenario\":");
+        writer.write(Integer.toString(scenario));
+        writer.write(",\"amplitudes\":[");
+        for (int axis = 0; axis < amplitudes.length; axis++) {
+            if (axis > 0) {
+                writer.write(',');
+            }
+            writer.write(number(amplitudes[axis]));
+        }
+        writer.write("],\"value\":");
+        writer.write(number(value));
+        writer.write("}\n");
+    }
+
+    private static String number(double value) {
+        return Double.isFinite(value) ? Double.toString(value) : "null";
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    ResponseEntity<Map<String, String>> notFound(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        log.warn("Rejected scenario request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -2,6 +2,9 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Trade;
 import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.journal.TradeJournalService;
+import com.nnk.springboot.search.SearchIndexService;
 import com.nnk.springboot.service.TradeService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -18,14 +21,21 @@ import java.util.List;
 public class TradeController {
 
     private final TradeService tradeService;
+    private final SearchIndexService searchIndexService;
+    private final TradeJournalService tradeJournalService;
 
     /**
      * Constructs a new instance of {@link TradeController}.
      *
-     * @param tradeService the service for managing trades
+     * @param tradeService        the service for managing trades
+     * @param searchIndexService  the service searching the in-memory trade index
+     * @param tradeJournalService the service booking new trades through the trade journal
      */
-    public TradeController(TradeService tradeService) {
+    public TradeController(TradeService tradeService, SearchIndexService searchIndexService,
+                           TradeJournalService tradeJournalService) {
         this.tradeService = tradeService;
+        this.searchIndexService = searchIndexService;
+        this.tradeJournalService = tradeJournalService;
     }
 
     /**
@@ -43,6 +53,21 @@ public class TradeController {
         return "trade/list";
     }
 
+    /**
+     * Displays the trades matching a search query.
+     *
+     * @param query the search terms, optionally prefixed by a field such as {@code book:}
+     * @param model the model to pass attributes to the view
+     * @return the view name for the trade list
+     */
+    @GetMapping("/trade/search")
+    public String search(@RequestParam("q") String query, Model model) {
+        List<Trade> tradeList = searchIndexService.searchTrades(query);
+        model.addAttribute("trades", tradeService.convertToDTOList(tradeList));
+        model.addAttribute("query", query);
+        return "trade/list";
+    }
+
     /**
      * Displays the form to add a new trade.
      *
@@ -56,7 +81,7 @@ public class TradeController {
     }
 
     /**
-     * Validates and saves a new trade.
+     * Validates and books a new trade.
      *
      * @param trade              the trade data transfer object to save
      * @param result             the binding result for validation errors
@@ -73,7 +98,7 @@ public class TradeController {
             return "trade/add";
         }
         try{
-            tradeService.saveTrade(trade);
+            tradeJournalService.book(trade);
             redirectAttributes.addFlashAttribute("successMessage", "Trade added successfully");
             return "redirect:/trade/list";
         }catch(Exception e){
@@ -123,6 +148,12 @@ public class TradeController {
             log.info("trade with ID {} updated successfully", id);
             redirectAttributes.addFlashAttribute("successMessage", "Trade successfully Updated");
             return "redirect:/trade/list";
+        } catch (EntityVersionConflictException e) {
+            log.warn("Conflicting update of trade with ID: {}", id);
+            model.addAttribute("id", id);
+            model.addAttribute("trade", trade);
+            model.addAttribute("errorMessage", "This record was modified by another user. Reload it before saving again.");
+            return "trade/update";
         } catch (Exception e) {
             log.error("Error occurred while updating trade with ID: {}", id, e);
             model.addAttribute("id", id);
@@ -2,6 +2,7 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.service.UserService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -131,6 +132,12 @@ public class UserController {
             userService.updateUser(id, user);
             redirectAttributes.addFlashAttribute("successMessage", "User updated successfully");
             return "redirect:/user/list";
+        } catch (EntityVersionConflictException e) {
+            log.warn("Conflicting update of user with ID: {}", id);
+            model.addAttribute("id", id);
+            model.addAttribute("user", user);
+            model.addAttribute("errorMessage", "This record was modified by another user. Reload it before saving again.");
+            return "user/update";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
             model.addAttribute("user", user);
@@ -0,0 +1,92 @@
+package com.nnk.springboot.domain;
+
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A trade moved out of the {@code trade} table by the archival job, with the columns it had
+ * when it was archived.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "trade_archive", indexes = {
+        @Index(name = "idx_trade_archive_account_date", columnList = "account, trade_date"),
+        @Index(name = "idx_trade_archive_date", columnList = "trade_date")
+})
+public class ArchivedTrade {
+
+    @Id
+    @Column(name = "trade_id", nullable = false)
+    private int tradeId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "account", nullable = false, length = 30)
+    private String account;
+
+    @Column(name = "type", nullable = false, length = 30)
+    private String type;
+
+    @Column(name = "buy_quantity")
+    private Double buyQuantity;
+
+    @Column(name = "sell_quantity")
+    private Double sellQuantity;
+
+    @Column(name = "buy_price")
+    private Double buyPrice;
+
+    @Column(name = "sell_price")
+    private Double sellPrice;
+
+    @Column(name = "trade_date")
+    private LocalDateTime tradeDate;
+
+    @Column(name = "security", length = 125)
+    private String security;
+
+    @Column(name = "status", length = 10)
+    private String status;
+
+    @Column(name = "trader", length = 125)
+    private String trader;
+
+    @Column(name = "benchmark", length = 125)
+    private String benchmark;
+
+    @Column(name = "book", length = 125)
+    private String book;
+
+    @Column(name = "creation_name", length = 125)
+    private String creationName;
+
+    @Column(name = "creation_date")
+    private LocalDateTime creationDate;
+
+    @Column(name = "revision_name", length = 125)
+    private String revisionName;
+
+    @Column(name = "revision_date")
+    private LocalDateTime revisionDate;
+
+    @Column(name = "deal_name", length = 125)
+    private String dealName;
+
+    @Column(name = "deal_type", length = 125)
+    private String dealType;
+
+    @Column(name = "source_list_id", length = 125)
+    private String sourceListId;
+
+    @Column(name = "side", length = 125)
+    private String side;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
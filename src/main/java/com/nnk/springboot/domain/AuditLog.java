@@ -0,0 +1,45 @@
+package com.nnk.springboot.domain;
+
+
+import com.nnk.springboot.event.ChangeType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "audit_log", indexes = {
+        @Index(name = "idx_audit_entity", columnList = "entity_type, entity_id, changed_at"),
+        @Index(name = "idx_audit_user", columnList = "username, changed_at"),
+        @Index(name = "idx_audit_changed_at", columnList = "changed_at")
+})
+public class AuditLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 30)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false, length = 30)
+    private String entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 10)
+    private ChangeType action;
+
+    @Column(name = "username", nullable = false, length = 125)
+    private String username;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Lob
+    @Column(name = "changes")
+    private String changes;
+}
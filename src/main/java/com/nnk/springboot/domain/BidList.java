@@ -4,13 +4,22 @@ package com.nnk.springboot.domain;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "bidlist")
+@Table(name = "bidlist", indexes = {
+        @Index(name = "idx_bidlist_account_date", columnList = "account, bid_list_date"),
+        @Index(name = "idx_bidlist_book_date", columnList = "book, bid_list_date"),
+        @Index(name = "idx_bidlist_trader_date", columnList = "trader, bid_list_date"),
+        @Index(name = "idx_bidlist_status_date", columnList = "status, bid_list_date"),
+        @Index(name = "idx_bidlist_type_date", columnList = "type, bid_list_date"),
+        @Index(name = "idx_bidlist_date", columnList = "bid_list_date"),
+        @Index(name = "idx_bidlist_creation_date", columnList = "creation_date")
+})
 public class BidList {
 
     @Id
@@ -18,6 +27,11 @@ public class BidList {
     @Column(name = "bid_list_id", nullable = false)
     private Byte id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "account", nullable = false, length = 30)
     private String account;
 
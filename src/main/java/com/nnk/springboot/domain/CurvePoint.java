@@ -5,13 +5,17 @@ package com.nnk.springboot.domain;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "curvepoint")
+@Table(name = "curvepoint", indexes = {
+        @Index(name = "idx_curvepoint_as_of_date", columnList = "as_of_date"),
+        @Index(name = "idx_curvepoint_creation_date", columnList = "creation_date")
+})
 public class CurvePoint {
 
     @Id
@@ -19,6 +23,11 @@ public class CurvePoint {
     @Column(name = "Id", nullable = false)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "curve_Id", unique = true,nullable = false)
     private Integer curveId;
 
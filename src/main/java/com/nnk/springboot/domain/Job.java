@@ -0,0 +1,72 @@
+package com.nnk.springboot.domain;
+
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "job", indexes = @Index(name = "idx_job_status", columnList = "status, id"))
+public class Job {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "type", nullable = false, length = 50)
+    private String type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status;
+
+    @Lob
+    @Column(name = "parameters")
+    private String parameters;
+
+    @Column(name = "submitted_by", length = 125)
+    private String submittedBy;
+
+    @Column(name = "total_items", nullable = false)
+    private long totalItems;
+
+    @ColumnDefault("0")
+    @Column(name = "processed_items", nullable = false)
+    private long processedItems;
+
+    @ColumnDefault("0")
+    @Column(name = "failed_items", nullable = false)
+    private long failedItems;
+
+    @ColumnDefault("0")
+    @Column(name = "resume_from", nullable = false)
+    private long resumeFrom;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @ColumnDefault("false")
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
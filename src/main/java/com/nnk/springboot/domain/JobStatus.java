@@ -0,0 +1,19 @@
+package com.nnk.springboot.domain;
+
+/**
+ * Lifecycle of a {@link Job}.
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED;
+
+    /**
+     * @return whether the job has stopped for good
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
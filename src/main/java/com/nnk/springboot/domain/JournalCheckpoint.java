@@ -0,0 +1,25 @@
+package com.nnk.springboot.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The sequence number of the last journal entry written to the database, updated in the same
+ * transaction as the rows the entries produced.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "journal_checkpoint")
+public class JournalCheckpoint {
+
+    @Id
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+
+    @Column(name = "applied_sequence", nullable = false)
+    private long sequence;
+}
@@ -0,0 +1,42 @@
+package com.nnk.springboot.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A journal entry the database refused for good, kept with the error so the booking can be
+ * corrected and entered again. It is written in the same transaction as the checkpoint skipping it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "journal_dead_letter", uniqueConstraints = @UniqueConstraint(name = "uk_dead_letter_entry",
+        columnNames = {"journal", "sequence"}))
+public class JournalDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "journal", nullable = false, length = 50)
+    private String journal;
+
+    @Column(name = "sequence", nullable = false)
+    private Long sequence;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+}
@@ -4,11 +4,17 @@ package com.nnk.springboot.domain;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "rating")
+@Table(name = "rating", indexes = {
+        @Index(name = "idx_rating_moodys_notch", columnList = "moodys_notch"),
+        @Index(name = "idx_rating_sandp_notch", columnList = "sandp_notch"),
+        @Index(name = "idx_rating_fitch_notch", columnList = "fitch_notch"),
+        @Index(name = "idx_rating_order_number", columnList = "order_number")
+})
 public class Rating {
 
     @Id
@@ -16,6 +22,11 @@ public class Rating {
     @Column(name = "Id", nullable = false)
     private int id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "moodys_Rating", nullable = false, length = 125)
     private String moodysRating;
 
@@ -28,4 +39,13 @@ public class Rating {
     @Column(name = "order_Number",  nullable = false)
     private Integer orderNumber;
 
+    @Column(name = "moodys_notch")
+    private Integer moodysNotch;
+
+    @Column(name = "sandp_notch")
+    private Integer sandPNotch;
+
+    @Column(name = "fitch_notch")
+    private Integer fitchNotch;
+
 }
@@ -0,0 +1,43 @@
+package com.nnk.springboot.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The notches of a rating from a given date on, one row per change of the rating. A row without
+ * notches records the withdrawal of the rating.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "rating_history", indexes = {
+        @Index(name = "idx_rating_history_rating_date", columnList = "rating_id, effective_date")
+})
+public class RatingHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "rating_id", nullable = false)
+    private int ratingId;
+
+    @Column(name = "moodys_notch")
+    private Integer moodysNotch;
+
+    @Column(name = "sandp_notch")
+    private Integer sandPNotch;
+
+    @Column(name = "fitch_notch")
+    private Integer fitchNotch;
+
+    @Column(name = "effective_date", nullable = false)
+    private LocalDateTime effectiveDate;
+
+    @Column(name = "changed_by", length = 125)
+    private String changedBy;
+}
@@ -4,11 +4,12 @@ package com.nnk.springboot.domain;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "rulename")
+@Table(name = "rulename", indexes = @Index(name = "idx_rulename_name", columnList = "name"))
 public class RuleName {
 
     @Id
@@ -16,6 +17,11 @@ public class RuleName {
     @Column(name = "Id", nullable = false)
     private int id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "name",  nullable = false, length = 125)
     private String name;
 
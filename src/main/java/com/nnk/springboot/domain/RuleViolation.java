@@ -0,0 +1,34 @@
+package com.nnk.springboot.domain;
+
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "rule_violation",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rule_violation_rule_trade", columnNames = {"rule_id", "trade_id"}),
+        indexes = @Index(name = "idx_rule_violation_trade", columnList = "trade_id"))
+public class RuleViolation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "rule_id", nullable = false)
+    private Integer ruleId;
+
+    @Column(name = "rule_name", length = 125)
+    private String ruleName;
+
+    @Column(name = "trade_id", nullable = false)
+    private Integer tradeId;
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,31 @@
+package com.nnk.springboot.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored scenario definition, its shocks kept as JSON.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "scenario_set")
+public class ScenarioSet {
+
+    @Id
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+
+    @Lob
+    @Column(name = "axes", nullable = false)
+    private String axes;
+
+    @Column(name = "updated_by", length = 125)
+    private String updatedBy;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
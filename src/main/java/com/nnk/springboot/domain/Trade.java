@@ -3,12 +3,21 @@ package com.nnk.springboot.domain;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", indexes = {
+        @Index(name = "idx_trade_account_date", columnList = "account, trade_date"),
+        @Index(name = "idx_trade_book_date", columnList = "book, trade_date"),
+        @Index(name = "idx_trade_trader_date", columnList = "trader, trade_date"),
+        @Index(name = "idx_trade_status_date", columnList = "status, trade_date"),
+        @Index(name = "idx_trade_type_date", columnList = "type, trade_date"),
+        @Index(name = "idx_trade_date", columnList = "trade_date"),
+        @Index(name = "idx_trade_creation_date", columnList = "creation_date")
+})
 public class Trade {
 
     @Id
@@ -16,6 +25,11 @@ public class Trade {
     @Column(name = "trade_id", nullable = false)
     private int tradeId;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "account", nullable = false, length = 30)
     private String account;
 
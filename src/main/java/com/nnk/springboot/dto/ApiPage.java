@@ -0,0 +1,15 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+
+/**
+ * One page of a REST API collection resource.
+ *
+ * @param content       the resources of the page
+ * @param page          the zero-based page number
+ * @param size          the requested page size
+ * @param totalElements the number of resources across all pages
+ * @param <T>           the resource type
+ */
+public record ApiPage<T>(List<T> content, int page, int size, long totalElements) {
+}
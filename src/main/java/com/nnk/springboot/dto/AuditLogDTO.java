@@ -0,0 +1,30 @@
+package com.nnk.springboot.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.nnk.springboot.event.ChangeType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AuditLogDTO {
+
+    private Long id;
+
+    private String entityType;
+
+    private String entityId;
+
+    private ChangeType action;
+
+    private String username;
+
+    private LocalDateTime changedAt;
+
+    /**
+     * The changed fields as a JSON object, each with its {@code from} and {@code to} values.
+     */
+    @JsonRawValue
+    private String changes;
+}
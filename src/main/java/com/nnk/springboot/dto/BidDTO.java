@@ -3,6 +3,7 @@ package com.nnk.springboot.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
@@ -10,6 +11,8 @@ public class BidDTO {
 
     private Byte id;
 
+    private Long version;
+
     @NotBlank(message = "Account is mandatory")
     private String account;
 
@@ -19,4 +22,16 @@ public class BidDTO {
     @NotNull(message = "Bid quantity is mandatory")
     @Positive(message = "Bid quantity must be positive")
     private Double bidQuantity;
+
+    @Positive(message = "Ask quantity must be positive")
+    private Double askQuantity;
+
+    @Positive(message = "Bid must be positive")
+    private Double bid;
+
+    @Positive(message = "Ask must be positive")
+    private Double ask;
+
+    @Size(max = 125, message = "Security must be at most 125 characters")
+    private String security;
 }
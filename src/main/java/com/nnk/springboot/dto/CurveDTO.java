@@ -11,6 +11,8 @@ public class CurveDTO {
 
     private long id;
 
+    private Long version;
+
 
     @NotNull(message="Must not be null")
     @UniqueValue(entityClass = CurvePoint.class, columnName = "curveId", message = "Ce CurveId est déjà utilisé")
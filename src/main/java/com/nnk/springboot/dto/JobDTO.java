@@ -0,0 +1,39 @@
+package com.nnk.springboot.dto;
+
+
+import com.nnk.springboot.domain.JobStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class JobDTO {
+
+    private Long id;
+
+    private String type;
+
+    private JobStatus status;
+
+    private long totalItems;
+
+    private long processedItems;
+
+    private long failedItems;
+
+    private double percentComplete;
+
+    private double itemsPerSecond;
+
+    private String lastError;
+
+    private boolean cancelRequested;
+
+    private String submittedBy;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
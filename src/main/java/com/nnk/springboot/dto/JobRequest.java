@@ -0,0 +1,17 @@
+package com.nnk.springboot.dto;
+
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class JobRequest {
+
+    @NotBlank(message = "Type is mandatory")
+    private String type;
+
+    private Map<String, String> parameters = new HashMap<>();
+}
@@ -11,6 +11,8 @@ public class RatingDTO {
 
     private int id;
 
+    private Long version;
+
     @NotBlank(message = "Moodys Rating is mandatory")
     private String moodysRating;
 
@@ -9,6 +9,8 @@ public class RuleNameDTO {
 
     private int id;
 
+    private Long version;
+
     @NotBlank(message = "Name is mandatory")
     private String name;
 
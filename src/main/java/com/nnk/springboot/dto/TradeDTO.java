@@ -6,11 +6,15 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 public class TradeDTO {
 
     private int id;
 
+    private Long version;
+
     @NotBlank(message = "Account is mandatory")
     private String account;
 
@@ -20,4 +24,8 @@ public class TradeDTO {
     @NotNull(message = "Buy Quantity is mandatory")
     @Positive(message = "Buy Quantity must be positive")
     private Double buyQuantity;
+
+    private LocalDateTime tradeDate;
+
+    private boolean archived;
 }
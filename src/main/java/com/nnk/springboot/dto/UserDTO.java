@@ -10,6 +10,8 @@ public class UserDTO {
 
     private int id;
 
+    private Long version;
+
     @NotBlank(message = "Username is mandatory")
     private String username;
 
@@ -0,0 +1,73 @@
+package com.nnk.springboot.event;
+
+import com.nnk.springboot.security.CurrentUser;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event published by the services after an entity was created, updated or deleted.
+ *
+ * <p>Exposes its entity type to Spring so listeners can subscribe to, for instance,
+ * {@code DomainEvent<Trade>} only. The factories are called on the thread making the change and
+ * record it as made by the current user at the current time.
+ *
+ * @param entityType the class of the changed entity
+ * @param changeType the kind of change
+ * @param id         the ID of the changed entity
+ * @param entity     the after image: the entity as written, or {@code null} for a deletion; for an
+ *                   update, only the updated columns are set
+ * @param before     the before image: the entity as read just before an update or deletion, or
+ *                   {@code null} for a creation or when no {@link DomainEventBus} consumer asked for it
+ * @param actor      the name of the user who made the change, see {@link CurrentUser}
+ * @param occurredAt when the change was made
+ * @param <T>        the entity type
+ */
+public record DomainEvent<T>(Class<T> entityType, ChangeType changeType, Object id, T entity, T before,
+                             String actor, LocalDateTime occurredAt) implements ResolvableTypeProvider {
+
+    /**
+     * Creates an event for a created entity.
+     */
+    public static <T> DomainEvent<T> created(Class<T> entityType, Object id, T entity) {
+        return of(entityType, ChangeType.CREATED, id, entity, null);
+    }
+
+    /**
+     * Creates an event for an updated entity.
+     */
+    public static <T> DomainEvent<T> updated(Class<T> entityType, Object id, T entity) {
+        return of(entityType, ChangeType.UPDATED, id, entity, null);
+    }
+
+    /**
+     * Creates an event for an updated entity, with its before image.
+     */
+    public static <T> DomainEvent<T> updated(Class<T> entityType, Object id, T entity, T before) {
+        return of(entityType, ChangeType.UPDATED, id, entity, before);
+    }
+
+    /**
+     * Creates an event for a deleted entity.
+     */
+    public static <T> DomainEvent<T> deleted(Class<T> entityType, Object id) {
+        return of(entityType, ChangeType.DELETED, id, null, null);
+    }
+
+    /**
+     * Creates an event for a deleted entity, with its before image.
+     */
+    public static <T> DomainEvent<T> deleted(Class<T> entityType, Object id, T before) {
+        return of(entityType, ChangeType.DELETED, id, null, before);
+    }
+
+    private static <T> DomainEvent<T> of(Class<T> entityType, ChangeType changeType, Object id, T entity, T before) {
+        return new DomainEvent<>(entityType, changeType, id, entity, before, CurrentUser.name(), LocalDateTime.now());
+    }
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forClass(entityType));
+    }
+}
@@ -0,0 +1,198 @@
+package com.nnk.springboot.event;
+
+import com.nnk.springboot.metrics.LatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-process bus delivering committed entity changes to {@link DomainEventConsumer}s in batches.
+ *
+ * <p>The bus listens to the {@link DomainEvent}s published by the services once their transaction
+ * has committed, or at once when they were written outside a transaction, so consumers never see
+ * a change that is rolled back. Every consumer has its own bounded queue and thread: a slow
+ * consumer only delays itself, and when its queue is full the change is dropped or the writer
+ * waits, depending on the consumer's {@link OverflowPolicy}. Consumers are looked up once all
+ * singletons exist, so they may depend on the services publishing to the bus.
+ */
+@Slf4j
+@Component
+public class DomainEventBus implements SmartInitializingSingleton {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final ObjectProvider<DomainEventConsumer<?>> consumerProvider;
+    private volatile Map<Class<?>, List<Subscription<?>>> subscriptions = Map.of();
+    private volatile Set<Class<?>> beforeImageTypes = Set.of();
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new instance of {@link DomainEventBus}.
+     *
+     * @param consumerProvider the consumer beans
+     */
+    public DomainEventBus(ObjectProvider<DomainEventConsumer<?>> consumerProvider) {
+        this.consumerProvider = consumerProvider;
+    }
+
+    /**
+     * Subscribes the consumer beans and starts their threads.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Subscription<?>> all = consumerProvider.orderedStream()
+                .<Subscription<?>>map(consumer -> new Subscription<>(consumer)).toList();
+        subscriptions = all.stream()
+                .collect(Collectors.groupingBy(subscription -> (Class<?>) subscription.consumer.entityType()));
+        beforeImageTypes = all.stream().filter(subscription -> subscription.consumer.needsBeforeImages())
+                .map(subscription -> subscription.consumer.entityType()).collect(Collectors.toUnmodifiableSet());
+        all.forEach(subscription -> subscription.thread.start());
+        log.info("Domain event bus started with {} consumers", all.size());
+    }
+
+    /**
+     * Queues a committed change for the consumers of its entity type.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(DomainEvent<?> event) {
+        List<Subscription<?>> targets = subscriptions.get(event.entityType());
+        if (targets == null) {
+            return;
+        }
+        long committedNanos = System.nanoTime();
+        for (Subscription<?> subscription : targets) {
+            subscription.offer(event, committedNanos);
+        }
+    }
+
+    /**
+     * Tells the services whether to read the before image of the entities they update or delete.
+     *
+     * @param entityType the entity class
+     * @return whether a consumer of the entity type needs before images
+     */
+    public boolean needsBeforeImages(Class<?> entityType) {
+        return beforeImageTypes.contains(entityType);
+    }
+
+    /**
+     * @return a snapshot of the queue, throughput and lag statistics of every consumer
+     */
+    public List<EventConsumerStats> getStats() {
+        return subscriptions.values().stream().flatMap(List::stream).map(Subscription::stats).toList();
+    }
+
+    /**
+     * Stops accepting changes and lets every consumer drain its queue.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (List<Subscription<?>> list : subscriptions.values()) {
+            for (Subscription<?> subscription : list) {
+                subscription.thread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+    }
+
+    private record Envelope(DomainEvent<?> event, long committedNanos) {
+    }
+
+    private final class Subscription<T> {
+
+        private final DomainEventConsumer<T> consumer;
+        private final BlockingQueue<Envelope> queue;
+        private final Thread thread;
+        private final LatencyHistogram lag = new LatencyHistogram();
+        private final AtomicLong published = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong failedBatches = new AtomicLong();
+
+        Subscription(DomainEventConsumer<T> consumer) {
+            this.consumer = consumer;
+            this.queue = new ArrayBlockingQueue<>(consumer.queueCapacity());
+            this.thread = new Thread(this::deliver, "event-consumer-" + consumer.name());
+            this.thread.setDaemon(true);
+        }
+
+        void offer(DomainEvent<?> event, long committedNanos) {
+            Envelope envelope = new Envelope(event, committedNanos);
+            try {
+                if (consumer.overflowPolicy() == OverflowPolicy.BLOCK) {
+                    while (running && thread.isAlive()) {
+                        if (queue.offer(envelope, IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                            published.incrementAndGet();
+                            return;
+                        }
+                    }
+                } else if (queue.offer(envelope)) {
+                    published.incrementAndGet();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (dropped.getAndIncrement() % 1000 == 0) {
+                log.warn("Event queue of consumer {} full, {} changes dropped so far", consumer.name(), dropped.get());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void deliver() {
+            List<Envelope> envelopes = new ArrayList<>(consumer.maxBatchSize());
+            while (running || !queue.isEmpty()) {
+                try {
+                    Envelope first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    envelopes.add(first);
+                    queue.drainTo(envelopes, consumer.maxBatchSize() - 1);
+                    long now = System.nanoTime();
+                    List<DomainEvent<T>> batch = new ArrayList<>(envelopes.size());
+                    for (Envelope envelope : envelopes) {
+                        batch.add((DomainEvent<T>) envelope.event());
+                        lag.record(now - envelope.committedNanos());
+                    }
+                    consumer.accept(batch);
+                    delivered.addAndGet(batch.size());
+                    batches.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    failedBatches.incrementAndGet();
+                    log.error("Consumer {} failed to handle {} changes", consumer.name(), envelopes.size(), e);
+                } finally {
+                    envelopes.clear();
+                }
+            }
+        }
+
+        EventConsumerStats stats() {
+            Envelope oldest = queue.peek();
+            return new EventConsumerStats(consumer.name(), consumer.entityType().getSimpleName(),
+                    consumer.overflowPolicy(), queue.size(), consumer.queueCapacity(), published.get(),
+                    dropped.get(), delivered.get(), batches.get(), failedBatches.get(),
+                    oldest == null ? 0 : System.nanoTime() - oldest.committedNanos(),
+                    lag.percentile(50), lag.percentile(99));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.nnk.springboot.event;
+
+import java.util.List;
+
+/**
+ * Consumer of the committed changes of one entity type, registered with the {@link DomainEventBus}
+ * by declaring it as a bean.
+ *
+ * <p>Each consumer has its own queue and thread: {@link #accept(List)} is always called from that
+ * thread, with the events in commit order, so implementations need no synchronization of their own.
+ *
+ * @param <T> the entity type
+ */
+public interface DomainEventConsumer<T> {
+
+    /**
+     * @return the name identifying the consumer in logs, thread names and statistics
+     */
+    String name();
+
+    /**
+     * @return the class of the entities whose changes the consumer receives
+     */
+    Class<T> entityType();
+
+    /**
+     * Handles a batch of committed changes. An exception fails the batch only: it is logged and
+     * counted, and the next batch is delivered as usual.
+     *
+     * @param events the changes, oldest first
+     */
+    void accept(List<DomainEvent<T>> events);
+
+    /**
+     * @return the maximum number of changes waiting for the consumer
+     */
+    default int queueCapacity() {
+        return 10_000;
+    }
+
+    /**
+     * @return the maximum number of changes passed to a single {@link #accept(List)} call
+     */
+    default int maxBatchSize() {
+        return 500;
+    }
+
+    /**
+     * @return what to do with a change when the queue is full
+     */
+    default OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.DROP;
+    }
+
+    /**
+     * Whether the consumer needs the before image of updates and deletions. Before images cost
+     * the writing service one extra read per write, so only ask for them when needed.
+     *
+     * @return {@code true} to receive before images
+     */
+    default boolean needsBeforeImages() {
+        return false;
+    }
+}
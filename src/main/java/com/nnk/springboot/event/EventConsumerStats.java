@@ -0,0 +1,23 @@
+package com.nnk.springboot.event;
+
+/**
+ * Point-in-time statistics of one {@link DomainEventConsumer}.
+ *
+ * @param name               the name of the consumer
+ * @param entityType         the simple name of the consumed entity class
+ * @param overflowPolicy     what happens to changes when the queue is full
+ * @param queueDepth         the number of changes waiting for the consumer
+ * @param queueCapacity      the maximum number of changes that may wait
+ * @param published          the number of changes queued for the consumer
+ * @param dropped            the number of changes dropped because the queue was full
+ * @param delivered          the number of changes handed to the consumer
+ * @param batches            the number of batches handed to the consumer
+ * @param failedBatches      the number of batches the consumer failed to handle
+ * @param oldestPendingNanos how long the oldest waiting change has been waiting, {@code 0} if none
+ * @param p50LagNanos        the median time from commit to delivery
+ * @param p99LagNanos        the 99th percentile time from commit to delivery
+ */
+public record EventConsumerStats(String name, String entityType, OverflowPolicy overflowPolicy, int queueDepth,
+                                 int queueCapacity, long published, long dropped, long delivered, long batches,
+                                 long failedBatches, long oldestPendingNanos, long p50LagNanos, long p99LagNanos) {
+}
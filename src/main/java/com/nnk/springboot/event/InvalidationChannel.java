@@ -0,0 +1,243 @@
+package com.nnk.springboot.event;
+
+import com.nnk.springboot.domain.CacheInvalidation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exchanges committed changes between application instances through the
+ * {@link CacheInvalidation} table, so that each instance evicts what it cached of the entities
+ * another instance changed.
+ *
+ * <p>Every committed {@link DomainEvent} is queued, then written with the other queued changes in
+ * one batched insert by the channel thread, which also reads the changes announced by the other
+ * instances since its last poll and publishes a {@link RemoteChange} for each of them; a change is
+ * thus evicted everywhere within about two poll intervals. Rows are read by increasing ID; since
+ * a row may commit after a row with a higher ID, the rows of the last {@code settle-ms} are read
+ * again on every poll and only applied once. When the queue is full, the changes of an entity type
+ * are collapsed into a single announcement without ID, telling the other instances to evict the
+ * whole type. Rows older than the retention are purged by every instance.
+ */
+@Slf4j
+@Component
+public class InvalidationChannel {
+
+    private static final String ENTITY_PACKAGE = "com.nnk.springboot.domain.";
+    private static final String INSERT = "insert into cache_invalidation "
+            + "(entity_type, entity_id, change_type, origin, created_at) values (?, ?, ?, ?, ?)";
+    private static final String SELECT = "select id, entity_type, entity_id, change_type, origin "
+            + "from cache_invalidation where id > ? order by id";
+    private static final String PURGE = "delete from cache_invalidation where created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String node;
+    private final long pollMillis;
+    private final long settleNanos;
+    private final long retentionMinutes;
+    private final BlockingQueue<Announcement> outbox;
+    private final Set<Class<?>> collapsedTypes = ConcurrentHashMap.newKeySet();
+    private final Map<String, Class<?>> entityTypes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("cache-invalidation").daemon(true).factory());
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong collapsed = new AtomicLong();
+    // read again until settled: announcement ID -> System.nanoTime() when first read; channel thread only
+    private final TreeMap<Long, Long> unsettled = new TreeMap<>();
+    private final List<Announcement> unsent = new ArrayList<>();
+    private volatile long floor;
+    private volatile long lastSeen;
+    private long lastPurge = System.nanoTime();
+
+    /**
+     * Constructs a new instance of {@link InvalidationChannel}.
+     *
+     * @param jdbcTemplate     the template reading and writing the announcements
+     * @param eventPublisher   the publisher of the {@link RemoteChange}s
+     * @param enabled          whether changes are exchanged with the other instances
+     * @param node             the name of this instance, unique among the instances; random when blank
+     * @param pollMillis       the interval between two polls of the table
+     * @param settleMillis     how long the rows are read again in case a lower ID commits late
+     * @param retentionMinutes how long the rows are kept
+     * @param outboxCapacity   the number of local changes queued before they are collapsed by type
+     */
+    public InvalidationChannel(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                               @Value("${cache.invalidation.enabled:true}") boolean enabled,
+                               @Value("${cache.invalidation.node:}") String node,
+                               @Value("${cache.invalidation.poll-ms:500}") long pollMillis,
+                               @Value("${cache.invalidation.settle-ms:5000}") long settleMillis,
+                               @Value("${cache.invalidation.retention-minutes:10}") long retentionMinutes,
+                               @Value("${cache.invalidation.outbox-capacity:10000}") int outboxCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.node = node == null || node.isBlank() ? "node-" + UUID.randomUUID().toString().substring(0, 8) : node;
+        this.pollMillis = pollMillis;
+        this.settleNanos = TimeUnit.MILLISECONDS.toNanos(settleMillis);
+        this.retentionMinutes = retentionMinutes;
+        this.outbox = new ArrayBlockingQueue<>(outboxCapacity);
+    }
+
+    /**
+     * Starts exchanging changes once the application has started, ignoring the changes announced
+     * before.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || scheduler.isShutdown()) {
+            return;
+        }
+        floor = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from cache_invalidation", Long.class);
+        lastSeen = floor;
+        scheduler.scheduleWithFixedDelay(this::exchange, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        log.info("Cache invalidation channel started as {} after announcement {}", node, floor);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        if (enabled) {
+            try {
+                send();
+            } catch (RuntimeException e) {
+                log.warn("Failed to announce {} changes at shutdown", unsent.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Queues a committed change for the other instances.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(DomainEvent<?> event) {
+        announce(event.entityType(), event.id(), event.changeType());
+    }
+
+    /**
+     * Queues a change for the other instances, for caches not fed by {@link DomainEvent}s.
+     *
+     * @param entityType the class of the changed entity, in the domain package
+     * @param id         the ID of the changed entity, or {@code null} to evict every entity of the type
+     * @param changeType the kind of change
+     */
+    public void announce(Class<?> entityType, Object id, ChangeType changeType) {
+        if (!enabled) {
+            return;
+        }
+        if (!outbox.offer(new Announcement(entityType, id == null ? null : String.valueOf(id), changeType))) {
+            collapsedTypes.add(entityType);
+            collapsed.incrementAndGet();
+        }
+    }
+
+    private void exchange() {
+        try {
+            send();
+            receive();
+            if (System.nanoTime() - lastPurge > TimeUnit.MINUTES.toNanos(1)) {
+                lastPurge = System.nanoTime();
+                int purged = jdbcTemplate.update(PURGE, Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes)));
+                log.debug("Purged {} cache invalidation announcements", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to exchange cache invalidations, retrying in {} ms", pollMillis, e);
+        }
+    }
+
+    private void send() {
+        outbox.drainTo(unsent);
+        for (Iterator<Class<?>> types = collapsedTypes.iterator(); types.hasNext(); ) {
+            unsent.add(new Announcement(types.next(), null, ChangeType.UPDATED));
+            types.remove();
+        }
+        if (unsent.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, unsent, unsent.size(), (statement, announcement) -> {
+            statement.setString(1, announcement.entityType().getName());
+            statement.setString(2, announcement.id());
+            statement.setString(3, announcement.changeType().name());
+            statement.setString(4, node);
+            statement.setTimestamp(5, now);
+        });
+        sent.addAndGet(unsent.size());
+        unsent.clear();
+    }
+
+    private void receive() {
+        long now = System.nanoTime();
+        jdbcTemplate.query(SELECT, row -> {
+            long id = row.getLong(1);
+            if (unsettled.putIfAbsent(id, now) != null) {
+                return;
+            }
+            lastSeen = Math.max(lastSeen, id);
+            String origin = row.getString(5);
+            Class<?> entityType = entityType(row.getString(2));
+            if (node.equals(origin) || entityType == null) {
+                return;
+            }
+            received.incrementAndGet();
+            eventPublisher.publishEvent(new RemoteChange(entityType, row.getString(3),
+                    ChangeType.valueOf(row.getString(4)), origin));
+        }, floor);
+        while (!unsettled.isEmpty() && now - unsettled.firstEntry().getValue() > settleNanos) {
+            floor = unsettled.pollFirstEntry().getKey();
+        }
+    }
+
+    private Class<?> entityType(String name) {
+        if (!name.startsWith(ENTITY_PACKAGE)) {
+            log.warn("Ignoring cache invalidation of {} outside the domain package", name);
+            return null;
+        }
+        return entityTypes.computeIfAbsent(name, type -> {
+            try {
+                return Class.forName(type, false, getClass().getClassLoader());
+            } catch (ClassNotFoundException e) {
+                log.warn("Ignoring cache invalidation of unknown entity {}", type);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @return a snapshot of the traffic of the channel
+     */
+    public InvalidationStats getStats() {
+        return new InvalidationStats(enabled, node, sent.get(), received.get(), outbox.size(), collapsed.get(), lastSeen);
+    }
+
+    private record Announcement(Class<?> entityType, String id, ChangeType changeType) {
+    }
+}
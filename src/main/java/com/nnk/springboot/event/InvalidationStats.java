@@ -0,0 +1,16 @@
+package com.nnk.springboot.event;
+
+/**
+ * Point-in-time statistics of the {@link InvalidationChannel}.
+ *
+ * @param enabled   whether changes are exchanged with the other instances
+ * @param node      the name of this instance on the channel
+ * @param sent      the number of local changes announced to the other instances
+ * @param received  the number of changes of other instances applied here
+ * @param pending   the number of local changes waiting to be announced
+ * @param dropped   the number of local changes not announced because the outbox was full
+ * @param lastSeen  the highest announcement ID read
+ */
+public record InvalidationStats(boolean enabled, String node, long sent, long received, int pending, long dropped,
+                                long lastSeen) {
+}
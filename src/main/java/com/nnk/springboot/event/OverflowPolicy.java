@@ -0,0 +1,15 @@
+package com.nnk.springboot.event;
+
+/**
+ * What {@link DomainEventBus} does with an event for a consumer whose queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Drop the event for this consumer and count it, so writers never wait.
+     */
+    DROP,
+    /**
+     * Make the writer wait for room in the queue, so the consumer never misses an event.
+     */
+    BLOCK
+}
@@ -0,0 +1,15 @@
+package com.nnk.springboot.event;
+
+/**
+ * Event published by the {@link InvalidationChannel} for a change committed by another
+ * application instance, so that the caches of this instance evict the changed entity.
+ *
+ * <p>Listeners run on the channel thread and should only evict or reload what they cached.
+ *
+ * @param entityType the class of the changed entity
+ * @param id         the ID of the changed entity, as a string, or {@code null} if unknown
+ * @param changeType the kind of change
+ * @param origin     the name of the instance that made the change
+ */
+public record RemoteChange(Class<?> entityType, String id, ChangeType changeType, String origin) {
+}
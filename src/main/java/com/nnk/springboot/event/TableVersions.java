@@ -0,0 +1,67 @@
+package com.nnk.springboot.event;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the modifications of each entity table, from the {@link DomainEvent}s published by the services.
+ *
+ * <p>The counters start over on every restart, so the ETags built from them also carry the
+ * instance start time. Changes made by the other instances are counted when the
+ * {@link InvalidationChannel} reports them. Rolled-back writes and writes that bypass the
+ * services are not counted.
+ */
+@Component
+public class TableVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ConcurrentMap<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Increments the counter of the changed entity's table once the change is committed, so a
+     * page read before the commit is never tagged with the new version.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(DomainEvent<?> event) {
+        counter(event.entityType()).incrementAndGet();
+    }
+
+    /**
+     * Increments the counter of the table changed by another instance.
+     *
+     * @param change the remote change
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChange change) {
+        counter(change.entityType()).incrementAndGet();
+    }
+
+    /**
+     * @param entityType the entity class
+     * @return the number of modifications of the entity's table since startup
+     */
+    public long version(Class<?> entityType) {
+        return counter(entityType).get();
+    }
+
+    /**
+     * Builds an ETag that changes whenever the entity's table is modified.
+     *
+     * @param entityType the entity class
+     * @return the quoted ETag value
+     */
+    public String etag(Class<?> entityType) {
+        return "\"" + entityType.getSimpleName() + "-" + epoch + "-" + version(entityType) + "\"";
+    }
+
+    private AtomicLong counter(Class<?> entityType) {
+        return versions.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+}
@@ -0,0 +1,7 @@
+package com.nnk.springboot.exception;
+
+public class EntityVersionConflictException extends RuntimeException{
+    public EntityVersionConflictException (String message){
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.nnk.springboot.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Guards the connection pool when requests run on virtual threads.
+ *
+ * <p>Setting {@code spring.threads.virtual.enabled=true} makes Tomcat run every request, and the
+ * services it calls, on its own virtual thread, so concurrency is no longer capped by the size of
+ * the request thread pool. The data source is then wrapped in a {@link BoundedDataSource}, so at
+ * most {@code datasource.guard.max-concurrency} requests hold a connection while the others park
+ * in arrival order instead of piling onto the pool and the database.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Wraps the application data source in a {@link BoundedDataSource}.
+     *
+     * @param maxConcurrency       the number of connections that may be held at the same time,
+     *                             by default the maximum size of the connection pool
+     * @param acquireTimeoutMillis the time a request waits for a connection before failing,
+     *                             by default the connection timeout of the pool
+     * @return the post-processor wrapping the data source
+     */
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(
+            @Value("${datasource.guard.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${datasource.guard.acquire-timeout-ms:${spring.datasource.hikari.connection-timeout:30000}}") long acquireTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    log.info("Bounding data source {} to {} concurrent connections", beanName, maxConcurrency);
+                    return new BoundedDataSource(dataSource, maxConcurrency, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.nnk.springboot.jobs;
+
+/**
+ * Outcome of one chunk of a job.
+ *
+ * @param resumeFrom the position the next chunk starts at
+ * @param processed  the number of items processed successfully
+ * @param failed     the number of items skipped because they were invalid
+ * @param lastError  the reason the last item of the chunk was skipped, or {@code null}
+ * @param last       whether the job has no item left
+ */
+public record JobChunk(long resumeFrom, int processed, int failed, String lastError, boolean last) {
+}
@@ -0,0 +1,40 @@
+package com.nnk.springboot.jobs;
+
+import java.util.Map;
+
+/**
+ * A type of bulk job run by {@link JobService}.
+ *
+ * <p>A job is processed as a sequence of chunks, each in its own transaction together with
+ * the progress it records. A chunk starts where the previous committed chunk stopped, so a
+ * job interrupted by a restart resumes without redoing committed work.
+ */
+public interface JobHandler {
+
+    /**
+     * @return the type name clients submit jobs with, e.g. {@code "trade-import"}
+     */
+    String type();
+
+    /**
+     * Validates the parameters of a new job and counts the items it will process.
+     * <p>
+     * Parameters added to the map here, such as a cutoff resolved at submission, are stored with
+     * the job and passed to every chunk.
+     *
+     * @param parameters the job parameters, modifiable
+     * @return the number of items of the job, used to report its progress
+     * @throws IllegalArgumentException if the parameters are invalid
+     */
+    long countItems(Map<String, String> parameters);
+
+    /**
+     * Processes the next chunk of a job, within the chunk's transaction.
+     *
+     * @param parameters the job parameters
+     * @param resumeFrom the position the previous chunk stopped at, {@code 0} for the first chunk
+     * @param chunkSize  the maximum number of items to process
+     * @return the outcome of the chunk
+     */
+    JobChunk processChunk(Map<String, String> parameters, long resumeFrom, int chunkSize);
+}
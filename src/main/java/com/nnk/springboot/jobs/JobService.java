@@ -0,0 +1,367 @@
+package com.nnk.springboot.jobs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Job;
+import com.nnk.springboot.domain.JobStatus;
+import com.nnk.springboot.dto.JobDTO;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.repositories.JobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs bulk jobs in the background.
+ *
+ * <p>The {@code job} table is the queue: a submitted job is stored as queued and a fixed number
+ * of low-priority worker threads claim queued jobs in submission order with a conditional
+ * update. A job runs as a sequence of chunks, each committed with the progress it made, so
+ * {@code GET /jobs/{id}} reports progress as it happens and a job interrupted by a shutdown is
+ * requeued and resumes after its last committed chunk. Cancellation is checked between chunks.
+ *
+ * <p>Several application instances may share the queue. A claimed job records the instance
+ * running it, which refreshes a heartbeat on its running jobs at a fixed interval. At startup an
+ * instance requeues the jobs it was running itself; a job whose heartbeat has gone stale is
+ * requeued by any instance, as its owner is taken for dead. Chunks and outcomes are only recorded
+ * while the instance still owns the job, so an owner that was only slow stops at its next chunk.
+ *
+ * <p>Workers hold at most one connection each and pause between chunks, so interactive
+ * requests keep the rest of the connection pool.
+ */
+@Slf4j
+@Service
+public class JobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final TypeReference<Map<String, String>> PARAMETERS = new TypeReference<>() { };
+
+    private final JobRepository jobRepository;
+    private final Map<String, JobHandler> handlers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate chunkTransaction;
+    private final int workers;
+    private final int chunkSize;
+    private final int maxQueued;
+    private final long chunkPauseMillis;
+    private final long pollIntervalMillis;
+    private final String node;
+    private final long heartbeatMillis;
+    private final long staleAfterMillis;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService heartbeats;
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * Constructs a new instance of {@link JobService}.
+     *
+     * @param jobRepository      the repository storing the jobs and their progress
+     * @param handlers           the job types
+     * @param objectMapper       the mapper storing job parameters as JSON
+     * @param transactionManager the transaction manager for the chunk transactions
+     * @param workers            the number of jobs run concurrently
+     * @param chunkSize          the maximum number of items processed per transaction
+     * @param maxQueued          the number of jobs that may wait for a worker
+     * @param chunkPauseMillis   the pause of a worker between two chunks
+     * @param pollIntervalMillis the interval at which idle workers look for queued jobs
+     * @param node               the name of this instance, unique among the instances; random when blank
+     * @param heartbeatMillis    the interval at which the heartbeat of the running jobs is refreshed
+     * @param staleAfterMillis   the age of a heartbeat after which its job is requeued
+     */
+    public JobService(JobRepository jobRepository, List<JobHandler> handlers, ObjectMapper objectMapper,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${jobs.workers:2}") int workers,
+                      @Value("${jobs.chunk-size:500}") int chunkSize,
+                      @Value("${jobs.max-queued:100}") int maxQueued,
+                      @Value("${jobs.chunk-pause-ms:5}") long chunkPauseMillis,
+                      @Value("${jobs.poll-interval-ms:30000}") long pollIntervalMillis,
+                      @Value("${jobs.node:${cache.invalidation.node:}}") String node,
+                      @Value("${jobs.heartbeat-ms:10000}") long heartbeatMillis,
+                      @Value("${jobs.stale-after-ms:60000}") long staleAfterMillis) {
+        this.jobRepository = jobRepository;
+        this.handlers = handlers.stream().collect(Collectors.toMap(JobHandler::type, Function.identity()));
+        this.objectMapper = objectMapper;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.maxQueued = maxQueued;
+        this.chunkPauseMillis = chunkPauseMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.node = node == null || node.isBlank() ? "node-" + UUID.randomUUID().toString().substring(0, 8) : node;
+        this.heartbeatMillis = heartbeatMillis;
+        this.staleAfterMillis = staleAfterMillis;
+        this.executor = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("job-", 1).priority(Thread.NORM_PRIORITY - 1).daemon(true).factory());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("job-heartbeat").daemon(true).factory());
+    }
+
+    /**
+     * Queues a new job.
+     *
+     * @param type        the type of the job
+     * @param parameters  the parameters of the job
+     * @param submittedBy the name of the user submitting the job
+     * @return the queued job
+     * @throws IllegalArgumentException   if the type is unknown or the parameters are invalid
+     * @throws RejectedExecutionException if too many jobs are already queued
+     */
+    public JobDTO submit(String type, Map<String, String> parameters, String submittedBy) {
+        JobHandler handler = handlers.get(type);
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown job type: " + type);
+        }
+        if (jobRepository.countByStatus(JobStatus.QUEUED) >= maxQueued) {
+            log.warn("Rejected {} job: {} jobs already queued", type, maxQueued);
+            throw new RejectedExecutionException("Too many jobs queued, retry later");
+        }
+        Map<String, String> stored = new HashMap<>(parameters);
+        Job job = new Job();
+        job.setType(type);
+        job.setStatus(JobStatus.QUEUED);
+        job.setTotalItems(handler.countItems(stored));
+        job.setParameters(writeParameters(stored));
+        job.setSubmittedBy(submittedBy);
+        job.setCreatedAt(LocalDateTime.now());
+        job = jobRepository.save(job);
+        log.info("Job {} ({}) queued with {} items", job.getId(), type, job.getTotalItems());
+        wakeUps.release();
+        return convertToDTO(job);
+    }
+
+    /**
+     * Returns the state of a job.
+     *
+     * @param id the ID of the job
+     * @return the job, with its progress and throughput
+     * @throws EntityNotFoundException if no job is found with the given ID
+     */
+    public JobDTO getJob(long id) {
+        return jobRepository.findById(id).map(this::convertToDTO)
+                .orElseThrow(() -> new EntityNotFoundException("Job not found with ID: " + id));
+    }
+
+    /**
+     * Cancels a job. A queued job is cancelled at once; a running job stops before its next
+     * chunk, keeping the chunks already committed. Cancelling a finished job has no effect.
+     *
+     * @param id the ID of the job
+     * @return the job
+     * @throws EntityNotFoundException if no job is found with the given ID
+     */
+    public JobDTO cancel(long id) {
+        if (jobRepository.cancelQueued(id, LocalDateTime.now()) == 0 && jobRepository.requestCancel(id) > 0) {
+            log.info("Cancellation of job {} requested", id);
+        }
+        return getJob(id);
+    }
+
+    /**
+     * Requeues the jobs this instance left running at its previous shutdown and the jobs of dead
+     * instances, then starts the workers and the heartbeat.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorkers() {
+        int requeued = jobRepository.requeueAbandoned(node, LocalDateTime.now().minus(Duration.ofMillis(staleAfterMillis)));
+        if (requeued > 0) {
+            log.info("{} interrupted jobs requeued", requeued);
+        }
+        if (started.compareAndSet(false, true)) {
+            for (int i = 0; i < workers; i++) {
+                executor.execute(this::work);
+            }
+            heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        }
+        wakeUps.release(workers);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        heartbeats.shutdownNow();
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Refreshes the heartbeat of the jobs this instance runs and requeues those of dead instances.
+     */
+    void heartbeat() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            jobRepository.heartbeat(node, now);
+            // a null owner matches no job, so only the stale jobs are requeued
+            int requeued = jobRepository.requeueAbandoned(null, now.minus(Duration.ofMillis(staleAfterMillis)));
+            if (requeued > 0) {
+                log.warn("{} jobs of unresponsive instances requeued", requeued);
+                wakeUps.release(workers);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh the job heartbeats", e);
+        }
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Optional<Long> next = jobRepository.findNextQueuedId();
+                if (next.isPresent()) {
+                    if (jobRepository.claim(next.get(), node, LocalDateTime.now()) > 0) {
+                        runJob(next.get());
+                    }
+                } else {
+                    wakeUps.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                log.error("Failed to poll the job queue", e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a claimed job chunk by chunk until it is done, cancelled or failed.
+     *
+     * @param id the ID of the job, in the running state
+     * @throws InterruptedException if the worker is interrupted; the job is then left running
+     */
+    void runJob(long id) throws InterruptedException {
+        Job job = jobRepository.findById(id).orElseThrow();
+        JobHandler handler = handlers.get(job.getType());
+        if (job.getSubmittedBy() != null) {
+            // the changes made by the job are audited as made by its submitter
+            SecurityContextHolder.getContext().setAuthentication(
+                    UsernamePasswordAuthenticationToken.authenticated(job.getSubmittedBy(), null, List.of()));
+        }
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("Unknown job type: " + job.getType());
+            }
+            Map<String, String> parameters = objectMapper.readValue(job.getParameters(), PARAMETERS);
+            long resumeFrom = job.getResumeFrom();
+            log.info("Job {} ({}) started from position {}", id, job.getType(), resumeFrom);
+            while (true) {
+                if (jobRepository.isCancelRequested(id)) {
+                    jobRepository.finish(id, node, JobStatus.CANCELLED, null, LocalDateTime.now());
+                    log.info("Job {} cancelled", id);
+                    return;
+                }
+                long position = resumeFrom;
+                JobChunk chunk = chunkTransaction.execute(status -> {
+                    JobChunk result = handler.processChunk(parameters, position, chunkSize);
+                    if (jobRepository.recordChunk(id, node, result.resumeFrom(), result.processed(), result.failed(),
+                            truncate(result.lastError())) == 0) {
+                        // the job was requeued for another instance: its work is undone
+                        status.setRollbackOnly();
+                        return null;
+                    }
+                    return result;
+                });
+                if (chunk == null) {
+                    log.warn("Job {} was taken over by another instance, stopping", id);
+                    return;
+                }
+                resumeFrom = chunk.resumeFrom();
+                if (chunk.last()) {
+                    jobRepository.finish(id, node, JobStatus.SUCCEEDED, null, LocalDateTime.now());
+                    log.info("Job {} succeeded", id);
+                    return;
+                }
+                if (chunkPauseMillis > 0) {
+                    Thread.sleep(chunkPauseMillis);
+                }
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // shutting down: the job stays running and is requeued at the next start
+                throw new InterruptedException();
+            }
+            log.error("Job {} failed", id, e);
+            jobRepository.finish(id, node, JobStatus.FAILED, truncate(String.valueOf(e.getMessage())),
+                    LocalDateTime.now());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Converts a {@link Job} entity to a {@link JobDTO}, deriving its progress and throughput.
+     *
+     * @param job the job entity to convert
+     * @return the converted {@link JobDTO}
+     */
+    public JobDTO convertToDTO(Job job) {
+        JobDTO jobDTO = new JobDTO();
+        jobDTO.setId(job.getId());
+        jobDTO.setType(job.getType());
+        jobDTO.setStatus(job.getStatus());
+        jobDTO.setTotalItems(job.getTotalItems());
+        jobDTO.setProcessedItems(job.getProcessedItems());
+        jobDTO.setFailedItems(job.getFailedItems());
+        jobDTO.setLastError(job.getLastError());
+        jobDTO.setCancelRequested(job.isCancelRequested());
+        jobDTO.setSubmittedBy(job.getSubmittedBy());
+        jobDTO.setCreatedAt(job.getCreatedAt());
+        jobDTO.setStartedAt(job.getStartedAt());
+        jobDTO.setFinishedAt(job.getFinishedAt());
+
+        long done = job.getProcessedItems() + job.getFailedItems();
+        if (job.getStatus() == JobStatus.SUCCEEDED) {
+            jobDTO.setPercentComplete(100.0);
+        } else if (job.getTotalItems() > 0) {
+            jobDTO.setPercentComplete(Math.min(100.0, done * 100.0 / job.getTotalItems()));
+        }
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long elapsedMillis = Duration.between(job.getStartedAt(), end).toMillis();
+            jobDTO.setItemsPerSecond(elapsedMillis > 0 ? done * 1000.0 / elapsedMillis : 0.0);
+        }
+        return jobDTO;
+    }
+
+    private String writeParameters(Map<String, String> parameters) {
+        try {
+            return objectMapper.writeValueAsString(parameters);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid job parameters", e);
+        }
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
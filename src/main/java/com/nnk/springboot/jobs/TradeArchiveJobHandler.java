@@ -0,0 +1,108 @@
+package com.nnk.springboot.jobs;
+
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.service.TradeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves old trades from the trade table to the archive table, keeping the trade table small.
+ *
+ * <p>Takes an optional {@code olderThanDays} parameter, defaulting to {@code archive.trade.min-age-days},
+ * and an optional comma-separated {@code statuses} parameter restricting the archived trades to those
+ * statuses. A trade's age is taken from its trade date, which on MySQL restricts the search to the
+ * partitions of the expired months. Trades are walked in ID order, so the position of a chunk is the
+ * ID of the last trade archived before it, and every chunk is copied and deleted in its own short
+ * transaction.
+ */
+@Component
+public class TradeArchiveJobHandler implements JobHandler {
+
+    static final String OLDER_THAN_DAYS = "olderThanDays";
+    static final String STATUSES = "statuses";
+    static final String CUTOFF = "cutoff";
+
+    private final TradeRepository tradeRepository;
+    private final TradeService tradeService;
+    private final int defaultMinAgeDays;
+
+    /**
+     * Constructs a new instance of {@link TradeArchiveJobHandler}.
+     *
+     * @param tradeRepository   the repository selecting the trades to archive
+     * @param tradeService      the service archiving the trades
+     * @param defaultMinAgeDays the age in days from which trades are archived when the job does not say
+     */
+    public TradeArchiveJobHandler(TradeRepository tradeRepository, TradeService tradeService,
+                                  @Value("${archive.trade.min-age-days:365}") int defaultMinAgeDays) {
+        this.tradeRepository = tradeRepository;
+        this.tradeService = tradeService;
+        this.defaultMinAgeDays = defaultMinAgeDays;
+    }
+
+    @Override
+    public String type() {
+        return "trade-archive";
+    }
+
+    /**
+     * Counts the trades to archive. The cutoff is fixed here, at submission, and stored with the
+     * parameters, so that a resumed job archives the same trades.
+     */
+    @Override
+    public long countItems(Map<String, String> parameters) {
+        int days = parseDays(parameters.get(OLDER_THAN_DAYS));
+        LocalDateTime cutoff = LocalDate.now().minusDays(days).atStartOfDay();
+        parameters.put(CUTOFF, cutoff.toString());
+        List<String> statuses = statuses(parameters);
+        return tradeRepository.countArchivable(cutoff, statuses.isEmpty(), statusFilter(statuses));
+    }
+
+    @Override
+    public JobChunk processChunk(Map<String, String> parameters, long resumeFrom, int chunkSize) {
+        LocalDateTime cutoff = LocalDateTime.parse(parameters.get(CUTOFF));
+        List<String> statuses = statuses(parameters);
+        List<Integer> ids = tradeRepository.findArchivableIdsAfter((int) resumeFrom, cutoff, statuses.isEmpty(),
+                statusFilter(statuses), PageRequest.ofSize(chunkSize));
+        if (ids.isEmpty()) {
+            return new JobChunk(resumeFrom, 0, 0, null, true);
+        }
+        int archived = tradeService.archiveTrades(ids);
+        return new JobChunk(ids.get(ids.size() - 1), archived, 0, null, ids.size() < chunkSize);
+    }
+
+    private int parseDays(String value) {
+        if (value == null || value.isBlank()) {
+            return defaultMinAgeDays;
+        }
+        try {
+            int days = Integer.parseInt(value.trim());
+            if (days < 1) {
+                throw new IllegalArgumentException("Parameter 'olderThanDays' must be at least 1");
+            }
+            return days;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter 'olderThanDays' must be a number of days", e);
+        }
+    }
+
+    private static List<String> statuses(Map<String, String> parameters) {
+        String value = parameters.get(STATUSES);
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(status -> !status.isEmpty()).toList();
+    }
+
+    // an empty IN list is not valid SQL, even when the condition is short-circuited
+    private static List<String> statusFilter(List<String> statuses) {
+        return statuses.isEmpty() ? List.of("") : statuses;
+    }
+}
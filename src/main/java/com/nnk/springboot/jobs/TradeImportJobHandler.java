@@ -0,0 +1,96 @@
+package com.nnk.springboot.jobs;
+
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.service.TradeService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports trades from CSV.
+ *
+ * <p>The {@code csv} parameter holds one trade per line as {@code account,type,buyQuantity}.
+ * Lines failing the validation of {@link TradeDTO} are counted as failed and skipped; the
+ * position of a chunk is the index of its first line.
+ */
+@Component
+public class TradeImportJobHandler implements JobHandler {
+
+    static final String CSV = "csv";
+
+    private final TradeService tradeService;
+    private final Validator validator;
+
+    /**
+     * Constructs a new instance of {@link TradeImportJobHandler}.
+     *
+     * @param tradeService the service saving the trades
+     * @param validator    the validator applying the constraints of {@link TradeDTO}
+     */
+    public TradeImportJobHandler(TradeService tradeService, Validator validator) {
+        this.tradeService = tradeService;
+        this.validator = validator;
+    }
+
+    @Override
+    public String type() {
+        return "trade-import";
+    }
+
+    @Override
+    public long countItems(Map<String, String> parameters) {
+        String csv = parameters.get(CSV);
+        if (csv == null || csv.isBlank()) {
+            throw new IllegalArgumentException("Parameter 'csv' is mandatory");
+        }
+        return csv.lines().count();
+    }
+
+    @Override
+    public JobChunk processChunk(Map<String, String> parameters, long resumeFrom, int chunkSize) {
+        List<String> lines = parameters.get(CSV).lines().skip(resumeFrom).limit(chunkSize).toList();
+        List<TradeDTO> trades = new ArrayList<>(lines.size());
+        int failed = 0;
+        String lastError = null;
+        for (int i = 0; i < lines.size(); i++) {
+            long lineNumber = resumeFrom + i + 1;
+            try {
+                trades.add(parse(lines.get(i)));
+            } catch (IllegalArgumentException e) {
+                failed++;
+                lastError = "Line " + lineNumber + ": " + e.getMessage();
+            }
+        }
+        if (!trades.isEmpty()) {
+            tradeService.saveTrades(trades);
+        }
+        return new JobChunk(resumeFrom + lines.size(), trades.size(), failed, lastError, lines.size() < chunkSize);
+    }
+
+    private TradeDTO parse(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("expected account,type,buyQuantity");
+        }
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(fields[0].trim());
+        tradeDTO.setType(fields[1].trim());
+        try {
+            tradeDTO.setBuyQuantity(fields[2].isBlank() ? null : Double.valueOf(fields[2].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid buy quantity '" + fields[2].trim() + "'");
+        }
+        Set<ConstraintViolation<TradeDTO>> violations = validator.validate(tradeDTO);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")));
+        }
+        return tradeDTO;
+    }
+}
@@ -0,0 +1,67 @@
+package com.nnk.springboot.jobs;
+
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.service.TradeService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves every trade of an account to another account.
+ *
+ * <p>Takes the {@code fromAccount} and {@code toAccount} parameters. Trades are walked in ID
+ * order, so the position of a chunk is the ID of the last trade moved before it.
+ */
+@Component
+public class TradeReassignJobHandler implements JobHandler {
+
+    static final String FROM_ACCOUNT = "fromAccount";
+    static final String TO_ACCOUNT = "toAccount";
+    private static final int MAX_ACCOUNT_LENGTH = 30;
+
+    private final TradeRepository tradeRepository;
+    private final TradeService tradeService;
+
+    /**
+     * Constructs a new instance of {@link TradeReassignJobHandler}.
+     *
+     * @param tradeRepository the repository selecting the trades to move
+     * @param tradeService    the service moving the trades
+     */
+    public TradeReassignJobHandler(TradeRepository tradeRepository, TradeService tradeService) {
+        this.tradeRepository = tradeRepository;
+        this.tradeService = tradeService;
+    }
+
+    @Override
+    public String type() {
+        return "trade-reassign";
+    }
+
+    @Override
+    public long countItems(Map<String, String> parameters) {
+        String fromAccount = parameters.get(FROM_ACCOUNT);
+        String toAccount = parameters.get(TO_ACCOUNT);
+        if (fromAccount == null || fromAccount.isBlank() || toAccount == null || toAccount.isBlank()) {
+            throw new IllegalArgumentException("Parameters 'fromAccount' and 'toAccount' are mandatory");
+        }
+        if (toAccount.length() > MAX_ACCOUNT_LENGTH) {
+            throw new IllegalArgumentException("Parameter 'toAccount' must not exceed " + MAX_ACCOUNT_LENGTH + " characters");
+        }
+        return tradeRepository.countByAccount(fromAccount);
+    }
+
+    @Override
+    public JobChunk processChunk(Map<String, String> parameters, long resumeFrom, int chunkSize) {
+        String fromAccount = parameters.get(FROM_ACCOUNT);
+        List<Integer> ids = tradeRepository.findTradeIdsByAccountAfter(fromAccount, (int) resumeFrom,
+                PageRequest.ofSize(chunkSize));
+        if (ids.isEmpty()) {
+            return new JobChunk(resumeFrom, 0, 0, null, true);
+        }
+        int moved = tradeService.reassignAccount(ids, fromAccount, parameters.get(TO_ACCOUNT));
+        return new JobChunk(ids.get(ids.size() - 1), moved, 0, null, ids.size() < chunkSize);
+    }
+}
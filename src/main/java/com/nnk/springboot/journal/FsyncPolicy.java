@@ -0,0 +1,22 @@
+package com.nnk.springboot.journal;
+
+/**
+ * When {@link TradeJournal#append(byte[])} forces appended entries to disk before returning.
+ */
+public enum FsyncPolicy {
+
+    /** Every append forces its entry to disk: the slowest and safest policy. */
+    ALWAYS,
+
+    /**
+     * Appends wait for the next periodic force, which covers every entry appended since the
+     * previous one, so concurrent appends share a single disk flush.
+     */
+    GROUP,
+
+    /**
+     * Appends return once the entry is in the mapped file. The entry survives a crash of the
+     * application, as the operating system still holds the page, but not a crash of the machine.
+     */
+    NONE
+}
@@ -0,0 +1,10 @@
+package com.nnk.springboot.journal;
+
+/**
+ * An entry read back from a {@link TradeJournal}.
+ *
+ * @param sequence the sequence number of the entry, from 1, without gaps
+ * @param payload  the bytes appended
+ */
+public record JournalEntry(long sequence, byte[] payload) {
+}
@@ -0,0 +1,18 @@
+package com.nnk.springboot.journal;
+
+/**
+ * A snapshot of the state of the trade journal.
+ *
+ * @param enabled          whether bookings go through the journal rather than straight to the database
+ * @param appendedSequence the sequence number of the last appended entry
+ * @param durableSequence  the sequence number of the last entry acknowledged to its booker
+ * @param appliedSequence  the sequence number of the last entry written to the database
+ * @param backlog          the number of acknowledged entries not yet written to the database
+ * @param rejected         the number of entries the database refused since startup
+ * @param deadLetters      the number of refused entries kept in the dead-letter table
+ * @param segments         the number of segment files
+ * @param fsyncPolicy      the policy forcing entries to disk, {@code null} when disabled
+ */
+public record JournalStats(boolean enabled, long appendedSequence, long durableSequence, long appliedSequence, long backlog,
+                           long rejected, long deadLetters, int segments, FsyncPolicy fsyncPolicy) {
+}
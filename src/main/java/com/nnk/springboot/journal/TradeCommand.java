@@ -0,0 +1,33 @@
+package com.nnk.springboot.journal;
+
+import com.nnk.springboot.dto.TradeDTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * A trade booking accepted by the journal, as recorded before it is written to the database.
+ *
+ * @param account      the account of the trade
+ * @param type         the type of the trade
+ * @param buyQuantity  the bought quantity
+ * @param tradeDate    the trade date, or {@code null} to date the trade on booking
+ * @param creationName the user who booked the trade
+ * @param creationDate the time the trade was booked
+ */
+public record TradeCommand(String account, String type, Double buyQuantity, LocalDateTime tradeDate,
+                           String creationName, LocalDateTime creationDate) {
+
+    static TradeCommand of(TradeDTO tradeDTO, String creationName, LocalDateTime creationDate) {
+        return new TradeCommand(tradeDTO.getAccount(), tradeDTO.getType(), tradeDTO.getBuyQuantity(),
+                tradeDTO.getTradeDate(), creationName, creationDate);
+    }
+
+    TradeDTO toDTO() {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType(type);
+        tradeDTO.setBuyQuantity(buyQuantity);
+        tradeDTO.setTradeDate(tradeDate);
+        return tradeDTO;
+    }
+}
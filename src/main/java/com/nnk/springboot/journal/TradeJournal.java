@@ -0,0 +1,433 @@
+package com.nnk.springboot.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of byte entries kept in memory-mapped segment files.
+ *
+ * <p>Each entry gets the next sequence number, from 1 and without gaps, and is written as
+ * {@code [int length][long sequence][int crc32][payload]}. Segments are named after the sequence
+ * number of their first entry, have a fixed size, and end at the first zero length; an entry that
+ * does not fit in the current segment starts the next one. The length is written last, so an entry
+ * cut short by a crash of the application is never seen, and the checksum rejects one cut short
+ * by a crash of the machine. On opening, the segments are scanned up to the last valid entry and
+ * whatever follows it is erased.
+ *
+ * <p>A journal is named by a random ID kept in a {@value #ID_FILE} file next to its segments, so
+ * the progress of several journals can be told apart in one database.
+ *
+ * <p>Appends are serialized. Entries are read back through {@link Cursor}s, which only return
+ * entries up to the {@link #durableSequence()}, so nothing is read that could still be lost.
+ */
+@Slf4j
+public class TradeJournal implements Closeable {
+
+    static final String SUFFIX = ".journal";
+    static final String ID_FILE = "journal.id";
+    private static final int HEADER = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private final Path directory;
+    private final String id;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object durableMonitor = new Object();
+    private final ScheduledExecutorService flusher;
+    private Segment current;
+    private int position;
+    private int forcedPosition;
+    private volatile long appendedSequence;
+    private volatile long durableSequence;
+    private volatile boolean closed;
+
+    /**
+     * Opens the journal in a directory, recovering the entries already there.
+     *
+     * @param directory         the directory of the segment files, created if missing
+     * @param segmentSize       the size of each segment file, in bytes
+     * @param fsyncPolicy       when appended entries are forced to disk
+     * @param groupCommitMillis the interval between two forces under {@link FsyncPolicy#GROUP}
+     */
+    public TradeJournal(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, long groupCommitMillis) {
+        if (segmentSize <= HEADER) {
+            throw new IllegalArgumentException("Segment size must exceed " + HEADER + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        try {
+            Files.createDirectories(directory);
+            id = readId(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open trade journal in " + directory, e);
+        }
+        if (fsyncPolicy == FsyncPolicy.GROUP) {
+            flusher = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("trade-journal-flusher").daemon(true).factory());
+            flusher.scheduleWithFixedDelay(this::flush, groupCommitMillis, groupCommitMillis, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Appends an entry, returning once it is as durable as the {@link FsyncPolicy} makes it.
+     *
+     * @param payload the bytes of the entry
+     * @return the sequence number of the entry
+     * @throws IllegalArgumentException if the entry does not fit in a segment
+     * @throws IllegalStateException    if the journal is closed
+     */
+    public long append(byte[] payload) {
+        if (HEADER + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Journal entry of " + payload.length + " bytes exceeds the segment size");
+        }
+        long sequence;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Trade journal is closed");
+            }
+            sequence = appendedSequence + 1;
+            if (position + HEADER + payload.length > segmentSize) {
+                roll(sequence);
+            }
+            MappedByteBuffer buffer = current.buffer();
+            buffer.putLong(position + Integer.BYTES, sequence);
+            buffer.putInt(position + Integer.BYTES + Long.BYTES, checksum(sequence, payload));
+            buffer.put(position + HEADER, payload);
+            buffer.putInt(position, payload.length);
+            position += HEADER + payload.length;
+            appendedSequence = sequence;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                force();
+            }
+            if (fsyncPolicy != FsyncPolicy.GROUP) {
+                durableSequence = sequence;
+            }
+        }
+        if (fsyncPolicy == FsyncPolicy.GROUP) {
+            awaitDurable(sequence);
+        }
+        return sequence;
+    }
+
+    private void awaitDurable(long sequence) {
+        synchronized (durableMonitor) {
+            while (durableSequence < sequence) {
+                if (closed) {
+                    throw new IllegalStateException("Trade journal closed before entry " + sequence + " was forced");
+                }
+                try {
+                    durableMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while forcing entry " + sequence, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces the entries appended since the last force, then releases the appends waiting for them.
+     */
+    void flush() {
+        long sequence;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            sequence = appendedSequence;
+            force();
+        }
+        synchronized (durableMonitor) {
+            durableSequence = sequence;
+            durableMonitor.notifyAll();
+        }
+    }
+
+    private void force() {
+        if (position > forcedPosition) {
+            current.buffer().force(forcedPosition, position - forcedPosition);
+            forcedPosition = position;
+        }
+    }
+
+    private void roll(long firstSequence) {
+        force();
+        try {
+            current = open(firstSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment " + firstSequence, e);
+        }
+        segments.put(firstSequence, current);
+        position = 0;
+        forcedPosition = 0;
+        log.debug("Rolled trade journal to segment {}", current.path().getFileName());
+    }
+
+    /**
+     * Deletes the segments holding only entries up to a sequence number. The current segment is kept.
+     *
+     * @param appliedSequence the sequence number up to which entries are no longer needed
+     * @return the number of segments deleted
+     */
+    public int compact(long appliedSequence) {
+        int deleted = 0;
+        for (Map.Entry<Long, Segment> entry : segments.entrySet()) {
+            Long next = segments.higherKey(entry.getKey());
+            if (next == null || next - 1 > appliedSequence) {
+                break;
+            }
+            segments.remove(entry.getKey());
+            try {
+                Files.deleteIfExists(entry.getValue().path());
+                deleted++;
+            } catch (IOException e) {
+                log.warn("Cannot delete journal segment {}", entry.getValue().path(), e);
+            }
+        }
+        if (deleted > 0) {
+            log.info("Compacted trade journal: {} segments deleted up to entry {}", deleted, appliedSequence);
+        }
+        return deleted;
+    }
+
+    /**
+     * Opens a cursor reading the entries after a sequence number.
+     *
+     * @param afterSequence the sequence number of the last entry not to read
+     * @return the cursor
+     */
+    public Cursor cursor(long afterSequence) {
+        return new Cursor(afterSequence);
+    }
+
+    /**
+     * @return the ID of the journal, the same every time its directory is opened
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * @return the sequence number of the last appended entry, {@code 0} if there is none
+     */
+    public long appendedSequence() {
+        return appendedSequence;
+    }
+
+    /**
+     * @return the sequence number of the last entry forced as the {@link FsyncPolicy} requires
+     */
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * @return the number of segment files
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return when appended entries are forced to disk
+     */
+    public FsyncPolicy fsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    /**
+     * Forces the last entries to disk and stops the flusher. Appends waiting for a force fail.
+     */
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            force();
+            closed = true;
+        }
+        synchronized (durableMonitor) {
+            durableSequence = appendedSequence;
+            durableMonitor.notifyAll();
+        }
+    }
+
+    private static String readId(Path directory) throws IOException {
+        Path file = directory.resolve(ID_FILE);
+        if (Files.exists(file)) {
+            return Files.readString(file).trim();
+        }
+        String id = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+        Path written = Files.writeString(directory.resolve(ID_FILE + ".tmp"), id, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
+        Files.move(written, file, StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        long expected = -1;
+        boolean broken = false;
+        for (Path file : files) {
+            long first = Long.parseLong(file.getFileName().toString().replace(SUFFIX, ""));
+            if (broken || (expected != -1 && first != expected)) {
+                Path aside = file.resolveSibling(file.getFileName() + ".corrupt");
+                Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+                log.error("Trade journal segment {} follows a gap and was moved to {}", file.getFileName(), aside);
+                broken = true;
+                continue;
+            }
+            Segment segment = open(first);
+            segments.put(first, segment);
+            current = segment;
+            expected = first;
+            position = 0;
+            MappedByteBuffer buffer = segment.buffer();
+            while (position + HEADER <= segmentSize) {
+                int length = buffer.getInt(position);
+                if (length == 0) {
+                    break;
+                }
+                if (!isValid(buffer, position, length, expected)) {
+                    log.error("Trade journal segment {} holds a torn entry {} at offset {}, erasing it",
+                            file.getFileName(), expected, position);
+                    buffer.put(position, new byte[segmentSize - position]);
+                    buffer.force();
+                    broken = true;
+                    break;
+                }
+                position += HEADER + length;
+                expected++;
+            }
+        }
+        if (current == null) {
+            current = open(1);
+            segments.put(1L, current);
+            expected = 1;
+            position = 0;
+        }
+        forcedPosition = position;
+        appendedSequence = expected - 1;
+        durableSequence = appendedSequence;
+        log.info("Opened trade journal in {}: {} segments, last entry {}", directory, segments.size(), appendedSequence);
+    }
+
+    private boolean isValid(MappedByteBuffer buffer, int offset, int length, long expected) {
+        if (length < 0 || offset + HEADER + length > segmentSize) {
+            return false;
+        }
+        long sequence = buffer.getLong(offset + Integer.BYTES);
+        if (sequence != expected) {
+            return false;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER, payload);
+        return buffer.getInt(offset + Integer.BYTES + Long.BYTES) == checksum(sequence, payload);
+    }
+
+    private Segment open(long firstSequence) throws IOException {
+        Path path = directory.resolve("%020d%s".formatted(firstSequence, SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+    }
+
+    static int checksum(long sequence, byte[] payload) {
+        CRC32 crc = new CRC32();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (sequence >>> shift));
+        }
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private record Segment(Path path, MappedByteBuffer buffer) {
+    }
+
+    /**
+     * Reads the entries of the journal in sequence order. A cursor is meant for a single thread.
+     */
+    public final class Cursor {
+
+        private long next;
+        private Segment segment;
+        private int offset;
+
+        private Cursor(long afterSequence) {
+            next = afterSequence + 1;
+        }
+
+        /**
+         * Reads the next durable entries.
+         *
+         * @param max the maximum number of entries to read
+         * @return the entries read, oldest first, empty when none is durable yet
+         * @throws IllegalStateException if the entries were compacted away
+         */
+        public List<JournalEntry> next(int max) {
+            long limit = durableSequence;
+            List<JournalEntry> entries = new ArrayList<>();
+            if (segment == null && next <= limit) {
+                seek();
+            }
+            while (entries.size() < max && next <= limit) {
+                int length = offset + HEADER <= segmentSize ? segment.buffer().getInt(offset) : 0;
+                if (length == 0) {
+                    Map.Entry<Long, Segment> following = segments.higherEntry(next - 1);
+                    segment = following.getValue();
+                    offset = 0;
+                    continue;
+                }
+                byte[] payload = new byte[length];
+                segment.buffer().get(offset + HEADER, payload);
+                entries.add(new JournalEntry(next, payload));
+                offset += HEADER + length;
+                next++;
+            }
+            return entries;
+        }
+
+        private void seek() {
+            Map.Entry<Long, Segment> floor = segments.floorEntry(next);
+            if (floor == null) {
+                throw new IllegalStateException("Trade journal entry " + next + " was compacted away");
+            }
+            segment = floor.getValue();
+            offset = 0;
+            for (long sequence = floor.getKey(); sequence < next; sequence++) {
+                offset += HEADER + segment.buffer().getInt(offset);
+            }
+        }
+    }
+}
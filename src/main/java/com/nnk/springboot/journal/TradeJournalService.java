@@ -0,0 +1,315 @@
+package com.nnk.springboot.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.JournalCheckpoint;
+import com.nnk.springboot.domain.JournalDeadLetter;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.repositories.JournalCheckpointRepository;
+import com.nnk.springboot.repositories.JournalDeadLetterRepository;
+import com.nnk.springboot.security.CurrentUser;
+import com.nnk.springboot.service.TradeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Books trades through a {@link TradeJournal}, so a booking is acknowledged once it is appended
+ * to a local file rather than once the database has committed it.
+ *
+ * <p>A single applier thread reads the journal in sequence order and saves the booked trades in
+ * batches, each in one transaction with the {@link JournalCheckpoint} of the last entry it holds,
+ * so every entry is written to the database exactly once. Every instance has its own journal, and
+ * its checkpoint is named after the journal's ID. At startup the applier resumes after the
+ * checkpoint, replaying the entries appended while the database was unreachable or the application
+ * down. A batch that fails is retried entry by entry: an entry the database refuses for good is
+ * moved to the {@link JournalDeadLetter} table and skipped, any other failure is retried until the
+ * database is back. Segments whose entries are all applied are deleted.
+ *
+ * <p>When {@code journal.enabled} is {@code false}, bookings are saved directly instead.
+ */
+@Slf4j
+@Service
+public class TradeJournalService {
+
+    static final String CHECKPOINT = "trade-journal";
+
+    private final TradeService tradeService;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final JournalDeadLetterRepository deadLetterRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate batchTransaction;
+    private final TradeJournal journal;
+    private final String checkpointName;
+    private final int batchSize;
+    private final long retryMillis;
+    private final ExecutorService applier = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("trade-journal-applier").daemon(true).factory());
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile long appliedSequence;
+
+    /**
+     * Constructs a new instance of {@link TradeJournalService}, opening the journal when enabled.
+     *
+     * @param tradeService         the service saving the booked trades
+     * @param checkpointRepository the repository storing the last applied entry
+     * @param deadLetterRepository the repository keeping the entries the database refused
+     * @param objectMapper         the mapper writing the journal entries as JSON
+     * @param transactionManager   the transaction manager for the batch transactions
+     * @param enabled              whether bookings go through the journal
+     * @param directory            the directory of the journal segment files
+     * @param segmentSize          the size of each segment file, in bytes
+     * @param fsyncPolicy          when bookings are forced to disk before being acknowledged
+     * @param groupCommitMillis    the interval between two forces under {@link FsyncPolicy#GROUP}
+     * @param batchSize            the maximum number of bookings saved per transaction
+     * @param retryMillis          the pause before saving again after a database failure
+     */
+    public TradeJournalService(TradeService tradeService, JournalCheckpointRepository checkpointRepository,
+                               JournalDeadLetterRepository deadLetterRepository, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                               @Value("${journal.enabled:true}") boolean enabled,
+                               @Value("${journal.dir:journal}") String directory,
+                               @Value("${journal.segment-size:67108864}") int segmentSize,
+                               @Value("${journal.fsync:GROUP}") FsyncPolicy fsyncPolicy,
+                               @Value("${journal.group-commit-ms:2}") long groupCommitMillis,
+                               @Value("${journal.batch-size:500}") int batchSize,
+                               @Value("${journal.retry-ms:1000}") long retryMillis) {
+        this.tradeService = tradeService;
+        this.checkpointRepository = checkpointRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.objectMapper = objectMapper;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.journal = enabled ? new TradeJournal(Path.of(directory), segmentSize, fsyncPolicy, groupCommitMillis) : null;
+        this.checkpointName = journal == null ? CHECKPOINT : checkpointName(journal);
+        this.batchSize = batchSize;
+        this.retryMillis = retryMillis;
+    }
+
+    /**
+     * Books a new trade for the current user. With the journal enabled, the trade is saved to the
+     * database shortly after this method returns.
+     *
+     * @param tradeDTO the data transfer object containing trade details
+     * @throws IllegalArgumentException if the {@link TradeDTO} is null
+     * @throws IllegalStateException    if the journal is closed
+     */
+    public void book(TradeDTO tradeDTO) {
+        if (journal == null) {
+            tradeService.saveTrade(tradeDTO);
+            return;
+        }
+        if (tradeDTO == null) {
+            throw new IllegalArgumentException("TradeDTO cannot be null.");
+        }
+        long sequence = journal.append(encode(TradeCommand.of(tradeDTO, CurrentUser.name(), LocalDateTime.now())));
+        log.debug("Trade booked as journal entry {}", sequence);
+        wakeUps.release();
+    }
+
+    /**
+     * Starts applying the journal after its checkpoint once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (journal == null || !started.compareAndSet(false, true)) {
+            return;
+        }
+        long checkpoint = checkpointRepository.findById(checkpointName).map(JournalCheckpoint::getSequence)
+                .orElseGet(this::adoptSharedCheckpoint);
+        if (checkpoint > journal.appendedSequence()) {
+            // the journal was replaced by an empty one: its sequence numbers start again below the checkpoint
+            log.warn("Trade journal ends at entry {} before its checkpoint {}, resetting the checkpoint",
+                    journal.appendedSequence(), checkpoint);
+            checkpoint = journal.appendedSequence();
+        }
+        checkpointRepository.save(new JournalCheckpoint(checkpointName, checkpoint));
+        appliedSequence = checkpoint;
+        if (journal.appendedSequence() > checkpoint) {
+            log.info("Replaying trade journal entries {} to {}", checkpoint + 1, journal.appendedSequence());
+        }
+        TradeJournal.Cursor cursor = journal.cursor(checkpoint);
+        applier.execute(() -> apply(cursor));
+    }
+
+    /**
+     * @param journal the journal
+     * @return the name of the checkpoint of the journal, as each instance applies its own journal
+     */
+    static String checkpointName(TradeJournal journal) {
+        return CHECKPOINT + ":" + journal.id();
+    }
+
+    /**
+     * Takes over the checkpoint shared by all the journals before each had its own, so the journal
+     * of an upgraded instance does not replay what it already applied. Only one journal gets it.
+     */
+    private long adoptSharedCheckpoint() {
+        Long adopted = batchTransaction.execute(status -> checkpointRepository.findById(CHECKPOINT)
+                .filter(shared -> checkpointRepository.remove(CHECKPOINT) == 1)
+                .map(JournalCheckpoint::getSequence).orElse(0L));
+        if (adopted != null && adopted > 0) {
+            log.info("Trade journal {} takes over the shared checkpoint at entry {}", journal.id(), adopted);
+            return adopted;
+        }
+        return 0L;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        applier.shutdownNow();
+        applier.awaitTermination(10, TimeUnit.SECONDS);
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void apply(TradeJournal.Cursor cursor) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<JournalEntry> entries = cursor.next(batchSize);
+                if (entries.isEmpty()) {
+                    wakeUps.tryAcquire(retryMillis, TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                    continue;
+                }
+                try {
+                    applyBatch(entries);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to apply trade journal entries {} to {}, retrying one by one",
+                            entries.get(0).sequence(), entries.get(entries.size() - 1).sequence(), e);
+                    for (JournalEntry entry : entries) {
+                        applyOne(entry);
+                    }
+                }
+                journal.compact(appliedSequence);
+            }
+        } catch (InterruptedException e) {
+            log.debug("Trade journal applier stopped at entry {}", appliedSequence);
+        } catch (RuntimeException e) {
+            log.error("Trade journal applier stopped at entry {}", appliedSequence, e);
+        }
+    }
+
+    private void applyOne(JournalEntry entry) throws InterruptedException {
+        while (true) {
+            try {
+                applyBatch(List.of(entry));
+                return;
+            } catch (RuntimeException e) {
+                if (isRefused(e)) {
+                    log.error("Trade journal entry {} refused by the database, moving it to the dead letters",
+                            entry.sequence(), e);
+                    rejected.incrementAndGet();
+                    batchTransaction.executeWithoutResult(status -> {
+                        deadLetterRepository.save(deadLetter(journal.id(), entry, e));
+                        checkpointRepository.advance(checkpointName, entry.sequence());
+                    });
+                    appliedSequence = entry.sequence();
+                    return;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                log.warn("Failed to apply trade journal entry {}, retrying in {} ms", entry.sequence(), retryMillis, e);
+                Thread.sleep(retryMillis);
+            }
+        }
+    }
+
+    private void applyBatch(List<JournalEntry> entries) {
+        long last = entries.get(entries.size() - 1).sequence();
+        batchTransaction.executeWithoutResult(status -> {
+            for (JournalEntry entry : entries) {
+                TradeCommand command = decode(entry);
+                // the trade and its audit entries are attributed to the user who booked it
+                SecurityContextHolder.getContext().setAuthentication(
+                        UsernamePasswordAuthenticationToken.authenticated(command.creationName(), null, List.of()));
+                try {
+                    tradeService.saveTrade(command.toDTO(), command.creationName(), command.creationDate());
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }
+            checkpointRepository.advance(checkpointName, last);
+        });
+        appliedSequence = last;
+    }
+
+    private static JournalDeadLetter deadLetter(String journalId, JournalEntry entry, Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return new JournalDeadLetter(null, journalId, entry.sequence(),
+                new String(entry.payload(), StandardCharsets.UTF_8),
+                error.length() > 1000 ? error.substring(0, 1000) : error, LocalDateTime.now());
+    }
+
+    private static boolean isRefused(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof UncheckedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] encode(TradeCommand command) {
+        try {
+            return objectMapper.writeValueAsBytes(command);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write trade command", e);
+        }
+    }
+
+    private TradeCommand decode(JournalEntry entry) {
+        try {
+            return objectMapper.readValue(entry.payload(), TradeCommand.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read trade journal entry " + entry.sequence(), e);
+        }
+    }
+
+    /**
+     * @return the most recent entries the database refused, newest first
+     */
+    public List<JournalDeadLetter> getDeadLetters() {
+        return deadLetterRepository.findTop100ByOrderByIdDesc();
+    }
+
+    /**
+     * @return a snapshot of the progress of the journal
+     */
+    public JournalStats getStats() {
+        long deadLetters = deadLetterRepository.count();
+        if (journal == null) {
+            return new JournalStats(false, 0, 0, 0, 0, rejected.get(), deadLetters, 0, null);
+        }
+        long applied = appliedSequence;
+        long durable = journal.durableSequence();
+        return new JournalStats(true, journal.appendedSequence(), durable, applied, Math.max(0, durable - applied),
+                rejected.get(), deadLetters, journal.segmentCount(), journal.fsyncPolicy());
+    }
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.matching;
+
+/**
+ * A match between an incoming order and a resting order of the opposite side.
+ *
+ * @param buy      the buying order
+ * @param sell     the selling order
+ * @param price    the execution price, always the resting order's price
+ * @param quantity the executed quantity
+ */
+public record Fill(Order buy, Order sell, double price, double quantity) {
+}
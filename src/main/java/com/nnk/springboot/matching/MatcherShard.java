@@ -0,0 +1,129 @@
+package com.nnk.springboot.matching;
+
+import com.nnk.springboot.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Single-writer event loop owning the {@link OrderBook}s of the securities hashed to it.
+ *
+ * <p>Orders and cancellations are handed over through a bounded array-backed ring buffer, in
+ * the order they were submitted; only the shard thread ever reads or mutates its books, so
+ * matching needs no locks. A book is created by the first order resting in it and dropped once
+ * no order rests in it.
+ */
+@Slf4j
+class MatcherShard implements Runnable {
+
+    private interface Instruction {
+    }
+
+    private record Place(Order order) implements Instruction {
+    }
+
+    private record Cancel(int sourceId) implements Instruction {
+    }
+
+    private final BlockingQueue<Instruction> inbox;
+    private final Map<String, OrderBook> books = new HashMap<>();
+    private final Consumer<Fill> onFill;
+    private final Consumer<Order> onCancel;
+    private final LatencyHistogram latency;
+    private final Thread thread;
+    private volatile int bookCount;
+    private volatile boolean running = true;
+
+    MatcherShard(int index, int capacity, Consumer<Fill> onFill, Consumer<Order> onCancel, LatencyHistogram latency) {
+        this.inbox = new ArrayBlockingQueue<>(capacity);
+        this.onFill = onFill;
+        this.onCancel = onCancel;
+        this.latency = latency;
+        this.thread = new Thread(this, "matcher-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    boolean offer(Order order, long timeoutMillis) throws InterruptedException {
+        return inbox.offer(new Place(order), timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void put(Order order) throws InterruptedException {
+        inbox.put(new Place(order));
+    }
+
+    /**
+     * Queues the removal of the orders resting for a bid list, behind the orders already queued.
+     */
+    void cancel(int sourceId) throws InterruptedException {
+        inbox.put(new Cancel(sourceId));
+    }
+
+    int backlog() {
+        return inbox.size();
+    }
+
+    /**
+     * @return the number of securities with orders resting in this shard
+     */
+    int bookCount() {
+        return bookCount;
+    }
+
+    @Override
+    public void run() {
+        while (running || !inbox.isEmpty()) {
+            Instruction instruction = null;
+            try {
+                instruction = inbox.poll(100, TimeUnit.MILLISECONDS);
+                if (instruction instanceof Place place) {
+                    match(place.order());
+                } else if (instruction instanceof Cancel cancel) {
+                    cancelResting(cancel.sourceId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Matcher failed to process {}", instruction, e);
+            }
+        }
+    }
+
+    private void cancelResting(int sourceId) {
+        for (Iterator<OrderBook> iterator = books.values().iterator(); iterator.hasNext(); ) {
+            OrderBook book = iterator.next();
+            book.cancel(sourceId).forEach(onCancel);
+            if (book.depth() == 0) {
+                iterator.remove();
+            }
+        }
+        bookCount = books.size();
+    }
+
+    private void match(Order order) {
+        OrderBook book = books.computeIfAbsent(order.getSecurity(), security -> new OrderBook());
+        book.match(order, fill -> {
+            latency.record(System.nanoTime() - order.getReceivedNanos());
+            onFill.accept(fill);
+        });
+        if (book.depth() == 0) {
+            books.remove(order.getSecurity());
+        }
+        bookCount = books.size();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
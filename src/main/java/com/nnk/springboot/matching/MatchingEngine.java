@@ -0,0 +1,291 @@
+package com.nnk.springboot.matching;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventConsumer;
+import com.nnk.springboot.event.OverflowPolicy;
+import com.nnk.springboot.metrics.LatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Automatic bid/ask matching engine.
+ *
+ * <p>Securities are hashed onto a fixed number of {@link MatcherShard}s: each one a bounded ring
+ * buffer drained by a single writer thread, which matches the orders of its securities with
+ * price-time priority. Each fill is turned into a {@link Trade} and handed to the
+ * {@link TradeBatchWriter}. Bid lists are submitted once their creation is committed; an update
+ * replaces the orders still resting for the bid list and a deletion cancels them. The orders of
+ * each bid list are counted until they are filled or cancelled, so a resubmission can be refused
+ * while they are open.
+ */
+@Slf4j
+@Component
+public class MatchingEngine implements DomainEventConsumer<BidList> {
+
+    static final String MATCH_TYPE = "MATCH";
+    static final String CREATED_BY = "matching-engine";
+
+    private final TradeBatchWriter tradeBatchWriter;
+    private final long offerTimeoutMillis;
+    private final MatcherShard[] shards;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong matches = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final Map<Integer, Integer> openOrders = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@link MatchingEngine}.
+     *
+     * @param tradeBatchWriter   the writer persisting matched trades
+     * @param shards             the number of matcher threads, 0 for one per core
+     * @param ringBufferCapacity the capacity of each shard's ring buffer
+     * @param offerTimeoutMillis how long a submission waits for room in a full ring buffer
+     */
+    public MatchingEngine(TradeBatchWriter tradeBatchWriter,
+                          @Value("${matching.shards:0}") int shards,
+                          @Value("${matching.ring-buffer-capacity:65536}") int ringBufferCapacity,
+                          @Value("${matching.offer-timeout-ms:10}") long offerTimeoutMillis) {
+        this.tradeBatchWriter = tradeBatchWriter;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.shards = new MatcherShard[shards > 0 ? shards : Runtime.getRuntime().availableProcessors()];
+        for (int index = 0; index < this.shards.length; index++) {
+            this.shards[index] = new MatcherShard(index, ringBufferCapacity, this::onFill, this::onCancel, latency);
+            this.shards[index].start();
+        }
+    }
+
+    /**
+     * Submits an order for matching.
+     *
+     * @param order the order to match
+     * @return {@code true} if the order was accepted, {@code false} if its security's ring buffer is full
+     */
+    public boolean submit(Order order) {
+        open(order);
+        try {
+            if (shard(order.getSecurity()).offer(order, offerTimeoutMillis)) {
+                submitted.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        close(order);
+        rejected.incrementAndGet();
+        log.warn("Ring buffer full for security {}, order rejected", order.getSecurity());
+        return false;
+    }
+
+    /**
+     * Submits the bid and/or ask sides of a {@link BidList} for matching.
+     *
+     * @param bidList the bid list carrying a bid price and quantity, an ask price and quantity, or both
+     * @return the number of orders accepted
+     * @throws IllegalArgumentException if the bid list has no security or no priced side
+     */
+    public int submit(BidList bidList) {
+        return (int) orders(bidList).stream().filter(this::submit).count();
+    }
+
+    /**
+     * Submits a bid list for matching again, unless orders of it are still open.
+     *
+     * @param bidList the bid list to submit again
+     * @return the number of orders accepted
+     * @throws IllegalArgumentException if the bid list has no security or no priced side
+     * @throws IllegalStateException    if orders of the bid list are still queued or resting
+     */
+    public int resubmit(BidList bidList) {
+        List<Order> orders = orders(bidList);
+        int sourceId = bidList.getId().intValue();
+        // reserved before the orders are opened, so two resubmissions cannot both pass the check
+        if (openOrders.putIfAbsent(sourceId, 0) != null) {
+            throw new IllegalStateException("Bid list " + sourceId + " already has orders open for matching.");
+        }
+        try {
+            return (int) orders.stream().filter(this::submit).count();
+        } finally {
+            openOrders.remove(sourceId, 0);
+        }
+    }
+
+    /**
+     * @param bidListId the ID of a bid list
+     * @return whether orders of the bid list are queued or resting in the engine
+     */
+    public boolean hasOpenOrders(int bidListId) {
+        return openOrders.containsKey(bidListId);
+    }
+
+    private List<Order> orders(BidList bidList) {
+        List<Order> orders = new ArrayList<>(2);
+        Integer sourceId = bidList.getId() == null ? null : bidList.getId().intValue();
+        if (isPriced(bidList.getBid(), bidList.getBidQuantity())) {
+            orders.add(new Order(Side.BUY, bidList.getSecurity(), bidList.getAccount(),
+                    bidList.getBid(), bidList.getBidQuantity(), sourceId));
+        }
+        if (isPriced(bidList.getAsk(), bidList.getAskQuantity())) {
+            orders.add(new Order(Side.SELL, bidList.getSecurity(), bidList.getAccount(),
+                    bidList.getAsk(), bidList.getAskQuantity(), sourceId));
+        }
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException("Bid list has neither a priced bid nor a priced ask.");
+        }
+        return orders;
+    }
+
+    private MatcherShard shard(String security) {
+        return shards[Math.floorMod(security.hashCode(), shards.length)];
+    }
+
+    private void open(Order order) {
+        if (order.getSourceId() != null) {
+            openOrders.merge(order.getSourceId(), 1, Integer::sum);
+        }
+    }
+
+    private void close(Order order) {
+        if (order.getSourceId() != null) {
+            openOrders.computeIfPresent(order.getSourceId(), (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static boolean isPriced(Double price, Double quantity) {
+        return price != null && price > 0 && quantity != null && quantity > 0;
+    }
+
+    private static boolean isMatchable(BidList bidList) {
+        return bidList != null && bidList.getSecurity() != null && !bidList.getSecurity().isBlank()
+                && (isPriced(bidList.getBid(), bidList.getBidQuantity()) || isPriced(bidList.getAsk(), bidList.getAskQuantity()));
+    }
+
+    @Override
+    public String name() {
+        return "matching";
+    }
+
+    @Override
+    public Class<BidList> entityType() {
+        return BidList.class;
+    }
+
+    /**
+     * Waits rather than drops changes when the queue is full, as a dropped creation would never
+     * be matched.
+     */
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.BLOCK;
+    }
+
+    /**
+     * Submits the created bid lists that have a security and a priced side, the others being left
+     * out of matching. An update first cancels the orders still resting for the bid list, then
+     * submits it as updated; a deletion cancels them. Waits for room in full ring buffers, as the
+     * events are not delivered again.
+     */
+    @Override
+    public void accept(List<DomainEvent<BidList>> events) {
+        try {
+            for (DomainEvent<BidList> event : events) {
+                if (event.changeType() != ChangeType.CREATED && event.id() != null) {
+                    cancel(((Number) event.id()).intValue());
+                }
+                if (event.changeType() != ChangeType.DELETED && isMatchable(event.entity())) {
+                    for (Order order : orders(event.entity())) {
+                        put(order);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while submitting bid lists for matching");
+        }
+    }
+
+    private void put(Order order) throws InterruptedException {
+        open(order);
+        try {
+            shard(order.getSecurity()).put(order);
+        } catch (InterruptedException e) {
+            close(order);
+            throw e;
+        }
+        submitted.incrementAndGet();
+    }
+
+    // every shard, as the security of the resting orders may have changed since
+    private void cancel(int sourceId) throws InterruptedException {
+        for (MatcherShard shard : shards) {
+            shard.cancel(sourceId);
+        }
+    }
+
+    private void onFill(Fill fill) {
+        matches.incrementAndGet();
+        if (fill.buy().isFilled()) {
+            close(fill.buy());
+        }
+        if (fill.sell().isFilled()) {
+            close(fill.sell());
+        }
+        tradeBatchWriter.enqueue(toTrade(fill));
+    }
+
+    private void onCancel(Order order) {
+        cancelled.incrementAndGet();
+        close(order);
+    }
+
+    static Trade toTrade(Fill fill) {
+        LocalDateTime now = LocalDateTime.now();
+        Trade trade = new Trade();
+        trade.setAccount(fill.buy().getAccount());
+        trade.setType(MATCH_TYPE);
+        trade.setSecurity(fill.buy().getSecurity());
+        trade.setBuyQuantity(fill.quantity());
+        trade.setSellQuantity(fill.quantity());
+        trade.setBuyPrice(fill.price());
+        trade.setSellPrice(fill.price());
+        trade.setTradeDate(now);
+        trade.setSide(Side.BUY.name());
+        trade.setDealName(fill.buy().getAccount() + "/" + fill.sell().getAccount());
+        trade.setSourceListId(fill.buy().getSourceId() + "/" + fill.sell().getSourceId());
+        trade.setCreationName(CREATED_BY);
+        trade.setCreationDate(now);
+        return trade;
+    }
+
+    /**
+     * @return a snapshot of the engine's throughput and latency statistics
+     */
+    public MatchingStats getStats() {
+        int securities = 0;
+        for (MatcherShard shard : shards) {
+            securities += shard.bookCount();
+        }
+        return new MatchingStats(securities, submitted.get(), rejected.get(), matches.get(), cancelled.get(),
+                tradeBatchWriter.getPersisted(), latency.percentile(50), latency.percentile(99));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (MatcherShard shard : shards) {
+            shard.stop();
+        }
+    }
+}
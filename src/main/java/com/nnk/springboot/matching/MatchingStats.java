@@ -0,0 +1,17 @@
+package com.nnk.springboot.matching;
+
+/**
+ * Point-in-time statistics of the {@link MatchingEngine}.
+ *
+ * @param securities      the number of securities with resting orders
+ * @param submitted       the number of orders accepted by the engine
+ * @param rejected        the number of orders rejected because a ring buffer was full
+ * @param matches         the number of fills produced
+ * @param cancelled       the number of resting orders cancelled by an update or deletion of their bid list
+ * @param persisted       the number of matched trades written to the database
+ * @param p50LatencyNanos the median latency from submission to fill
+ * @param p99LatencyNanos the 99th percentile latency from submission to fill
+ */
+public record MatchingStats(int securities, long submitted, long rejected, long matches, long cancelled,
+                            long persisted, long p50LatencyNanos, long p99LatencyNanos) {
+}
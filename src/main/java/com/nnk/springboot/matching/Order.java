@@ -0,0 +1,56 @@
+package com.nnk.springboot.matching;
+
+import lombok.Getter;
+
+/**
+ * An order resting in, or submitted to, an {@link OrderBook}.
+ *
+ * <p>Only the remaining quantity is mutable, and it is only ever touched by the
+ * single writer thread that owns the book of the order's security.
+ */
+@Getter
+public final class Order {
+
+    private final Side side;
+    private final String security;
+    private final String account;
+    private final double price;
+    private final Integer sourceId;
+    private final long receivedNanos;
+    private double remaining;
+
+    /**
+     * Constructs a new instance of {@link Order}.
+     *
+     * @param side     the side of the order
+     * @param security the security the order is for
+     * @param account  the account placing the order
+     * @param price    the limit price
+     * @param quantity the quantity to buy or sell
+     * @param sourceId the ID of the originating bid list, or {@code null}
+     * @throws IllegalArgumentException if the security is blank or the quantity is not positive
+     */
+    public Order(Side side, String security, String account, double price, double quantity, Integer sourceId) {
+        if (side == null || security == null || security.isBlank()) {
+            throw new IllegalArgumentException("Side and security are mandatory.");
+        }
+        if (!(quantity > 0) || !(price > 0)) {
+            throw new IllegalArgumentException("Price and quantity must be positive.");
+        }
+        this.side = side;
+        this.security = security;
+        this.account = account;
+        this.price = price;
+        this.remaining = quantity;
+        this.sourceId = sourceId;
+        this.receivedNanos = System.nanoTime();
+    }
+
+    void fill(double quantity) {
+        remaining -= quantity;
+    }
+
+    boolean isFilled() {
+        return remaining <= 0;
+    }
+}
@@ -0,0 +1,125 @@
+package com.nnk.springboot.matching;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Price-time priority limit order book for a single security.
+ *
+ * <p>Not thread-safe: each book is owned by exactly one {@link MatcherShard} thread.
+ */
+public class OrderBook {
+
+    private final TreeMap<Double, ArrayDeque<Order>> bids = new TreeMap<>(Comparator.reverseOrder());
+    private final TreeMap<Double, ArrayDeque<Order>> asks = new TreeMap<>();
+    private final Map<Integer, List<Order>> restingBySource = new HashMap<>();
+
+    /**
+     * Matches an incoming order against the opposite side of the book, then rests
+     * any unfilled remainder.
+     *
+     * @param incoming the incoming order
+     * @param onFill   receives every fill in execution order
+     * @return the number of fills produced
+     */
+    public int match(Order incoming, Consumer<Fill> onFill) {
+        boolean buying = incoming.getSide() == Side.BUY;
+        TreeMap<Double, ArrayDeque<Order>> opposite = buying ? asks : bids;
+        int fills = 0;
+
+        while (!incoming.isFilled() && !opposite.isEmpty()) {
+            Map.Entry<Double, ArrayDeque<Order>> best = opposite.firstEntry();
+            double bestPrice = best.getKey();
+            if (buying ? bestPrice > incoming.getPrice() : bestPrice < incoming.getPrice()) {
+                break;
+            }
+
+            ArrayDeque<Order> level = best.getValue();
+            while (!incoming.isFilled() && !level.isEmpty()) {
+                Order resting = level.peekFirst();
+                double quantity = Math.min(incoming.getRemaining(), resting.getRemaining());
+                incoming.fill(quantity);
+                resting.fill(quantity);
+                onFill.accept(buying
+                        ? new Fill(incoming, resting, bestPrice, quantity)
+                        : new Fill(resting, incoming, bestPrice, quantity));
+                fills++;
+                if (resting.isFilled()) {
+                    level.pollFirst();
+                    forget(resting);
+                }
+            }
+            if (level.isEmpty()) {
+                opposite.pollFirstEntry();
+            }
+        }
+
+        if (!incoming.isFilled()) {
+            (buying ? bids : asks)
+                    .computeIfAbsent(incoming.getPrice(), price -> new ArrayDeque<>())
+                    .addLast(incoming);
+            if (incoming.getSourceId() != null) {
+                restingBySource.computeIfAbsent(incoming.getSourceId(), id -> new ArrayList<>(2)).add(incoming);
+            }
+        }
+        return fills;
+    }
+
+    /**
+     * Removes the orders resting for a bid list.
+     *
+     * @param sourceId the ID of the originating bid list
+     * @return the removed orders, empty if none was resting
+     */
+    public List<Order> cancel(int sourceId) {
+        List<Order> orders = restingBySource.remove(sourceId);
+        if (orders == null) {
+            return List.of();
+        }
+        for (Order order : orders) {
+            TreeMap<Double, ArrayDeque<Order>> side = order.getSide() == Side.BUY ? bids : asks;
+            ArrayDeque<Order> level = side.get(order.getPrice());
+            if (level != null && level.remove(order) && level.isEmpty()) {
+                side.remove(order.getPrice());
+            }
+        }
+        return orders;
+    }
+
+    private void forget(Order order) {
+        if (order.getSourceId() == null) {
+            return;
+        }
+        List<Order> orders = restingBySource.get(order.getSourceId());
+        if (orders != null && orders.remove(order) && orders.isEmpty()) {
+            restingBySource.remove(order.getSourceId());
+        }
+    }
+
+    /**
+     * @return the best bid price, or {@code null} if there are no bids
+     */
+    public Double bestBid() {
+        return bids.isEmpty() ? null : bids.firstKey();
+    }
+
+    /**
+     * @return the best ask price, or {@code null} if there are no asks
+     */
+    public Double bestAsk() {
+        return asks.isEmpty() ? null : asks.firstKey();
+    }
+
+    /**
+     * @return the number of price levels resting on both sides
+     */
+    public int depth() {
+        return bids.size() + asks.size();
+    }
+}
@@ -0,0 +1,9 @@
+package com.nnk.springboot.matching;
+
+/**
+ * Side of an order submitted to the {@link MatchingEngine}.
+ */
+public enum Side {
+    BUY,
+    SELL
+}
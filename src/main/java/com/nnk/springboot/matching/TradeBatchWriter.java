@@ -0,0 +1,139 @@
+package com.nnk.springboot.matching;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists trades produced by the {@link MatchingEngine} asynchronously, in batches,
+ * so that the matcher threads never wait on the database.
+ */
+@Slf4j
+@Component
+public class TradeBatchWriter implements Runnable {
+
+    private final TradeRepository tradeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<Trade> pending;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread thread = new Thread(this, "trade-batch-writer");
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new instance of {@link TradeBatchWriter}.
+     *
+     * @param tradeRepository     the repository for persisting trades
+     * @param eventPublisher      the publisher notifying listeners of persisted trades
+     * @param capacity            the maximum number of trades waiting to be written
+     * @param batchSize           the maximum number of trades written per batch
+     * @param flushIntervalMillis the maximum time a partial batch waits before being written
+     */
+    public TradeBatchWriter(TradeRepository tradeRepository, ApplicationEventPublisher eventPublisher,
+                            @Value("${matching.writer.capacity:65536}") int capacity,
+                            @Value("${matching.writer.batch-size:500}") int batchSize,
+                            @Value("${matching.writer.flush-interval-ms:50}") long flushIntervalMillis) {
+        this.tradeRepository = tradeRepository;
+        this.eventPublisher = eventPublisher;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.thread.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Queues a trade for persistence, waiting for room if the writer is saturated.
+     *
+     * @param trade the trade to persist
+     */
+    public void enqueue(Trade trade) {
+        try {
+            pending.put(trade);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing matched trade for account {}", trade.getAccount());
+        }
+    }
+
+    @Override
+    public void run() {
+        List<Trade> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                Trade first = pending.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<Trade> batch) {
+        try {
+            List<Trade> saved = tradeRepository.saveAll(batch);
+            persisted.addAndGet(batch.size());
+            log.info("Persisted batch of {} matched trades", batch.size());
+            saved.forEach(trade -> eventPublisher.publishEvent(
+                    DomainEvent.created(Trade.class, trade.getTradeId(), trade)));
+        } catch (DataAccessException e) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to persist batch of {} matched trades", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return the number of trades persisted so far
+     */
+    public long getPersisted() {
+        return persisted.get();
+    }
+
+    /**
+     * @return the number of trades that could not be persisted
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * @return the number of trades waiting to be persisted
+     */
+    public int getBacklog() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,47 @@
+package com.nnk.springboot.partition;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * A range partition of the {@code trade} table, as listed by {@code information_schema.PARTITIONS}.
+ *
+ * @param name     the partition name, {@code pYYYYMM} for the partition of a trade month
+ * @param lessThan the exclusive upper bound of the partition, or {@code null} for {@code MAXVALUE}
+ */
+record MonthPartition(String name, LocalDate lessThan) {
+
+    /** Name of the partition catching the trades dated after the last month partition. */
+    static final String FUTURE = "p_future";
+
+    /**
+     * @param month the trade month
+     * @return the partition holding the trades of the month
+     */
+    static MonthPartition of(YearMonth month) {
+        return new MonthPartition("p%04d%02d".formatted(month.getYear(), month.getMonthValue()),
+                month.plusMonths(1).atDay(1));
+    }
+
+    /**
+     * Parses a row of {@code information_schema.PARTITIONS}.
+     *
+     * @param name        the {@code PARTITION_NAME}
+     * @param description the {@code PARTITION_DESCRIPTION}, e.g. {@code '2025-02-01 00:00:00'} or {@code MAXVALUE}
+     * @return the partition
+     */
+    static MonthPartition parse(String name, String description) {
+        String bound = description.replace("'", "").trim();
+        if (bound.equalsIgnoreCase("MAXVALUE")) {
+            return new MonthPartition(name, null);
+        }
+        return new MonthPartition(name, LocalDate.parse(bound.substring(0, 10)));
+    }
+
+    /**
+     * @return the partition definition, as written in {@code PARTITION BY RANGE COLUMNS} clauses
+     */
+    String definition() {
+        return "PARTITION " + name + " VALUES LESS THAN (" + (lessThan == null ? "MAXVALUE" : "'" + lessThan + "'") + ")";
+    }
+}
@@ -0,0 +1,210 @@
+package com.nnk.springboot.partition;
+
+import com.nnk.springboot.service.TradeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the monthly range partitions of the {@code trade} table in step with the calendar.
+ *
+ * <p>On MySQL, where {@code init.sql} partitions the table by {@code trade_date}, the maintainer
+ * checks the partitions at startup and then at a fixed interval. It splits the partitions of the
+ * coming months off the {@value MonthPartition#FUTURE} catch-all partition, which is empty in normal
+ * operation so the split only rewrites the table's metadata. When a retention is configured, the
+ * trades of expired months are first moved to the archive table through
+ * {@link TradeService#archiveTrades(List)}, so listeners learn of them, then their partition is
+ * dropped. The drop happens under a write lock on the table and only if the partition is still
+ * empty, so a trade written after the archiving is kept until the next check archives it. On other
+ * databases, or on an unpartitioned table, it does nothing.
+ */
+@Slf4j
+@Component
+public class TradePartitionMaintainer {
+
+    private static final String PARTITIONS = "SELECT partition_name, partition_description "
+            + "FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'trade' "
+            + "AND partition_name IS NOT NULL ORDER BY partition_ordinal_position";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TradeService tradeService;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final long checkIntervalMillis;
+    private final int chunkSize;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a new instance of {@link TradePartitionMaintainer}.
+     *
+     * @param jdbcTemplate        the template reading and altering the partitions
+     * @param tradeService        the service archiving the trades of expired partitions
+     * @param monthsAhead         the number of months after the current one that must have a partition
+     * @param retentionMonths     the number of past months kept in the trade table, {@code 0} to keep them all
+     * @param checkIntervalMillis the interval at which the partitions are checked
+     * @param chunkSize           the number of trades archived per transaction
+     */
+    public TradePartitionMaintainer(JdbcTemplate jdbcTemplate, TradeService tradeService,
+                                    @Value("${partition.trade.months-ahead:3}") int monthsAhead,
+                                    @Value("${partition.trade.retention-months:0}") int retentionMonths,
+                                    @Value("${partition.trade.check-interval-ms:86400000}") long checkIntervalMillis,
+                                    @Value("${jobs.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tradeService = tradeService;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Schedules the partition checks, if the trade table is partitioned.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isPartitioned()) {
+            log.info("Trade table not partitioned, partition maintenance disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("trade-partitions").daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                maintain(YearMonth.now());
+            } catch (RuntimeException e) {
+                log.error("Trade partition maintenance failed", e);
+            }
+        }, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Adds the partitions missing up to {@code monthsAhead} months after {@code current}, then
+     * archives and drops the partitions older than the retention.
+     *
+     * @param current the current month
+     */
+    void maintain(YearMonth current) {
+        List<MonthPartition> existing = partitions();
+        List<MonthPartition> missing = missing(existing, current, monthsAhead);
+        if (!missing.isEmpty()) {
+            String definitions = missing.stream().map(MonthPartition::definition).collect(Collectors.joining(", "));
+            boolean hasFuture = existing.stream().anyMatch(partition -> partition.lessThan() == null);
+            jdbcTemplate.execute(hasFuture
+                    ? "ALTER TABLE trade REORGANIZE PARTITION " + MonthPartition.FUTURE + " INTO (" + definitions
+                    + ", " + new MonthPartition(MonthPartition.FUTURE, null).definition() + ")"
+                    : "ALTER TABLE trade ADD PARTITION (" + definitions + ")");
+            log.info("Added trade partitions {}", missing.stream().map(MonthPartition::name).toList());
+        }
+        for (MonthPartition partition : expired(existing, current, retentionMonths)) {
+            int archived = archive(partition);
+            if (dropIfEmpty(partition)) {
+                log.info("Dropped trade partition {} after archiving {} trades", partition.name(), archived);
+            } else {
+                log.warn("Trade partition {} received trades during archiving, drop postponed", partition.name());
+            }
+        }
+    }
+
+    /**
+     * @param existing    the partitions of the table
+     * @param current     the current month
+     * @param monthsAhead the number of months after the current one that must have a partition
+     * @return the month partitions to add after the last existing one, oldest first
+     */
+    static List<MonthPartition> missing(List<MonthPartition> existing, YearMonth current, int monthsAhead) {
+        YearMonth month = existing.stream().map(MonthPartition::lessThan).filter(Objects::nonNull)
+                .max(Comparator.naturalOrder()).map(YearMonth::from).orElse(current);
+        YearMonth last = current.plusMonths(monthsAhead);
+        List<MonthPartition> missing = new ArrayList<>();
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            missing.add(MonthPartition.of(month));
+        }
+        return missing;
+    }
+
+    /**
+     * @param existing        the partitions of the table
+     * @param current         the current month
+     * @param retentionMonths the number of past months to keep, {@code 0} to keep them all
+     * @return the partitions holding only trades dated before the retained months
+     */
+    static List<MonthPartition> expired(List<MonthPartition> existing, YearMonth current, int retentionMonths) {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        LocalDate cutoff = current.minusMonths(retentionMonths).atDay(1);
+        return existing.stream()
+                .filter(partition -> partition.lessThan() != null && !partition.lessThan().isAfter(cutoff))
+                .toList();
+    }
+
+    private int archive(MonthPartition partition) {
+        String select = "SELECT trade_id FROM trade PARTITION (" + partition.name() + ") ORDER BY trade_id LIMIT ?";
+        int archived = 0;
+        List<Integer> ids;
+        do {
+            ids = jdbcTemplate.queryForList(select, Integer.class, chunkSize);
+            if (!ids.isEmpty()) {
+                archived += tradeService.archiveTrades(ids);
+            }
+        } while (ids.size() == chunkSize);
+        return archived;
+    }
+
+    private boolean dropIfEmpty(MonthPartition partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // holds off trade writes between the check and the drop
+                statement.execute("LOCK TABLES trade WRITE");
+                try {
+                    try (ResultSet rows = statement.executeQuery(
+                            "SELECT COUNT(*) FROM trade PARTITION (" + partition.name() + ")")) {
+                        if (rows.next() && rows.getLong(1) > 0) {
+                            return false;
+                        }
+                    }
+                    statement.execute("ALTER TABLE trade DROP PARTITION " + partition.name());
+                    return true;
+                } finally {
+                    statement.execute("UNLOCK TABLES");
+                }
+            }
+        }));
+    }
+
+    private boolean isPartitioned() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product) && !partitions().isEmpty();
+    }
+
+    private List<MonthPartition> partitions() {
+        return jdbcTemplate.query(PARTITIONS,
+                (resultSet, row) -> MonthPartition.parse(resultSet.getString(1), resultSet.getString(2)));
+    }
+}
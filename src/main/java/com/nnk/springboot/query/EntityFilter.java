@@ -0,0 +1,104 @@
+package com.nnk.springboot.query;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criteria for listing entities: exact attribute values, a date range and a sort order.
+ *
+ * <p>The date range is half-open, {@code from} inclusive and {@code to} exclusive, so
+ * consecutive ranges never overlap.
+ */
+@Data
+@NoArgsConstructor
+public class EntityFilter {
+
+    /** Request parameter holding the date attribute to filter on. */
+    public static final String DATE_FIELD = "dateField";
+    /** Request parameter holding the inclusive start of the date range. */
+    public static final String FROM = "from";
+    /** Request parameter holding the exclusive end of the date range. */
+    public static final String TO = "to";
+    /** Request parameter holding the sort order, e.g. {@code tradeDate,desc;account}. */
+    public static final String SORT = "sort";
+
+    private Map<String, String> equalTo = new LinkedHashMap<>();
+    private String dateField;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Sort sort = Sort.unsorted();
+
+    /**
+     * Builds a filter from request parameters. Parameters other than {@value #DATE_FIELD},
+     * {@value #FROM}, {@value #TO} and {@value #SORT} are attribute values to match.
+     *
+     * @param parameters the request parameters
+     * @return the filter
+     * @throws IllegalArgumentException if a date or the sort order cannot be parsed
+     */
+    public static EntityFilter fromParameters(Map<String, String> parameters) {
+        EntityFilter filter = new EntityFilter();
+        parameters.forEach((name, value) -> {
+            if (!StringUtils.hasText(value)) {
+                return;
+            }
+            switch (name) {
+                case DATE_FIELD -> filter.setDateField(value);
+                case FROM -> filter.setFrom(parseDate(value));
+                case TO -> filter.setTo(parseDate(value));
+                case SORT -> filter.setSort(parseSort(value));
+                default -> filter.getEqualTo().put(name, value);
+            }
+        });
+        return filter;
+    }
+
+    /**
+     * Adds an attribute value to match.
+     *
+     * @return this filter
+     */
+    public EntityFilter with(String attribute, String value) {
+        equalTo.put(attribute, value);
+        return this;
+    }
+
+    /**
+     * @return {@code true} if a date bound is set
+     */
+    public boolean hasDateRange() {
+        return from != null || to != null;
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value, e);
+        }
+    }
+
+    private static Sort parseSort(String value) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String clause : value.split(";")) {
+            String[] parts = clause.trim().split(",");
+            if (parts.length > 2 || parts[0].isBlank()) {
+                throw new IllegalArgumentException("Invalid sort: " + value);
+            }
+            Sort.Direction direction = parts.length == 2
+                    ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+            orders.add(new Sort.Order(direction, parts[0].trim()));
+        }
+        return Sort.by(orders);
+    }
+}
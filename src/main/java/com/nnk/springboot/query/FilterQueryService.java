@@ -0,0 +1,73 @@
+package com.nnk.springboot.query;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Runs filtered, sorted and paged queries against any of the application's entities.
+ */
+@Slf4j
+@Service
+public class FilterQueryService {
+
+    private final Map<Class<?>, JpaSpecificationExecutor<?>> executors;
+
+    /**
+     * Constructs a new instance of {@link FilterQueryService}.
+     *
+     * @param tradeRepository      the repository for accessing trade data
+     * @param bidListRepository    the repository for accessing bid list data
+     * @param curvePointRepository the repository for accessing curve point data
+     * @param ratingRepository     the repository for accessing rating data
+     * @param ruleNameRepository   the repository for accessing rule data
+     * @param userRepository       the repository for accessing user data
+     */
+    public FilterQueryService(TradeRepository tradeRepository, BidListRepository bidListRepository,
+                              CurvePointRepository curvePointRepository, RatingRepository ratingRepository,
+                              RuleNameRepository ruleNameRepository, UserRepository userRepository) {
+        this.executors = Map.of(
+                Trade.class, tradeRepository,
+                BidList.class, bidListRepository,
+                CurvePoint.class, curvePointRepository,
+                Rating.class, ratingRepository,
+                RuleName.class, ruleNameRepository,
+                User.class, userRepository);
+    }
+
+    /**
+     * Finds one page of the entities matching a filter.
+     *
+     * @param entityType the entity class
+     * @param filter     the filter and sort order
+     * @param page       the zero-based page number
+     * @param size       the page size
+     * @param <T>        the entity type
+     * @return the requested page
+     * @throws IllegalArgumentException if the filter or sort order is not supported for the entity
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> find(Class<T> entityType, EntityFilter filter, int page, int size) {
+        FilterableFields fields = FilterableFields.of(entityType);
+        JpaSpecificationExecutor<T> executor = (JpaSpecificationExecutor<T>) executors.get(entityType);
+        log.info("Filtering {} with {}", entityType.getSimpleName(), filter);
+        return executor.findAll(FilterSpecifications.matching(filter, fields),
+                PageRequest.of(page, size, FilterSpecifications.sort(filter, fields)));
+    }
+}
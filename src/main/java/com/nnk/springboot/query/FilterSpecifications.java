@@ -0,0 +1,88 @@
+package com.nnk.springboot.query;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns {@link EntityFilter}s into JPA {@link Specification}s and validated sort orders.
+ */
+public final class FilterSpecifications {
+
+    private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+
+    private FilterSpecifications() {
+    }
+
+    /**
+     * Builds the specification matching a filter.
+     *
+     * @param filter the filter
+     * @param fields the attributes the entity allows filtering on
+     * @param <T>    the entity type
+     * @return the specification ANDing every criterion of the filter
+     * @throws IllegalArgumentException if the filter uses an attribute that is not filterable
+     */
+    public static <T> Specification<T> matching(EntityFilter filter, FilterableFields fields) {
+        for (String attribute : filter.getEqualTo().keySet()) {
+            if (!fields.equalityAttributes().contains(attribute)) {
+                throw new IllegalArgumentException("Cannot filter on " + attribute);
+            }
+        }
+        String dateField = filter.getDateField() != null ? filter.getDateField() : fields.defaultDate();
+        if (filter.hasDateRange() && (dateField == null || !fields.dateAttributes().contains(dateField))) {
+            throw new IllegalArgumentException("Cannot filter dates on " + dateField);
+        }
+        Map<String, String> equalTo = Map.copyOf(filter.getEqualTo());
+        LocalDateTime from = filter.getFrom();
+        LocalDateTime to = filter.getTo();
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            equalTo.forEach((attribute, value) -> {
+                Path<Object> path = root.get(attribute);
+                predicates.add(builder.equal(path, convert(attribute, value, path.getJavaType())));
+            });
+            if (from != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get(dateField), from));
+            }
+            if (to != null) {
+                predicates.add(builder.lessThan(root.get(dateField), to));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Validates the sort order of a filter.
+     *
+     * @param filter the filter
+     * @param fields the attributes the entity allows sorting on
+     * @return the sort order
+     * @throws IllegalArgumentException if the filter sorts on an attribute that is not sortable
+     */
+    public static Sort sort(EntityFilter filter, FilterableFields fields) {
+        for (Sort.Order order : filter.getSort()) {
+            if (!fields.sortAttributes().contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort on " + order.getProperty());
+            }
+        }
+        return filter.getSort();
+    }
+
+    private static Object convert(String attribute, String value, Class<?> type) {
+        try {
+            return CONVERSION.convert(value, type);
+        } catch (ConversionException e) {
+            throw new IllegalArgumentException("Invalid value for " + attribute + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.nnk.springboot.query;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The attributes of an entity that may be filtered and sorted on.
+ *
+ * <p>Each list is restricted to attributes backed by an index in {@code init.sql}, so a
+ * filter can never turn into an accidental full table scan on an unindexed column.
+ *
+ * @param equalityAttributes the attributes that may be filtered by exact value
+ * @param dateAttributes     the date attributes that may be filtered by range
+ * @param defaultDate        the date attribute filtered when the filter names none, or {@code null}
+ * @param sortAttributes     the attributes that may be sorted on
+ */
+public record FilterableFields(Set<String> equalityAttributes, Set<String> dateAttributes, String defaultDate,
+                               Set<String> sortAttributes) {
+
+    public static final FilterableFields TRADE = new FilterableFields(
+            Set.of("account", "type", "status", "book", "trader"),
+            Set.of("tradeDate", "creationDate"), "tradeDate",
+            Set.of("tradeId", "account", "book", "trader", "tradeDate", "creationDate"));
+
+    public static final FilterableFields BID_LIST = new FilterableFields(
+            Set.of("account", "type", "status", "book", "trader"),
+            Set.of("bidListDate", "creationDate"), "bidListDate",
+            Set.of("id", "account", "book", "trader", "bidListDate", "creationDate"));
+
+    public static final FilterableFields CURVE_POINT = new FilterableFields(
+            Set.of("curveId"),
+            Set.of("asOfDate", "creationDate"), "asOfDate",
+            Set.of("id", "curveId", "asOfDate", "creationDate"));
+
+    public static final FilterableFields RATING = new FilterableFields(
+            Set.of("orderNumber", "moodysNotch", "sandPNotch", "fitchNotch"),
+            Set.of(), null,
+            Set.of("id", "orderNumber", "moodysNotch", "sandPNotch", "fitchNotch"));
+
+    public static final FilterableFields RULE_NAME = new FilterableFields(
+            Set.of("name"),
+            Set.of(), null,
+            Set.of("id", "name"));
+
+    public static final FilterableFields USER = new FilterableFields(
+            Set.of("username", "role"),
+            Set.of(), null,
+            Set.of("id", "username", "role"));
+
+    private static final Map<Class<?>, FilterableFields> BY_ENTITY = Map.of(
+            Trade.class, TRADE,
+            BidList.class, BID_LIST,
+            CurvePoint.class, CURVE_POINT,
+            Rating.class, RATING,
+            RuleName.class, RULE_NAME,
+            User.class, USER);
+
+    /**
+     * Returns the filterable attributes of an entity.
+     *
+     * @param entityType the entity class
+     * @return the entity's filterable attributes
+     * @throws IllegalArgumentException if the entity does not support filtering
+     */
+    public static FilterableFields of(Class<?> entityType) {
+        FilterableFields fields = BY_ENTITY.get(entityType);
+        if (fields == null) {
+            throw new IllegalArgumentException("Filtering is not supported for " + entityType.getSimpleName());
+        }
+        return fields;
+    }
+}
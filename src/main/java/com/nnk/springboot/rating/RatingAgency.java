@@ -0,0 +1,10 @@
+package com.nnk.springboot.rating;
+
+/**
+ * Credit rating agencies whose notations are stored on a {@code Rating}.
+ */
+public enum RatingAgency {
+    MOODYS,
+    SANDP,
+    FITCH
+}
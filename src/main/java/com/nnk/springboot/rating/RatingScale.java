@@ -0,0 +1,102 @@
+package com.nnk.springboot.rating;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dense numeric rating scale shared by all agencies.
+ *
+ * <p>Every notation maps to a notch between {@link #BEST} ({@code AAA}/{@code Aaa}) and
+ * {@link #WORST} (default). Notations are parsed once, when a rating is written; from then
+ * on ranges and cross-agency equivalences are plain integer comparisons and array lookups.
+ */
+@Component
+public class RatingScale {
+
+    /** Notch of the highest rating. */
+    public static final int BEST = 1;
+
+    /** Notch of the lowest rating (default). */
+    public static final int WORST = 22;
+
+    private static final String[] MOODYS = {null,
+            "Aaa", "Aa1", "Aa2", "Aa3", "A1", "A2", "A3", "Baa1", "Baa2", "Baa3", "Ba1",
+            "Ba2", "Ba3", "B1", "B2", "B3", "Caa1", "Caa2", "Caa3", "Ca", "C", "C"};
+
+    private static final String[] STANDARD = {null,
+            "AAA", "AA+", "AA", "AA-", "A+", "A", "A-", "BBB+", "BBB", "BBB-", "BB+",
+            "BB", "BB-", "B+", "B", "B-", "CCC+", "CCC", "CCC-", "CC", "C", "D"};
+
+    private final Map<RatingAgency, String[]> notations = new EnumMap<>(RatingAgency.class);
+    private final Map<RatingAgency, Map<String, Integer>> notches = new EnumMap<>(RatingAgency.class);
+
+    /**
+     * Constructs a new instance of {@link RatingScale}, precomputing the lookup tables of every agency.
+     */
+    public RatingScale() {
+        notations.put(RatingAgency.MOODYS, MOODYS);
+        notations.put(RatingAgency.SANDP, STANDARD);
+        notations.put(RatingAgency.FITCH, STANDARD);
+
+        for (RatingAgency agency : RatingAgency.values()) {
+            String[] table = notations.get(agency);
+            Map<String, Integer> lookup = new HashMap<>();
+            for (int notch = BEST; notch <= WORST; notch++) {
+                lookup.putIfAbsent(normalize(table[notch]), notch);
+            }
+            notches.put(agency, lookup);
+        }
+        notches.get(RatingAgency.SANDP).put("SD", WORST);
+        notches.get(RatingAgency.FITCH).put("RD", WORST);
+    }
+
+    private static String normalize(String notation) {
+        return notation.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses an agency notation into its notch.
+     *
+     * @param agency   the agency the notation belongs to
+     * @param notation the notation, e.g. {@code Baa3} or {@code BBB-}
+     * @return the notch, or {@code null} if the notation is not on the agency's scale
+     */
+    public Integer notch(RatingAgency agency, String notation) {
+        if (agency == null || notation == null || notation.isBlank()) {
+            return null;
+        }
+        return notches.get(agency).get(normalize(notation));
+    }
+
+    /**
+     * Returns the notation of an agency for a notch.
+     *
+     * @param agency the agency
+     * @param notch  the notch
+     * @return the agency's notation
+     * @throws IllegalArgumentException if the notch is outside the scale
+     */
+    public String notation(RatingAgency agency, int notch) {
+        if (notch < BEST || notch > WORST) {
+            throw new IllegalArgumentException("Notch must be between " + BEST + " and " + WORST + ".");
+        }
+        return notations.get(agency)[notch];
+    }
+
+    /**
+     * Translates a notation of one agency into the equivalent notation of another.
+     *
+     * @param from     the agency of the given notation
+     * @param notation the notation to translate
+     * @param to       the target agency
+     * @return the equivalent notation, or {@code null} if the notation is not on the source scale
+     */
+    public String equivalent(RatingAgency from, String notation, RatingAgency to) {
+        Integer notch = notch(from, notation);
+        return notch == null ? null : notation(to, notch);
+    }
+}
@@ -0,0 +1,221 @@
+package com.nnk.springboot.rating;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RatingHistory;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventConsumer;
+import com.nnk.springboot.event.InvalidationChannel;
+import com.nnk.springboot.event.OverflowPolicy;
+import com.nnk.springboot.event.RemoteChange;
+import com.nnk.springboot.repositories.RatingHistoryRepository;
+import com.nnk.springboot.security.CurrentUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every committed change of a {@link Rating} as dated {@link RatingHistory} and computes
+ * rating transition matrices from it.
+ *
+ * <p>The history is appended from the domain event bus thread, one batched insert per batch of
+ * changes, so it adds no statement to the rating writes; the changes a stop leaves in the queue
+ * are caught up from the ratings at the next startup. A matrix request streams the columns of
+ * the whole history once, in rating and date order, through a {@link TransitionCounter} counting
+ * the migrations of all agencies at the same time; the counts are cached by window until new
+ * history is appended, here or, as announced on the {@link InvalidationChannel}, by another
+ * application instance.
+ */
+@Slf4j
+@Service
+public class RatingTransitionService implements DomainEventConsumer<Rating> {
+
+    private static final String INSERT = "insert into rating_history "
+            + "(rating_id, moodys_notch, sandp_notch, fitch_notch, effective_date, changed_by) values (?, ?, ?, ?, ?, ?)";
+    // the newest history row of a rating, in the order the history is read
+    private static final String LATEST = "not exists (select 1 from rating_history l where l.rating_id = h.rating_id "
+            + "and (l.effective_date > h.effective_date or (l.effective_date = h.effective_date and l.id > h.id)))";
+    private static final String INSERT_CURRENT = "insert into rating_history "
+            + "(rating_id, moodys_notch, sandp_notch, fitch_notch, effective_date, changed_by) "
+            + "select r.id, r.moodys_notch, r.sandp_notch, r.fitch_notch, ?, ? from rating r "
+            + "where not exists (select 1 from rating_history h where h.rating_id = r.id "
+            + "and coalesce(h.moodys_notch, -1) = coalesce(r.moodys_notch, -1) "
+            + "and coalesce(h.sandp_notch, -1) = coalesce(r.sandp_notch, -1) "
+            + "and coalesce(h.fitch_notch, -1) = coalesce(r.fitch_notch, -1) and " + LATEST + ")";
+    private static final String INSERT_WITHDRAWN = "insert into rating_history "
+            + "(rating_id, moodys_notch, sandp_notch, fitch_notch, effective_date, changed_by) "
+            + "select h.rating_id, null, null, null, ?, ? from rating_history h "
+            + "where not exists (select 1 from rating r where r.id = h.rating_id) "
+            + "and (h.moodys_notch is not null or h.sandp_notch is not null or h.fitch_notch is not null) and " + LATEST;
+    private static final String SCAN = "select rating_id, effective_date, moodys_notch, sandp_notch, fitch_notch "
+            + "from rating_history order by rating_id, effective_date, id";
+
+    private final RatingHistoryRepository ratingHistoryRepository;
+    private final RatingScale ratingScale;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate scanTemplate;
+    private final InvalidationChannel invalidationChannel;
+    private final int cacheSize;
+    private final ConcurrentMap<TransitionWindow, TransitionCounts> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructs a new instance of {@link RatingTransitionService}.
+     *
+     * @param ratingHistoryRepository the repository reading the rating history
+     * @param ratingScale             the scale naming the notches
+     * @param jdbcTemplate            the template appending the history
+     * @param dataSource              the data source the history is scanned from
+     * @param invalidationChannel     the channel telling the other instances the history was appended
+     * @param fetchSize               the number of history rows fetched per round trip of a scan
+     * @param cacheSize               the maximum number of windows whose counts are cached
+     */
+    public RatingTransitionService(RatingHistoryRepository ratingHistoryRepository, RatingScale ratingScale,
+                                   JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                   InvalidationChannel invalidationChannel,
+                                   @Value("${rating.transitions.fetch-size:1000}") int fetchSize,
+                                   @Value("${rating.transitions.cache-size:64}") int cacheSize) {
+        this.ratingHistoryRepository = ratingHistoryRepository;
+        this.ratingScale = ratingScale;
+        this.jdbcTemplate = jdbcTemplate;
+        this.scanTemplate = new JdbcTemplate(dataSource);
+        this.scanTemplate.setFetchSize(fetchSize);
+        this.invalidationChannel = invalidationChannel;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Brings the history in line with the ratings at startup. The history is appended after the
+     * rating writes commit, so the changes still queued when the application stopped are missing
+     * from it: every rating whose newest history row does not hold its current notches, including
+     * the ratings written before the history was recorded, gets a row with them, and every deleted
+     * rating whose newest row is not a withdrawal gets one. The rows are dated now, as the time of
+     * the missed changes is unknown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileHistory() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int current = jdbcTemplate.update(INSERT_CURRENT, now, CurrentUser.SYSTEM);
+        int withdrawn = jdbcTemplate.update(INSERT_WITHDRAWN, now, CurrentUser.SYSTEM);
+        if (current + withdrawn > 0) {
+            invalidate();
+            invalidationChannel.announce(RatingHistory.class, null, ChangeType.CREATED);
+            log.info("Reconciled the rating history of {} ratings and {} deleted ratings", current, withdrawn);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "rating-history";
+    }
+
+    @Override
+    public Class<Rating> entityType() {
+        return Rating.class;
+    }
+
+    /**
+     * Waits rather than drops changes when the queue is full, as a dropped change would be missing
+     * from the history for good.
+     */
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.BLOCK;
+    }
+
+    /**
+     * Appends the notches of the created and updated ratings, and the withdrawal of the deleted ones.
+     */
+    @Override
+    public void accept(List<DomainEvent<Rating>> events) {
+        List<DomainEvent<Rating>> changes = events.stream().filter(event -> event.id() != null).toList();
+        jdbcTemplate.batchUpdate(INSERT, changes, changes.size(), (statement, event) -> {
+            Rating rating = event.changeType() == ChangeType.DELETED ? null : event.entity();
+            statement.setInt(1, ((Number) event.id()).intValue());
+            statement.setObject(2, rating == null ? null : rating.getMoodysNotch(), Types.INTEGER);
+            statement.setObject(3, rating == null ? null : rating.getSandPNotch(), Types.INTEGER);
+            statement.setObject(4, rating == null ? null : rating.getFitchNotch(), Types.INTEGER);
+            statement.setTimestamp(5, Timestamp.valueOf(event.occurredAt()));
+            statement.setString(6, event.actor());
+        });
+        invalidate();
+        invalidationChannel.announce(RatingHistory.class, null, ChangeType.CREATED);
+        log.debug("{} rating changes appended to the rating history", changes.size());
+    }
+
+    /**
+     * Drops the cached counts when another instance appended history.
+     *
+     * @param change the remote change
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChange change) {
+        if (change.entityType() == RatingHistory.class) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    /**
+     * Returns the history of a rating, oldest first.
+     *
+     * @param ratingId the ID of the rating
+     * @return the history rows of the rating
+     */
+    public List<RatingHistory> getHistory(int ratingId) {
+        return ratingHistoryRepository.findByRatingIdOrderByEffectiveDateAscIdAsc(ratingId);
+    }
+
+    /**
+     * Computes the transition matrix of an agency over a window.
+     *
+     * @param agency the agency
+     * @param window the cohorts to count the migrations over
+     * @return the counts and probabilities of the agency's migrations
+     */
+    public TransitionMatrix transitionMatrix(RatingAgency agency, TransitionWindow window) {
+        TransitionCounts counts = cache.get(window);
+        if (counts == null) {
+            long read = generation.get();
+            counts = count(window);
+            if (cache.size() >= cacheSize) {
+                cache.clear();
+            }
+            cache.put(window, counts);
+            if (generation.get() != read) {
+                // history was appended during the scan, which may have missed it
+                cache.remove(window, counts);
+            }
+        }
+        return counts.matrix(agency, ratingScale);
+    }
+
+    private TransitionCounts count(TransitionWindow window) {
+        long start = System.nanoTime();
+        TransitionCounter counter = new TransitionCounter(window);
+        scanTemplate.query(SCAN, row -> {
+            counter.accept(row.getInt(1), row.getTimestamp(2).toLocalDateTime(), row.getObject(3, Integer.class),
+                    row.getObject(4, Integer.class), row.getObject(5, Integer.class));
+        });
+        TransitionCounts counts = counter.finish();
+        log.info("Counted the rating transitions of {} ratings over {} cohorts in {} ms", counts.ratings(),
+                window.cohortCount(), (System.nanoTime() - start) / 1_000_000);
+        return counts;
+    }
+}
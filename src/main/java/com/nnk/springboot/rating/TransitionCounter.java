@@ -0,0 +1,131 @@
+package com.nnk.springboot.rating;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Counts the rating migrations of every agency over the cohorts of a {@link TransitionWindow}, in a
+ * single pass over the rating history sorted by rating and date.
+ *
+ * <p>The history of one rating is buffered until the next rating starts; its notch at the start
+ * and at the end of every cohort horizon is then found by walking the buffer and the cohort dates
+ * together. A rating counts in a cohort when it is rated at its start; a rating withdrawn or no
+ * longer on the agency's scale at the end of the horizon migrates to state {@code 0}. The counts of
+ * each agency are kept in one dense array indexed by {@code from * STATES + to}.
+ */
+public class TransitionCounter {
+
+    /** The number of states: withdrawn ({@code 0}) then every notch of the {@link RatingScale}. */
+    public static final int STATES = RatingScale.WORST + 1;
+
+    private static final int AGENCIES = RatingAgency.values().length;
+    private static final int UNRATED = -1;
+
+    private final TransitionWindow window;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[][] counts = new long[AGENCIES][STATES * STATES];
+    private int ratingId;
+    private int size;
+    private long[] dates = new long[16];
+    private int[] notches = new int[16 * AGENCIES];
+    private int ratings;
+
+    /**
+     * Constructs a new instance of {@link TransitionCounter}.
+     *
+     * @param window the cohorts to count the migrations over
+     */
+    public TransitionCounter(TransitionWindow window) {
+        this.window = window;
+        int cohorts = window.cohortCount();
+        this.starts = new long[cohorts];
+        this.ends = new long[cohorts];
+        for (int cohort = 0; cohort < cohorts; cohort++) {
+            LocalDateTime start = window.cohortStart(cohort);
+            starts[cohort] = seconds(start);
+            ends[cohort] = seconds(start.plusMonths(window.horizonMonths()));
+        }
+    }
+
+    /**
+     * Adds a history row; rows must come sorted by rating, then by date.
+     *
+     * @param ratingId      the ID of the rating
+     * @param effectiveDate the date the notches apply from
+     * @param moodysNotch   the Moody's notch, or {@code null} if not rated
+     * @param sandPNotch    the S&amp;P notch, or {@code null} if not rated
+     * @param fitchNotch    the Fitch notch, or {@code null} if not rated
+     * @throws IllegalArgumentException if the row comes before the previous one
+     */
+    public void accept(int ratingId, LocalDateTime effectiveDate, Integer moodysNotch, Integer sandPNotch,
+                       Integer fitchNotch) {
+        long date = seconds(effectiveDate);
+        if (size > 0 && ratingId != this.ratingId) {
+            if (ratingId < this.ratingId) {
+                throw new IllegalArgumentException("Rating history is not sorted by rating");
+            }
+            count();
+        }
+        if (size > 0 && date < dates[size - 1]) {
+            throw new IllegalArgumentException("History of rating " + ratingId + " is not sorted by date");
+        }
+        if (size == dates.length) {
+            dates = Arrays.copyOf(dates, size * 2);
+            notches = Arrays.copyOf(notches, size * 2 * AGENCIES);
+        }
+        this.ratingId = ratingId;
+        dates[size] = date;
+        notches[size * AGENCIES + RatingAgency.MOODYS.ordinal()] = state(moodysNotch);
+        notches[size * AGENCIES + RatingAgency.SANDP.ordinal()] = state(sandPNotch);
+        notches[size * AGENCIES + RatingAgency.FITCH.ordinal()] = state(fitchNotch);
+        size++;
+    }
+
+    /**
+     * Counts the last rating added.
+     *
+     * @return the migration counts of every agency
+     */
+    public TransitionCounts finish() {
+        if (size > 0) {
+            count();
+        }
+        long[][] copy = new long[AGENCIES][];
+        for (int agency = 0; agency < AGENCIES; agency++) {
+            copy[agency] = counts[agency].clone();
+        }
+        return new TransitionCounts(window, ratings, copy);
+    }
+
+    private void count() {
+        ratings++;
+        for (int agency = 0; agency < AGENCIES; agency++) {
+            long[] agencyCounts = counts[agency];
+            int atStart = -1;
+            int atEnd = -1;
+            for (int cohort = 0; cohort < starts.length; cohort++) {
+                while (atStart + 1 < size && dates[atStart + 1] <= starts[cohort]) {
+                    atStart++;
+                }
+                while (atEnd + 1 < size && dates[atEnd + 1] <= ends[cohort]) {
+                    atEnd++;
+                }
+                int from = atStart < 0 ? UNRATED : notches[atStart * AGENCIES + agency];
+                if (from > 0) {
+                    agencyCounts[from * STATES + notches[atEnd * AGENCIES + agency]]++;
+                }
+            }
+        }
+        size = 0;
+    }
+
+    private static int state(Integer notch) {
+        return notch == null || notch < RatingScale.BEST || notch > RatingScale.WORST ? 0 : notch;
+    }
+
+    private static long seconds(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+}
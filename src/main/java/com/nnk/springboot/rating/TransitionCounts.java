@@ -0,0 +1,55 @@
+package com.nnk.springboot.rating;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The migration counts of every agency over a {@link TransitionWindow}, as counted by a
+ * {@link TransitionCounter}.
+ *
+ * @param window  the cohorts counted
+ * @param ratings the number of ratings with a history
+ * @param counts  the counts of each agency by ordinal, indexed by {@code from * STATES + to}
+ */
+public record TransitionCounts(TransitionWindow window, int ratings, long[][] counts) {
+
+    private static final String WITHDRAWN = "WR";
+
+    /**
+     * Builds the transition matrix of an agency, with a row per notch and a column per notch
+     * followed by the withdrawn state.
+     *
+     * @param agency the agency
+     * @param scale  the scale naming the notches
+     * @return the counts and probabilities of the agency's migrations
+     */
+    public TransitionMatrix matrix(RatingAgency agency, RatingScale scale) {
+        long[] agencyCounts = counts[agency.ordinal()];
+        int notches = RatingScale.WORST;
+        List<String> states = new ArrayList<>(notches + 1);
+        for (int notch = RatingScale.BEST; notch <= notches; notch++) {
+            states.add(scale.notation(agency, notch));
+        }
+        states.add(WITHDRAWN);
+
+        long[][] matrix = new long[notches][notches + 1];
+        double[][] probabilities = new double[notches][notches + 1];
+        long observations = 0;
+        for (int from = RatingScale.BEST; from <= notches; from++) {
+            long[] row = matrix[from - 1];
+            long total = 0;
+            for (int to = RatingScale.BEST; to <= notches; to++) {
+                row[to - 1] = agencyCounts[from * TransitionCounter.STATES + to];
+                total += row[to - 1];
+            }
+            row[notches] = agencyCounts[from * TransitionCounter.STATES];
+            total += row[notches];
+            observations += total;
+            for (int to = 0; to <= notches && total > 0; to++) {
+                probabilities[from - 1][to] = (double) row[to] / total;
+            }
+        }
+        return new TransitionMatrix(agency, window.from(), window.to(), window.horizonMonths(),
+                window.stepMonths(), window.cohortCount(), ratings, observations, states, matrix, probabilities);
+    }
+}
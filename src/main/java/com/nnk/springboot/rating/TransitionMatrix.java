@@ -0,0 +1,25 @@
+package com.nnk.springboot.rating;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The rating migrations of an agency over a window: row {@code i} counts the ratings at notch
+ * {@code i + 1} at the start of a cohort by their state at the end of its horizon.
+ *
+ * @param agency        the agency
+ * @param from          the start of the first cohort
+ * @param to            the date no cohort horizon ends after
+ * @param horizonMonths the migration horizon, in months
+ * @param stepMonths    the interval between two cohorts, in months
+ * @param cohorts       the number of cohorts
+ * @param ratings       the number of ratings with a history
+ * @param observations  the number of rating and cohort pairs counted
+ * @param states        the notations of the notches, best first, followed by {@code WR} for withdrawn
+ * @param counts        the number of migrations from each notch (rows) to each state (columns)
+ * @param probabilities the counts divided by their row total, zero for a notch never observed
+ */
+public record TransitionMatrix(RatingAgency agency, LocalDateTime from, LocalDateTime to, int horizonMonths,
+                               int stepMonths, int cohorts, int ratings, long observations, List<String> states,
+                               long[][] counts, double[][] probabilities) {
+}
@@ -0,0 +1,58 @@
+package com.nnk.springboot.rating;
+
+import java.time.LocalDateTime;
+
+/**
+ * The cohorts a transition matrix is estimated over: a cohort starts at {@code from} and then every
+ * {@code stepMonths}, as long as its horizon ends by {@code to}.
+ *
+ * @param from          the start of the first cohort
+ * @param to            the date no cohort horizon ends after
+ * @param horizonMonths the length of the migration horizon, in months
+ * @param stepMonths    the interval between the starts of two cohorts, in months
+ */
+public record TransitionWindow(LocalDateTime from, LocalDateTime to, int horizonMonths, int stepMonths) {
+
+    /** The maximum number of cohorts of a window. */
+    public static final int MAX_COHORTS = 1200;
+
+    public TransitionWindow {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Transition window must have a start and an end");
+        }
+        if (horizonMonths < 1 || stepMonths < 1) {
+            throw new IllegalArgumentException("Horizon and step must be at least one month");
+        }
+        if (from.plusMonths(horizonMonths).isAfter(to)) {
+            throw new IllegalArgumentException("Transition window from " + from + " to " + to
+                    + " is shorter than the " + horizonMonths + "-month horizon");
+        }
+        if (cohortCount(from, to, horizonMonths, stepMonths) > MAX_COHORTS) {
+            throw new IllegalArgumentException("Transition window has more than " + MAX_COHORTS + " cohorts");
+        }
+    }
+
+    /**
+     * @return the number of cohorts of the window
+     */
+    public int cohortCount() {
+        return cohortCount(from, to, horizonMonths, stepMonths);
+    }
+
+    /**
+     * @param cohort the index of the cohort
+     * @return the start of the cohort
+     */
+    public LocalDateTime cohortStart(int cohort) {
+        return from.plusMonths((long) cohort * stepMonths);
+    }
+
+    private static int cohortCount(LocalDateTime from, LocalDateTime to, int horizonMonths, int stepMonths) {
+        int count = 0;
+        while (count <= MAX_COHORTS
+                && !from.plusMonths((long) count * stepMonths + horizonMonths).isAfter(to)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,44 @@
+package com.nnk.springboot.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Collection;
+
+/**
+ * Repository shared by all entities, adding writes that report how many rows they touched so
+ * callers do not need a prior existence check.
+ *
+ * @param <T>  the entity type
+ * @param <ID> the ID type
+ */
+@NoRepositoryBean
+public interface BaseRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    /**
+     * Deletes an entity with a single {@code DELETE ... WHERE id = ?}, without loading it first.
+     *
+     * @param id the ID of the entity to delete
+     * @return the number of deleted rows, {@code 0} if no entity has this ID
+     */
+    int deleteByIdReturningCount(ID id);
+
+    /**
+     * Deletes an entity with a single {@code DELETE ... WHERE id = ? AND version = ?}.
+     *
+     * @param id      the ID of the entity to delete
+     * @param version the version the entity must still have
+     * @return the number of deleted rows, {@code 0} if no entity has this ID and version
+     * @throws UnsupportedOperationException if the entity has no version attribute
+     */
+    int deleteByIdAndVersionReturningCount(ID id, Long version);
+
+    /**
+     * Deletes entities with a single {@code DELETE ... WHERE id IN (...)}, without loading them first.
+     *
+     * @param ids the IDs of the entities to delete
+     * @return the number of deleted rows
+     */
+    int deleteAllByIdReturningCount(Collection<ID> ids);
+}
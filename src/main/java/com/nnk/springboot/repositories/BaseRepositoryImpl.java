@@ -0,0 +1,68 @@
+package com.nnk.springboot.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Base class of every repository, implementing {@link BaseRepository} with JPQL bulk deletes.
+ *
+ * @param <T>  the entity type
+ * @param <ID> the ID type
+ */
+public class BaseRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements BaseRepository<T, ID> {
+
+    private final EntityManager entityManager;
+    private final String deleteById;
+    private final String deleteAllById;
+    private final String deleteByIdAndVersion;
+
+    /**
+     * Constructs a new instance of {@link BaseRepositoryImpl}.
+     *
+     * @param entityInformation the metadata of the managed entity
+     * @param entityManager     the entity manager to run the statements with
+     */
+    public BaseRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+        String delete = "delete from " + entityInformation.getEntityName() + " e where e."
+                + entityInformation.getRequiredIdAttribute().getName();
+        this.deleteById = delete + " = :id";
+        this.deleteAllById = delete + " in :ids";
+        this.deleteByIdAndVersion = entityManager.getMetamodel().entity(entityInformation.getJavaType())
+                .getSingularAttributes().stream()
+                .filter(SingularAttribute::isVersion)
+                .map(version -> deleteById + " and e." + version.getName() + " = :version")
+                .findFirst().orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIdReturningCount(ID id) {
+        return entityManager.createQuery(deleteById).setParameter("id", id).executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIdAndVersionReturningCount(ID id, Long version) {
+        if (deleteByIdAndVersion == null) {
+            throw new UnsupportedOperationException(getDomainClass().getSimpleName() + " has no version attribute");
+        }
+        return entityManager.createQuery(deleteByIdAndVersion)
+                .setParameter("id", id).setParameter("version", version).executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllByIdReturningCount(Collection<ID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return entityManager.createQuery(deleteAllById).setParameter("ids", ids).executeUpdate();
+    }
+}
@@ -1,11 +1,30 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.BidList;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 
 @Repository
-public interface BidListRepository extends JpaRepository<BidList, Integer> {
+public interface BidListRepository extends BaseRepository<BidList, Integer> {
+
+    @Query("select b from BidList b where b.id between :from and :to order by b.id")
+    List<BidList> findByIdRange(int from, int to);
+
+    Optional<BidList> findTopByOrderByIdDesc();
 
+    @Transactional
+    @Modifying
+    @Query("update BidList b set b.account = :account, b.type = :type, b.bidQuantity = :bidQuantity, "
+            + "b.askQuantity = :askQuantity, b.bid = :bid, b.ask = :ask, b.security = :security, "
+            + "b.revisionName = :revisionName, b.revisionDate = :revisionDate, b.version = b.version + 1 "
+            + "where b.id = :id and (:version is null or b.version = :version)")
+    int updateIfVersion(int id, Long version, String account, String type, Double bidQuantity,
+                        Double askQuantity, Double bid, Double ask, String security, String revisionName, LocalDateTime revisionDate);
 }
@@ -1,11 +1,18 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.CurvePoint;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Repository
-public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
+public interface CurvePointRepository extends BaseRepository<CurvePoint, Integer> {
 
+    @Transactional
+    @Modifying
+    @Query("update CurvePoint c set c.term = :term, c.curveId = :curveId, c.value = :value, c.version = c.version + 1 "
+            + "where c.id = :id and (:version is null or c.version = :version)")
+    int updateIfVersion(Long id, Long version, Double term, Integer curveId, Double value);
 }
@@ -0,0 +1,69 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.Job;
+import com.nnk.springboot.domain.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    long countByStatus(JobStatus status);
+
+    @Query("select min(j.id) from Job j where j.status = com.nnk.springboot.domain.JobStatus.QUEUED")
+    Optional<Long> findNextQueuedId();
+
+    @Query("select j.cancelRequested from Job j where j.id = :id")
+    boolean isCancelRequested(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.status = com.nnk.springboot.domain.JobStatus.RUNNING, j.startedAt = coalesce(j.startedAt, :now), "
+            + "j.owner = :owner, j.heartbeatAt = :now "
+            + "where j.id = :id and j.status = com.nnk.springboot.domain.JobStatus.QUEUED")
+    int claim(Long id, String owner, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.resumeFrom = :resumeFrom, j.processedItems = j.processedItems + :processed, "
+            + "j.failedItems = j.failedItems + :failed, j.lastError = coalesce(:lastError, j.lastError) "
+            + "where j.id = :id and j.owner = :owner and j.status = com.nnk.springboot.domain.JobStatus.RUNNING")
+    int recordChunk(Long id, String owner, long resumeFrom, long processed, long failed, String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.status = :status, j.finishedAt = :now, j.lastError = coalesce(:error, j.lastError) "
+            + "where j.id = :id and j.owner = :owner and j.status = com.nnk.springboot.domain.JobStatus.RUNNING")
+    int finish(Long id, String owner, JobStatus status, String error, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.status = com.nnk.springboot.domain.JobStatus.CANCELLED, j.cancelRequested = true, j.finishedAt = :now "
+            + "where j.id = :id and j.status = com.nnk.springboot.domain.JobStatus.QUEUED")
+    int cancelQueued(Long id, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.cancelRequested = true "
+            + "where j.id = :id and j.status = com.nnk.springboot.domain.JobStatus.RUNNING")
+    int requestCancel(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.heartbeatAt = :now "
+            + "where j.owner = :owner and j.status = com.nnk.springboot.domain.JobStatus.RUNNING")
+    int heartbeat(String owner, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.status = com.nnk.springboot.domain.JobStatus.QUEUED, j.owner = null "
+            + "where j.status = com.nnk.springboot.domain.JobStatus.RUNNING "
+            + "and (j.owner = :owner or j.owner is null or j.heartbeatAt is null or j.heartbeatAt < :staleBefore)")
+    int requeueAbandoned(String owner, LocalDateTime staleBefore);
+}
@@ -0,0 +1,19 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.JournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, String> {
+
+    @Modifying
+    @Query("update JournalCheckpoint c set c.sequence = :sequence where c.name = :name")
+    int advance(String name, long sequence);
+
+    @Modifying
+    @Query("delete from JournalCheckpoint c where c.name = :name")
+    int remove(String name);
+}
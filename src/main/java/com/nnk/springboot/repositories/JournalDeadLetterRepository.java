@@ -0,0 +1,13 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.JournalDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JournalDeadLetterRepository extends JpaRepository<JournalDeadLetter, Long> {
+
+    List<JournalDeadLetter> findTop100ByOrderByIdDesc();
+}
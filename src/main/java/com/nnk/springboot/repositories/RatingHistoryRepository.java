@@ -0,0 +1,13 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.RatingHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RatingHistoryRepository extends JpaRepository<RatingHistory, Long> {
+
+    List<RatingHistory> findByRatingIdOrderByEffectiveDateAscIdAsc(int ratingId);
+}
@@ -1,10 +1,30 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Rating;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
-public interface RatingRepository extends JpaRepository<Rating, Integer> {
+public interface RatingRepository extends BaseRepository<Rating, Integer> {
+
+    List<Rating> findByMoodysNotchBetweenOrderByMoodysNotchAsc(int best, int worst);
+
+    List<Rating> findBySandPNotchBetweenOrderBySandPNotchAsc(int best, int worst);
+
+    List<Rating> findByFitchNotchBetweenOrderByFitchNotchAsc(int best, int worst);
+
+    List<Rating> findByMoodysNotchIsNullOrSandPNotchIsNullOrFitchNotchIsNull();
 
+    @Transactional
+    @Modifying
+    @Query("update Rating r set r.moodysRating = :moodysRating, r.sandPRating = :sandPRating, r.fitchRating = :fitchRating, "
+            + "r.orderNumber = :orderNumber, r.moodysNotch = :moodysNotch, r.sandPNotch = :sandPNotch, r.fitchNotch = :fitchNotch, "
+            + "r.version = r.version + 1 "
+            + "where r.id = :id and (:version is null or r.version = :version)")
+    int updateIfVersion(int id, Long version, String moodysRating, String sandPRating, String fitchRating,
+                        Integer orderNumber, Integer moodysNotch, Integer sandPNotch, Integer fitchNotch);
 }
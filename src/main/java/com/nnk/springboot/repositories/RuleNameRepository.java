@@ -1,9 +1,20 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.RuleName;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface RuleNameRepository extends JpaRepository<RuleName, Integer> {
+public interface RuleNameRepository extends BaseRepository<RuleName, Integer> {
+
+    @Transactional
+    @Modifying
+    @Query("update RuleName r set r.name = :name, r.description = :description, r.json = :json, "
+            + "r.template = :template, r.sqlStr = :sqlStr, r.sqlPart = :sqlPart, "
+            + "r.version = r.version + 1 "
+            + "where r.id = :id and (:version is null or r.version = :version)")
+    int updateIfVersion(int id, Long version, String name, String description, String json,
+                        String template, String sqlStr, String sqlPart);
 }
@@ -0,0 +1,35 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.RuleViolation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface RuleViolationRepository extends JpaRepository<RuleViolation, Long> {
+
+    List<RuleViolation> findByRuleIdOrderByDetectedAtDesc(Integer ruleId);
+
+    List<RuleViolation> findByTradeIdOrderByDetectedAtDesc(Integer tradeId);
+
+    boolean existsByRuleIdAndTradeId(Integer ruleId, Integer tradeId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RuleViolation v where v.ruleId = :ruleId and v.tradeId = :tradeId")
+    int deleteByRuleIdAndTradeId(Integer ruleId, Integer tradeId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RuleViolation v where v.tradeId = :tradeId")
+    int deleteByTradeId(Integer tradeId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RuleViolation v where v.ruleId = :ruleId")
+    int deleteByRuleId(Integer ruleId);
+}
@@ -0,0 +1,13 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.ScenarioSet;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScenarioSetRepository extends JpaRepository<ScenarioSet, String> {
+
+    List<ScenarioSet> findAllByOrderByNameAsc();
+}
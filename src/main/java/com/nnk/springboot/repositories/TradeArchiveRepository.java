@@ -0,0 +1,34 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.ArchivedTrade;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TradeArchiveRepository extends JpaRepository<ArchivedTrade, Integer> {
+
+    String COLUMNS = "trade_id, version, account, type, buy_quantity, sell_quantity, buy_price, sell_price, "
+            + "trade_date, security, status, trader, benchmark, book, creation_name, creation_date, revision_name, "
+            + "revision_date, deal_name, deal_type, source_list_id, side";
+
+    /**
+     * Copies trades from the {@code trade} table, as they are, into the archive.
+     *
+     * @return the number of copied trades
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into trade_archive (" + COLUMNS + ", archived_at) select " + COLUMNS + ", :archivedAt "
+            + "from trade where trade_id in (:ids)", nativeQuery = true)
+    int copyFromTrade(Collection<Integer> ids, LocalDateTime archivedAt);
+
+    List<ArchivedTrade> findByTradeDateGreaterThanEqualAndTradeDateLessThanOrderByTradeDateAsc(LocalDateTime from,
+                                                                                             LocalDateTime to);
+}
@@ -1,9 +1,65 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Trade;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface TradeRepository extends JpaRepository<Trade, Integer> {
+public interface TradeRepository extends BaseRepository<Trade, Integer> {
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<Trade> streamByBook(String book);
+
+    List<Trade> findByTradeIdBetweenOrderByTradeIdAsc(int from, int to);
+
+    Optional<Trade> findTopByOrderByTradeIdDesc();
+
+    @Transactional
+    @Modifying
+    @Query("update Trade t set t.account = :account, t.buyQuantity = :buyQuantity, t.type = :type, "
+            + "t.revisionName = :revisionName, t.revisionDate = :revisionDate, t.version = t.version + 1 "
+            + "where t.tradeId = :id and (:version is null or t.version = :version)")
+    int updateIfVersion(int id, Long version, String account, Double buyQuantity, String type,
+                        String revisionName, LocalDateTime revisionDate);
+
+    long countByAccount(String account);
+
+    @Query("select t.tradeId from Trade t where t.account = :account and t.tradeId > :afterId order by t.tradeId")
+    List<Integer> findTradeIdsByAccountAfter(String account, int afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update Trade t set t.account = :toAccount, t.revisionName = :revisionName, t.revisionDate = :revisionDate, "
+            + "t.version = t.version + 1 where t.tradeId in :ids and t.account = :fromAccount")
+    int reassignAccount(Collection<Integer> ids, String fromAccount, String toAccount, String revisionName,
+                        LocalDateTime revisionDate);
+
+    @Query("select t.tradeId from Trade t where t.tradeId > :afterId and t.tradeDate < :cutoff "
+            + "and (:anyStatus = true or t.status in :statuses) order by t.tradeId")
+    List<Integer> findArchivableIdsAfter(int afterId, LocalDateTime cutoff, boolean anyStatus,
+                                         Collection<String> statuses, Pageable pageable);
+
+    @Query("select count(t) from Trade t where t.tradeDate < :cutoff "
+            + "and (:anyStatus = true or t.status in :statuses)")
+    long countArchivable(LocalDateTime cutoff, boolean anyStatus, Collection<String> statuses);
+
+    /**
+     * Finds the trades dated in {@code [from, to)}. The bounds compare the bare {@code trade_date}
+     * column, which lets MySQL prune the monthly partitions outside the range.
+     */
+    List<Trade> findByTradeDateGreaterThanEqualAndTradeDateLessThanOrderByTradeDateAsc(LocalDateTime from,
+                                                                                     LocalDateTime to);
 }
@@ -1,14 +1,21 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends BaseRepository<User, Integer> {
     Optional<User> findByUsername(String username);
     User findByGithubId(String githubId);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.username = :username, u.password = :password, u.fullName = :fullName, u.role = :role, u.version = u.version + 1 "
+            + "where u.id = :id and (:version is null or u.version = :version)")
+    int updateIfVersion(int id, Long version, String username, String password, String fullName, String role);
 }
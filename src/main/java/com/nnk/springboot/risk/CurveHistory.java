@@ -0,0 +1,127 @@
+package com.nnk.springboot.risk;
+
+import com.nnk.springboot.domain.CurvePoint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The history of the curve, as risk factors: one factor per term found in the curve points, observed
+ * on each {@code asOfDate} at which every term has a value. Points of the same term and date are
+ * averaged.
+ */
+public final class CurveHistory {
+
+    final double[] terms;
+    final double[] latest;
+    final double[][] changes;
+
+    private CurveHistory(double[] terms, double[] latest, double[][] changes) {
+        this.terms = terms;
+        this.latest = latest;
+        this.changes = changes;
+    }
+
+    /**
+     * @param points the curve points with an {@code asOfDate}; the others are left out
+     * @return the history of the terms of the points
+     * @throws IllegalArgumentException if fewer than three dates have a value for every term
+     */
+    public static CurveHistory of(Collection<CurvePoint> points) {
+        TreeSet<Double> termSet = new TreeSet<>();
+        Map<LocalDateTime, Map<Double, double[]>> byDate = new TreeMap<>();
+        for (CurvePoint point : points) {
+            if (point.getAsOfDate() == null || point.getTerm() == null || point.getValue() == null) {
+                continue;
+            }
+            termSet.add(point.getTerm());
+            double[] sumAndCount = byDate.computeIfAbsent(point.getAsOfDate(), date -> new TreeMap<>())
+                    .computeIfAbsent(point.getTerm(), term -> new double[2]);
+            sumAndCount[0] += point.getValue();
+            sumAndCount[1]++;
+        }
+        double[] terms = termSet.stream().mapToDouble(Double::doubleValue).toArray();
+        List<double[]> observations = new ArrayList<>();
+        for (Map<Double, double[]> values : byDate.values()) {
+            if (values.size() == terms.length) {
+                observations.add(values.values().stream().mapToDouble(sum -> sum[0] / sum[1]).toArray());
+            }
+        }
+        if (observations.size() < 3) {
+            throw new IllegalArgumentException("Curve history has " + observations.size()
+                    + " complete dates, at least 3 are needed");
+        }
+        double[][] changes = new double[observations.size() - 1][terms.length];
+        for (int day = 1; day < observations.size(); day++) {
+            for (int factor = 0; factor < terms.length; factor++) {
+                changes[day - 1][factor] = observations.get(day)[factor] - observations.get(day - 1)[factor];
+            }
+        }
+        return new CurveHistory(terms, observations.get(observations.size() - 1), changes);
+    }
+
+    /**
+     * @return the number of risk factors
+     */
+    public int factorCount() {
+        return terms.length;
+    }
+
+    /**
+     * @return the number of observed changes
+     */
+    public int changeCount() {
+        return changes.length;
+    }
+
+    /**
+     * Computes the lower Cholesky factor of the covariance of the changes, scaled to a horizon.
+     * Factors whose changes are linear combinations of the previous ones get no own noise.
+     *
+     * @param horizonDays the number of observation intervals the simulated moves span
+     * @return the factor {@code L}, such that {@code L z} has the covariance of the changes over the
+     * horizon for independent standard normal {@code z}
+     */
+    double[][] choleskyFactor(int horizonDays) {
+        int n = terms.length;
+        double[] means = new double[n];
+        for (double[] change : changes) {
+            for (int factor = 0; factor < n; factor++) {
+                means[factor] += change[factor] / changes.length;
+            }
+        }
+        double[][] covariance = new double[n][n];
+        for (double[] change : changes) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    covariance[i][j] += (change[i] - means[i]) * (change[j] - means[j]) * horizonDays
+                            / (changes.length - 1);
+                }
+            }
+        }
+        double[][] lower = new double[n][n];
+        for (int j = 0; j < n; j++) {
+            double diagonal = covariance[j][j];
+            for (int k = 0; k < j; k++) {
+                diagonal -= lower[j][k] * lower[j][k];
+            }
+            if (diagonal <= 1e-14 * Math.max(1.0, covariance[j][j])) {
+                continue;
+            }
+            lower[j][j] = Math.sqrt(diagonal);
+            for (int i = j + 1; i < n; i++) {
+                double sum = covariance[i][j];
+                for (int k = 0; k < j; k++) {
+                    sum -= lower[i][k] * lower[j][k];
+                }
+                lower[i][j] = sum / lower[j][j];
+            }
+        }
+        return lower;
+    }
+}
@@ -0,0 +1,13 @@
+package com.nnk.springboot.risk;
+
+import java.util.List;
+
+/**
+ * The risk of a group of positions.
+ *
+ * @param group         {@code total}, {@code book:<book>} or {@code trader:<trader>}
+ * @param presentValue  the value of the group on the latest curve
+ * @param measures      the value-at-risk and expected shortfall at each confidence level
+ */
+public record GroupRisk(String group, double presentValue, List<RiskMeasure> measures) {
+}
@@ -0,0 +1,196 @@
+package com.nnk.springboot.risk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates the value-at-risk and expected shortfall of positions by simulating curve moves.
+ *
+ * <p>Each path draws correlated normal moves of the curve terms, with the covariance of the
+ * historical changes scaled to the horizon, and revalues every group on the moved curve; rates
+ * between terms are interpolated linearly and held flat beyond them. The paths are split into
+ * fixed-size chunks valued in parallel, each with its own generator split from the seed in chunk
+ * order, so a seed gives the same result whatever the number of threads. A worker allocates its
+ * arrays once per chunk and writes the profit and loss of its paths into shared primitive arrays.
+ */
+public class MonteCarloVarEngine implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final int chunkSize;
+
+    /**
+     * Constructs a new instance of {@link MonteCarloVarEngine}.
+     *
+     * @param parallelism the number of worker threads
+     * @param chunkSize   the number of paths simulated per task
+     */
+    public MonteCarloVarEngine(int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("var-", 1).daemon(true).factory());
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Simulates the curve moves and measures the risk of each group of positions.
+     *
+     * @param history   the curve history the moves are estimated from
+     * @param positions the positions revalued
+     * @param request   the number of paths, horizon, confidence levels and seed
+     * @return the risk of each group
+     */
+    public VarReport run(CurveHistory history, Positions positions, VarRequest request) {
+        long start = System.nanoTime();
+        double[][] lower = history.choleskyFactor(request.horizonDays());
+        Interpolation interpolation = Interpolation.of(history.terms, positions.maturities);
+        double[] baseDiscounts = interpolation.discountFactors(history.latest, new double[positions.maturities.length]);
+        double[][] pnl = new double[positions.groups.size()][request.paths()];
+
+        SplittableRandom root = new SplittableRandom(request.seed());
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int first = 0; first < request.paths(); first += chunkSize) {
+            int from = first;
+            int to = Math.min(request.paths(), first + chunkSize);
+            SplittableRandom random = root.split();
+            chunks.add(executor.submit(() ->
+                    simulate(history, positions, lower, interpolation, baseDiscounts, pnl, random, from, to)));
+        }
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating value-at-risk", e);
+        }
+
+        List<GroupRisk> groups = new ArrayList<>();
+        for (int group = 0; group < pnl.length; group++) {
+            double presentValue = 0.0;
+            for (int m = 0; m < baseDiscounts.length; m++) {
+                presentValue += positions.notionals[group][m] * baseDiscounts[m];
+            }
+            groups.add(new GroupRisk(positions.groups.get(group), presentValue, measures(pnl[group], request.confidences())));
+        }
+        return new VarReport(request.paths(), request.horizonDays(), request.seed(), history.factorCount(),
+                history.changeCount(), positions.positionCount(), positions.skippedCount(),
+                (System.nanoTime() - start) / 1_000_000, groups);
+    }
+
+    private static void simulate(CurveHistory history, Positions positions, double[][] lower,
+                                 Interpolation interpolation, double[] baseDiscounts, double[][] pnl,
+                                 SplittableRandom random, int from, int to) {
+        int factors = history.factorCount();
+        double[] normals = new double[factors];
+        double[] rates = new double[factors];
+        double[] discounts = new double[baseDiscounts.length];
+        double[] moves = new double[baseDiscounts.length];
+        for (int path = from; path < to; path++) {
+            for (int factor = 0; factor < factors; factor++) {
+                normals[factor] = random.nextGaussian();
+            }
+            for (int i = 0; i < factors; i++) {
+                double move = 0.0;
+                double[] row = lower[i];
+                for (int k = 0; k <= i; k++) {
+                    move += row[k] * normals[k];
+                }
+                rates[i] = history.latest[i] + move;
+            }
+            interpolation.discountFactors(rates, discounts);
+            for (int m = 0; m < moves.length; m++) {
+                moves[m] = discounts[m] - baseDiscounts[m];
+            }
+            for (int group = 0; group < pnl.length; group++) {
+                double[] notionals = positions.notionals[group];
+                double value = 0.0;
+                for (int m = 0; m < moves.length; m++) {
+                    value += notionals[m] * moves[m];
+                }
+                pnl[group][path] = value;
+            }
+        }
+    }
+
+    /**
+     * @param pnl         the profit and loss of each path, reordered by this method
+     * @param confidences the confidence levels
+     * @return the value-at-risk and expected shortfall at each level
+     */
+    static List<RiskMeasure> measures(double[] pnl, List<Double> confidences) {
+        Arrays.sort(pnl);
+        List<RiskMeasure> measures = new ArrayList<>();
+        for (double confidence : confidences) {
+            // the epsilon keeps e.g. (1 - 0.9) * 100 = 9.999... from losing a path of the tail
+            int tail = Math.max(1, (int) Math.floor((1.0 - confidence) * pnl.length + 1e-9));
+            double shortfall = 0.0;
+            for (int path = 0; path < tail; path++) {
+                shortfall += pnl[path];
+            }
+            measures.add(new RiskMeasure(confidence, -pnl[tail - 1], -shortfall / tail));
+        }
+        return measures;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Linear interpolation of the rate of each maturity between the two nearest terms.
+     */
+    private record Interpolation(double[] maturities, int[] lower, int[] upper, double[] weights) {
+
+        static Interpolation of(double[] terms, double[] maturities) {
+            int[] lower = new int[maturities.length];
+            int[] upper = new int[maturities.length];
+            double[] weights = new double[maturities.length];
+            for (int m = 0; m < maturities.length; m++) {
+                int index = Arrays.binarySearch(terms, maturities[m]);
+                if (index >= 0) {
+                    lower[m] = upper[m] = index;
+                } else {
+                    int insertion = -index - 1;
+                    lower[m] = Math.max(0, insertion - 1);
+                    upper[m] = Math.min(terms.length - 1, insertion);
+                    if (lower[m] != upper[m]) {
+                        weights[m] = (maturities[m] - terms[lower[m]]) / (terms[upper[m]] - terms[lower[m]]);
+                    }
+                }
+            }
+            return new Interpolation(maturities, lower, upper, weights);
+        }
+
+        /**
+         * @param rates the rate of each term, in percent
+         * @param out   receives the continuously compounded discount factor of each maturity
+         * @return {@code out}
+         */
+        double[] discountFactors(double[] rates, double[] out) {
+            for (int m = 0; m < out.length; m++) {
+                double rate = rates[lower[m]] + weights[m] * (rates[upper[m]] - rates[lower[m]]);
+                out[m] = Math.exp(-rate / 100.0 * maturities[m]);
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.nnk.springboot.risk;
+
+import com.nnk.springboot.domain.Trade;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The trades as zero-coupon positions, netted per group and maturity.
+ *
+ * <p>A trade pays its net quantity ({@code buyQuantity - sellQuantity}) times its price (the buy
+ * price, else the sell price, else 1) at the maturity named by its {@code benchmark}, e.g.
+ * {@code 10}, {@code 10Y}, {@code 6M}, {@code 13W} or {@code 30D}. Trades without a readable
+ * benchmark or with no net quantity are left out. The groups are the whole book, then every
+ * book, then every trader.
+ */
+public final class Positions {
+
+    static final String TOTAL = "total";
+    private static final Pattern BENCHMARK = Pattern.compile("\\s*(\\d+(?:\\.\\d+)?)\\s*([YyMmWwDd]?)\\s*");
+
+    final List<String> groups;
+    final double[] maturities;
+    final double[][] notionals;
+    private final int positionCount;
+    private final int skippedCount;
+
+    private Positions(List<String> groups, double[] maturities, double[][] notionals, int positionCount,
+                      int skippedCount) {
+        this.groups = groups;
+        this.maturities = maturities;
+        this.notionals = notionals;
+        this.positionCount = positionCount;
+        this.skippedCount = skippedCount;
+    }
+
+    /**
+     * @param trades the trades
+     * @return the positions of the trades
+     */
+    public static Positions of(Collection<Trade> trades) {
+        Map<String, Map<Double, Double>> byGroup = new LinkedHashMap<>();
+        byGroup.put(TOTAL, new TreeMap<>());
+        Map<String, Map<Double, Double>> books = new TreeMap<>();
+        Map<String, Map<Double, Double>> traders = new TreeMap<>();
+        TreeSet<Double> maturitySet = new TreeSet<>();
+        int positions = 0;
+        int skipped = 0;
+        for (Trade trade : trades) {
+            Double maturity = maturity(trade.getBenchmark());
+            double notional = notional(trade);
+            if (maturity == null || notional == 0.0) {
+                skipped++;
+                continue;
+            }
+            positions++;
+            maturitySet.add(maturity);
+            byGroup.get(TOTAL).merge(maturity, notional, Double::sum);
+            if (trade.getBook() != null) {
+                books.computeIfAbsent("book:" + trade.getBook(), book -> new TreeMap<>())
+                        .merge(maturity, notional, Double::sum);
+            }
+            if (trade.getTrader() != null) {
+                traders.computeIfAbsent("trader:" + trade.getTrader(), trader -> new TreeMap<>())
+                        .merge(maturity, notional, Double::sum);
+            }
+        }
+        byGroup.putAll(books);
+        byGroup.putAll(traders);
+        double[] maturities = maturitySet.stream().mapToDouble(Double::doubleValue).toArray();
+        List<String> groups = new ArrayList<>(byGroup.keySet());
+        double[][] notionals = new double[groups.size()][maturities.length];
+        for (int group = 0; group < groups.size(); group++) {
+            Map<Double, Double> byMaturity = byGroup.get(groups.get(group));
+            for (int m = 0; m < maturities.length; m++) {
+                notionals[group][m] = byMaturity.getOrDefault(maturities[m], 0.0);
+            }
+        }
+        return new Positions(List.copyOf(groups), maturities, notionals, positions, skipped);
+    }
+
+    /**
+     * @param benchmark the benchmark of a trade
+     * @return its maturity in years, or {@code null} if it names none
+     */
+    static Double maturity(String benchmark) {
+        if (benchmark == null) {
+            return null;
+        }
+        Matcher matcher = BENCHMARK.matcher(benchmark);
+        if (!matcher.matches()) {
+            return null;
+        }
+        double amount = Double.parseDouble(matcher.group(1));
+        return switch (matcher.group(2).toUpperCase()) {
+            case "M" -> amount / 12;
+            case "W" -> amount * 7 / 365;
+            case "D" -> amount / 365;
+            default -> amount;
+        };
+    }
+
+    private static double notional(Trade trade) {
+        double quantity = (trade.getBuyQuantity() == null ? 0.0 : trade.getBuyQuantity())
+                - (trade.getSellQuantity() == null ? 0.0 : trade.getSellQuantity());
+        Double price = trade.getBuyPrice() != null ? trade.getBuyPrice() : trade.getSellPrice();
+        return quantity * (price == null ? 1.0 : price);
+    }
+
+    /**
+     * @return the number of trades valued
+     */
+    public int positionCount() {
+        return positionCount;
+    }
+
+    /**
+     * @return the number of trades left out
+     */
+    public int skippedCount() {
+        return skippedCount;
+    }
+}
@@ -0,0 +1,11 @@
+package com.nnk.springboot.risk;
+
+/**
+ * The value-at-risk and expected shortfall of a group at a confidence level, as positive losses.
+ *
+ * @param confidence        the confidence level, e.g. {@code 0.99}
+ * @param valueAtRisk       the loss exceeded in {@code 1 - confidence} of the paths
+ * @param expectedShortfall the mean loss of the paths at or beyond the value-at-risk
+ */
+public record RiskMeasure(double confidence, double valueAtRisk, double expectedShortfall) {
+}
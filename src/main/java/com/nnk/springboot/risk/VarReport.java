@@ -0,0 +1,20 @@
+package com.nnk.springboot.risk;
+
+import java.util.List;
+
+/**
+ * The result of a value-at-risk run.
+ *
+ * @param paths          the number of simulated curve moves
+ * @param horizonDays    the number of observation intervals each move spans
+ * @param seed           the seed of the run, to reproduce it
+ * @param factors        the number of curve terms simulated
+ * @param historyChanges the number of historical curve changes the moves were estimated from
+ * @param positions      the number of trades valued
+ * @param skippedTrades  the number of trades left out, for lack of a maturity or of a net quantity
+ * @param elapsedMillis  the duration of the run
+ * @param groups         the risk of the whole book, then of every book, then of every trader
+ */
+public record VarReport(int paths, int horizonDays, long seed, int factors, int historyChanges, int positions,
+                        int skippedTrades, long elapsedMillis, List<GroupRisk> groups) {
+}
@@ -0,0 +1,28 @@
+package com.nnk.springboot.risk;
+
+import java.util.List;
+
+/**
+ * The parameters of a value-at-risk run.
+ *
+ * @param paths       the number of simulated curve moves
+ * @param horizonDays the number of observation intervals each move spans
+ * @param confidences the confidence levels, each strictly between 0 and 1
+ * @param seed        the seed of the random generators; a given seed always gives the same result
+ */
+public record VarRequest(int paths, int horizonDays, List<Double> confidences, long seed) {
+
+    public VarRequest {
+        if (paths < 1) {
+            throw new IllegalArgumentException("At least one path is needed");
+        }
+        if (horizonDays < 1) {
+            throw new IllegalArgumentException("The horizon must be at least one day");
+        }
+        if (confidences == null || confidences.isEmpty()
+                || confidences.stream().anyMatch(confidence -> !(confidence > 0.0 && confidence < 1.0))) {
+            throw new IllegalArgumentException("Confidence levels must lie strictly between 0 and 1");
+        }
+        confidences = List.copyOf(confidences);
+    }
+}
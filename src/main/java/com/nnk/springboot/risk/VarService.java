@@ -0,0 +1,77 @@
+package com.nnk.springboot.risk;
+
+import com.nnk.springboot.service.CurveService;
+import com.nnk.springboot.service.TradeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs Monte Carlo value-at-risk over the current trades, with curve moves estimated from the
+ * history of the curve points.
+ */
+@Slf4j
+@Service
+public class VarService {
+
+    private final CurveService curveService;
+    private final TradeService tradeService;
+    private final MonteCarloVarEngine engine;
+    private final int maxPaths;
+    private final long maxCells;
+
+    /**
+     * Constructs a new instance of {@link VarService}.
+     *
+     * @param curveService the service reading the curve history
+     * @param tradeService the service reading the trades
+     * @param parallelism  the number of threads simulating paths, {@code 0} for one per core
+     * @param chunkSize    the number of paths simulated per task
+     * @param maxPaths     the maximum number of paths of a run
+     * @param maxCells     the maximum number of simulated profits and losses a run holds, groups times paths
+     */
+    public VarService(CurveService curveService, TradeService tradeService,
+                      @Value("${risk.var.parallelism:0}") int parallelism,
+                      @Value("${risk.var.chunk-size:1000}") int chunkSize,
+                      @Value("${risk.var.max-paths:200000}") int maxPaths,
+                      @Value("${risk.var.max-cells:20000000}") long maxCells) {
+        this.curveService = curveService;
+        this.tradeService = tradeService;
+        this.engine = new MonteCarloVarEngine(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                chunkSize);
+        this.maxPaths = maxPaths;
+        this.maxCells = maxCells;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        engine.close();
+    }
+
+    /**
+     * Measures the value-at-risk of the whole book, of every book and of every trader.
+     *
+     * @param request the number of paths, horizon, confidence levels and seed
+     * @return the risk of each group
+     * @throws IllegalArgumentException if more paths are requested than allowed, the groups times
+     *                                  the paths exceed the allowed memory, or the curve history is
+     *                                  too short
+     */
+    public VarReport valueAtRisk(VarRequest request) {
+        if (request.paths() > maxPaths) {
+            throw new IllegalArgumentException("At most " + maxPaths + " paths may be simulated");
+        }
+        CurveHistory history = CurveHistory.of(curveService.getAllCurvePoint());
+        Positions positions = Positions.of(tradeService.getListToTradeList());
+        // the engine keeps the profit and loss of every group on every path
+        if ((long) positions.groups.size() * request.paths() > maxCells) {
+            throw new IllegalArgumentException("At most " + maxCells / positions.groups.size() + " paths may be simulated for "
+                    + positions.groups.size() + " books and traders");
+        }
+        VarReport report = engine.run(history, positions, request);
+        log.info("Value-at-risk of {} positions over {} paths computed in {} ms (seed {})",
+                report.positions(), report.paths(), report.elapsedMillis(), report.seed());
+        return report;
+    }
+}
@@ -0,0 +1,79 @@
+package com.nnk.springboot.rules;
+
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, ready-to-run form of a {@code RuleName}'s SQL.
+ *
+ * <p>The named-parameter SQL is parsed once into a positional statement and a
+ * {@link PreparedStatementCreatorFactory}; running the rule only binds values.
+ */
+public final class CompiledRule {
+
+    private final int ruleId;
+    private final String name;
+    private final long version;
+    private final String sql;
+    private final ParsedSql parsedSql;
+    private final List<String> parameterNames;
+    private final PreparedStatementCreatorFactory statementFactory;
+    private final Map<String, Object> defaults;
+
+    CompiledRule(int ruleId, String name, long version, String sql, Map<String, Object> defaults) {
+        this.ruleId = ruleId;
+        this.name = name;
+        this.version = version;
+        this.sql = sql;
+        this.parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        MapSqlParameterSource declared = new MapSqlParameterSource();
+        List<SqlParameter> sqlParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, declared);
+        this.parameterNames = sqlParameters.stream().map(SqlParameter::getName).distinct().toList();
+        this.statementFactory = new PreparedStatementCreatorFactory(
+                NamedParameterUtils.substituteNamedParameters(parsedSql, declared), sqlParameters);
+        this.defaults = Map.copyOf(defaults);
+    }
+
+    /**
+     * Creates a statement creator binding the given parameters over the rule's defaults.
+     *
+     * @param parameters the parameter values, by name
+     * @return the statement creator
+     * @throws IllegalArgumentException if a parameter of the rule has no value
+     */
+    public PreparedStatementCreator bind(Map<String, ?> parameters) {
+        Map<String, Object> values = new HashMap<>(defaults);
+        values.putAll(parameters);
+        MapSqlParameterSource source = new MapSqlParameterSource(values);
+        for (String parameter : parameterNames) {
+            if (!source.hasValue(parameter)) {
+                throw new IllegalArgumentException("Rule " + ruleId + " is missing parameter '" + parameter + "'.");
+            }
+        }
+        return statementFactory.newPreparedStatementCreator(NamedParameterUtils.buildValueArray(parsedSql, source, null));
+    }
+
+    public int getRuleId() {
+        return ruleId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+}
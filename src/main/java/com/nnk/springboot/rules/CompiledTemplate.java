@@ -0,0 +1,89 @@
+package com.nnk.springboot.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable, pre-parsed form of a {@code RuleName} template.
+ *
+ * <p>A template is literal text with {@code {{field}}} placeholders. Compiling splits it
+ * into literal segments interleaved with field accessors; rendering only appends them.
+ * Instances are thread-safe and meant to be shared.
+ *
+ * @param <T> the type of object the template renders
+ */
+public final class CompiledTemplate<T> {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String source;
+    private final String[] literals;
+    private final Function<T, Object>[] fields;
+
+    private CompiledTemplate(String source, String[] literals, Function<T, Object>[] fields) {
+        this.source = source;
+        this.literals = literals;
+        this.fields = fields;
+    }
+
+    /**
+     * Compiles a template.
+     *
+     * @param source    the template text
+     * @param accessors the placeholder names available, with their accessors
+     * @param <T>       the type of object the template renders
+     * @return the compiled template
+     * @throws IllegalArgumentException if a placeholder is unterminated or unknown
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompiledTemplate<T> compile(String source, Map<String, Function<T, Object>> accessors) {
+        List<String> literals = new ArrayList<>();
+        List<Function<T, Object>> fields = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at position " + open + ".");
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            Function<T, Object> accessor = accessors.get(name);
+            if (accessor == null) {
+                throw new IllegalArgumentException("Unknown template field '" + name + "'.");
+            }
+            literals.add(source.substring(position, open));
+            fields.add(accessor);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new CompiledTemplate<>(source, literals.toArray(String[]::new), fields.toArray(Function[]::new));
+    }
+
+    /**
+     * Renders the template against a target, appending to the given buffer.
+     *
+     * @param target the object whose fields fill the placeholders
+     * @param out    the buffer to append to, typically reused across targets
+     * @return the buffer
+     */
+    public StringBuilder render(T target, StringBuilder out) {
+        for (int i = 0; i < fields.length; i++) {
+            out.append(literals[i]);
+            Object value = fields[i].apply(target);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        return out.append(literals[fields.length]);
+    }
+
+    /**
+     * @return the template text this instance was compiled from
+     */
+    public String getSource() {
+        return source;
+    }
+}
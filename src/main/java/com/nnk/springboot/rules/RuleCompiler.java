@@ -0,0 +1,109 @@
+package com.nnk.springboot.rules;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.RuleName;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the {@code sqlStr}, {@code sqlPart} and {@code json} columns of a {@link RuleName}
+ * into a {@link CompiledRule}.
+ *
+ * <p>{@code sqlStr} is the base query and {@code sqlPart} an extra condition appended to
+ * its {@code WHERE} clause. Both may use {@code :name} parameters, whose default values
+ * come from the rule's {@code json} object. Only single {@code SELECT} statements reading the
+ * tables and columns allowed by the {@link RuleSqlPolicy} compile.
+ */
+@Slf4j
+@Component
+public class RuleCompiler {
+
+    /** Name of the parameter receiving the row ID of a scoped rule. */
+    public static final String SCOPE_PARAMETER = "scopeId";
+
+    private static final Pattern WHERE = Pattern.compile("\\bwhere\\b", Pattern.CASE_INSENSITIVE);
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() { };
+
+    private final ObjectMapper objectMapper;
+    private final RuleSqlPolicy ruleSqlPolicy;
+
+    /**
+     * Constructs a new instance of {@link RuleCompiler}.
+     *
+     * @param objectMapper  the mapper used to read default parameter values
+     * @param ruleSqlPolicy the policy restricting what the rules may read
+     */
+    public RuleCompiler(ObjectMapper objectMapper, RuleSqlPolicy ruleSqlPolicy) {
+        this.objectMapper = objectMapper;
+        this.ruleSqlPolicy = ruleSqlPolicy;
+    }
+
+    /**
+     * Computes the version of a rule's executable definition.
+     *
+     * @param ruleName the rule
+     * @return a version that changes whenever the rule's SQL or parameters change
+     */
+    public long version(RuleName ruleName) {
+        return Objects.hash(ruleName.getSqlStr(), ruleName.getSqlPart(), ruleName.getJson());
+    }
+
+    /**
+     * Compiles a rule.
+     *
+     * @param ruleName the rule to compile
+     * @return the compiled rule
+     * @throws IllegalArgumentException if the rule's SQL is not a single {@code SELECT} statement, or
+     *                                  reads tables or columns the rules may not read
+     */
+    public CompiledRule compile(RuleName ruleName) {
+        String base = ruleName.getSqlStr() == null ? "" : ruleName.getSqlStr().trim();
+        if (!base.toLowerCase(Locale.ROOT).startsWith("select ") || base.contains(";")
+                || (ruleName.getSqlPart() != null && ruleName.getSqlPart().contains(";"))) {
+            throw new IllegalArgumentException("Rule " + ruleName.getId() + " must be a single SELECT statement.");
+        }
+
+        String sql = base;
+        if (ruleName.getSqlPart() != null && !ruleName.getSqlPart().isBlank()) {
+            sql += (WHERE.matcher(base).find() ? " AND (" : " WHERE (") + ruleName.getSqlPart().trim() + ")";
+        }
+        ruleSqlPolicy.check(sql);
+        return new CompiledRule(ruleName.getId(), ruleName.getName(), version(ruleName), sql, defaults(ruleName));
+    }
+
+    /**
+     * Compiles a rule into a statement counting the rows it matches among those whose
+     * {@code column} equals the {@value #SCOPE_PARAMETER} parameter.
+     *
+     * @param ruleName the rule to compile
+     * @param column   the column identifying a single row, e.g. {@code trade_id}
+     * @return the compiled, scoped rule
+     * @throws IllegalArgumentException if the rule's SQL is not a single {@code SELECT} statement
+     */
+    public CompiledRule compileScoped(RuleName ruleName, String column) {
+        CompiledRule rule = compile(ruleName);
+        String sql = "SELECT COUNT(*) FROM (" + rule.getSql() + ") scoped WHERE scoped." + column
+                + " = :" + SCOPE_PARAMETER;
+        return new CompiledRule(ruleName.getId(), ruleName.getName(), rule.getVersion(), sql, defaults(ruleName));
+    }
+
+    private Map<String, Object> defaults(RuleName ruleName) {
+        String json = ruleName.getJson();
+        if (json == null || !json.trim().startsWith("{")) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, JSON_OBJECT);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable parameters of rule {}", ruleName.getId());
+            return Map.of();
+        }
+    }
+}
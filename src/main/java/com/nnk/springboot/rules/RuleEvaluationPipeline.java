@@ -0,0 +1,289 @@
+package com.nnk.springboot.rules;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.RuleViolation;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.RemoteChange;
+import com.nnk.springboot.metrics.LatencyHistogram;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.RuleViolationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates {@link RuleName} rules incrementally, against each trade as it is written.
+ *
+ * <p>Trade changes published by {@code TradeService} go onto a bounded queue and are
+ * evaluated by background workers, so the write path never waits on rule evaluation.
+ * When the queue is full the change is dropped and counted after waiting at most
+ * {@code rules.evaluation.offer-timeout-ms}. Only rules reading the {@code trade} table
+ * are evaluated, each restricted to the changed trade; matches are stored as
+ * {@link RuleViolation}s and cleared once the trade no longer matches.
+ */
+@Slf4j
+@Component
+public class RuleEvaluationPipeline {
+
+    private static final Pattern READS_TRADE = Pattern.compile("\\b(from|join)\\s+trade\\b", Pattern.CASE_INSENSITIVE);
+    private static final String TRADE_ID = "trade_id";
+
+    private record PendingChange(DomainEvent<Trade> event, long publishedNanos) {
+    }
+
+    private final RuleNameRepository ruleNameRepository;
+    private final RuleViolationRepository ruleViolationRepository;
+    private final RuleCompiler ruleCompiler;
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<PendingChange> queue;
+    private final int queueCapacity;
+    private final long offerTimeoutMillis;
+    private final List<Thread> workers = new ArrayList<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong evaluated = new AtomicLong();
+    private final AtomicLong violations = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile List<CompiledRule> tradeRules;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new instance of {@link RuleEvaluationPipeline}.
+     *
+     * @param ruleNameRepository      the repository for accessing rule data
+     * @param ruleViolationRepository the repository storing detected violations
+     * @param ruleCompiler            the compiler turning rules into trade-scoped statements
+     * @param dataSource              the data source the rules run against
+     * @param queueCapacity           the maximum number of trade changes waiting for evaluation
+     * @param offerTimeoutMillis      how long a trade write waits for room in a full queue
+     * @param workerCount             the number of evaluation threads
+     */
+    public RuleEvaluationPipeline(RuleNameRepository ruleNameRepository,
+                                  RuleViolationRepository ruleViolationRepository,
+                                  RuleCompiler ruleCompiler, DataSource dataSource,
+                                  @Value("${rules.evaluation.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${rules.evaluation.offer-timeout-ms:0}") long offerTimeoutMillis,
+                                  @Value("${rules.evaluation.workers:2}") int workerCount) {
+        this.ruleNameRepository = ruleNameRepository;
+        this.ruleViolationRepository = ruleViolationRepository;
+        this.ruleCompiler = ruleCompiler;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "rule-evaluation-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        workers.forEach(Thread::start);
+    }
+
+    /**
+     * Queues a committed trade change for evaluation, so the workers read the trade as written.
+     *
+     * @param event the trade change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeChanged(DomainEvent<Trade> event) {
+        try {
+            if (queue.offer(new PendingChange(event, System.nanoTime()), offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                enqueued.incrementAndGet();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.incrementAndGet();
+        log.warn("Rule evaluation queue full, trade {} was not evaluated", event.id());
+    }
+
+    /**
+     * Drops the violations of deleted rules, in the transaction deleting the rule.
+     *
+     * @param event the rule change event
+     */
+    @EventListener
+    public void onRuleNameChanged(DomainEvent<RuleName> event) {
+        if (event.changeType() == ChangeType.DELETED) {
+            ruleViolationRepository.deleteByRuleId((Integer) event.id());
+        }
+    }
+
+    /**
+     * Forgets the compiled rules once a rule change is committed, so they are not reloaded from the
+     * rules as they were before it.
+     *
+     * @param event the rule change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRuleNameCommitted(DomainEvent<RuleName> event) {
+        invalidate();
+    }
+
+    /**
+     * Forgets the compiled rules once a rule is changed by another instance.
+     *
+     * @param change the remote change
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChange change) {
+        if (change.entityType() == RuleName.class) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        tradeRules = null;
+    }
+
+    private void work() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingChange change = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (change == null) {
+                    continue;
+                }
+                evaluate(change.event());
+                evaluated.incrementAndGet();
+                latency.record(System.nanoTime() - change.publishedNanos());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (DataAccessException e) {
+                log.error("Failed to evaluate rules for a trade change", e);
+            }
+        }
+    }
+
+    void evaluate(DomainEvent<Trade> event) {
+        Integer tradeId = (Integer) event.id();
+        if (event.changeType() == ChangeType.DELETED) {
+            ruleViolationRepository.deleteByTradeId(tradeId);
+            return;
+        }
+        for (CompiledRule rule : tradeRules()) {
+            Integer matches;
+            try {
+                matches = jdbcTemplate.query(rule.bind(Map.of(RuleCompiler.SCOPE_PARAMETER, tradeId)),
+                        resultSet -> resultSet.next() ? resultSet.getInt(1) : 0);
+            } catch (IllegalArgumentException | DataAccessException e) {
+                log.warn("Rule {} could not be evaluated against trade {}: {}", rule.getRuleId(), tradeId, e.getMessage());
+                continue;
+            }
+            if (matches != null && matches > 0) {
+                recordViolation(rule, tradeId);
+            } else {
+                ruleViolationRepository.deleteByRuleIdAndTradeId(rule.getRuleId(), tradeId);
+            }
+        }
+    }
+
+    private void recordViolation(CompiledRule rule, Integer tradeId) {
+        if (ruleViolationRepository.existsByRuleIdAndTradeId(rule.getRuleId(), tradeId)) {
+            return;
+        }
+        RuleViolation violation = new RuleViolation();
+        violation.setRuleId(rule.getRuleId());
+        violation.setRuleName(rule.getName());
+        violation.setTradeId(tradeId);
+        violation.setDetectedAt(LocalDateTime.now());
+        try {
+            ruleViolationRepository.save(violation);
+            violations.incrementAndGet();
+            log.info("Trade {} violates rule {}", tradeId, rule.getRuleId());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Violation of rule {} by trade {} already recorded", rule.getRuleId(), tradeId);
+        }
+    }
+
+    private List<CompiledRule> tradeRules() {
+        List<CompiledRule> rules = tradeRules;
+        if (rules == null) {
+            long read = generation.get();
+            rules = new ArrayList<>();
+            for (RuleName ruleName : ruleNameRepository.findAll()) {
+                if (ruleName.getSqlStr() == null || !READS_TRADE.matcher(ruleName.getSqlStr()).find()) {
+                    continue;
+                }
+                try {
+                    rules.add(ruleCompiler.compileScoped(ruleName, TRADE_ID));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Skipping rule {}: {}", ruleName.getId(), e.getMessage());
+                }
+            }
+            tradeRules = rules;
+            if (generation.get() != read) {
+                // a rule changed during the compilation, which may have read it as it was before
+                tradeRules = null;
+            }
+            log.info("Compiled {} trade rules for incremental evaluation", rules.size());
+        }
+        return rules;
+    }
+
+    /**
+     * Lists the recorded violations, most recent first.
+     *
+     * @param ruleId  restricts the violations to this rule, if not {@code null}
+     * @param tradeId restricts the violations to this trade, if not {@code null}
+     * @return the matching violations
+     */
+    public List<RuleViolation> getViolations(Integer ruleId, Integer tradeId) {
+        List<RuleViolation> result;
+        if (tradeId != null) {
+            result = ruleViolationRepository.findByTradeIdOrderByDetectedAtDesc(tradeId);
+            if (ruleId != null) {
+                result = result.stream().filter(violation -> ruleId.equals(violation.getRuleId())).toList();
+            }
+        } else if (ruleId != null) {
+            result = ruleViolationRepository.findByRuleIdOrderByDetectedAtDesc(ruleId);
+        } else {
+            result = ruleViolationRepository.findAll(Sort.by(Sort.Direction.DESC, "detectedAt"));
+        }
+        return result;
+    }
+
+    /**
+     * @return a snapshot of the pipeline's queue and latency statistics
+     */
+    public RuleEvaluationStats getStats() {
+        return new RuleEvaluationStats(queue.size(), queueCapacity, enqueued.get(), rejected.get(),
+                evaluated.get(), violations.get(), latency.percentile(50), latency.percentile(99));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
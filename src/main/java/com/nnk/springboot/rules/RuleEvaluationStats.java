@@ -0,0 +1,17 @@
+package com.nnk.springboot.rules;
+
+/**
+ * Point-in-time statistics of the {@link RuleEvaluationPipeline}.
+ *
+ * @param queueDepth      the number of trade changes waiting to be evaluated
+ * @param queueCapacity   the maximum number of trade changes that may wait
+ * @param enqueued        the number of trade changes accepted
+ * @param rejected        the number of trade changes dropped because the queue was full
+ * @param evaluated       the number of trade changes evaluated
+ * @param violations      the number of rule violations detected
+ * @param p50LatencyNanos the median time from a trade write to the end of its evaluation
+ * @param p99LatencyNanos the 99th percentile time from a trade write to the end of its evaluation
+ */
+public record RuleEvaluationStats(int queueDepth, int queueCapacity, long enqueued, long rejected, long evaluated,
+                                  long violations, long p50LatencyNanos, long p99LatencyNanos) {
+}
@@ -0,0 +1,17 @@
+package com.nnk.springboot.rules;
+
+/**
+ * Outcome of one rule execution.
+ *
+ * @param ruleId        the ID of the rule
+ * @param name          the name of the rule
+ * @param rowCount      the number of rows the rule matched, or {@code -1} if it failed
+ * @param elapsedMillis the execution time in milliseconds
+ * @param error         the failure message, or {@code null} if the rule ran successfully
+ */
+public record RuleExecutionResult(int ruleId, String name, long rowCount, long elapsedMillis, String error) {
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.nnk.springboot.rules;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes the SQL of {@link RuleName} rules.
+ *
+ * <p>Rules are compiled once and cached by ID and version; the cache entry of a rule is
+ * evicted whenever {@code RuleNameService} updates or deletes it. Rules run in read-only
+ * transactions on a bounded executor, so a burst of executions cannot exhaust the pool.
+ */
+@Slf4j
+@Service
+public class RuleExecutionService {
+
+    private final RuleNameRepository ruleNameRepository;
+    private final RuleCompiler ruleCompiler;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor executor;
+    private final Map<Integer, CompiledRule> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@link RuleExecutionService}.
+     *
+     * @param ruleNameRepository the repository for accessing rule data
+     * @param ruleCompiler       the compiler turning rules into executable statements
+     * @param dataSource         the data source the rules run against
+     * @param transactionManager the transaction manager for read-only executions
+     * @param threads            the number of rules executed concurrently
+     * @param queueCapacity      the number of rule executions that may wait for a thread
+     * @param timeoutSeconds     the query timeout of a single rule
+     */
+    public RuleExecutionService(RuleNameRepository ruleNameRepository, RuleCompiler ruleCompiler,
+                                DataSource dataSource, PlatformTransactionManager transactionManager,
+                                @Value("${rules.executor.threads:4}") int threads,
+                                @Value("${rules.executor.queue-capacity:100}") int queueCapacity,
+                                @Value("${rules.timeout-seconds:30}") int timeoutSeconds) {
+        this.ruleNameRepository = ruleNameRepository;
+        this.ruleCompiler = ruleCompiler;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout(timeoutSeconds);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Returns the compiled form of a rule, compiling it if it is not cached or outdated.
+     *
+     * @param ruleName the rule
+     * @return the compiled rule
+     * @throws IllegalArgumentException if the rule's SQL is not a single {@code SELECT} statement
+     */
+    public CompiledRule compiled(RuleName ruleName) {
+        long version = ruleCompiler.version(ruleName);
+        return cache.compute(ruleName.getId(), (id, cached) ->
+                cached != null && cached.getVersion() == version ? cached : ruleCompiler.compile(ruleName));
+    }
+
+    /**
+     * Runs a single rule.
+     *
+     * @param id         the ID of the rule to run
+     * @param parameters the parameter values overriding the rule's defaults
+     * @return the execution result
+     * @throws EntityNotFoundException if no rule is found with the given ID
+     */
+    public RuleExecutionResult runRule(int id, Map<String, ?> parameters) {
+        RuleName ruleName = ruleNameRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Rule with id " + id + " not found"));
+        return execute(ruleName, parameters);
+    }
+
+    /**
+     * Runs every rule concurrently.
+     *
+     * @param parameters the parameter values overriding the rules' defaults
+     * @return the execution results, in rule order
+     */
+    public List<RuleExecutionResult> runAllRules(Map<String, ?> parameters) {
+        List<CompletableFuture<RuleExecutionResult>> futures = ruleNameRepository.findAll().stream()
+                .map(ruleName -> CompletableFuture.supplyAsync(() -> execute(ruleName, parameters), executor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private RuleExecutionResult execute(RuleName ruleName, Map<String, ?> parameters) {
+        long start = System.nanoTime();
+        try {
+            CompiledRule rule = compiled(ruleName);
+            AtomicLong rows = new AtomicLong();
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(rule.bind(parameters), resultSet -> {
+                        rows.incrementAndGet();
+                    }));
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("Rule {} matched {} rows in {} ms", ruleName.getId(), rows.get(), elapsed);
+            return new RuleExecutionResult(ruleName.getId(), ruleName.getName(), rows.get(), elapsed, null);
+        } catch (IllegalArgumentException | DataAccessException e) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.error("Rule {} failed after {} ms", ruleName.getId(), elapsed, e);
+            return new RuleExecutionResult(ruleName.getId(), ruleName.getName(), -1, elapsed, e.getMessage());
+        }
+    }
+
+    /**
+     * Evicts the compiled form of a rule that was updated or deleted.
+     *
+     * @param event the rule change event
+     */
+    @EventListener
+    public void onRuleNameChanged(DomainEvent<RuleName> event) {
+        if (cache.remove((Integer) event.id()) != null) {
+            log.info("Evicted compiled rule {}", event.id());
+        }
+    }
+
+    /**
+     * @return the number of compiled rules currently cached
+     */
+    public int getCachedRuleCount() {
+        return cache.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
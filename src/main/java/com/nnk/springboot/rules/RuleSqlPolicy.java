@@ -0,0 +1,216 @@
+package com.nnk.springboot.rules;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Restricts the SQL of the rules to the tables and columns they are allowed to read.
+ *
+ * <p>Every identifier of a rule must be a keyword or function of a small SQL subset, a named
+ * parameter, an allowed table, a column of an allowed table, or an alias the rule declares. The
+ * tables a rule reads from must be allowed tables, so an alias cannot stand for another table.
+ * Quoted identifiers, comments and session variables are refused, which leaves no way to name
+ * anything outside the allowed tables. The columns are read from the database metadata on first
+ * use.
+ */
+@Slf4j
+@Component
+public class RuleSqlPolicy {
+
+    private static final Set<String> KEYWORDS = Set.of(
+            "select", "distinct", "from", "where", "and", "or", "not", "in", "is", "null", "like", "between",
+            "as", "join", "inner", "left", "right", "outer", "cross", "on", "group", "by", "having", "order",
+            "asc", "desc", "limit", "offset", "case", "when", "then", "else", "end", "exists", "true", "false",
+            "count", "sum", "avg", "min", "max", "abs", "round", "floor", "ceil", "coalesce", "nullif",
+            "upper", "lower", "trim", "length", "substring", "concat", "cast", "date", "timestamp",
+            "interval", "year", "month", "day", "current_date", "current_timestamp", "decimal", "double",
+            "integer", "varchar");
+    private static final Set<String> FROM_LIST_END = Set.of(
+            "where", "group", "order", "having", "limit", "offset", "on", "select");
+    private static final Pattern FORBIDDEN = Pattern.compile("[`\"\\\\@#]|--|/\\*");
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern TOKEN = Pattern.compile(
+            ":[A-Za-z_]\\w*|(?<![\\w.])[A-Za-z_]\\w*(?:\\s*\\.\\s*(?:[A-Za-z_]\\w*|\\*))?|[(),]");
+
+    private final Supplier<Map<String, Set<String>>> columnLoader;
+    private volatile Map<String, Set<String>> columnsByTable;
+
+    /**
+     * Constructs a new instance of {@link RuleSqlPolicy} reading the columns of the allowed tables
+     * from the database.
+     *
+     * @param dataSource    the data source whose metadata lists the columns
+     * @param allowedTables the tables rules may read
+     */
+    public RuleSqlPolicy(DataSource dataSource,
+                         @Value("${rules.sql.allowed-tables:trade,bidlist,curvepoint,rating}") List<String> allowedTables) {
+        this.columnLoader = () -> readColumns(dataSource, allowedTables);
+    }
+
+    /**
+     * @param columnsByTable the allowed tables and their columns
+     * @return a policy over fixed tables and columns
+     */
+    static RuleSqlPolicy of(Map<String, Set<String>> columnsByTable) {
+        RuleSqlPolicy policy = new RuleSqlPolicy(null, List.copyOf(columnsByTable.keySet()));
+        policy.columnsByTable = columnsByTable;
+        return policy;
+    }
+
+    /**
+     * Checks that a rule's SQL only reads allowed tables and columns.
+     *
+     * @param sql the SQL of the rule
+     * @throws IllegalArgumentException if the SQL names anything else
+     */
+    public void check(String sql) {
+        if (FORBIDDEN.matcher(sql).find()) {
+            throw new IllegalArgumentException("Rule SQL must not contain quoted identifiers, comments or variables.");
+        }
+        Map<String, Set<String>> tables = columnsByTable();
+        Set<String> columns = new HashSet<>();
+        tables.values().forEach(columns::addAll);
+        List<String> tokens = tokens(LITERAL.matcher(sql).replaceAll("''"));
+        Set<String> aliases = aliases(tokens, tables.keySet());
+
+        for (String token : tokens) {
+            if (token.length() == 1 && "(),".contains(token) || token.startsWith(":") || KEYWORDS.contains(token)
+                    || tables.containsKey(token) || columns.contains(token) || aliases.contains(token)) {
+                continue;
+            }
+            int dot = token.indexOf('.');
+            if (dot > 0) {
+                String qualifier = token.substring(0, dot);
+                String column = token.substring(dot + 1);
+                if ((tables.containsKey(qualifier) || aliases.contains(qualifier))
+                        && (column.equals("*") || columns.contains(column))) {
+                    continue;
+                }
+            }
+            throw new IllegalArgumentException("Rule SQL uses " + token + ", which is not an allowed table or column.");
+        }
+    }
+
+    /**
+     * Collects the aliases declared by the rule, checking on the way that every table read is allowed.
+     */
+    private static Set<String> aliases(List<String> tokens, Set<String> tables) {
+        Set<String> aliases = new HashSet<>();
+        Deque<Boolean> inFromList = new ArrayDeque<>();
+        inFromList.push(false);
+        boolean expectTable = false;
+        boolean expectAlias = false;
+        for (String token : tokens) {
+            if (expectTable) {
+                expectTable = false;
+                if (token.equals("(")) {
+                    inFromList.push(false);
+                    continue;
+                }
+                if (!tables.contains(token)) {
+                    throw new IllegalArgumentException("Rule SQL reads " + token + ", which is not an allowed table.");
+                }
+                expectAlias = true;
+                continue;
+            }
+            boolean declaresAlias = expectAlias;
+            expectAlias = false;
+            switch (token) {
+                case "from" -> {
+                    inFromList.pop();
+                    inFromList.push(true);
+                    expectTable = true;
+                }
+                case "join" -> expectTable = true;
+                case "as" -> expectAlias = true;
+                case "," -> expectTable = inFromList.peek();
+                case "(" -> inFromList.push(false);
+                case ")" -> {
+                    if (inFromList.size() > 1) {
+                        inFromList.pop();
+                    }
+                    // a derived table may be followed by its alias
+                    expectAlias = inFromList.peek();
+                }
+                default -> {
+                    if (FROM_LIST_END.contains(token)) {
+                        inFromList.pop();
+                        inFromList.push(false);
+                    } else if (declaresAlias && !KEYWORDS.contains(token) && !token.startsWith(":")
+                            && token.indexOf('.') < 0) {
+                        aliases.add(token);
+                    }
+                }
+            }
+        }
+        if (expectTable) {
+            throw new IllegalArgumentException("Rule SQL ends without a table.");
+        }
+        return aliases;
+    }
+
+    private static List<String> tokens(String sql) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(sql);
+        while (matcher.find()) {
+            tokens.add(matcher.group().replaceAll("\\s+", "").toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    private Map<String, Set<String>> columnsByTable() {
+        Map<String, Set<String>> columns = columnsByTable;
+        if (columns == null) {
+            columns = columnLoader.get();
+            if (columns.values().stream().noneMatch(Set::isEmpty)) {
+                columnsByTable = columns;
+            }
+        }
+        return columns;
+    }
+
+    private static Map<String, Set<String>> readColumns(DataSource dataSource, List<String> allowedTables) {
+        Map<String, Set<String>> columnsByTable = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : allowedTables) {
+                Set<String> columns = new HashSet<>();
+                // the database may store the table name in upper case
+                for (String name : List.of(table, table.toUpperCase(Locale.ROOT))) {
+                    try (ResultSet rows = metaData.getColumns(connection.getCatalog(), null, name, null)) {
+                        while (rows.next()) {
+                            columns.add(rows.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                        }
+                    }
+                    if (!columns.isEmpty()) {
+                        break;
+                    }
+                }
+                columnsByTable.put(table.toLowerCase(Locale.ROOT), Set.copyOf(columns));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read the columns rules may use", e);
+        }
+        log.debug("Rules may read {}", columnsByTable);
+        return columnsByTable;
+    }
+}
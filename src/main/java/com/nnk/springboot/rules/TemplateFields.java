@@ -0,0 +1,58 @@
+package com.nnk.springboot.rules;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Placeholder names a {@code RuleName} template may use, with their accessors.
+ *
+ * <p>Accessors are plain method references resolved when a template is compiled, so
+ * rendering involves neither reflection nor name lookups.
+ */
+final class TemplateFields {
+
+    static final Map<String, Function<Trade, Object>> TRADE = Map.ofEntries(
+            Map.entry("id", Trade::getTradeId),
+            Map.entry("account", Trade::getAccount),
+            Map.entry("type", Trade::getType),
+            Map.entry("buyQuantity", Trade::getBuyQuantity),
+            Map.entry("sellQuantity", Trade::getSellQuantity),
+            Map.entry("buyPrice", Trade::getBuyPrice),
+            Map.entry("sellPrice", Trade::getSellPrice),
+            Map.entry("tradeDate", Trade::getTradeDate),
+            Map.entry("security", Trade::getSecurity),
+            Map.entry("status", Trade::getStatus),
+            Map.entry("trader", Trade::getTrader),
+            Map.entry("benchmark", Trade::getBenchmark),
+            Map.entry("book", Trade::getBook),
+            Map.entry("dealName", Trade::getDealName),
+            Map.entry("dealType", Trade::getDealType),
+            Map.entry("sourceListId", Trade::getSourceListId),
+            Map.entry("side", Trade::getSide));
+
+    static final Map<String, Function<BidList, Object>> BID = Map.ofEntries(
+            Map.entry("id", BidList::getId),
+            Map.entry("account", BidList::getAccount),
+            Map.entry("type", BidList::getType),
+            Map.entry("bidQuantity", BidList::getBidQuantity),
+            Map.entry("askQuantity", BidList::getAskQuantity),
+            Map.entry("bid", BidList::getBid),
+            Map.entry("ask", BidList::getAsk),
+            Map.entry("benchmark", BidList::getBenchmark),
+            Map.entry("bidListDate", BidList::getBidListDate),
+            Map.entry("commentary", BidList::getCommentary),
+            Map.entry("security", BidList::getSecurity),
+            Map.entry("status", BidList::getStatus),
+            Map.entry("trader", BidList::getTrader),
+            Map.entry("book", BidList::getBook),
+            Map.entry("dealName", BidList::getDealName),
+            Map.entry("dealType", BidList::getDealType),
+            Map.entry("sourceListId", BidList::getSourceListId),
+            Map.entry("side", BidList::getSide));
+
+    private TemplateFields() {
+    }
+}
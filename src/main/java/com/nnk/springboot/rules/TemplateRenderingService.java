@@ -0,0 +1,191 @@
+package com.nnk.springboot.rules;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.RemoteChange;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Renders {@link RuleName} templates against trades and bids.
+ *
+ * <p>Each template is compiled once per target type into a {@link CompiledTemplate} and
+ * cached until {@code RuleNameService} updates or deletes the rule, here or, as reported by the
+ * {@code InvalidationChannel}, on another application instance.
+ */
+@Slf4j
+@Service
+public class TemplateRenderingService {
+
+    private final RuleNameRepository ruleNameRepository;
+    private final TradeRepository tradeRepository;
+    private final BidListRepository bidListRepository;
+    private final EntityManager entityManager;
+    private final Map<Integer, CompiledTemplate<Trade>> tradeTemplates = new ConcurrentHashMap<>();
+    private final Map<Integer, CompiledTemplate<BidList>> bidTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@link TemplateRenderingService}.
+     *
+     * @param ruleNameRepository the repository for accessing rule data
+     * @param tradeRepository    the repository for accessing trade data
+     * @param bidListRepository  the repository for accessing bid list data
+     * @param entityManager      the entity manager, used to detach streamed trades
+     */
+    public TemplateRenderingService(RuleNameRepository ruleNameRepository, TradeRepository tradeRepository,
+                                    BidListRepository bidListRepository, EntityManager entityManager) {
+        this.ruleNameRepository = ruleNameRepository;
+        this.tradeRepository = tradeRepository;
+        this.bidListRepository = bidListRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Returns the compiled trade template of a rule, compiling it if needed.
+     *
+     * @param ruleId the ID of the rule
+     * @return the compiled template
+     * @throws EntityNotFoundException  if no rule is found with the given ID
+     * @throws IllegalArgumentException if the template references an unknown trade field
+     */
+    public CompiledTemplate<Trade> tradeTemplate(int ruleId) {
+        return compiled(ruleId, tradeTemplates, TemplateFields.TRADE);
+    }
+
+    /**
+     * Returns the compiled bid template of a rule, compiling it if needed.
+     *
+     * @param ruleId the ID of the rule
+     * @return the compiled template
+     * @throws EntityNotFoundException  if no rule is found with the given ID
+     * @throws IllegalArgumentException if the template references an unknown bid field
+     */
+    public CompiledTemplate<BidList> bidTemplate(int ruleId) {
+        return compiled(ruleId, bidTemplates, TemplateFields.BID);
+    }
+
+    private <T> CompiledTemplate<T> compiled(int ruleId, Map<Integer, CompiledTemplate<T>> cache,
+                                             Map<String, Function<T, Object>> accessors) {
+        CompiledTemplate<T> cached = cache.get(ruleId);
+        if (cached != null) {
+            return cached;
+        }
+        // read within the mapping, so an eviction of the rule waits for it and removes what it read
+        return cache.computeIfAbsent(ruleId, id -> {
+            RuleName ruleName = ruleNameRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Rule with id " + id + " not found"));
+            log.info("Compiling template of rule {}", id);
+            return CompiledTemplate.compile(ruleName.getTemplate(), accessors);
+        });
+    }
+
+    /**
+     * Renders a rule's template against a single trade.
+     *
+     * @param ruleId  the ID of the rule
+     * @param tradeId the ID of the trade
+     * @return the rendered text
+     * @throws EntityNotFoundException if the rule or the trade does not exist
+     */
+    public String renderTrade(int ruleId, int tradeId) {
+        Trade trade = tradeRepository.findById(tradeId)
+                .orElseThrow(() -> new EntityNotFoundException("Trade with id " + tradeId + " not found"));
+        return tradeTemplate(ruleId).render(trade, new StringBuilder()).toString();
+    }
+
+    /**
+     * Renders a rule's template against a single bid.
+     *
+     * @param ruleId the ID of the rule
+     * @param bidId  the ID of the bid list
+     * @return the rendered text
+     * @throws EntityNotFoundException if the rule or the bid list does not exist
+     */
+    public String renderBid(int ruleId, int bidId) {
+        BidList bidList = bidListRepository.findById(bidId)
+                .orElseThrow(() -> new EntityNotFoundException("Bid list with id " + bidId + " not found"));
+        return bidTemplate(ruleId).render(bidList, new StringBuilder()).toString();
+    }
+
+    /**
+     * Renders a rule's template against every trade of a book, one line per trade.
+     *
+     * <p>Trades are streamed from the database and detached once rendered, and a single
+     * buffer is reused across trades, so memory use does not grow with the book size.
+     *
+     * @param ruleId the ID of the rule
+     * @param book   the book whose trades are rendered
+     * @param writer the writer receiving the output
+     * @return the number of trades rendered
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public long renderTradesForBook(int ruleId, String book, Writer writer) throws IOException {
+        CompiledTemplate<Trade> template = tradeTemplate(ruleId);
+        StringBuilder buffer = new StringBuilder(1024);
+        long count = 0;
+        try (Stream<Trade> trades = tradeRepository.streamByBook(book)) {
+            for (Trade trade : (Iterable<Trade>) trades::iterator) {
+                buffer.setLength(0);
+                template.render(trade, buffer).append('\n');
+                writer.append(buffer);
+                entityManager.detach(trade);
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("Rendered rule {} for {} trades of book {}", ruleId, count, book);
+        return count;
+    }
+
+    /**
+     * Evicts the compiled templates of a rule once its update or deletion is committed, so they are
+     * not compiled again from the rule as it was before.
+     *
+     * @param event the rule change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRuleNameChanged(DomainEvent<RuleName> event) {
+        Integer id = (Integer) event.id();
+        tradeTemplates.remove(id);
+        bidTemplates.remove(id);
+    }
+
+    /**
+     * Evicts the compiled templates of a rule changed by another instance, or every template if
+     * its ID is unknown.
+     *
+     * @param change the remote change
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChange change) {
+        if (change.entityType() != RuleName.class) {
+            return;
+        }
+        if (change.id() == null) {
+            tradeTemplates.clear();
+            bidTemplates.clear();
+            return;
+        }
+        Integer id = Integer.valueOf(change.id());
+        tradeTemplates.remove(id);
+        bidTemplates.remove(id);
+    }
+}
@@ -0,0 +1,111 @@
+package com.nnk.springboot.scenario;
+
+import com.nnk.springboot.domain.CurvePoint;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable set of curves held in primitive arrays: the points of all curves are stored one
+ * after the other, sorted by curve ID then term, and each curve is a range of point indexes.
+ */
+public final class CurveSet {
+
+    private final int[] curveIds;
+    private final int[] firstPoints;
+    final double[] terms;
+    final double[] values;
+
+    private CurveSet(int[] curveIds, int[] firstPoints, double[] terms, double[] values) {
+        this.curveIds = curveIds;
+        this.firstPoints = firstPoints;
+        this.terms = terms;
+        this.values = values;
+    }
+
+    /**
+     * Groups curve points into curves. Points without a curve ID, term or value are left out.
+     *
+     * @param points the curve points
+     * @return the curves
+     */
+    public static CurveSet of(Collection<CurvePoint> points) {
+        List<CurvePoint> sorted = points.stream()
+                .filter(point -> point.getCurveId() != null && point.getTerm() != null && point.getValue() != null)
+                .sorted(Comparator.comparing(CurvePoint::getCurveId).thenComparing(CurvePoint::getTerm))
+                .toList();
+        int curves = (int) sorted.stream().map(CurvePoint::getCurveId).distinct().count();
+        int[] curveIds = new int[curves];
+        int[] firstPoints = new int[curves + 1];
+        double[] terms = new double[sorted.size()];
+        double[] values = new double[sorted.size()];
+        int curve = -1;
+        for (int point = 0; point < sorted.size(); point++) {
+            CurvePoint curvePoint = sorted.get(point);
+            if (curve < 0 || curveIds[curve] != curvePoint.getCurveId()) {
+                curve++;
+                curveIds[curve] = curvePoint.getCurveId();
+                firstPoints[curve] = point;
+            }
+            terms[point] = curvePoint.getTerm();
+            values[point] = curvePoint.getValue();
+        }
+        firstPoints[curves] = sorted.size();
+        return new CurveSet(curveIds, firstPoints, terms, values);
+    }
+
+    /**
+     * @return the number of curves
+     */
+    public int curveCount() {
+        return curveIds.length;
+    }
+
+    /**
+     * @return the number of points of all curves
+     */
+    public int pointCount() {
+        return terms.length;
+    }
+
+    /**
+     * @param curve the index of a curve
+     * @return the curve ID of the curve
+     */
+    public int curveId(int curve) {
+        return curveIds[curve];
+    }
+
+    /**
+     * @param curve the index of a curve
+     * @return the index of the first point of the curve
+     */
+    public int firstPoint(int curve) {
+        return firstPoints[curve];
+    }
+
+    /**
+     * @param curve the index of a curve
+     * @return the index following the last point of the curve
+     */
+    public int endPoint(int curve) {
+        return firstPoints[curve + 1];
+    }
+
+    /**
+     * @param point the index of a point
+     * @return the term of the point
+     */
+    public double term(int point) {
+        return terms[point];
+    }
+
+    /**
+     * @param point the index of a point
+     * @return the unshocked value of the point
+     */
+    public double value(int point) {
+        return values[point];
+    }
+}
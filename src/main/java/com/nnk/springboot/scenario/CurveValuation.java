@@ -0,0 +1,16 @@
+package com.nnk.springboot.scenario;
+
+/**
+ * Values a portfolio on a shocked curve set. Valuations are called concurrently from several
+ * threads and must not keep the values they are given.
+ */
+@FunctionalInterface
+public interface CurveValuation {
+
+    /**
+     * @param curves the base curves, giving the curve and term of each point
+     * @param values the shocked value of each point of {@code curves}, valid during the call only
+     * @return the value of the portfolio
+     */
+    double value(CurveSet curves, double[] values);
+}
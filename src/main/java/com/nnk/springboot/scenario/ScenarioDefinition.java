@@ -0,0 +1,55 @@
+package com.nnk.springboot.scenario;
+
+import java.util.List;
+
+/**
+ * A reusable set of curve scenarios: every combination of the amplitudes of its shocks, so two
+ * shocks of 41 and 11 steps define 451 scenarios. Scenario {@code i} takes the amplitudes of the
+ * digits of {@code i} in the mixed radix of the step counts, the last shock varying fastest.
+ *
+ * @param name the name the definition is stored under
+ * @param axes the shocks combined, at least one
+ */
+public record ScenarioDefinition(String name, List<ShockAxis> axes) {
+
+    static final int MAX_NAME_LENGTH = 50;
+
+    public ScenarioDefinition {
+        if (name == null || name.isBlank() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("A scenario definition needs a name of at most "
+                    + MAX_NAME_LENGTH + " characters");
+        }
+        if (axes == null || axes.isEmpty()) {
+            throw new IllegalArgumentException("A scenario definition needs at least one shock");
+        }
+        axes = List.copyOf(axes);
+    }
+
+    /**
+     * @return the number of scenarios, or any number above {@link Integer#MAX_VALUE} when there are more
+     */
+    public long scenarioCount() {
+        long count = 1;
+        for (ShockAxis axis : axes) {
+            if (count <= Integer.MAX_VALUE) {
+                count *= axis.steps();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the amplitude of each shock in a scenario, without allocating.
+     *
+     * @param scenario the index of the scenario
+     * @param out      receives the amplitude of each shock, in the order of {@link #axes()}
+     */
+    public void amplitudes(int scenario, double[] out) {
+        int rest = scenario;
+        for (int axis = axes.size() - 1; axis >= 0; axis--) {
+            ShockAxis shock = axes.get(axis);
+            out[axis] = shock.amplitude(rest % shock.steps());
+            rest /= shock.steps();
+        }
+    }
+}
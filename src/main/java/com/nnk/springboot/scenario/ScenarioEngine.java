@@ -0,0 +1,137 @@
+package com.nnk.springboot.scenario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Values a portfolio under every scenario of a {@link ScenarioDefinition}, in parallel.
+ *
+ * <p>The scenarios are split into chunks of consecutive indexes, each valued by one worker thread.
+ * The shift of each point per unit of each shock is computed once per run; a worker then builds
+ * every shocked curve set of its chunk in the same array, so valuing a scenario allocates nothing.
+ */
+public class ScenarioEngine implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int maxScenarios;
+
+    /**
+     * Constructs a new instance of {@link ScenarioEngine}.
+     *
+     * @param parallelism  the number of worker threads
+     * @param chunkSize    the number of scenarios valued and delivered together
+     * @param maxScenarios the maximum number of scenarios of a run
+     */
+    public ScenarioEngine(int parallelism, int chunkSize, int maxScenarios) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("scenario-", 1).daemon(true).factory());
+        this.chunkSize = chunkSize;
+        this.maxScenarios = maxScenarios;
+    }
+
+    /**
+     * Values a portfolio under every scenario of a definition.
+     *
+     * @param base       the curves shocked
+     * @param definition the scenarios
+     * @param valuation  the valuation of the portfolio
+     * @param sink       receives the values as they are computed
+     * @return the size and duration of the run
+     * @throws IllegalArgumentException if the definition has more scenarios than allowed
+     * @throws RuntimeException         the first failure of the valuation or the sink, once the
+     *                                  other chunks are cancelled
+     */
+    public ScenarioRunStats run(CurveSet base, ScenarioDefinition definition, CurveValuation valuation,
+                                ScenarioSink sink) {
+        long count = definition.scenarioCount();
+        if (count > maxScenarios) {
+            throw new IllegalArgumentException("Scenario definition " + definition.name() + " has " + count
+                    + " scenarios, more than the " + maxScenarios + " allowed");
+        }
+        long start = System.nanoTime();
+        int scenarios = (int) count;
+        double[][] weights = weights(base, definition);
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int first = 0; first < scenarios; first += chunkSize) {
+            int from = first;
+            int to = Math.min(scenarios, first + chunkSize);
+            chunks.add(executor.submit(() -> valueChunk(base, definition, weights, valuation, sink, from, to)));
+        }
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running scenarios " + definition.name(), e);
+        }
+        return new ScenarioRunStats(scenarios, base.pointCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static double[][] weights(CurveSet base, ScenarioDefinition definition) {
+        List<ShockAxis> axes = definition.axes();
+        double[][] weights = new double[axes.size()][base.pointCount()];
+        for (int axis = 0; axis < axes.size(); axis++) {
+            ShockShape shape = axes.get(axis).shape();
+            for (int point = 0; point < base.pointCount(); point++) {
+                weights[axis][point] = shape.weight(base.terms[point]);
+            }
+        }
+        return weights;
+    }
+
+    private static void valueChunk(CurveSet base, ScenarioDefinition definition, double[][] weights,
+                                   CurveValuation valuation, ScenarioSink sink, int from, int to) {
+        double[] shocked = new double[base.pointCount()];
+        double[] amplitudes = new double[weights.length];
+        double[] values = new double[to - from];
+        for (int scenario = from; scenario < to; scenario++) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            definition.amplitudes(scenario, amplitudes);
+            System.arraycopy(base.values, 0, shocked, 0, shocked.length);
+            for (int axis = 0; axis < weights.length; axis++) {
+                double amplitude = amplitudes[axis];
+                double[] weight = weights[axis];
+                for (int point = 0; point < shocked.length; point++) {
+                    shocked[point] += amplitude * weight[point];
+                }
+            }
+            values[scenario - from] = valuation.value(base, shocked);
+        }
+        synchronized (sink) {
+            sink.accept(from, values, to - from);
+        }
+    }
+
+    /**
+     * @return the maximum number of scenarios of a run
+     */
+    public int maxScenarios() {
+        return maxScenarios;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
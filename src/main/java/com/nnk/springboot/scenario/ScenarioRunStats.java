@@ -0,0 +1,11 @@
+package com.nnk.springboot.scenario;
+
+/**
+ * The outcome of a scenario run.
+ *
+ * @param scenarios     the number of scenarios valued
+ * @param points        the number of curve points shocked in each scenario
+ * @param elapsedMillis the duration of the run
+ */
+public record ScenarioRunStats(int scenarios, int points, long elapsedMillis) {
+}
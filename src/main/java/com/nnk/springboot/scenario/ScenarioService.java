@@ -0,0 +1,142 @@
+package com.nnk.springboot.scenario;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.ScenarioSet;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.repositories.ScenarioSetRepository;
+import com.nnk.springboot.security.CurrentUser;
+import com.nnk.springboot.service.CurveService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stores scenario definitions and runs them against the curves of {@link CurveService}.
+ *
+ * <p>A definition is stored once under its name and may be run any number of times; each run
+ * shocks the curve points as they are when it starts.
+ */
+@Slf4j
+@Service
+public class ScenarioService {
+
+    private static final TypeReference<List<ShockAxis>> AXES = new TypeReference<>() { };
+
+    private final ScenarioSetRepository scenarioSetRepository;
+    private final CurveService curveService;
+    private final ObjectMapper objectMapper;
+    private final ScenarioEngine engine;
+
+    /**
+     * Constructs a new instance of {@link ScenarioService}.
+     *
+     * @param scenarioSetRepository the repository storing the scenario definitions
+     * @param curveService          the service reading the base curves
+     * @param objectMapper          the mapper storing the shocks of a definition as JSON
+     * @param parallelism           the number of threads valuing scenarios, {@code 0} for one per core
+     * @param chunkSize             the number of scenarios valued and streamed together
+     * @param maxScenarios          the maximum number of scenarios of a definition
+     */
+    public ScenarioService(ScenarioSetRepository scenarioSetRepository, CurveService curveService,
+                           ObjectMapper objectMapper,
+                           @Value("${scenario.parallelism:0}") int parallelism,
+                           @Value("${scenario.chunk-size:64}") int chunkSize,
+                           @Value("${scenario.max-scenarios:100000}") int maxScenarios) {
+        this.scenarioSetRepository = scenarioSetRepository;
+        this.curveService = curveService;
+        this.objectMapper = objectMapper;
+        this.engine = new ScenarioEngine(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                chunkSize, maxScenarios);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        engine.close();
+    }
+
+    /**
+     * Stores a scenario definition, replacing the one of the same name.
+     *
+     * @param definition the definition
+     * @return the stored definition
+     * @throws IllegalArgumentException if the definition has more scenarios than allowed
+     */
+    public ScenarioDefinition save(ScenarioDefinition definition) {
+        if (definition.scenarioCount() > engine.maxScenarios()) {
+            throw new IllegalArgumentException("Scenario definition " + definition.name() + " has "
+                    + definition.scenarioCount() + " scenarios, more than the " + engine.maxScenarios() + " allowed");
+        }
+        ScenarioSet scenarioSet = new ScenarioSet();
+        scenarioSet.setName(definition.name());
+        try {
+            scenarioSet.setAxes(objectMapper.writeValueAsString(definition.axes()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid scenario definition", e);
+        }
+        scenarioSet.setUpdatedBy(CurrentUser.name());
+        scenarioSet.setUpdatedAt(LocalDateTime.now());
+        scenarioSetRepository.save(scenarioSet);
+        log.info("Scenario definition {} saved with {} scenarios", definition.name(), definition.scenarioCount());
+        return definition;
+    }
+
+    /**
+     * @param name the name of a definition
+     * @return the definition
+     * @throws EntityNotFoundException if no definition has that name
+     */
+    public ScenarioDefinition get(String name) {
+        return scenarioSetRepository.findById(name).map(this::toDefinition)
+                .orElseThrow(() -> new EntityNotFoundException("Scenario definition not found: " + name));
+    }
+
+    /**
+     * @return the stored definitions, by name
+     */
+    public List<ScenarioDefinition> getAll() {
+        return scenarioSetRepository.findAllByOrderByNameAsc().stream().map(this::toDefinition).toList();
+    }
+
+    /**
+     * Deletes a definition.
+     *
+     * @param name the name of the definition
+     * @throws EntityNotFoundException if no definition has that name
+     */
+    public void delete(String name) {
+        if (!scenarioSetRepository.existsById(name)) {
+            throw new EntityNotFoundException("Scenario definition not found: " + name);
+        }
+        scenarioSetRepository.deleteById(name);
+    }
+
+    /**
+     * Values a portfolio under every scenario of a stored definition, applied to the current curves.
+     *
+     * @param definition the scenarios
+     * @param valuation  the valuation of the portfolio
+     * @param sink       receives the values as they are computed
+     * @return the size and duration of the run
+     */
+    public ScenarioRunStats run(ScenarioDefinition definition, CurveValuation valuation, ScenarioSink sink) {
+        CurveSet base = CurveSet.of(curveService.getAllCurvePoint());
+        ScenarioRunStats stats = engine.run(base, definition, valuation, sink);
+        log.info("Scenario definition {} run: {} scenarios of {} points in {} ms",
+                definition.name(), stats.scenarios(), stats.points(), stats.elapsedMillis());
+        return stats;
+    }
+
+    private ScenarioDefinition toDefinition(ScenarioSet scenarioSet) {
+        try {
+            return new ScenarioDefinition(scenarioSet.getName(), objectMapper.readValue(scenarioSet.getAxes(), AXES));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable scenario definition " + scenarioSet.getName(), e);
+        }
+    }
+}
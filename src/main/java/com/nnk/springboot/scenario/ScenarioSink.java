@@ -0,0 +1,16 @@
+package com.nnk.springboot.scenario;
+
+/**
+ * Receives the values of scenarios as they are computed, a chunk of consecutive scenarios at a
+ * time. Chunks arrive in completion order, one call at a time.
+ */
+@FunctionalInterface
+public interface ScenarioSink {
+
+    /**
+     * @param firstScenario the index of the first scenario of the chunk
+     * @param values        the values of the scenarios, reused once the call returns
+     * @param count         the number of scenarios in the chunk
+     */
+    void accept(int firstScenario, double[] values, int count);
+}
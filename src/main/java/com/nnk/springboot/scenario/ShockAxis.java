@@ -0,0 +1,33 @@
+package com.nnk.springboot.scenario;
+
+/**
+ * A shock applied at evenly spaced amplitudes, e.g. parallel shifts from {@code -2.0} to {@code 2.0}
+ * in 41 steps.
+ *
+ * @param shape the shape of the shock
+ * @param from  the first amplitude
+ * @param to    the last amplitude
+ * @param steps the number of amplitudes, at least 1; a single step applies {@code from}
+ */
+public record ShockAxis(ShockShape shape, double from, double to, int steps) {
+
+    public ShockAxis {
+        if (shape == null) {
+            throw new IllegalArgumentException("A shock needs a shape");
+        }
+        if (steps < 1) {
+            throw new IllegalArgumentException("A shock needs at least one step");
+        }
+        if (!Double.isFinite(from) || !Double.isFinite(to)) {
+            throw new IllegalArgumentException("Shock amplitudes must be finite");
+        }
+    }
+
+    /**
+     * @param step the step, from {@code 0} to {@code steps - 1}
+     * @return the amplitude of the step
+     */
+    public double amplitude(int step) {
+        return steps == 1 ? from : from + (to - from) * step / (steps - 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.nnk.springboot.scenario;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * The shape of a curve shock: the shift of a point of given term per unit of shock amplitude.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ShockShape.Parallel.class, name = "parallel"),
+        @JsonSubTypes.Type(value = ShockShape.Twist.class, name = "twist"),
+        @JsonSubTypes.Type(value = ShockShape.KeyRate.class, name = "keyRate")
+})
+public sealed interface ShockShape {
+
+    /**
+     * @param term the term of a curve point
+     * @return the shift of the point per unit of amplitude
+     */
+    double weight(double term);
+
+    /**
+     * Shifts every point by the amplitude.
+     */
+    record Parallel() implements ShockShape {
+
+        @Override
+        public double weight(double term) {
+            return 1.0;
+        }
+    }
+
+    /**
+     * Rotates the curves around a pivot term: the amplitude is the shift per unit of term
+     * beyond the pivot, negative before it.
+     *
+     * @param pivotTerm the term left unchanged
+     */
+    record Twist(double pivotTerm) implements ShockShape {
+
+        @Override
+        public double weight(double term) {
+            return term - pivotTerm;
+        }
+    }
+
+    /**
+     * Bumps the points around a key term: by the full amplitude at the key term, decreasing
+     * linearly to nothing at the neighbouring key terms.
+     *
+     * @param keyTerm   the bumped term
+     * @param lowerTerm the previous key term, below which points are not shifted
+     * @param upperTerm the next key term, above which points are not shifted
+     */
+    record KeyRate(double keyTerm, double lowerTerm, double upperTerm) implements ShockShape {
+
+        public KeyRate {
+            if (!(lowerTerm < keyTerm && keyTerm < upperTerm)) {
+                throw new IllegalArgumentException("Key rate term " + keyTerm + " must lie between "
+                        + lowerTerm + " and " + upperTerm);
+            }
+        }
+
+        @Override
+        public double weight(double term) {
+            if (term <= lowerTerm || term >= upperTerm) {
+                return 0.0;
+            }
+            return term <= keyTerm ? (term - lowerTerm) / (keyTerm - lowerTerm) : (upperTerm - term) / (upperTerm - keyTerm);
+        }
+    }
+}
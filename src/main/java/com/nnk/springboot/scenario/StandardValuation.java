@@ -0,0 +1,61 @@
+package com.nnk.springboot.scenario;
+
+import java.util.Arrays;
+
+/**
+ * The valuations available to scenario runs requested over HTTP.
+ */
+public enum StandardValuation implements CurveValuation {
+
+    /**
+     * A unit zero-coupon bond at every point, discounted continuously at the point's value read
+     * as a rate in percent.
+     */
+    PRESENT_VALUE("presentValue") {
+        @Override
+        public double value(CurveSet curves, double[] values) {
+            double sum = 0.0;
+            for (int point = 0; point < values.length; point++) {
+                sum += Math.exp(-values[point] / 100.0 * curves.terms[point]);
+            }
+            return sum;
+        }
+    },
+
+    /**
+     * The mean value of the points.
+     */
+    AVERAGE_VALUE("averageValue") {
+        @Override
+        public double value(CurveSet curves, double[] values) {
+            double sum = 0.0;
+            for (double value : values) {
+                sum += value;
+            }
+            return values.length == 0 ? 0.0 : sum / values.length;
+        }
+    };
+
+    private final String parameter;
+
+    StandardValuation(String parameter) {
+        this.parameter = parameter;
+    }
+
+    /**
+     * @return the name of the valuation in request parameters
+     */
+    public String parameter() {
+        return parameter;
+    }
+
+    /**
+     * @param parameter the name of a valuation in request parameters
+     * @return the valuation of that name
+     * @throws IllegalArgumentException if no valuation has that name
+     */
+    public static StandardValuation fromParameter(String parameter) {
+        return Arrays.stream(values()).filter(valuation -> valuation.parameter.equals(parameter)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown valuation " + parameter));
+    }
+}
@@ -0,0 +1,97 @@
+package com.nnk.springboot.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Sorted, duplicate-free set of document IDs sharing a token, backed by a primitive array.
+ */
+final class PostingList {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    /**
+     * Adds a document ID, appending in constant time when IDs arrive in ascending order.
+     */
+    void add(int id) {
+        if (size == 0 || id > ids[size - 1]) {
+            ensureCapacity(size + 1);
+            ids[size++] = id;
+            return;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertion = -position - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+        ids[insertion] = id;
+        size++;
+    }
+
+    /**
+     * Merges an ascending run of document IDs in a single pass.
+     *
+     * @param sorted the IDs to add, ascending
+     * @param count  the number of IDs to read from {@code sorted}
+     */
+    void addAll(int[] sorted, int count) {
+        if (size == 0 || sorted[0] > ids[size - 1]) {
+            ensureCapacity(size + count);
+            System.arraycopy(sorted, 0, ids, size, count);
+            size += count;
+            return;
+        }
+        int[] merged = new int[Math.max(size + count, ids.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < size || j < count) {
+            int next;
+            if (j == count || (i < size && ids[i] <= sorted[j])) {
+                next = ids[i++];
+                if (j < count && sorted[j] == next) {
+                    j++;
+                }
+            } else {
+                next = sorted[j++];
+            }
+            merged[k++] = next;
+        }
+        ids = merged;
+        size = k;
+    }
+
+    /**
+     * Removes a document ID.
+     *
+     * @return {@code true} if the list is now empty
+     */
+    boolean remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+        return size == 0;
+    }
+
+    /**
+     * Sets the bit of every document ID of this list.
+     */
+    void addTo(BitSet bits) {
+        for (int i = 0; i < size; i++) {
+            bits.set(ids[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(capacity, ids.length + (ids.length >> 1)));
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.nnk.springboot.search;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.RemoteChange;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps searchable in-memory indexes of the trades and bid lists.
+ *
+ * <p>The indexes are built at startup by scanning the tables in ID ranges on several
+ * threads, then maintained from the change events published by {@code TradeService} and
+ * {@code BidListService}, and from the {@link RemoteChange}s of the rows written by other
+ * instances. Searches only touch the database to load the matching rows.
+ */
+@Slf4j
+@Service
+public class SearchIndexService {
+
+    static final List<String> FIELDS = List.of("account", "security", "trader", "book", "dealName", "benchmark");
+    // the indexed columns written by the updates, the only ones an update event carries
+    static final List<String> TRADE_UPDATED_FIELDS = List.of("account");
+    static final List<String> BID_UPDATED_FIELDS = List.of("account", "security");
+
+    private final TradeRepository tradeRepository;
+    private final BidListRepository bidListRepository;
+    private final int buildThreads;
+    private final int chunkSize;
+    private final int maxResults;
+    private volatile TextIndex tradeIndex = new TextIndex(FIELDS);
+    private volatile TextIndex bidIndex = new TextIndex(FIELDS);
+    private final Set<Integer> tradesChangedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> bidsChangedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+
+    /**
+     * Constructs a new instance of {@link SearchIndexService}.
+     *
+     * @param tradeRepository   the repository for accessing trade data
+     * @param bidListRepository the repository for accessing bid list data
+     * @param buildThreads      the number of threads scanning the tables at startup
+     * @param chunkSize         the number of IDs read by each range query at startup
+     * @param maxResults        the maximum number of rows returned by a search
+     */
+    public SearchIndexService(TradeRepository tradeRepository, BidListRepository bidListRepository,
+                              @Value("${search.index.build-threads:4}") int buildThreads,
+                              @Value("${search.index.chunk-size:5000}") int chunkSize,
+                              @Value("${search.max-results:500}") int maxResults) {
+        this.tradeRepository = tradeRepository;
+        this.bidListRepository = bidListRepository;
+        this.buildThreads = buildThreads;
+        this.chunkSize = chunkSize;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Builds both indexes from the database once the application has started, and again when
+     * another instance changed rows it could not identify.
+     *
+     * <p>The new indexes are built on the side while the current ones keep serving searches.
+     * Rows written while the build runs are indexed from their change events, skipped by the scan
+     * so a stale read cannot overwrite them, and read again once the new indexes are in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void buildIndexes() throws InterruptedException {
+        building = true;
+        TextIndex trades = new TextIndex(FIELDS);
+        TextIndex bids = new TextIndex(FIELDS);
+        ExecutorService executor = Executors.newFixedThreadPool(buildThreads);
+        try {
+            long start = System.nanoTime();
+            int maxTradeId = tradeRepository.findTopByOrderByTradeIdDesc().map(Trade::getTradeId).orElse(0);
+            int maxBidId = bidListRepository.findTopByOrderByIdDesc().map(bid -> bid.getId().intValue()).orElse(0);
+            List<Future<?>> scans = new ArrayList<>();
+            scans.addAll(scan(executor, trades, maxTradeId,
+                    (from, to) -> tradeRepository.findByTradeIdBetweenOrderByTradeIdAsc(from, to),
+                    Trade::getTradeId, SearchIndexService::tradeValues, tradesChangedDuringBuild));
+            scans.addAll(scan(executor, bids, maxBidId,
+                    (from, to) -> bidListRepository.findByIdRange(from, to),
+                    bid -> bid.getId().intValue(), SearchIndexService::bidValues, bidsChangedDuringBuild));
+            for (Future<?> scan : scans) {
+                scan.get();
+            }
+            // swapped while changes are still noted, so those applied to the old indexes are read again
+            tradeIndex = trades;
+            bidIndex = bids;
+            log.info("Search indexes built in {} ms: {} trades, {} bids",
+                    (System.nanoTime() - start) / 1_000_000, trades.size(), bids.size());
+        } catch (ExecutionException e) {
+            log.error("Failed to build the search indexes", e.getCause());
+        } finally {
+            executor.shutdown();
+            building = false;
+        }
+        for (Integer id : List.copyOf(tradesChangedDuringBuild)) {
+            reload(() -> tradeIndex, tradesChangedDuringBuild, id, tradeRepository::findById,
+                    SearchIndexService::tradeValues);
+        }
+        for (Integer id : List.copyOf(bidsChangedDuringBuild)) {
+            reload(() -> bidIndex, bidsChangedDuringBuild, id, bidListRepository::findById,
+                    SearchIndexService::bidValues);
+        }
+        tradesChangedDuringBuild.clear();
+        bidsChangedDuringBuild.clear();
+    }
+
+    private interface RangeQuery<T> {
+        List<T> find(int from, int to);
+    }
+
+    private <T> List<Future<?>> scan(ExecutorService executor, TextIndex index, int maxId, RangeQuery<T> query,
+                                     ToIntFunction<T> id, Function<T, Map<String, String>> values,
+                                     Set<Integer> changedDuringBuild) {
+        List<Future<?>> scans = new ArrayList<>();
+        for (int from = 0; from <= maxId; from += chunkSize) {
+            int rangeStart = from;
+            int rangeEnd = Math.min(from + chunkSize - 1, maxId);
+            scans.add(executor.submit(() -> {
+                List<TextIndex.Document> documents = new ArrayList<>();
+                for (T row : query.find(rangeStart, rangeEnd)) {
+                    int rowId = id.applyAsInt(row);
+                    if (!changedDuringBuild.contains(rowId)) {
+                        documents.add(index.document(rowId, values.apply(row)));
+                    }
+                }
+                index.putAll(documents);
+            }));
+        }
+        return scans;
+    }
+
+    /**
+     * Keeps the trade index in line with committed trade writes.
+     *
+     * @param event the trade change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeChanged(DomainEvent<Trade> event) {
+        apply(() -> tradeIndex, tradesChangedDuringBuild, event, SearchIndexService::tradeValues,
+                TRADE_UPDATED_FIELDS);
+    }
+
+    /**
+     * Keeps the bid index in line with committed bid list writes.
+     *
+     * @param event the bid list change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidListChanged(DomainEvent<BidList> event) {
+        apply(() -> bidIndex, bidsChangedDuringBuild, event, SearchIndexService::bidValues,
+                BID_UPDATED_FIELDS);
+    }
+
+    // the index is read once the change is noted, so a change missing the swap is read again
+    private <T> void apply(Supplier<TextIndex> current, Set<Integer> changedDuringBuild, DomainEvent<T> event,
+                           Function<T, Map<String, String>> values, List<String> updatedFields) {
+        if (event.id() == null) {
+            return;
+        }
+        int id = ((Number) event.id()).intValue();
+        if (building) {
+            changedDuringBuild.add(id);
+        }
+        TextIndex index = current.get();
+        if (event.changeType() == ChangeType.DELETED) {
+            index.remove(id);
+        } else if (event.changeType() == ChangeType.UPDATED) {
+            Map<String, String> all = values.apply(event.entity());
+            Map<String, String> updated = new HashMap<>();
+            for (String field : updatedFields) {
+                updated.put(field, all.get(field));
+            }
+            index.update(id, updated);
+        } else {
+            index.put(index.document(id, values.apply(event.entity())));
+        }
+    }
+
+    /**
+     * Indexes again the trade or bid list changed by another instance, as read from the database,
+     * or rebuilds both indexes if its ID is unknown.
+     *
+     * @param change the remote change
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChange change) throws InterruptedException {
+        if (change.entityType() != Trade.class && change.entityType() != BidList.class) {
+            return;
+        }
+        if (change.id() == null) {
+            buildIndexes();
+        } else if (change.entityType() == Trade.class) {
+            reload(() -> tradeIndex, tradesChangedDuringBuild, Integer.parseInt(change.id()),
+                    tradeRepository::findById, SearchIndexService::tradeValues);
+        } else {
+            reload(() -> bidIndex, bidsChangedDuringBuild, Integer.parseInt(change.id()),
+                    bidListRepository::findById, SearchIndexService::bidValues);
+        }
+    }
+
+    private <T> void reload(Supplier<TextIndex> current, Set<Integer> changedDuringBuild, int id,
+                            Function<Integer, Optional<T>> finder, Function<T, Map<String, String>> values) {
+        if (building) {
+            changedDuringBuild.add(id);
+        }
+        TextIndex index = current.get();
+        finder.apply(id).ifPresentOrElse(row -> index.put(index.document(id, values.apply(row))),
+                () -> index.remove(id));
+    }
+
+    /**
+     * Searches the trades.
+     *
+     * @param query the search terms, see {@link TextIndex#search(String, int)}
+     * @return the matching trades, ordered by ID
+     */
+    public List<Trade> searchTrades(String query) {
+        return load(tradeIndex.search(query, maxResults), ids -> tradeRepository.findAllById(ids),
+                Comparator.comparingInt(Trade::getTradeId));
+    }
+
+    /**
+     * Searches the bid lists.
+     *
+     * @param query the search terms, see {@link TextIndex#search(String, int)}
+     * @return the matching bid lists, ordered by ID
+     */
+    public List<BidList> searchBids(String query) {
+        return load(bidIndex.search(query, maxResults), ids -> bidListRepository.findAllById(ids),
+                Comparator.comparingInt(bid -> bid.getId().intValue()));
+    }
+
+    private static <T> List<T> load(int[] ids, Function<List<Integer>, List<T>> finder, Comparator<T> order) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<T> rows = new ArrayList<>(finder.apply(Arrays.stream(ids).boxed().toList()));
+        rows.sort(order);
+        return rows;
+    }
+
+    /**
+     * @return the number of indexed trades
+     */
+    public int getIndexedTradeCount() {
+        return tradeIndex.size();
+    }
+
+    /**
+     * @return the number of indexed bid lists
+     */
+    public int getIndexedBidCount() {
+        return bidIndex.size();
+    }
+
+    private static Map<String, String> tradeValues(Trade trade) {
+        Map<String, String> values = new HashMap<>();
+        values.put("account", trade.getAccount());
+        values.put("security", trade.getSecurity());
+        values.put("trader", trade.getTrader());
+        values.put("book", trade.getBook());
+        values.put("dealName", trade.getDealName());
+        values.put("benchmark", trade.getBenchmark());
+        return values;
+    }
+
+    private static Map<String, String> bidValues(BidList bidList) {
+        Map<String, String> values = new HashMap<>();
+        values.put("account", bidList.getAccount());
+        values.put("security", bidList.getSecurity());
+        values.put("trader", bidList.getTrader());
+        values.put("book", bidList.getBook());
+        values.put("dealName", bidList.getDealName());
+        values.put("benchmark", bidList.getBenchmark());
+        return values;
+    }
+}
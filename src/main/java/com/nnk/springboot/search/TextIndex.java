@@ -0,0 +1,285 @@
+package com.nnk.springboot.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the text fields of documents identified by an {@code int}.
+ *
+ * <p>Field values are split into lower-case alphanumeric tokens, each mapped to the sorted
+ * list of documents containing it. Tokens are kept in a sorted map, so a query term matches
+ * every token it prefixes with a single range lookup. A query such as {@code "jpm book:fx"}
+ * returns the documents matching all of its terms; a term prefixed by a field name only
+ * matches that field.
+ */
+public class TextIndex {
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char FIELD_SEPARATOR = ':';
+
+    /**
+     * A document reduced to its index keys, prepared outside of the index lock.
+     *
+     * @param id   the document ID
+     * @param keys the document's {@code field:token} keys
+     */
+    public record Document(int id, String[] keys) {
+    }
+
+    private final List<String> fields;
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Integer, String[]> keysById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructs a new instance of {@link TextIndex}.
+     *
+     * @param fields the names of the indexed fields
+     */
+    public TextIndex(List<String> fields) {
+        this.fields = List.copyOf(fields);
+    }
+
+    /**
+     * Tokenizes a document's field values.
+     *
+     * @param id     the document ID
+     * @param values the field values by field name; unknown fields and {@code null} values are ignored
+     * @return the document ready to be indexed
+     */
+    public Document document(int id, Map<String, String> values) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String field : fields) {
+            for (String token : tokenize(values.get(field))) {
+                keys.add(field + FIELD_SEPARATOR + token);
+            }
+        }
+        return new Document(id, keys.toArray(String[]::new));
+    }
+
+    /**
+     * Indexes a document, replacing any previous version of it.
+     *
+     * @param document the document to index
+     */
+    public void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            unindex(document.id());
+            for (String key : document.keys()) {
+                postings.computeIfAbsent(key, k -> new PostingList()).add(document.id());
+            }
+            keysById.put(document.id(), document.keys());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes some fields of a document, keeping the tokens of its other fields.
+     *
+     * @param id     the document ID
+     * @param values the new values of the re-indexed fields by field name; a {@code null} value clears
+     *               the field, fields absent from the map keep their tokens
+     */
+    public void update(int id, Map<String, String> values) {
+        Document changed = document(id, values);
+        lock.writeLock().lock();
+        try {
+            Set<String> keys = new LinkedHashSet<>();
+            for (String key : keysById.getOrDefault(id, new String[0])) {
+                String field = key.substring(0, key.indexOf(FIELD_SEPARATOR));
+                if (!values.containsKey(field)) {
+                    keys.add(key);
+                }
+            }
+            keys.addAll(Arrays.asList(changed.keys()));
+            unindex(id);
+            for (String key : keys) {
+                postings.computeIfAbsent(key, k -> new PostingList()).add(id);
+            }
+            keysById.put(id, keys.toArray(String[]::new));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a batch of documents not indexed yet, merging each token's IDs in one pass.
+     *
+     * @param documents the documents to index, ascending by ID
+     */
+    public void putAll(List<Document> documents) {
+        Map<String, int[]> idsByKey = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        for (Document document : documents) {
+            for (String key : document.keys()) {
+                int count = counts.merge(key, 1, Integer::sum);
+                int[] ids = idsByKey.computeIfAbsent(key, k -> new int[8]);
+                if (count > ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                    idsByKey.put(key, ids);
+                }
+                ids[count - 1] = document.id();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, int[]> entry : idsByKey.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new PostingList())
+                        .addAll(entry.getValue(), counts.get(entry.getKey()));
+            }
+            for (Document document : documents) {
+                keysById.put(document.id(), document.keys());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document from the index.
+     *
+     * @param id the document ID
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents matching every term of a query.
+     *
+     * @param query the whitespace-separated terms, each optionally prefixed by {@code field:}
+     * @param limit the maximum number of IDs to return
+     * @return the matching document IDs, ascending
+     */
+    public int[] search(String query, int limit) {
+        List<String[]> terms = parse(query);
+        if (terms.isEmpty()) {
+            return new int[0];
+        }
+        BitSet result = null;
+        lock.readLock().lock();
+        try {
+            for (String[] term : terms) {
+                BitSet matches = new BitSet();
+                for (String field : term[0] == null ? fields : List.of(term[0])) {
+                    String from = field + FIELD_SEPARATOR + term[1];
+                    for (PostingList list : postings.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+                        list.addTo(matches);
+                    }
+                }
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.and(matches);
+                }
+                if (result.isEmpty()) {
+                    return new int[0];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result.stream().limit(limit).toArray();
+    }
+
+    /**
+     * @return the number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keysById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of distinct {@code field:token} keys
+     */
+    public int keyCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every document from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            keysById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(int id) {
+        String[] keys = keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            PostingList list = postings.get(key);
+            if (list != null && list.remove(id)) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private List<String[]> parse(String query) {
+        List<String[]> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            String field = null;
+            int separator = word.indexOf(FIELD_SEPARATOR);
+            if (separator > 0 && fields.contains(word.substring(0, separator))) {
+                field = word.substring(0, separator);
+                word = word.substring(separator + 1);
+            }
+            for (String token : tokenize(word)) {
+                terms.add(new String[] {field, token});
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> tokenize(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(value.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,32 @@
+package com.nnk.springboot.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Name of the user on whose behalf the current thread is working, as recorded in audit columns
+ * and change events.
+ */
+public final class CurrentUser {
+
+    /**
+     * The name recorded for changes made outside any user request, such as at startup.
+     */
+    public static final String SYSTEM = "system";
+
+    private CurrentUser() {
+    }
+
+    /**
+     * @return the name of the authenticated user of the current thread, or {@link #SYSTEM} if none
+     */
+    public static String name() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return SYSTEM;
+        }
+        return authentication.getName();
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.client.web.HttpSessionOAuth2AuthorizedClientRepository;
 
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -68,6 +69,8 @@ public class SecurityConfig {
                 // (4) Configure OAuth2 login
                 .oauth2Login(oauth2 -> oauth2
                         .loginPage("/login") // Ajoute une option pour se connecter avec GitHub
+                        // keep the authorized client in the shared session rather than in this instance's memory
+                        .authorizedClientRepository(new HttpSessionOAuth2AuthorizedClientRepository())
                         .successHandler(successHandler)
                 )
                 // Configure HTTP Basic authentication (optional)
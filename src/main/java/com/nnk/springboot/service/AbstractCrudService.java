@@ -0,0 +1,266 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventBus;
+import com.nnk.springboot.exception.EntityDeleteException;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.repositories.BaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Write operations shared by the entity services, each costing as few statements as possible.
+ * <p>
+ * No write checks for existence beforehand: deletes and conditional updates report the number of
+ * rows they touched, and only a write touching no row pays for a follow-up lookup when the
+ * caller needs to tell a missing row from a stale version.
+ * <p>
+ * When a {@link DomainEventBus} consumer asks for before images of the entity, updates and
+ * deletes first read the row, then write it on condition that its version is still the one read,
+ * so the before image published with the change is exactly the row it replaced.
+ *
+ * @param <T>  the entity type
+ * @param <ID> the ID type
+ */
+@Slf4j
+public abstract class AbstractCrudService<T, ID> {
+
+    private static final int MAX_BEFORE_IMAGE_ATTEMPTS = 3;
+
+    protected final BaseRepository<T, ID> repository;
+    protected final ApplicationEventPublisher eventPublisher;
+    private final DomainEventBus eventBus;
+    private final Class<T> entityType;
+    private final Function<T, ?> idOf;
+    private final Function<T, Long> versionOf;
+    private final String name;
+
+    /**
+     * Constructs a new instance of {@link AbstractCrudService}.
+     *
+     * @param repository     the repository of the entity
+     * @param eventPublisher the publisher notifying listeners of entity changes
+     * @param eventBus       the bus telling whether before images are needed, or {@code null} if never
+     * @param entityType     the entity class
+     * @param idOf           the function reading the ID of an entity, as published in its events
+     * @param versionOf      the function reading the version of an entity
+     * @param name           the lower-case name of the entity used in error messages, e.g. {@code "trade"}
+     */
+    protected AbstractCrudService(BaseRepository<T, ID> repository, ApplicationEventPublisher eventPublisher,
+                                  DomainEventBus eventBus, Class<T> entityType, Function<T, ?> idOf,
+                                  Function<T, Long> versionOf, String name) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.eventBus = eventBus;
+        this.entityType = entityType;
+        this.idOf = idOf;
+        this.versionOf = versionOf;
+        this.name = name;
+    }
+
+    /**
+     * Inserts a new entity with a single {@code INSERT}.
+     *
+     * @param entity the entity to insert
+     * @return the inserted entity, with its generated ID
+     * @throws EntitySaveException if inserting the entity fails
+     */
+    protected T create(T entity) {
+        try {
+            T saved = repository.save(entity);
+            log.info("{} {} created", name, idOf.apply(saved));
+            eventPublisher.publishEvent(DomainEvent.created(entityType, idOf.apply(saved), saved));
+            return saved;
+        } catch (DataAccessException e) {
+            log.error("Failed to create {}", name, e);
+            throw new EntitySaveException("Failed to create " + name + ".", e);
+        }
+    }
+
+    /**
+     * Inserts new entities in one transaction, one {@code INSERT} each.
+     *
+     * @param entities the entities to insert
+     * @return the inserted entities, with their generated IDs
+     * @throws EntitySaveException if inserting the entities fails; none is inserted then
+     */
+    protected List<T> createAll(List<T> entities) {
+        try {
+            List<T> saved = repository.saveAll(entities);
+            log.info("{} {}s created", saved.size(), name);
+            saved.forEach(entity -> eventPublisher.publishEvent(
+                    DomainEvent.created(entityType, idOf.apply(entity), entity)));
+            return saved;
+        } catch (DataAccessException e) {
+            log.error("Failed to create {} {}s", entities.size(), name, e);
+            throw new EntitySaveException("Failed to create " + name + "s.", e);
+        }
+    }
+
+    /**
+     * Runs a conditional {@code UPDATE ... WHERE id = ? AND version = ?} statement.
+     * <p>
+     * Only when the statement updates no row is the ID looked up, to tell a missing entity from a
+     * stale version. When before images are needed, the row is read first and the statement is
+     * conditioned on the version read; an update without version is retried on a fresh read if
+     * another writer got in between.
+     *
+     * @param id        the ID of the entity to update
+     * @param version   the version the update is based on, or {@code null} to update any version
+     * @param statement the update statement, given the version to condition on ({@code null} for
+     *                  none) and returning the number of updated rows
+     * @param written   the updated columns of the entity, published to the listeners
+     * @return {@code written}
+     * @throws EntityNotFoundException        if no entity is found with the given ID
+     * @throws EntityVersionConflictException if the entity was modified since the given version was read
+     * @throws EntitySaveException            if updating the entity fails
+     */
+    protected T update(ID id, Long version, ToIntFunction<Long> statement, T written) {
+        if (!needsBeforeImages()) {
+            if (execute(id, statement, version) == 0) {
+                throw missingOrConflict(id, version);
+            }
+            log.info("{} with ID {} updated successfully", name, id);
+            eventPublisher.publishEvent(DomainEvent.updated(entityType, id, written));
+            return written;
+        }
+        for (int attempt = 1; ; attempt++) {
+            T before = repository.findById(id).orElseThrow(() -> notFound(id));
+            Long readVersion = versionOf.apply(before);
+            if (version != null && !version.equals(readVersion)) {
+                throw conflict(id, version);
+            }
+            if (execute(id, statement, readVersion) > 0) {
+                log.info("{} with ID {} updated successfully", name, id);
+                eventPublisher.publishEvent(DomainEvent.updated(entityType, id, written, before));
+                return written;
+            }
+            if (version != null || attempt == MAX_BEFORE_IMAGE_ATTEMPTS) {
+                throw missingOrConflict(id, version);
+            }
+        }
+    }
+
+    private int execute(ID id, ToIntFunction<Long> statement, Long version) {
+        try {
+            return statement.applyAsInt(version);
+        } catch (DataAccessException e) {
+            log.error("Failed to update {} with ID {}", name, id, e);
+            throw new EntitySaveException("Failed to update " + name + " with ID " + id, e);
+        }
+    }
+
+    /**
+     * Deletes an entity with a single {@code DELETE ... WHERE id = ?}.
+     * <p>
+     * When before images are needed, the row is read first and deleted on condition that its
+     * version did not change, retrying on a fresh read otherwise.
+     *
+     * @param id the ID of the entity to delete
+     * @throws EntityNotFoundException        if no entity is found with the given ID
+     * @throws EntityVersionConflictException if the entity kept changing while being deleted
+     * @throws EntityDeleteException          if deleting the entity fails
+     */
+    public void deleteById(ID id) {
+        if (!needsBeforeImages()) {
+            if (delete(id, () -> repository.deleteByIdReturningCount(id)) == 0) {
+                log.error("{} with ID {} not found", name, id);
+                throw notFound(id);
+            }
+            log.info("{} with ID {} deleted successfully", name, id);
+            eventPublisher.publishEvent(DomainEvent.deleted(entityType, id));
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            T before = repository.findById(id).orElseThrow(() -> notFound(id));
+            if (delete(id, () -> repository.deleteByIdAndVersionReturningCount(id, versionOf.apply(before))) > 0) {
+                log.info("{} with ID {} deleted successfully", name, id);
+                eventPublisher.publishEvent(DomainEvent.deleted(entityType, id, before));
+                return;
+            }
+            if (attempt == MAX_BEFORE_IMAGE_ATTEMPTS) {
+                throw missingOrConflict(id, versionOf.apply(before));
+            }
+        }
+    }
+
+    private int delete(ID id, IntSupplier statement) {
+        try {
+            return statement.getAsInt();
+        } catch (DataAccessException e) {
+            log.error("Failed to delete {} with ID {}", name, id, e);
+            throw new EntityDeleteException("Failed to delete " + name + " with ID " + id, e);
+        }
+    }
+
+    /**
+     * Deletes entities with a single {@code DELETE ... WHERE id IN (...)}.
+     * <p>
+     * IDs matching no entity are skipped; a deletion event is still published for each of them.
+     * When before images are needed, the entities are deleted one by one like
+     * {@link #deleteById(Object)} instead, and events are only published for the deleted ones.
+     *
+     * @param ids the IDs of the entities to delete
+     * @return the number of deleted entities
+     * @throws EntityDeleteException if deleting the entities fails; none is deleted then
+     */
+    public int deleteAllById(Collection<ID> ids) {
+        if (needsBeforeImages()) {
+            int deleted = 0;
+            for (ID id : ids) {
+                try {
+                    deleteById(id);
+                    deleted++;
+                } catch (EntityNotFoundException e) {
+                    log.debug("{} with ID {} already deleted", name, id);
+                }
+            }
+            return deleted;
+        }
+        int deleted;
+        try {
+            deleted = repository.deleteAllByIdReturningCount(ids);
+        } catch (DataAccessException e) {
+            log.error("Failed to delete {} {}s", ids.size(), name, e);
+            throw new EntityDeleteException("Failed to delete " + name + "s " + ids, e);
+        }
+        log.info("{} of {} {}s deleted", deleted, ids.size(), name);
+        if (deleted > 0) {
+            ids.forEach(id -> eventPublisher.publishEvent(DomainEvent.deleted(entityType, id)));
+        }
+        return deleted;
+    }
+
+    private boolean needsBeforeImages() {
+        return eventBus != null && eventBus.needsBeforeImages(entityType);
+    }
+
+    private RuntimeException missingOrConflict(ID id, Long version) {
+        if (!repository.existsById(id)) {
+            return notFound(id);
+        }
+        log.warn("{} with ID {} was modified since version {}", name, id, version);
+        return conflict(id, version);
+    }
+
+    private EntityNotFoundException notFound(ID id) {
+        return new EntityNotFoundException(capitalizedName() + " not found with ID: " + id);
+    }
+
+    private EntityVersionConflictException conflict(ID id, Long version) {
+        return new EntityVersionConflictException(capitalizedName() + " with ID " + id + " was modified by another user");
+    }
+
+    private String capitalizedName() {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
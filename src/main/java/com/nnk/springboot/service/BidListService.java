@@ -2,21 +2,25 @@ package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.dto.BidDTO;
+import com.nnk.springboot.event.DomainEventBus;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.security.CurrentUser;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataAccessException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-public class BidListService {
+public class BidListService extends AbstractCrudService<BidList, Integer> {
 
     private final BidListRepository bidListRepository;
 
@@ -24,8 +28,13 @@ public class BidListService {
      * Constructs a new instance of {@link BidListService}.
      *
      * @param bidListRepository the repository for accessing bid list data
+     * @param eventPublisher    the publisher notifying listeners of bid list changes
+     * @param eventBus          the bus telling whether change events need before images
      */
-    public BidListService(BidListRepository bidListRepository) {
+    public BidListService(BidListRepository bidListRepository, ApplicationEventPublisher eventPublisher,
+                          DomainEventBus eventBus) {
+        super(bidListRepository, eventPublisher, eventBus,
+                BidList.class, BidList::getId, BidList::getVersion, "bid");
         this.bidListRepository = bidListRepository;
     }
 
@@ -40,9 +49,14 @@ public class BidListService {
 
          BidDTO dto=new BidDTO();
          dto.setId(bidList.getId());
+         dto.setVersion(bidList.getVersion());
          dto.setAccount(bidList.getAccount());
          dto.setBidQuantity(bidList.getBidQuantity());
          dto.setType(bidList.getType());
+         dto.setAskQuantity(bidList.getAskQuantity());
+         dto.setBid(bidList.getBid());
+         dto.setAsk(bidList.getAsk());
+         dto.setSecurity(bidList.getSecurity());
 
          return dto;
     }
@@ -94,6 +108,28 @@ public class BidListService {
         return convertToDTO(bidList);
     }
 
+    /**
+     * Retrieves a {@link BidList} entity by its ID.
+     *
+     * @param id the ID of the bid list to retrieve
+     * @return the retrieved {@link BidList}
+     * @throws IllegalArgumentException  if the ID is invalid
+     * @throws EntityNotFoundException   if no bid list is found with the given ID
+     */
+    public BidList getBidListById(int id) {
+        log.info("Fetching BidList with ID: {}", id);
+
+        if (id <= 0) {
+            log.error("Invalid ID.");
+            throw new IllegalArgumentException("ID must be a positive integer.");
+        }
+
+        return bidListRepository.findById(id)
+                .orElseThrow(() ->
+                        new EntityNotFoundException("Bid list with id " + id + " not found")
+                );
+    }
+
     /**
      * Saves a new bid list based on a {@link BidDTO}.
      *
@@ -114,25 +150,28 @@ public class BidListService {
         bidList.setAccount(bidDTO.getAccount());
         bidList.setType(bidDTO.getType());
         bidList.setBidQuantity(bidDTO.getBidQuantity());
-
-        try {
-            BidList savedBid = bidListRepository.save(bidList);
-            log.info("BidList added successfully, generated ID = {}", savedBid.getId());
-            return savedBid;
-        } catch (DataAccessException e) {
-            log.error("Failed to save bid", e);
-            throw new EntitySaveException("Failed to create bid.",e);
-        }
+        bidList.setAskQuantity(bidDTO.getAskQuantity());
+        bidList.setBid(bidDTO.getBid());
+        bidList.setAsk(bidDTO.getAsk());
+        bidList.setSecurity(bidDTO.getSecurity());
+        bidList.setCreationName(CurrentUser.name());
+        bidList.setCreationDate(LocalDateTime.now());
+
+        return create(bidList);
     }
 
     /**
      * Updates an existing bid list based on its ID and a {@link BidDTO}.
+     * <p>
+     * The update is a single conditional statement on the version read by the caller; a {@code null}
+     * version updates the row whatever its current version.
      *
      * @param id     the ID of the bid list to update
      * @param bidDTO the data transfer object containing updated bid list details
-     * @return the updated {@link BidList} entity
+     * @return the updated {@link BidList}, holding the written columns and the new version only
      * @throws IllegalArgumentException  if the {@link BidDTO} is null
      * @throws EntityNotFoundException   if no bid list is found with the given ID
+     * @throws EntityVersionConflictException  if the bid list was modified since the given version was read
      * @throws EntitySaveException       if updating the bid list fails
      */
     public BidList updateBidList(int id, BidDTO bidDTO) {
@@ -143,21 +182,24 @@ public class BidListService {
             throw new IllegalArgumentException("BidDTO cannot be null.");
         }
 
-        BidList existingBidList = bidListRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("BidList not found with Id: " +id));
+        checkStorable(id);
 
-        existingBidList.setAccount(bidDTO.getAccount());
-        existingBidList.setType(bidDTO.getType());
-        existingBidList.setBidQuantity(bidDTO.getBidQuantity());
-
-        try {
-            BidList savedBidList = bidListRepository.save(existingBidList);
-            log.info("BidList with ID {} updated successfully", savedBidList.getId());
-            return savedBidList;
-        } catch (DataAccessException e) {
-            log.error("Failed to update BidList with ID {}", id, e);
-            throw new EntitySaveException("Failed to update bid with ID " + id, e);
-        }
+        BidList bidList = new BidList();
+        bidList.setId((byte) id);
+        bidList.setVersion(bidDTO.getVersion() == null ? null : bidDTO.getVersion() + 1);
+        bidList.setAccount(bidDTO.getAccount());
+        bidList.setType(bidDTO.getType());
+        bidList.setBidQuantity(bidDTO.getBidQuantity());
+        bidList.setAskQuantity(bidDTO.getAskQuantity());
+        bidList.setBid(bidDTO.getBid());
+        bidList.setAsk(bidDTO.getAsk());
+        bidList.setSecurity(bidDTO.getSecurity());
+        bidList.setRevisionName(CurrentUser.name());
+        bidList.setRevisionDate(LocalDateTime.now());
+        return update(id, bidDTO.getVersion(), version -> bidListRepository.updateIfVersion(id, version,
+                bidDTO.getAccount(), bidDTO.getType(), bidDTO.getBidQuantity(), bidDTO.getAskQuantity(),
+                bidDTO.getBid(), bidDTO.getAsk(), bidDTO.getSecurity(), bidList.getRevisionName(),
+                bidList.getRevisionDate()), bidList);
     }
 
     /**
@@ -176,17 +218,17 @@ public class BidListService {
             throw new IllegalArgumentException("ID must be a positive integer.");
         }
 
-        if (!bidListRepository.existsById(id)) {
-            log.error("BidList with ID {} not found", id);
-            throw new EntityNotFoundException("BidList not found with ID: " + id);
-        }
+        checkStorable(id);
 
-        try {
-            bidListRepository.deleteById(id);
-            log.info("BidList with ID {} deleted successfully", id);
-        } catch (DataAccessException e) {
-            log.error("Failed to delete BidList with ID {}", id, e);
-            throw new EntityDeleteException("Failed to delete bid with ID " + id, e);
+        deleteById(id);
+    }
+
+    /**
+     * Rejects IDs the {@code tinyint} key column cannot hold, which no bid list can have.
+     */
+    private static void checkStorable(int id) {
+        if (id < Byte.MIN_VALUE || id > Byte.MAX_VALUE) {
+            throw new EntityNotFoundException("Bid not found with ID: " + id);
         }
     }
 }
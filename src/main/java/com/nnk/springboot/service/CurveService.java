@@ -2,12 +2,14 @@ package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.dto.CurveDTO;
+import com.nnk.springboot.event.DomainEventBus;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.repositories.CurvePointRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataAccessException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -16,7 +18,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-public class CurveService {
+public class CurveService extends AbstractCrudService<CurvePoint, Integer> {
 
     private final CurvePointRepository curvePointRepository;
 
@@ -24,8 +26,13 @@ public class CurveService {
      * Constructs a new instance of {@link CurveService}.
      *
      * @param curvePointRepository the repository for accessing curve point data
+     * @param eventPublisher       the publisher notifying listeners of curve point changes
+     * @param eventBus             the bus telling whether change events need before images
      */
-    public CurveService(CurvePointRepository curvePointRepository) {
+    public CurveService(CurvePointRepository curvePointRepository, ApplicationEventPublisher eventPublisher,
+                        DomainEventBus eventBus) {
+        super(curvePointRepository, eventPublisher, eventBus,
+                CurvePoint.class, CurvePoint::getId, CurvePoint::getVersion, "curve point");
         this.curvePointRepository = curvePointRepository;
     }
 
@@ -40,6 +47,7 @@ public class CurveService {
 
         CurveDTO curveDTO = new CurveDTO();
         curveDTO.setId(curvePoint.getId());
+        curveDTO.setVersion(curvePoint.getVersion());
         curveDTO.setCurveId(curvePoint.getCurveId());
         curveDTO.setTerm(curvePoint.getTerm());
         curveDTO.setValue(curvePoint.getValue());
@@ -114,25 +122,21 @@ public class CurveService {
         curvePoint.setValue(curveDTO.getValue());
         curvePoint.setCreationDate(LocalDateTime.now());
 
-        try {
-           CurvePoint saveCurve = curvePointRepository.save(curvePoint);
-            log.info("Added curve point {}", curvePoint);
-            return saveCurve;
-        } catch (DataAccessException e) {
-            log.error("Error while adding curve point {}", curvePoint, e);
-            throw new EntitySaveException("Failed to add curve point with ID " + curveDTO.getCurveId(), e);
-        }
-
+        return create(curvePoint);
     }
 
     /**
      * Updates an existing curve point based on its ID and a {@link CurveDTO}.
+     * <p>
+     * The update is a single conditional statement on the version read by the caller; a {@code null}
+     * version updates the row whatever its current version.
      *
      * @param id       the ID of the curve point to update
      * @param curveDTO the data transfer object containing updated curve point details
-     * @return the updated {@link CurvePoint} entity
+     * @return the updated {@link CurvePoint}, holding the written columns and the new version only
      * @throws IllegalArgumentException  if the {@link CurveDTO} is null
      * @throws EntityNotFoundException   if no curve point is found with the given ID
+     * @throws EntityVersionConflictException  if the curve point was modified since the given version was read
      * @throws EntitySaveException       if updating the curve point fails
      */
     public CurvePoint updateCurvePoint(int id, CurveDTO curveDTO) {
@@ -143,21 +147,14 @@ public class CurveService {
             throw new IllegalArgumentException("Curve DTO cannot be null.");
         }
 
-        CurvePoint curvePoint=curvePointRepository.findById(id).orElseThrow(()->
-                new EntityNotFoundException("Curve point with ID " + id + " not found"));
-
+        CurvePoint curvePoint = new CurvePoint();
+        curvePoint.setId((long) id);
+        curvePoint.setVersion(curveDTO.getVersion() == null ? null : curveDTO.getVersion() + 1);
         curvePoint.setTerm(curveDTO.getTerm());
         curvePoint.setCurveId(curveDTO.getCurveId());
         curvePoint.setValue(curveDTO.getValue());
-
-        try{
-          CurvePoint saveCurve=  curvePointRepository.save(curvePoint);
-            log.info("Updated curve point {}", curvePoint);
-            return saveCurve;
-        }catch (DataAccessException e) {
-            log.error("Error while updating curve point {}", curvePoint, e);
-            throw new EntitySaveException("Failed to update curve point with ID " + curveDTO.getCurveId(), e);
-        }
+        return update(id, curveDTO.getVersion(), version -> curvePointRepository.updateIfVersion((long) id,
+                version, curveDTO.getTerm(), curveDTO.getCurveId(), curveDTO.getValue()), curvePoint);
     }
 
     /**
@@ -176,18 +173,7 @@ public class CurveService {
             throw new IllegalArgumentException("ID must be a positive integer.");
         }
 
-        if (!curvePointRepository.existsById(id)) {
-            log.info("Curve point with ID {} not found",id);
-            throw new EntityNotFoundException("Curve point with ID {} not found",id);
-        }
-
-        try {
-            curvePointRepository.deleteById(id);
-            log.info("Deleted curve point {}", id);
-        }catch (Exception e) {
-            log.error("Error while deleting curve point {}", id, e);
-            throw new EntityDeleteException("Failed to delete curve point with ID " + id, e);
-        }
+        deleteById(id);
     }
 
 }
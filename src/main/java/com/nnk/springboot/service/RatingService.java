@@ -2,30 +2,58 @@ package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.dto.RatingDTO;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventBus;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.rating.RatingAgency;
+import com.nnk.springboot.rating.RatingScale;
 import com.nnk.springboot.repositories.RatingRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-public class RatingService {
+public class RatingService extends AbstractCrudService<Rating, Integer> {
 
     private final RatingRepository ratingRepository;
+    private final RatingScale ratingScale;
 
     /**
      * Constructs a new instance of {@link RatingService}.
      *
      * @param ratingRepository the repository for accessing rating data
+     * @param ratingScale      the scale mapping agency notations to numeric notches
+     * @param eventPublisher   the publisher notifying listeners of rating changes
+     * @param eventBus         the bus telling whether change events need before images
      */
-    public RatingService(RatingRepository ratingRepository) {
+    public RatingService(RatingRepository ratingRepository, RatingScale ratingScale,
+                         ApplicationEventPublisher eventPublisher, DomainEventBus eventBus) {
+        super(ratingRepository, eventPublisher, eventBus,
+                Rating.class, Rating::getId, Rating::getVersion, "rating");
         this.ratingRepository = ratingRepository;
+        this.ratingScale = ratingScale;
+    }
+
+    /**
+     * Computes the numeric notch of every agency notation of a {@link Rating}.
+     *
+     * @param rating the rating to update
+     */
+    void applyNotches(Rating rating) {
+        rating.setMoodysNotch(ratingScale.notch(RatingAgency.MOODYS, rating.getMoodysRating()));
+        rating.setSandPNotch(ratingScale.notch(RatingAgency.SANDP, rating.getSandPRating()));
+        rating.setFitchNotch(ratingScale.notch(RatingAgency.FITCH, rating.getFitchRating()));
     }
 
     /**
@@ -39,6 +67,7 @@ public class RatingService {
 
         RatingDTO dto = new RatingDTO();
         dto.setId(rating.getId());
+        dto.setVersion(rating.getVersion());
         dto.setMoodysRating(rating.getMoodysRating());
         dto.setSandPRating(rating.getSandPRating());
         dto.setFitchRating(rating.getFitchRating());
@@ -69,6 +98,65 @@ public class RatingService {
         return ratingRepository.findAll();
     }
 
+    /**
+     * Retrieves the ratings of an agency between two notations, best first.
+     *
+     * @param agency the agency whose notations bound the range
+     * @param from   one bound of the range, e.g. {@code BBB-}
+     * @param to     the other bound of the range, e.g. {@code A+}
+     * @return the ratings within the range, inclusive
+     * @throws IllegalArgumentException if a bound is not on the agency's scale
+     */
+    public List<Rating> getRatingsBetween(RatingAgency agency, String from, String to) {
+        log.info("Fetching {} ratings between {} and {}", agency, from, to);
+
+        Integer fromNotch = ratingScale.notch(agency, from);
+        Integer toNotch = ratingScale.notch(agency, to);
+        if (fromNotch == null || toNotch == null) {
+            log.error("Unknown {} notation in range {} - {}", agency, from, to);
+            throw new IllegalArgumentException("Unknown " + agency + " notation.");
+        }
+
+        int best = Math.min(fromNotch, toNotch);
+        int worst = Math.max(fromNotch, toNotch);
+        return switch (agency) {
+            case MOODYS -> ratingRepository.findByMoodysNotchBetweenOrderByMoodysNotchAsc(best, worst);
+            case SANDP -> ratingRepository.findBySandPNotchBetweenOrderBySandPNotchAsc(best, worst);
+            case FITCH -> ratingRepository.findByFitchNotchBetweenOrderByFitchNotchAsc(best, worst);
+        };
+    }
+
+    /**
+     * Computes the missing notches of ratings written before notches were stored.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillNotches() {
+        List<Rating> ratings = ratingRepository.findByMoodysNotchIsNullOrSandPNotchIsNullOrFitchNotchIsNull()
+                .stream()
+                .filter(rating -> {
+                    Rating before = new Rating();
+                    before.setMoodysNotch(rating.getMoodysNotch());
+                    before.setSandPNotch(rating.getSandPNotch());
+                    before.setFitchNotch(rating.getFitchNotch());
+                    applyNotches(rating);
+                    return !Objects.equals(before.getMoodysNotch(), rating.getMoodysNotch())
+                            || !Objects.equals(before.getSandPNotch(), rating.getSandPNotch())
+                            || !Objects.equals(before.getFitchNotch(), rating.getFitchNotch());
+                })
+                .collect(Collectors.toList());
+        if (ratings.isEmpty()) {
+            return;
+        }
+        try {
+            ratingRepository.saveAll(ratings);
+            log.info("Backfilled rating notches of {} ratings", ratings.size());
+            ratings.forEach(rating -> eventPublisher.publishEvent(
+                    DomainEvent.updated(Rating.class, rating.getId(), rating)));
+        } catch (DataAccessException e) {
+            log.error("Failed to backfill rating notches", e);
+        }
+    }
+
     /**
      * Retrieves a {@link RatingDTO} by its ID.
      *
@@ -113,26 +201,23 @@ public class RatingService {
         rating.setSandPRating(ratingDTO.getSandPRating());
         rating.setFitchRating(ratingDTO.getFitchRating());
         rating.setOrderNumber(ratingDTO.getOrderNumber());
+        applyNotches(rating);
 
-
-        try {
-            Rating saveRate= ratingRepository.save(rating);
-            log.info("Rating added successfully");
-            return saveRate;
-        } catch (DataAccessException e) {
-            log.error("Failed to save Rating", e);
-            throw new EntitySaveException("Failed to create rating.");
-        }
+        return create(rating);
     }
 
     /**
      * Updates an existing rating based on its ID and a {@link RatingDTO}.
+     * <p>
+     * The update is a single conditional statement on the version read by the caller; a {@code null}
+     * version updates the row whatever its current version.
      *
      * @param id        the ID of the rating to update
      * @param ratingDTO the data transfer object containing updated rating details
-     * @return the updated {@link Rating} entity
+     * @return the updated {@link Rating}, holding the written columns and the new version only
      * @throws IllegalArgumentException  if the {@link RatingDTO} is null
      * @throws EntityNotFoundException   if no rating is found with the given ID
+     * @throws EntityVersionConflictException  if the rating was modified since the given version was read
      * @throws EntitySaveException       if updating the rating fails
      */
     public Rating updateRating(int id, RatingDTO ratingDTO) {
@@ -143,23 +228,18 @@ public class RatingService {
             throw new IllegalArgumentException("BidDTO cannot be null.");
         }
 
-        Rating rating = ratingRepository.findById(id)
-                .orElseThrow(() ->
-                        new EntityNotFoundException("Rate not found with Id: " +id));
-
+        Rating rating = new Rating();
+        rating.setId(id);
         rating.setMoodysRating(ratingDTO.getMoodysRating());
         rating.setSandPRating(ratingDTO.getSandPRating());
         rating.setFitchRating(ratingDTO.getFitchRating());
         rating.setOrderNumber(ratingDTO.getOrderNumber());
+        applyNotches(rating);
 
-        try {
-            Rating saveRate=ratingRepository.save(rating);
-            log.info("Rating with ID {} updated successfully", id);
-            return saveRate;
-        } catch (DataAccessException e) {
-            log.error("Failed to update rating with ID {}", id, e);
-            throw new EntitySaveException("Failed to update rating with ID " + id, e);
-        }
+        rating.setVersion(ratingDTO.getVersion() == null ? null : ratingDTO.getVersion() + 1);
+        return update(id, ratingDTO.getVersion(), version -> ratingRepository.updateIfVersion(id, version,
+                rating.getMoodysRating(), rating.getSandPRating(), rating.getFitchRating(), rating.getOrderNumber(),
+                rating.getMoodysNotch(), rating.getSandPNotch(), rating.getFitchNotch()), rating);
     }
 
     /**
@@ -178,18 +258,7 @@ public class RatingService {
             throw new IllegalArgumentException("ID must be a positive integer.");
         }
 
-        if (!ratingRepository.existsById(id)) {
-            log.error("Rating with ID {} not found", id);
-            throw new EntityNotFoundException("Rating not found with ID: " + id);
-        }
-
-        try {
-            ratingRepository.deleteById(id);
-            log.info("Rating with ID {} deleted successfully", id);
-        } catch (DataAccessException e) {
-            log.error("Failed to delete Rating with ID {}", id, e);
-            throw new EntityDeleteException("Failed to delete Rating with ID " + id, e);
-        }
+        deleteById(id);
     }
 
 }
@@ -2,12 +2,14 @@ package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.dto.RuleNameDTO;
+import com.nnk.springboot.event.DomainEventBus;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.repositories.RuleNameRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataAccessException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,7 +17,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-public class RuleNameService {
+public class RuleNameService extends AbstractCrudService<RuleName, Integer> {
 
     private final RuleNameRepository ruleNameRepository;
 
@@ -23,8 +25,13 @@ public class RuleNameService {
      * Constructs a new instance of {@link RuleNameService}.
      *
      * @param ruleNameRepository the repository for accessing rule data
+     * @param eventPublisher     the publisher notifying listeners of rule changes
+     * @param eventBus           the bus telling whether change events need before images
      */
-    public RuleNameService(RuleNameRepository ruleNameRepository) {
+    public RuleNameService(RuleNameRepository ruleNameRepository, ApplicationEventPublisher eventPublisher,
+                           DomainEventBus eventBus) {
+        super(ruleNameRepository, eventPublisher, eventBus,
+                RuleName.class, RuleName::getId, RuleName::getVersion, "rule");
         this.ruleNameRepository = ruleNameRepository;
     }
 
@@ -39,6 +46,7 @@ public class RuleNameService {
 
         RuleNameDTO dto=new RuleNameDTO();
         dto.setId(ruleName.getId());
+        dto.setVersion(ruleName.getVersion());
         dto.setName(ruleName.getName());
         dto.setDescription(ruleName.getDescription());
         dto.setJson(ruleName.getJson());
@@ -112,48 +120,37 @@ public class RuleNameService {
         ruleName.setSqlStr(ruleNameDTO.getSql());
         ruleName.setSqlPart(ruleNameDTO.getSqlPart());
 
-        try {
-           RuleName saveRule= ruleNameRepository.save(ruleName);
-            log.info("Rule added successfully");
-            return saveRule;
-        } catch (DataAccessException e) {
-            log.error("Failed to save rule", e);
-            throw new EntitySaveException("Failed to create rule.");
-        }
-
+        return create(ruleName);
     }
 
     /**
      * Updates an existing rule based on its ID and a {@link RuleNameDTO}.
+     * <p>
+     * The update is a single conditional statement on the version read by the caller; a {@code null}
+     * version updates the row whatever its current version.
      *
      * @param id           the ID of the rule to update
      * @param ruleNameDTO  the data transfer object containing updated rule details
-     * @return the updated {@link RuleName} entity
+     * @return the updated {@link RuleName}, holding the written columns and the new version only
      * @throws EntityNotFoundException   if no rule is found with the given ID
+     * @throws EntityVersionConflictException  if the rule was modified since the given version was read
      * @throws EntitySaveException       if updating the rule fails
      */
     public RuleName updateRuleName(int id, RuleNameDTO ruleNameDTO) {
         log.info("Updating bid with ID: {}", id);
 
-        RuleName ruleName = ruleNameRepository.findById(id)
-                .orElseThrow(() ->
-                        new EntityNotFoundException("Rule with id " + id + " not found"));
-
+        RuleName ruleName = new RuleName();
+        ruleName.setId(id);
+        ruleName.setVersion(ruleNameDTO.getVersion() == null ? null : ruleNameDTO.getVersion() + 1);
         ruleName.setName(ruleNameDTO.getName());
         ruleName.setDescription(ruleNameDTO.getDescription());
         ruleName.setJson(ruleNameDTO.getJson());
         ruleName.setTemplate(ruleNameDTO.getTemplate());
         ruleName.setSqlStr(ruleNameDTO.getSql());
         ruleName.setSqlPart(ruleNameDTO.getSqlPart());
-
-        try {
-            RuleName saveRule= ruleNameRepository.save(ruleName);
-            log.info("Rule with ID {} updated successfully", id);
-            return saveRule;
-        } catch (Exception e) {
-            log.error("Failed to update rule with ID {}", id, e);
-            throw new EntitySaveException("Failed to update rule with ID " + id, e);
-        }
+        return update(id, ruleNameDTO.getVersion(), version -> ruleNameRepository.updateIfVersion(id, version,
+                ruleNameDTO.getName(), ruleNameDTO.getDescription(), ruleNameDTO.getJson(),
+                ruleNameDTO.getTemplate(), ruleNameDTO.getSql(), ruleNameDTO.getSqlPart()), ruleName);
     }
     /**
      * Deletes a rule by its ID.
@@ -171,17 +168,6 @@ public class RuleNameService {
             throw new IllegalArgumentException("ID must be a positive integer.");
         }
 
-        if (!ruleNameRepository.existsById(id)) {
-            log.error("Rule with ID {} not found", id);
-            throw new EntityNotFoundException("Rule not found with ID: " + id);
-        }
-
-        try {
-            ruleNameRepository.deleteById(id);
-            log.info("Rule with ID {} deleted successfully", id);
-        } catch (Exception e) {
-            log.error("Failed to delete Rule with ID {}", id, e);
-            throw new EntityDeleteException("Failed to delete rule with ID " + id, e);
-        }
+        deleteById(id);
     }
 }
@@ -1,31 +1,50 @@
 package com.nnk.springboot.service;
 
+import com.nnk.springboot.domain.ArchivedTrade;
 import com.nnk.springboot.domain.Trade;
 import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventBus;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.repositories.TradeArchiveRepository;
 import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.security.CurrentUser;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
-public class TradeService {
+public class TradeService extends AbstractCrudService<Trade, Integer> {
 
     private final TradeRepository tradeRepository;
+    private final TradeArchiveRepository tradeArchiveRepository;
 
     /**
      * Constructs a new instance of {@link TradeService}.
      *
-     * @param tradeRepository the repository for accessing trade data
+     * @param tradeRepository        the repository for accessing trade data
+     * @param tradeArchiveRepository the repository for accessing archived trades
+     * @param eventPublisher         the publisher notifying listeners of trade changes
+     * @param eventBus               the bus telling whether change events need before images
      */
-    public TradeService(TradeRepository tradeRepository) {
+    public TradeService(TradeRepository tradeRepository, TradeArchiveRepository tradeArchiveRepository,
+                        ApplicationEventPublisher eventPublisher, DomainEventBus eventBus) {
+        super(tradeRepository, eventPublisher, eventBus,
+                Trade.class, Trade::getTradeId, Trade::getVersion, "trade");
         this.tradeRepository = tradeRepository;
+        this.tradeArchiveRepository = tradeArchiveRepository;
     }
 
     /**
@@ -39,9 +58,29 @@ public class TradeService {
 
         TradeDTO dto=new TradeDTO();
         dto.setId(trade.getTradeId());
+        dto.setVersion(trade.getVersion());
         dto.setAccount(trade.getAccount());
         dto.setType(trade.getType());
         dto.setBuyQuantity(trade.getBuyQuantity());
+        dto.setTradeDate(trade.getTradeDate());
+        return dto;
+    }
+
+    /**
+     * Converts an {@link ArchivedTrade} to a {@link TradeDTO} flagged as archived.
+     *
+     * @param trade the archived trade to convert
+     * @return the converted {@link TradeDTO}
+     */
+    public TradeDTO convertToDTO(ArchivedTrade trade) {
+        TradeDTO dto = new TradeDTO();
+        dto.setId(trade.getTradeId());
+        dto.setVersion(trade.getVersion());
+        dto.setAccount(trade.getAccount());
+        dto.setType(trade.getType());
+        dto.setBuyQuantity(trade.getBuyQuantity());
+        dto.setTradeDate(trade.getTradeDate());
+        dto.setArchived(true);
         return dto;
     }
 
@@ -90,6 +129,58 @@ public class TradeService {
 
     }
 
+    /**
+     * Retrieves a {@link TradeDTO} by its ID, looking in the archive too when asked to.
+     *
+     * @param id              the ID of the trade to retrieve
+     * @param includeArchived whether to look for the trade in the archive when it is not in the trade table
+     * @return the retrieved {@link TradeDTO}
+     * @throws IllegalArgumentException  if the ID is invalid
+     * @throws EntityNotFoundException   if no trade is found with the given ID
+     */
+    public TradeDTO getTradeDTOById(int id, boolean includeArchived) {
+        if (!includeArchived) {
+            return getTradeDTOById(id);
+        }
+        log.info("Fetching trade with ID: {}, archive included", id);
+
+        if (id <= 0) {
+            log.error("Invalid ID.");
+            throw new IllegalArgumentException("ID must be a positive integer.");
+        }
+        return tradeRepository.findById(id).map(this::convertToDTO)
+                .or(() -> tradeArchiveRepository.findById(id).map(this::convertToDTO))
+                .orElseThrow(() -> new EntityNotFoundException("Trade with id " + id + " not found"));
+    }
+
+    /**
+     * Retrieves the trades dated in {@code [from, to)}, ordered by trade date.
+     * <p>
+     * The bounds apply to the trade date column itself, so on a partitioned trade table only the
+     * partitions of the months in the range are read.
+     *
+     * @param from            the first trade date included
+     * @param to              the first trade date excluded
+     * @param includeArchived whether to include the archived trades
+     * @return the trades dated in the range, archived ones flagged
+     * @throws IllegalArgumentException if a bound is missing or {@code to} is not after {@code from}
+     */
+    public List<TradeDTO> getTradeDTOsByTradeDate(LocalDateTime from, LocalDateTime to, boolean includeArchived) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Trade date range must have a start before its end.");
+        }
+        log.info("Fetching trades dated from {} to {}, archive included: {}", from, to, includeArchived);
+
+        List<TradeDTO> trades = new ArrayList<>(convertToDTOList(
+                tradeRepository.findByTradeDateGreaterThanEqualAndTradeDateLessThanOrderByTradeDateAsc(from, to)));
+        if (includeArchived) {
+            tradeArchiveRepository.findByTradeDateGreaterThanEqualAndTradeDateLessThanOrderByTradeDateAsc(from, to)
+                    .forEach(trade -> trades.add(convertToDTO(trade)));
+            trades.sort(Comparator.comparing(TradeDTO::getTradeDate));
+        }
+        return trades;
+    }
+
     /**
      * Saves a new trade based on a {@link TradeDTO}.
      *
@@ -106,31 +197,61 @@ public class TradeService {
             throw new IllegalArgumentException("BidDTO cannot be null.");
         }
 
+        return saveTrade(tradeDTO, CurrentUser.name(), LocalDateTime.now());
+    }
+
+    /**
+     * Saves a new trade booked earlier, e.g. replayed from the trade journal.
+     *
+     * @param tradeDTO     the data transfer object containing trade details
+     * @param creationName the user who booked the trade
+     * @param creationDate the time the trade was booked
+     * @return the saved {@link Trade} entity
+     * @throws EntitySaveException if saving the trade fails
+     */
+    public Trade saveTrade(TradeDTO tradeDTO, String creationName, LocalDateTime creationDate) {
+        return create(toTrade(tradeDTO, creationName, creationDate));
+    }
+
+    /**
+     * Saves new trades in one transaction.
+     *
+     * @param tradeDTOs the data transfer objects containing the trade details
+     * @return the saved {@link Trade} entities
+     * @throws EntitySaveException if saving the trades fails; none is saved then
+     */
+    public List<Trade> saveTrades(List<TradeDTO> tradeDTOs) {
+        log.info("Adding {} trades", tradeDTOs.size());
+        String creationName = CurrentUser.name();
+        LocalDateTime creationDate = LocalDateTime.now();
+        return createAll(tradeDTOs.stream().map(tradeDTO -> toTrade(tradeDTO, creationName, creationDate)).toList());
+    }
+
+    private static Trade toTrade(TradeDTO tradeDTO, String creationName, LocalDateTime creationDate) {
         Trade trade = new Trade();
         trade.setAccount(tradeDTO.getAccount());
         trade.setType(tradeDTO.getType());
         trade.setBuyQuantity(tradeDTO.getBuyQuantity());
-
-        try {
-            Trade result=tradeRepository.save(trade);
-            log.info("Trade added successfully");
-            return result;
-        } catch (DataAccessException e) {
-            log.error("Failed to save trade", e);
-            throw new EntitySaveException("Failed to create trade.");
-        }
-
+        // the trade table is partitioned by trade date: a trade booked without one is dated on booking
+        trade.setTradeDate(tradeDTO.getTradeDate() != null ? tradeDTO.getTradeDate() : creationDate);
+        trade.setCreationName(creationName);
+        trade.setCreationDate(creationDate);
+        return trade;
     }
 
     /**
      * Updates an existing trade based on its ID and a {@link TradeDTO}.
+     * <p>
+     * The update is a single conditional statement on the version read by the caller; a {@code null}
+     * version updates the row whatever its current version.
      *
      * @param id       the ID of the trade to update
      * @param tradeDTO the data transfer object containing updated trade details
-     * @return the updated {@link Trade} entity
-     * @throws IllegalArgumentException  if the {@link TradeDTO} is null
-     * @throws EntityNotFoundException   if no trade is found with the given ID
-     * @throws EntitySaveException       if updating the trade fails
+     * @return the updated {@link Trade}, holding the written columns and the new version only
+     * @throws IllegalArgumentException        if the {@link TradeDTO} is null
+     * @throws EntityNotFoundException         if no trade is found with the given ID
+     * @throws EntityVersionConflictException  if the trade was modified since the given version was read
+     * @throws EntitySaveException             if updating the trade fails
      */
     public Trade updateBidList(int id, TradeDTO tradeDTO) {
         log.info("Updating bid with ID: {}", id);
@@ -140,22 +261,88 @@ public class TradeService {
             throw new IllegalArgumentException("BidDTO cannot be null.");
         }
 
-        Trade trade = tradeRepository.findById(id)
-                .orElseThrow(() ->
-                        new EntityNotFoundException("Trade with id " + id + " not found"));
-
+        Trade trade = new Trade();
+        trade.setTradeId(id);
+        trade.setVersion(tradeDTO.getVersion() == null ? null : tradeDTO.getVersion() + 1);
         trade.setAccount(tradeDTO.getAccount());
         trade.setBuyQuantity(tradeDTO.getBuyQuantity());
         trade.setType(tradeDTO.getType());
+        trade.setRevisionName(CurrentUser.name());
+        trade.setRevisionDate(LocalDateTime.now());
+        return update(id, tradeDTO.getVersion(), version -> tradeRepository.updateIfVersion(id, version,
+                tradeDTO.getAccount(), tradeDTO.getBuyQuantity(), tradeDTO.getType(), trade.getRevisionName(),
+                trade.getRevisionDate()), trade);
+    }
 
+    /**
+     * Moves trades from one account to another with a single statement.
+     * <p>
+     * Trades no longer booked in {@code fromAccount} are left untouched; only then are the trades
+     * read back, so that the published events carry their actual account.
+     *
+     * @param ids         the IDs of the trades to move
+     * @param fromAccount the account the trades are moved from
+     * @param toAccount   the account the trades are moved to
+     * @return the number of moved trades
+     * @throws EntitySaveException if updating the trades fails
+     */
+    public int reassignAccount(List<Integer> ids, String fromAccount, String toAccount) {
+        String revisionName = CurrentUser.name();
+        LocalDateTime revisionDate = LocalDateTime.now();
+        int updated;
         try {
-            Trade result= tradeRepository.save(trade);
-            log.info("Trade with ID {} updated successfully", id);
-            return result;
+            updated = tradeRepository.reassignAccount(ids, fromAccount, toAccount, revisionName, revisionDate);
         } catch (DataAccessException e) {
-            log.error("Failed to update trade with ID {}", id, e);
-            throw new EntitySaveException("Failed to update trade with ID " + id, e);
+            log.error("Failed to move {} trades from account {}", ids.size(), fromAccount, e);
+            throw new EntitySaveException("Failed to move trades from account " + fromAccount, e);
+        }
+        log.info("{} of {} trades moved from account {} to {}", updated, ids.size(), fromAccount, toAccount);
+        if (updated < ids.size()) {
+            // some trades changed account concurrently: publish what each row now holds
+            tradeRepository.findAllById(ids).forEach(trade ->
+                    eventPublisher.publishEvent(DomainEvent.updated(Trade.class, trade.getTradeId(), trade)));
+            return updated;
+        }
+        for (Integer id : ids) {
+            Trade trade = new Trade();
+            trade.setTradeId(id);
+            trade.setAccount(toAccount);
+            trade.setRevisionName(revisionName);
+            trade.setRevisionDate(revisionDate);
+            eventPublisher.publishEvent(DomainEvent.updated(Trade.class, id, trade));
         }
+        return updated;
+    }
+
+    /**
+     * Moves trades to the archive table: copies them with a single {@code INSERT ... SELECT}, then
+     * deletes them from the trade table, in one transaction.
+     * <p>
+     * Archived trades are published as deleted, as they leave every view of the trade table.
+     *
+     * @param ids the IDs of the trades to archive
+     * @return the number of archived trades
+     * @throws EntitySaveException if copying or deleting the trades fails; none is archived then
+     */
+    @Transactional
+    public int archiveTrades(List<Integer> ids) {
+        int archived;
+        try {
+            int copied = tradeArchiveRepository.copyFromTrade(ids, LocalDateTime.now());
+            archived = tradeRepository.deleteAllByIdReturningCount(ids);
+            if (archived != copied) {
+                throw new EntitySaveException("Trades changed while being archived: " + copied + " copied, "
+                        + archived + " deleted");
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to archive {} trades", ids.size(), e);
+            throw new EntitySaveException("Failed to archive trades", e);
+        }
+        log.info("{} of {} trades archived", archived, ids.size());
+        if (archived > 0) {
+            ids.forEach(id -> eventPublisher.publishEvent(DomainEvent.deleted(Trade.class, id)));
+        }
+        return archived;
     }
 
     /**
@@ -174,17 +361,6 @@ public class TradeService {
             throw new IllegalArgumentException("ID must be a positive integer.");
         }
 
-        if (!tradeRepository.existsById(id)) {
-            log.error("Trade with ID {} not found", id);
-            throw new EntityNotFoundException("Trade not found with ID: " + id);
-        }
-
-        try {
-            tradeRepository.deleteById(id);
-            log.info("Trade with ID {} deleted successfully", id);
-        } catch (DataAccessException e) {
-            log.error("Failed to delete trade with ID {}", id, e);
-            throw new EntityDeleteException("Failed to delete trade with ID " + id, e);
-        }
+        deleteById(id);
     }
 }
@@ -2,13 +2,16 @@ package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventBus;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.repositories.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
-import org.springframework.dao.DataAccessException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -22,7 +25,7 @@ import static java.lang.String.*;
 
 @Slf4j
 @Service
-public class UserService {
+public class UserService extends AbstractCrudService<User, Integer> {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -31,8 +34,12 @@ public class UserService {
      *
      * @param userRepository  the repository for accessing user data
      * @param passwordEncoder the encoder for hashing passwords
+     * @param eventPublisher  the publisher notifying listeners of user changes
+     * @param eventBus        the bus telling whether change events need before images
      */
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher, DomainEventBus eventBus) {
+        super(userRepository, eventPublisher, eventBus, User.class, User::getId, User::getVersion, "user");
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
     }
@@ -47,6 +54,7 @@ public class UserService {
         log.info("Converting User to UserDTO");
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
+        dto.setVersion(user.getVersion());
         dto.setUsername(user.getUsername());
         dto.setPassword(user.getPassword());
         dto.setFullname(user.getFullName());
@@ -109,24 +117,21 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
         user.setFullName(userDTO.getFullname());
         user.setRole(userDTO.getRole());
-        try{
-           User saveUser = userRepository.save(user);
-           log.info("Saved user " + saveUser);
-           return saveUser;
-        }catch (DataAccessException e){
-            log.error("Failed to save user", e);
-            throw new EntitySaveException("Failed to create user.",e);
-        }
+        return create(user);
     }
 
     /**
      * Updates an existing user with new details.
+     * <p>
+     * The update is a single conditional statement on the version read by the caller; a {@code null}
+     * version updates the row whatever its current version.
      *
      * @param id      the ID of the user to update
      * @param userDTO the data transfer object containing updated user details
-     * @return the updated {@link User} entity
+     * @return the updated {@link User}, holding the written columns and the new version only
      * @throws IllegalArgumentException  if the {@link UserDTO} is null
      * @throws EntityNotFoundException   if no user is found with the given ID
+     * @throws EntityVersionConflictException  if the user was modified since the given version was read
      * @throws EntitySaveException       if updating the user fails
      */
     public User updateUser(int id, UserDTO userDTO) {
@@ -137,22 +142,16 @@ public class UserService {
             throw new IllegalArgumentException("UserDTO cannot be null.");
         }
 
-        User user = userRepository.findById(id).
-                orElseThrow(()->
-                 new EntityNotFoundException("user not found with id {}"+id));
-
+        User user = new User();
+        user.setId(id);
         user.setUsername(userDTO.getUsername());
         user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
         user.setFullName(userDTO.getFullname());
         user.setRole(userDTO.getRole());
-        try{
-            User saveUser = userRepository.save(user);
-            log.info("Update user " + saveUser);
-            return saveUser;
-        }catch (DataAccessException e){
-            log.error("Failed to update user", e);
-            throw new EntitySaveException("Failed to update user.",e);
-        }
+
+        user.setVersion(userDTO.getVersion() == null ? null : userDTO.getVersion() + 1);
+        return update(id, userDTO.getVersion(), version -> userRepository.updateIfVersion(id, version,
+                user.getUsername(), user.getPassword(), user.getFullName(), user.getRole()), user);
     }
 
     /**
@@ -170,18 +169,7 @@ public class UserService {
             log.error("Invalid ID: {}", id);
             throw new IllegalArgumentException("ID must be a positive integer.");
         }
-        if (!userRepository.existsById(id)) {
-            log.error("User with ID {} not found", id);
-            throw new EntityNotFoundException("User not found with ID: " + id);
-        }
-        try {
-            userRepository.deleteById(id);
-            log.info("User with ID {} deleted successfully", id);
-        } catch (DataAccessException e) {
-            log.error("Failed to delete user with ID {}", id, e);
-            throw new EntityDeleteException("Failed to delete user with ID " + id, e);
-        }
-
+        deleteById(id);
     }
 
     /**
@@ -213,6 +201,7 @@ public class UserService {
 
             user = userRepository.save(user);
             log.info("User saved successfully: " + user);
+            eventPublisher.publishEvent(DomainEvent.created(User.class, user.getId(), user));
         } else {
             log.info("User already exists: " + user);
         }
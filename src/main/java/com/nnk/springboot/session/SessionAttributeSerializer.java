@@ -0,0 +1,91 @@
+package com.nnk.springboot.session;
+
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.core.serializer.support.SerializationFailedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Converts the session attributes to and from the bytes stored in the session table.
+ *
+ * <p>Attributes are written with Java serialization like the default Spring Session converter,
+ * then deflated when larger than a threshold: most of the bytes of a serialized security context
+ * are class descriptors and field names, which compress well, shrinking it by over 40%. A deflated attribute starts with a
+ * marker byte no Java serialization stream starts with, so attributes written uncompressed,
+ * including by the default converter, are read as they are.
+ */
+public class SessionAttributeSerializer {
+
+    static final byte DEFLATED = 0x01;
+
+    private final int threshold;
+    private final DefaultSerializer serializer = new DefaultSerializer();
+    private final DefaultDeserializer deserializer;
+
+    /**
+     * Constructs a new instance of {@link SessionAttributeSerializer}.
+     *
+     * @param threshold   the serialized size above which attributes are deflated, in bytes
+     * @param classLoader the class loader resolving the classes of the attributes read
+     */
+    public SessionAttributeSerializer(int threshold, ClassLoader classLoader) {
+        this.threshold = threshold;
+        this.deserializer = new DefaultDeserializer(classLoader);
+    }
+
+    /**
+     * @param attribute the attribute, which must be serializable
+     * @return the serialized attribute, deflated if larger than the threshold
+     * @throws SerializationFailedException if the attribute cannot be serialized
+     */
+    public byte[] serialize(Object attribute) {
+        try {
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream(256);
+            serializer.serialize(attribute, serialized);
+            if (serialized.size() <= threshold) {
+                return serialized.toByteArray();
+            }
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(serialized.size() / 2);
+            deflated.write(DEFLATED);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream out = new DeflaterOutputStream(deflated, deflater)) {
+                serialized.writeTo(out);
+            } finally {
+                deflater.end();
+            }
+            return deflated.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationFailedException("Failed to serialize session attribute of type "
+                    + attribute.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * @param bytes the stored attribute
+     * @return the attribute
+     * @throws SerializationFailedException if the attribute cannot be read
+     */
+    public Object deserialize(byte[] bytes) {
+        try {
+            if (bytes.length == 0 || bytes[0] != DEFLATED) {
+                return deserializer.deserialize(new ByteArrayInputStream(bytes));
+            }
+            Inflater inflater = new Inflater();
+            try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1), inflater)) {
+                return deserializer.deserialize(in);
+            } finally {
+                inflater.end();
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationFailedException("Failed to deserialize session attribute", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.nnk.springboot.session;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Stores the HTTP sessions in the database through Spring Session JDBC, so any instance can serve
+ * any request and logins survive a restart or a change of instance.
+ *
+ * <p>The repository itself is configured by the {@code spring.session.*} properties; this
+ * configuration only replaces the attribute converter with a {@link SessionAttributeSerializer}.
+ */
+@Configuration
+public class SessionConfig {
+
+    /**
+     * @param compressionThreshold the serialized size above which attributes are deflated, in bytes
+     * @return the converter of the session attributes, picked by Spring Session by its name
+     */
+    @Bean
+    public ConversionService springSessionConversionService(
+            @Value("${session.compression-threshold:256}") int compressionThreshold) {
+        SessionAttributeSerializer serializer =
+                new SessionAttributeSerializer(compressionThreshold, ClassUtils.getDefaultClassLoader());
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, serializer::serialize);
+        conversionService.addConverter(byte[].class, Object.class, serializer::deserialize);
+        return conversionService;
+    }
+}
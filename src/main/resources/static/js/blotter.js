@@ -0,0 +1,81 @@
+/*
+ * Patches the list tables marked with data-blotter from the /blotter/stream change events.
+ * Rows are matched on data-id and cells on data-field; new rows are only added to the full
+ * list, not to search results.
+ */
+(function () {
+    var tables = {};
+    document.querySelectorAll('table[data-blotter]').forEach(function (table) {
+        tables[table.dataset.blotter] = table;
+    });
+    var names = Object.keys(tables);
+    if (names.length === 0 || !window.EventSource) {
+        return;
+    }
+    var acceptsInserts = /\/list$/.test(window.location.pathname);
+
+    function row(table, id) {
+        return table.tBodies[0].querySelector('tr[data-id="' + CSS.escape(String(id)) + '"]');
+    }
+
+    function link(href, text) {
+        var a = document.createElement('a');
+        a.href = href;
+        a.textContent = text;
+        return a;
+    }
+
+    function insert(table, delta) {
+        var tr = document.createElement('tr');
+        tr.dataset.id = delta.id;
+        table.tHead.querySelectorAll('th[data-field]').forEach(function (th) {
+            var td = document.createElement('td');
+            td.dataset.field = th.dataset.field;
+            tr.appendChild(td);
+        });
+        var actions = document.createElement('td');
+        actions.className = 'text-center';
+        actions.appendChild(link(table.dataset.base + '/update/' + delta.id, 'Edit'));
+        actions.appendChild(document.createTextNode(' | '));
+        actions.appendChild(link(table.dataset.base + '/delete/' + delta.id, 'Delete'));
+        tr.appendChild(actions);
+        table.tBodies[0].appendChild(tr);
+        return tr;
+    }
+
+    function apply(table, delta) {
+        var tr = row(table, delta.id);
+        if (delta.op === 'DELETED') {
+            if (tr) {
+                tr.remove();
+            }
+            return;
+        }
+        if (!tr) {
+            if (delta.op !== 'CREATED' || !acceptsInserts) {
+                return;
+            }
+            tr = insert(table, delta);
+            delta.fields.id = delta.id;
+        }
+        Object.keys(delta.fields).forEach(function (field) {
+            var td = tr.querySelector('td[data-field="' + field + '"]');
+            if (td) {
+                td.textContent = delta.fields[field];
+            }
+        });
+    }
+
+    var source = new EventSource('/blotter/stream?tables=' + encodeURIComponent(names.join(',')));
+    names.forEach(function (name) {
+        source.addEventListener(name, function (event) {
+            JSON.parse(event.data).forEach(function (delta) {
+                apply(tables[name], delta);
+            });
+        });
+    });
+    source.addEventListener('reset', function () {
+        source.close();
+        window.location.reload();
+    });
+})();
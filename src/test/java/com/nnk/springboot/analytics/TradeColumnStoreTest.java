@@ -0,0 +1,102 @@
+package com.nnk.springboot.analytics;
+
+import com.nnk.springboot.domain.Trade;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeColumnStoreTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 15, 10, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2025, 2, 15, 10, 0);
+
+    private final TradeColumnStore store = new TradeColumnStore(16);
+
+    @Test
+    void aggregate_ShouldGroupAndSkipMissingValues() {
+        store.put(trade(1, "A", "B1", 10.0, JANUARY));
+        store.put(trade(2, "A", "B2", 30.0, JANUARY));
+        store.put(trade(3, "B", "B1", null, JANUARY));
+        store.put(trade(4, null, "B1", 5.0, JANUARY));
+
+        List<GroupAggregate> result = store.aggregate(TradeQuery.all(), Dimension.ACCOUNT, Measure.BUY_QUANTITY);
+
+        assertEquals(List.of(new GroupAggregate("A", 2, 40.0, 10.0, 30.0),
+                new GroupAggregate("B", 1, 0.0, null, null),
+                new GroupAggregate(null, 1, 5.0, 5.0, 5.0)), result);
+    }
+
+    @Test
+    void aggregate_ShouldFilterOnHalfOpenDatesAndDimensionValues() {
+        store.put(trade(1, "A", "B1", 10.0, JANUARY));
+        store.put(trade(2, "A", "B2", 20.0, JANUARY));
+        store.put(trade(3, "A", "B1", 40.0, FEBRUARY));
+        store.put(trade(4, "A", "B1", 80.0, null));
+
+        TradeQuery january = new TradeQuery(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0),
+                Map.of(Dimension.BOOK, "B1"));
+
+        assertEquals(List.of(new GroupAggregate(null, 1, 10.0, 10.0, 10.0)),
+                store.aggregate(january, null, Measure.BUY_QUANTITY));
+        assertEquals(List.of(new GroupAggregate(null, 3, 130.0, 10.0, 80.0)),
+                store.aggregate(new TradeQuery(null, null, Map.of(Dimension.BOOK, "B1")), null, Measure.BUY_QUANTITY));
+        assertEquals(List.of(), store.aggregate(new TradeQuery(null, null, Map.of(Dimension.BOOK, "unknown")),
+                null, Measure.BUY_QUANTITY));
+    }
+
+    @Test
+    void patch_ShouldOnlyOverwriteTheWrittenColumns() {
+        store.put(trade(1, "A", "B1", 10.0, JANUARY));
+        Trade written = new Trade();
+        written.setTradeId(1);
+        written.setAccount("C");
+
+        assertTrue(store.patch(written));
+        written.setTradeId(2);
+        assertFalse(store.patch(written));
+
+        assertEquals(List.of(new GroupAggregate("C", 1, 10.0, 10.0, 10.0)),
+                store.aggregate(TradeQuery.all(), Dimension.ACCOUNT, Measure.BUY_QUANTITY));
+        assertFalse(store.contains(2));
+    }
+
+    @Test
+    void removeAndGrow_ShouldKeepTheRemainingTradesAcrossCompactions() {
+        for (int id = 1; id <= 5000; id++) {
+            store.put(trade(id, "A" + id % 3, "B", 1.0, JANUARY));
+        }
+        for (int id = 1; id <= 5000; id++) {
+            if (id % 4 != 0) {
+                assertTrue(store.remove(id));
+            }
+        }
+
+        TradeColumnStoreStats stats = store.getStats();
+        assertEquals(1250, stats.trades());
+        assertTrue(stats.rows() < 5000, "deleted rows should have been compacted");
+        assertTrue(stats.offHeapBytes() > 0);
+        assertEquals(1250, store.aggregate(TradeQuery.all(), null, Measure.BUY_QUANTITY).get(0).count());
+        assertTrue(store.contains(4000));
+        assertFalse(store.contains(4001));
+        assertFalse(store.remove(4001));
+    }
+
+    @Test
+    void query_ShouldRejectAnEmptyDateRange() {
+        assertThrows(IllegalArgumentException.class, () -> new TradeQuery(FEBRUARY, JANUARY, Map.of()));
+    }
+
+    private static Trade trade(int id, String account, String book, Double buyQuantity, LocalDateTime tradeDate) {
+        Trade trade = new Trade();
+        trade.setTradeId(id);
+        trade.setAccount(account);
+        trade.setBook(book);
+        trade.setBuyQuantity(buyQuantity);
+        trade.setTradeDate(tradeDate);
+        return trade;
+    }
+}
@@ -0,0 +1,106 @@
+package com.nnk.springboot.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nnk.springboot.domain.AuditLog;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.DomainEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditFeedTest {
+
+    private AuditTrail auditTrail;
+    private AuditFeed<Trade> feed;
+
+    @BeforeEach
+    void setUp() {
+        auditTrail = mock(AuditTrail.class);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        feed = new AuditFeed<>(Trade.class, "tradeId", Set.of("account", "type", "buyQuantity"), auditTrail,
+                objectMapper);
+    }
+
+    @Test
+    void diff_ShouldListTheFieldsOfACreatedEntity() {
+        Trade created = trade("A", 10.0);
+        created.setCreationName("alice");
+        created.setTradeDate(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        String diff = feed.diff(null, created);
+
+        assertEquals("{\"account\":{\"to\":\"A\"},\"type\":{\"to\":\"Buy\"},\"buyQuantity\":{\"to\":10.0},"
+                + "\"tradeDate\":{\"to\":\"2024-01-02T03:04:05\"}}", diff);
+    }
+
+    @Test
+    void diff_ShouldOnlyListTheWrittenFieldsThatChanged() {
+        Trade before = trade("A", 10.0);
+        before.setBook("fx");
+        Trade written = trade("B", 10.0);
+        written.setVersion(4L);
+        written.setRevisionName("bob");
+
+        String diff = feed.diff(before, written);
+
+        assertEquals("{\"account\":{\"from\":\"A\",\"to\":\"B\"}}", diff);
+    }
+
+    @Test
+    void diff_ShouldListTheWrittenFieldsThatWereCleared() {
+        Trade before = trade("A", 10.0);
+        before.setBook("fx");
+        Trade written = trade("A", null);
+
+        String diff = feed.diff(before, written);
+
+        assertEquals("{\"buyQuantity\":{\"from\":10.0}}", diff);
+    }
+
+    @Test
+    void diff_ShouldListTheFieldsOfADeletedEntity() {
+        assertEquals("{\"account\":{\"from\":\"A\"},\"type\":{\"from\":\"Buy\"},\"buyQuantity\":{\"from\":10.0}}",
+                feed.diff(trade("A", 10.0), null));
+    }
+
+    @Test
+    void accept_ShouldAppendOneRecordPerChangeInASingleBatch() {
+        DomainEvent<Trade> created = DomainEvent.created(Trade.class, 1, trade("A", 1.0));
+        DomainEvent<Trade> deleted = DomainEvent.deleted(Trade.class, 2, trade("B", 2.0));
+
+        feed.accept(List.of(created, deleted));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuditLog>> records = ArgumentCaptor.forClass(List.class);
+        verify(auditTrail, times(1)).append(records.capture());
+        List<AuditLog> appended = records.getValue();
+        assertEquals(2, appended.size());
+        assertEquals("Trade", appended.get(0).getEntityType());
+        assertEquals("1", appended.get(0).getEntityId());
+        assertEquals(ChangeType.CREATED, appended.get(0).getAction());
+        assertEquals("system", appended.get(0).getUsername());
+        assertEquals(created.occurredAt(), appended.get(0).getChangedAt());
+        assertEquals(ChangeType.DELETED, appended.get(1).getAction());
+        assertTrue(feed.needsBeforeImages());
+    }
+
+    private static Trade trade(String account, Double buyQuantity) {
+        Trade trade = new Trade();
+        trade.setTradeId(1);
+        trade.setAccount(account);
+        trade.setType("Buy");
+        trade.setBuyQuantity(buyQuantity);
+        return trade;
+    }
+}
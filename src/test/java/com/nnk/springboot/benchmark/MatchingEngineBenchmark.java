@@ -0,0 +1,58 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.matching.Fill;
+import com.nnk.springboot.matching.Order;
+import com.nnk.springboot.matching.OrderBook;
+import com.nnk.springboot.matching.Side;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * JMH benchmark of the matching hot path.
+ *
+ * <p>{@code matchesPerSecond} reports sustained crossing matches per second and
+ * {@code matchLatency} samples single matches, which gives the p99 match latency.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=MatchingEngineBenchmark}.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchingEngineBenchmark {
+
+    private OrderBook orderBook;
+    private long counter;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        orderBook = new OrderBook();
+        for (int level = 0; level < 50; level++) {
+            orderBook.match(new Order(Side.SELL, "SEC", "Resting", 100.0 + level, 1_000_000.0, null), fill -> { });
+        }
+    }
+
+    private int crossingPair(Blackhole blackhole) {
+        Consumer<Fill> sink = blackhole::consume;
+        double price = 90.0 + (counter++ % 10);
+        orderBook.match(new Order(Side.SELL, "SEC", "Seller", price, 1.0, null), sink);
+        return orderBook.match(new Order(Side.BUY, "SEC", "Buyer", price, 1.0, null), sink);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int matchesPerSecond(Blackhole blackhole) {
+        return crossingPair(blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int matchLatency(Blackhole blackhole) {
+        return crossingPair(blackhole);
+    }
+}
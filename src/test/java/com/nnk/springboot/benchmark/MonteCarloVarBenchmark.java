@@ -0,0 +1,96 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.risk.CurveHistory;
+import com.nnk.springboot.risk.MonteCarloVarEngine;
+import com.nnk.springboot.risk.Positions;
+import com.nnk.springboot.risk.VarReport;
+import com.nnk.springboot.risk.VarRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of a 50,000-path value-at-risk run over 10,000 trades in 20 books and 50 traders,
+ * with a 12-term curve estimated from a year of daily history.
+ *
+ * <p>{@code parallel} uses one worker per core, {@code singleThread} a single worker; both give the
+ * same result for the same seed. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="MonteCarloVarBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MonteCarloVarBenchmark {
+
+    private static final double[] TERMS = {0.25, 0.5, 1, 2, 3, 5, 7, 10, 15, 20, 25, 30};
+    private static final String[] BENCHMARKS = {"3M", "6M", "1Y", "2Y", "3Y", "5Y", "7Y", "10Y", "20Y", "30Y"};
+
+    @Param({"50000"})
+    private int paths;
+
+    private CurveHistory history;
+    private Positions positions;
+    private MonteCarloVarEngine parallelEngine;
+    private MonteCarloVarEngine singleThreadEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<CurvePoint> points = new ArrayList<>();
+        double[] rates = new double[TERMS.length];
+        for (int term = 0; term < TERMS.length; term++) {
+            rates[term] = 2.0 + Math.log1p(TERMS[term]);
+        }
+        LocalDateTime day = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int date = 0; date < 250; date++) {
+            double level = random.nextGaussian() * 0.05;
+            for (int term = 0; term < TERMS.length; term++) {
+                rates[term] += level + random.nextGaussian() * 0.01;
+                CurvePoint point = new CurvePoint();
+                point.setAsOfDate(day.plusDays(date));
+                point.setTerm(TERMS[term]);
+                point.setValue(rates[term]);
+                points.add(point);
+            }
+        }
+        history = CurveHistory.of(points);
+        List<Trade> trades = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Trade trade = new Trade();
+            trade.setBook("BOOK" + random.nextInt(20));
+            trade.setTrader("TRADER" + random.nextInt(50));
+            trade.setBenchmark(BENCHMARKS[random.nextInt(BENCHMARKS.length)]);
+            trade.setBuyQuantity(random.nextDouble(-1000, 1000));
+            trade.setBuyPrice(random.nextDouble(90, 110));
+            trades.add(trade);
+        }
+        positions = Positions.of(trades);
+        parallelEngine = new MonteCarloVarEngine(Runtime.getRuntime().availableProcessors(), 1000);
+        singleThreadEngine = new MonteCarloVarEngine(1, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallelEngine.close();
+        singleThreadEngine.close();
+    }
+
+    @Benchmark
+    public VarReport parallel() {
+        return parallelEngine.run(history, positions, new VarRequest(paths, 1, List.of(0.99, 0.975), 42L));
+    }
+
+    @Benchmark
+    public VarReport singleThread() {
+        return singleThreadEngine.run(history, positions, new VarRequest(paths, 1, List.of(0.99, 0.975), 42L));
+    }
+}
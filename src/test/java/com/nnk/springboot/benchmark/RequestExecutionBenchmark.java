@@ -0,0 +1,159 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.metrics.LatencyHistogram;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load benchmark comparing platform-thread and virtual-thread request execution.
+ *
+ * <p>The application is started once per mode on a random port; for each number of concurrent
+ * clients, every client sends requests back to back for the given duration, first to
+ * {@code GET /trade/list}, then to {@code POST /trade/validate}. Requests per second, the p99
+ * latency and the failed requests are printed per mode, endpoint and client count. Clients
+ * share one logged-in session so that password hashing does not dominate the measure.
+ * Run against the H2 profile or a local MySQL with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.nnk.springboot.benchmark.RequestExecutionBenchmark
+ * -Dexec.args="1000,2500,5000,10000 10" -Dspring.profiles.active=test}; the client process needs
+ * a file descriptor limit above twice the largest client count.
+ */
+public class RequestExecutionBenchmark {
+
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "Password1!";
+    private static final int SEEDED_TRADES = 100;
+
+    public static void main(String[] args) throws Exception {
+        int[] clientCounts = args.length > 0
+                ? Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[] {1_000, 2_500, 5_000, 10_000};
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 10);
+
+        System.out.printf("%-8s %-20s %8s %12s %10s %8s%n", "mode", "endpoint", "clients", "requests/s", "p99 ms", "errors");
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+                context.getBean(UserService.class).saveUser(user());
+                try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                    HttpClient http = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(Duration.ofSeconds(30))
+                            .executor(clients)
+                            .build();
+                    String cookie = login(http, baseUrl);
+                    for (int clientCount : clientCounts) {
+                        seed(context);
+                        HttpRequest list = HttpRequest.newBuilder(URI.create(baseUrl + "/trade/list"))
+                                .header("Cookie", cookie).GET().build();
+                        report(virtual, "GET /trade/list", clientCount, run(http, list, clientCount, duration));
+                        HttpRequest validate = HttpRequest.newBuilder(URI.create(baseUrl + "/trade/validate"))
+                                .header("Cookie", cookie)
+                                .header("Content-Type", "application/x-www-form-urlencoded")
+                                .POST(HttpRequest.BodyPublishers.ofString("account=Bench&type=Buy&buyQuantity=1"))
+                                .build();
+                        report(virtual, "POST /trade/validate", clientCount, run(http, validate, clientCount, duration));
+                    }
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(Application.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        context.getBean(TradeRepository.class).deleteAll();
+        TradeService tradeService = context.getBean(TradeService.class);
+        for (int i = 0; i < SEEDED_TRADES; i++) {
+            TradeDTO tradeDTO = new TradeDTO();
+            tradeDTO.setAccount("Account" + i);
+            tradeDTO.setType("Buy");
+            tradeDTO.setBuyQuantity(1.0 + i);
+            tradeService.saveTrade(tradeDTO);
+        }
+    }
+
+    private static String login(HttpClient http, String baseUrl) throws Exception {
+        HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString("username=" + USERNAME + "&password=" + PASSWORD))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("SESSION="))
+                .map(cookie -> cookie.substring(0, cookie.indexOf(';')))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Login failed with status " + response.statusCode()));
+    }
+
+    private static Result run(HttpClient http, HttpRequest request, int clientCount, Duration duration) throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientCount; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        histogram.record(System.nanoTime() - sent);
+                    }
+                });
+            }
+        }
+        return new Result(histogram, errors.sum(), System.nanoTime() - started);
+    }
+
+    private static void report(boolean virtual, String endpoint, int clientCount, Result result) {
+        System.out.printf("%-8s %-20s %8d %12.0f %10.1f %8d%n",
+                virtual ? "virtual" : "platform", endpoint, clientCount,
+                result.histogram().count() * 1e9 / result.elapsedNanos(),
+                result.histogram().percentile(99) / 1e6,
+                result.errors());
+    }
+
+    private static UserDTO user() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(USERNAME);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(USERNAME);
+        userDTO.setRole("ROLE_USER");
+        return userDTO;
+    }
+
+    private record Result(LatencyHistogram histogram, long errors, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.scenario.CurveSet;
+import com.nnk.springboot.scenario.ScenarioDefinition;
+import com.nnk.springboot.scenario.ScenarioEngine;
+import com.nnk.springboot.scenario.ScenarioRunStats;
+import com.nnk.springboot.scenario.ShockAxis;
+import com.nnk.springboot.scenario.ShockShape;
+import com.nnk.springboot.scenario.StandardValuation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of a 2,000-scenario run (parallel shifts by twists by a key-rate bump) of the
+ * present value of a zero-coupon ladder over 40 curves of 50 points.
+ *
+ * <p>{@code parallel} uses one worker per core, {@code singleThread} a single worker. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ * -Dexec.args="ScenarioEngineBenchmark -prof gc"} to also check that the allocation per scenario
+ * stays near zero.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScenarioEngineBenchmark {
+
+    private CurveSet base;
+    private ScenarioDefinition definition;
+    private ScenarioEngine parallelEngine;
+    private ScenarioEngine singleThreadEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<CurvePoint> points = new ArrayList<>();
+        for (int curve = 1; curve <= 40; curve++) {
+            for (int point = 1; point <= 50; point++) {
+                CurvePoint curvePoint = new CurvePoint();
+                curvePoint.setCurveId(curve);
+                curvePoint.setTerm(point * 0.5);
+                curvePoint.setValue(1.0 + curve * 0.01 + point * 0.05);
+                points.add(curvePoint);
+            }
+        }
+        base = CurveSet.of(points);
+        definition = new ScenarioDefinition("benchmark", List.of(
+                new ShockAxis(new ShockShape.Parallel(), -2.0, 2.0, 40),
+                new ShockAxis(new ShockShape.Twist(10.0), -0.05, 0.05, 10),
+                new ShockAxis(new ShockShape.KeyRate(5.0, 2.0, 10.0), -0.5, 0.5, 5)));
+        parallelEngine = new ScenarioEngine(Runtime.getRuntime().availableProcessors(), 64, 100_000);
+        singleThreadEngine = new ScenarioEngine(1, 64, 100_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallelEngine.close();
+        singleThreadEngine.close();
+    }
+
+    @Benchmark
+    public ScenarioRunStats parallel() {
+        return parallelEngine.run(base, definition, StandardValuation.PRESENT_VALUE, (first, values, count) -> { });
+    }
+
+    @Benchmark
+    public ScenarioRunStats singleThread() {
+        return singleThreadEngine.run(base, definition, StandardValuation.PRESENT_VALUE, (first, values, count) -> { });
+    }
+}
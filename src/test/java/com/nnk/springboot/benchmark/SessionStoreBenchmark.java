@@ -0,0 +1,115 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.session.SessionAttributeSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the session store overhead of a request, against an in-memory H2 database.
+ *
+ * <p>{@code authenticatedRequest} is what every request of a logged-in user costs: the session and
+ * its security context are read, then the last access time is written back. {@code login} creates
+ * a session holding a security context, as a form login does, and deletes it again. Both run with
+ * the default Java serialization and with the deflating {@link SessionAttributeSerializer}. Run
+ * with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="SessionStoreBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionStoreBenchmark {
+
+    @Param({"java", "deflate"})
+    private String serializer;
+
+    private EmbeddedDatabase database;
+    private SessionRepository<? extends Session> repository;
+    private SecurityContext context;
+    private String sessionId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("org/springframework/session/jdbc/schema-h2.sql")
+                .build();
+        JdbcIndexedSessionRepository repository = new JdbcIndexedSessionRepository(new JdbcTemplate(database),
+                new TransactionTemplate(new DataSourceTransactionManager(database)));
+        GenericConversionService conversionService = new GenericConversionService();
+        if (serializer.equals("deflate")) {
+            SessionAttributeSerializer attributes = new SessionAttributeSerializer(256, getClass().getClassLoader());
+            conversionService.addConverter(Object.class, byte[].class, attributes::serialize);
+            conversionService.addConverter(byte[].class, Object.class, attributes::deserialize);
+        } else {
+            conversionService.addConverter(Object.class, byte[].class, new SerializingConverter());
+            conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter());
+        }
+        repository.setConversionService(conversionService);
+        this.repository = repository;
+
+        User user = new User();
+        user.setId(42);
+        user.setUsername("benchmark");
+        user.setFullName("Benchmark User");
+        user.setRole("ROLE_USER");
+        context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+        sessionId = login(repository, context, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() {
+        return authenticatedRequest(repository, sessionId);
+    }
+
+    @Benchmark
+    public String login() {
+        return login(repository, context, true);
+    }
+
+    private static <S extends Session> Object authenticatedRequest(SessionRepository<S> repository, String sessionId) {
+        S session = repository.findById(sessionId);
+        Object attribute = session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        session.setLastAccessedTime(Instant.now());
+        repository.save(session);
+        return attribute;
+    }
+
+    private static <S extends Session> String login(SessionRepository<S> repository, SecurityContext context,
+                                                    boolean delete) {
+        S session = repository.createSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+        repository.save(session);
+        if (delete) {
+            repository.deleteById(session.getId());
+        }
+        return session.getId();
+    }
+}
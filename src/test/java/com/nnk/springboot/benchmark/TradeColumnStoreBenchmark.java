@@ -0,0 +1,81 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.analytics.Dimension;
+import com.nnk.springboot.analytics.GroupAggregate;
+import com.nnk.springboot.analytics.Measure;
+import com.nnk.springboot.analytics.TradeColumnStore;
+import com.nnk.springboot.analytics.TradeQuery;
+import com.nnk.springboot.domain.Trade;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of a one-month, per-account aggregate of the buy quantities.
+ *
+ * <p>{@code columnStore} scans the off-heap {@link TradeColumnStore}; {@code heapObjects} runs the
+ * same aggregate over {@link Trade} entities, as a {@code findAll()} based report would. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ * -Dexec.args="TradeColumnStoreBenchmark -prof gc"} to also compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "-XX:MaxDirectMemorySize=1g"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TradeColumnStoreBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"1000000"})
+    private int trades;
+
+    private TradeColumnStore store;
+    private List<Trade> entities;
+    private TradeQuery month;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        store = new TradeColumnStore(trades);
+        entities = new ArrayList<>(trades);
+        for (int id = 1; id <= trades; id++) {
+            Trade trade = new Trade();
+            trade.setTradeId(id);
+            trade.setAccount("ACC" + random.nextInt(200));
+            trade.setBook("BOOK" + random.nextInt(20));
+            trade.setTrader("TRADER" + random.nextInt(50));
+            trade.setSecurity("SEC" + random.nextInt(1000));
+            trade.setBuyQuantity(random.nextDouble(1, 1000));
+            trade.setBuyPrice(random.nextDouble(90, 110));
+            trade.setTradeDate(START.plusMinutes(random.nextInt(60 * 24 * 365)));
+            store.put(trade);
+            entities.add(trade);
+        }
+        month = new TradeQuery(LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 7, 1, 0, 0), Map.of());
+    }
+
+    @Benchmark
+    public List<GroupAggregate> columnStore() {
+        return store.aggregate(month, Dimension.ACCOUNT, Measure.BUY_QUANTITY);
+    }
+
+    @Benchmark
+    public Map<String, Double> heapObjects() {
+        Map<String, Double> sums = new HashMap<>();
+        for (Trade trade : entities) {
+            LocalDateTime date = trade.getTradeDate();
+            if (!date.isBefore(month.from()) && date.isBefore(month.to()) && trade.getBuyQuantity() != null) {
+                sums.merge(trade.getAccount(), trade.getBuyQuantity(), Double::sum);
+            }
+        }
+        return sums;
+    }
+}
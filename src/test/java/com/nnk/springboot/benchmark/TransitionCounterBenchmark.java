@@ -0,0 +1,62 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.rating.TransitionCounter;
+import com.nnk.springboot.rating.TransitionCounts;
+import com.nnk.springboot.rating.TransitionWindow;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of counting the rating migrations of 20,000 ratings with 25 changes each over 20
+ * yearly cohorts, in the single pass the transition service makes over the sorted history.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="TransitionCounterBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransitionCounterBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final int RATINGS = 20_000;
+    private static final int CHANGES = 25;
+
+    private TransitionWindow window;
+    private LocalDateTime[] dates;
+    private Integer[] notches;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        window = new TransitionWindow(START, START.plusYears(21), 12, 12);
+        SplittableRandom random = new SplittableRandom(42);
+        dates = new LocalDateTime[RATINGS * CHANGES];
+        notches = new Integer[RATINGS * CHANGES];
+        for (int rating = 0; rating < RATINGS; rating++) {
+            LocalDateTime date = START.minusMonths(random.nextInt(24));
+            int notch = 1 + random.nextInt(16);
+            for (int change = 0; change < CHANGES; change++) {
+                int row = rating * CHANGES + change;
+                date = date.plusDays(1 + random.nextInt(600));
+                notch = Math.max(1, Math.min(22, notch + random.nextInt(-2, 3)));
+                dates[row] = date;
+                notches[row] = notch;
+            }
+        }
+    }
+
+    @Benchmark
+    public TransitionCounts count() {
+        TransitionCounter counter = new TransitionCounter(window);
+        for (int row = 0; row < dates.length; row++) {
+            counter.accept(row / CHANGES, dates[row], notches[row], notches[row], notches[row]);
+        }
+        return counter.finish();
+    }
+}
@@ -0,0 +1,157 @@
+package com.nnk.springboot.blotter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.DomainEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BlotterHubTest {
+
+    private BlotterHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new BlotterHub(new ObjectMapper(), 3_600_000, 3_600_000, 2, 10, 3, 2, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void drain_ShouldCoalesceUpdatesOfTheSameRow() {
+        hub.enqueue("trade", List.of(
+                delta(ChangeType.UPDATED, 1, Map.of("account", "A")),
+                delta(ChangeType.UPDATED, 2, Map.of("account", "B")),
+                delta(ChangeType.UPDATED, 1, Map.of("buyQuantity", 5.0))));
+        hub.enqueue("trade", List.of(delta(ChangeType.UPDATED, 1, Map.of("account", "C"))));
+
+        Map<String, List<BlotterDelta>> drained = hub.drain();
+
+        assertEquals(List.of(
+                delta(ChangeType.UPDATED, 1, Map.of("account", "C", "buyQuantity", 5.0)),
+                delta(ChangeType.UPDATED, 2, Map.of("account", "B"))), drained.get("trade"));
+        assertTrue(hub.drain().isEmpty());
+    }
+
+    @Test
+    void drain_ShouldKeepCreationsAndDeletionsAsTheEndResult() {
+        hub.enqueue("trade", List.of(
+                delta(ChangeType.CREATED, 1, Map.of("account", "A")),
+                delta(ChangeType.UPDATED, 1, Map.of("type", "Buy")),
+                delta(ChangeType.UPDATED, 2, Map.of("account", "B")),
+                delta(ChangeType.DELETED, 2, null),
+                delta(ChangeType.CREATED, 3, Map.of("account", "C")),
+                delta(ChangeType.DELETED, 3, null)));
+
+        Map<String, List<BlotterDelta>> drained = hub.drain();
+
+        assertEquals(List.of(
+                delta(ChangeType.CREATED, 1, Map.of("account", "A", "type", "Buy")),
+                delta(ChangeType.DELETED, 2, null)), drained.get("trade"));
+    }
+
+    @Test
+    void drain_ShouldLeaveOutTablesWhoseChangesCancelledOut() {
+        hub.enqueue("bid", List.of(delta(ChangeType.CREATED, 1, Map.of()), delta(ChangeType.DELETED, 1, null)));
+
+        assertTrue(hub.drain().isEmpty());
+    }
+
+    @Test
+    void subscribe_ShouldRejectConnectionsBeyondTheLimit() {
+        hub.subscribe(Set.of("trade"), null);
+        hub.subscribe(Set.of("bid"), null);
+
+        assertThrows(RejectedExecutionException.class, () -> hub.subscribe(Set.of("trade"), null));
+        assertEquals(2, hub.getConnections());
+    }
+
+    @Test
+    void flush_ShouldDisconnectOnlyTheBrowserThatFellBehind() throws Exception {
+        CountDownLatch stalled = new CountDownLatch(1);
+        try (MockedConstruction<SseEmitter> emitters = mockConstruction(SseEmitter.class, (emitter, context) -> {
+            if (context.getCount() == 1) {
+                doAnswer(invocation -> {
+                    stalled.await();
+                    return null;
+                }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+            }
+        })) {
+            // Arrange
+            hub.subscribe(Set.of("trade"), null);
+            hub.subscribe(Set.of("trade"), null);
+            SseEmitter slow = emitters.constructed().get(0);
+            SseEmitter fast = emitters.constructed().get(1);
+
+            // Act
+            for (int i = 1; i <= 6; i++) {
+                hub.enqueue("trade", List.of(delta(ChangeType.UPDATED, i, Map.of("account", "A"))));
+                hub.flush();
+                Thread.sleep(20);
+            }
+
+            // Assert
+            assertEquals(1, hub.getConnections());
+            verify(fast, timeout(2000).times(6)).send(any(SseEmitter.SseEventBuilder.class));
+            stalled.countDown();
+            verify(slow, timeout(2000)).complete();
+        }
+    }
+
+    @Test
+    void subscribe_ShouldResetABrowserReconnectingWithTheIdOfAnotherEpoch() throws Exception {
+        try (MockedConstruction<SseEmitter> emitters = mockConstruction(SseEmitter.class)) {
+            hub.subscribe(Set.of("trade"), "other-1");
+
+            SseEmitter emitter = emitters.constructed().get(0);
+            verify(emitter).send(any(SseEmitter.SseEventBuilder.class));
+            verify(emitter).complete();
+            assertEquals(0, hub.getConnections());
+        }
+    }
+
+    @Test
+    void feed_ShouldSendTheDisplayedColumnsWrittenByEachChange() {
+        Map<String, Function<Trade, Object>> columns = new LinkedHashMap<>();
+        columns.put("account", Trade::getAccount);
+        columns.put("buyQuantity", Trade::getBuyQuantity);
+        BlotterFeed<Trade> feed = new BlotterFeed<>("trade", Trade.class, columns, hub);
+        Trade created = new Trade();
+        created.setAccount("A");
+        created.setBuyQuantity(10.0);
+        Trade moved = new Trade();
+        moved.setAccount("B");
+
+        feed.accept(List.of(DomainEvent.created(Trade.class, 1, created), DomainEvent.updated(Trade.class, 2, moved),
+                DomainEvent.deleted(Trade.class, 3)));
+
+        assertEquals("blotter-trade", feed.name());
+        assertEquals(List.of(
+                delta(ChangeType.CREATED, 1, Map.of("account", "A", "buyQuantity", 10.0)),
+                delta(ChangeType.UPDATED, 2, Map.of("account", "B")),
+                delta(ChangeType.DELETED, 3, null)), hub.drain().get("trade"));
+    }
+
+    private static BlotterDelta delta(ChangeType op, int id, Map<String, Object> fields) {
+        return new BlotterDelta(op, id, fields);
+    }
+}
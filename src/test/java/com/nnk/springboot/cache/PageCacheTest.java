@@ -0,0 +1,56 @@
+package com.nnk.springboot.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCacheTest {
+
+    private static PageCache.Page page(int size) {
+        return new PageCache.Page(new byte[size], "text/html");
+    }
+
+    @Test
+    void get_ShouldCountHitsAndMisses() {
+        PageCache cache = new PageCache(1000);
+        cache.put("a", page(10));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+
+        PageCacheStats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedPagesBeyondByteLimit() {
+        PageCache cache = new PageCache(900);
+        cache.put("a", page(200));
+        cache.put("b", page(200));
+        cache.put("c", page(200));
+        cache.get("a");
+
+        cache.put("d", page(200));
+        cache.put("e", page(200));
+
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        PageCacheStats stats = cache.getStats();
+        assertEquals(1, stats.evictions());
+        assertEquals(800, stats.bytes());
+    }
+
+    @Test
+    void put_ShouldReplaceExistingPageAndSkipOversizedPages() {
+        PageCache cache = new PageCache(1000);
+        cache.put("a", page(100));
+        cache.put("a", page(50));
+        cache.put("big", page(300));
+
+        PageCacheStats stats = cache.getStats();
+        assertEquals(1, stats.entries());
+        assertEquals(50, stats.bytes());
+    }
+}
@@ -0,0 +1,61 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.analytics.Dimension;
+import com.nnk.springboot.analytics.GroupAggregate;
+import com.nnk.springboot.analytics.Measure;
+import com.nnk.springboot.analytics.TradeAnalyticsService;
+import com.nnk.springboot.analytics.TradeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsControllerTest {
+
+    @Mock
+    private TradeAnalyticsService tradeAnalyticsService;
+
+    @InjectMocks
+    private AnalyticsController analyticsController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void trades_ShouldAggregateWithTheDimensionFilters() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<GroupAggregate> aggregates = List.of(new GroupAggregate("A", 2, 40.0, 10.0, 30.0));
+        when(tradeAnalyticsService.aggregate(new TradeQuery(from, null, Map.of(Dimension.BOOK, "B1")),
+                Dimension.ACCOUNT, Measure.BUY_QUANTITY)).thenReturn(aggregates);
+
+        // Act
+        List<GroupAggregate> result = analyticsController.trades("buyQuantity", "account", from, null,
+                Map.of("measure", "buyQuantity", "groupBy", "account", "book", "B1", "from", "2025-01-01T00:00:00"));
+
+        // Assert
+        assertEquals(aggregates, result);
+    }
+
+    @Test
+    void trades_ShouldRejectUnknownColumns() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> analyticsController.trades("fees", null, null, null, Map.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> analyticsController.trades("buyQuantity", "desk", null, null, Map.of()));
+        assertEquals(HttpStatus.BAD_REQUEST,
+                analyticsController.badRequest(new IllegalArgumentException("Cannot aggregate fees")).getStatusCode());
+    }
+}
@@ -0,0 +1,133 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.ApiPage;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.event.TableVersions;
+import com.nnk.springboot.query.EntityFilter;
+import com.nnk.springboot.query.FilterQueryService;
+import com.nnk.springboot.service.BidListService;
+import com.nnk.springboot.service.CurveService;
+import com.nnk.springboot.service.RatingService;
+import com.nnk.springboot.service.RuleNameService;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ApiControllerTest {
+
+    @Mock
+    private FilterQueryService filterQueryService;
+
+    @Mock
+    private TableVersions tableVersions;
+
+    @Mock
+    private TradeService tradeService;
+
+    @Mock
+    private BidListService bidListService;
+
+    @Mock
+    private CurveService curveService;
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private RuleNameService ruleNameService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private WebRequest webRequest;
+
+    @InjectMocks
+    private ApiController apiController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(tableVersions.etag(Trade.class)).thenReturn("\"Trade-1\"");
+    }
+
+    @Test
+    void trades_ShouldSkipQuery_WhenEtagStillMatches() {
+        // Arrange
+        when(webRequest.checkNotModified("\"Trade-1\"")).thenReturn(true);
+
+        // Act
+        ResponseEntity<ApiPage<TradeDTO>> response = apiController.trades(Map.of(), webRequest);
+
+        // Assert
+        assertNull(response);
+        verifyNoInteractions(filterQueryService, tradeService);
+    }
+
+    @Test
+    void trades_ShouldReturnPageWithEtag_WhenModified() {
+        // Arrange
+        List<Trade> trades = List.of(new Trade());
+        List<TradeDTO> tradeDTOs = List.of(new TradeDTO());
+        when(filterQueryService.find(eq(Trade.class), any(EntityFilter.class), eq(2), eq(10)))
+                .thenReturn(new PageImpl<>(trades));
+        when(tradeService.convertToDTOList(trades)).thenReturn(tradeDTOs);
+
+        // Act
+        ResponseEntity<ApiPage<TradeDTO>> response = apiController.trades(
+                Map.of("page", "2", "size", "10", "account", "ACC"), webRequest);
+
+        // Assert
+        assertEquals("\"Trade-1\"", response.getHeaders().getETag());
+        assertEquals(tradeDTOs, response.getBody().content());
+        verify(filterQueryService).find(eq(Trade.class),
+                argThat(filter -> filter.getEqualTo().equals(Map.of("account", "ACC"))), eq(2), eq(10));
+    }
+
+    @Test
+    void trade_ShouldSkipLookup_WhenEtagStillMatches() {
+        // Arrange
+        when(webRequest.checkNotModified("\"Trade-1\"")).thenReturn(true);
+
+        // Act
+        ResponseEntity<TradeDTO> response = apiController.trade(1, false, webRequest);
+
+        // Assert
+        assertNull(response);
+        verifyNoInteractions(tradeService);
+    }
+
+    @Test
+    void tradesDated_ShouldIncludeArchivedTrades_WhenAsked() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2021, 1, 1, 0, 0);
+        TradeDTO archived = new TradeDTO();
+        archived.setArchived(true);
+        when(webRequest.checkNotModified("\"Trade-1\"")).thenReturn(false);
+        when(tradeService.getTradeDTOsByTradeDate(from, to, true)).thenReturn(List.of(archived));
+
+        // Act
+        ResponseEntity<List<TradeDTO>> response = apiController.tradesDated(from, to, true, webRequest);
+
+        // Assert
+        assertEquals("\"Trade-1\"", response.getHeaders().getETag());
+        assertEquals(List.of(archived), response.getBody());
+    }
+}
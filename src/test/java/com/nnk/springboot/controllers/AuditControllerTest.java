@@ -0,0 +1,59 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.audit.AuditTrail;
+import com.nnk.springboot.dto.ApiPage;
+import com.nnk.springboot.dto.AuditLogDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditControllerTest {
+
+    @Mock
+    private AuditTrail auditTrail;
+
+    @InjectMocks
+    private AuditController auditController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void search_ShouldReturnThePageOfMatchingChanges() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        AuditLogDTO record = new AuditLogDTO();
+        record.setEntityId("7");
+        when(auditTrail.search("Trade", "7", "alice", from, null, 1, 10))
+                .thenReturn(new PageImpl<>(List.of(record), PageRequest.of(1, 10), 11));
+
+        // Act
+        ApiPage<AuditLogDTO> result = auditController.search("Trade", "7", "alice", from, null, 1, 10);
+
+        // Assert
+        assertEquals(List.of(record), result.content());
+        assertEquals(1, result.page());
+        assertEquals(11, result.totalElements());
+    }
+
+    @Test
+    void badRequest_ShouldMapToStatusCode() {
+        // Act + Assert
+        assertEquals(HttpStatus.BAD_REQUEST,
+                auditController.badRequest(new IllegalArgumentException("An entity ID requires an entity type."))
+                        .getStatusCode());
+    }
+}
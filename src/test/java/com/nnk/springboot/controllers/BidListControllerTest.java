@@ -3,6 +3,8 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.dto.BidDTO;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.search.SearchIndexService;
 import com.nnk.springboot.service.BidListService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +23,9 @@ import static org.mockito.Mockito.*;
 
 class BidListControllerTest {
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @Mock
     private BidListService bidListService;
 
@@ -96,6 +101,25 @@ class BidListControllerTest {
         verify(model).addAttribute("bid", bidDTO);
     }
 
+    @Test
+    void updateBid_ShouldReturnUpdateViewWithErrorWhenVersionConflicts() {
+        // Arrange
+        int id = 1;
+        BidDTO bidDTO = new BidDTO();
+        bidDTO.setVersion(2L);
+        when(bindingResult.hasErrors()).thenReturn(false);
+        doThrow(new EntityVersionConflictException("modified")).when(bidListService).updateBidList(id, bidDTO);
+
+        // Act
+        String viewName = bidListController.updateBid(id, bidDTO, bindingResult, model, redirectAttributes);
+
+        // Assert
+        assertEquals("bidList/update", viewName);
+        verify(model).addAttribute("bidList", bidDTO);
+        verify(model).addAttribute(eq("errorMessage"), contains("modified by another user"));
+        verify(redirectAttributes, never()).addFlashAttribute(eq("successMessage"), any());
+    }
+
     @Test
     void validate_ShouldReturnAddBidViewWhenSaveFails() throws EntitySaveException {
         // Arrange
@@ -170,4 +194,21 @@ class BidListControllerTest {
         verify(bidListService).deleteBidList(id);
         verify(redirectAttributes).addFlashAttribute("successMessage", "Bidlist deleted successfully");
     }
+
+    @Test
+    void search_ShouldReturnListViewWithMatchingRows() {
+        // Arrange
+        List<BidList> rows = List.of(new BidList());
+        List<BidDTO> dtos = List.of(new BidDTO());
+        when(searchIndexService.searchBids("book:fx")).thenReturn(rows);
+        when(bidListService.convertToDTOList(rows)).thenReturn(dtos);
+
+        // Act
+        String viewName = bidListController.search("book:fx", model);
+
+        // Assert
+        assertEquals("bidList/list", viewName);
+        verify(model).addAttribute("bidLists", dtos);
+        verify(model).addAttribute("query", "book:fx");
+    }
 }
@@ -0,0 +1,60 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.blotter.BlotterHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BlotterControllerTest {
+
+    @Mock
+    private BlotterHub blotterHub;
+
+    @InjectMocks
+    private BlotterController blotterController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void stream_ShouldSubscribeToTheRequestedTables() {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(blotterHub.subscribe(Set.of("trade"), "a1b2c3d4-41")).thenReturn(emitter);
+
+        // Act
+        SseEmitter result = blotterController.stream(Set.of("trade"), "a1b2c3d4-41");
+
+        // Assert
+        assertSame(emitter, result);
+    }
+
+    @Test
+    void stream_ShouldRejectUnknownTables() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> blotterController.stream(Set.of("trade", "curve"), null));
+        verify(blotterHub, never()).subscribe(any(), any());
+    }
+
+    @Test
+    void exceptionHandlers_ShouldMapToStatusCodes() {
+        // Act + Assert
+        assertEquals(HttpStatus.BAD_REQUEST,
+                blotterController.badRequest(new IllegalArgumentException("Unknown blotter tables")).getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                blotterController.unavailable(new RejectedExecutionException("Too many")).getStatusCode());
+    }
+}
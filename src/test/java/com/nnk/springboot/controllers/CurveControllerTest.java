@@ -3,6 +3,7 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.dto.CurveDTO;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.service.CurveService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -96,6 +97,25 @@ class CurveControllerTest {
         verify(model).addAttribute("curvePoint", curveDTO);
     }
 
+    @Test
+    void updateBid_ShouldReturnUpdateViewWithErrorWhenVersionConflicts() {
+        // Arrange
+        int id = 1;
+        CurveDTO curveDTO = new CurveDTO();
+        curveDTO.setVersion(2L);
+        when(bindingResult.hasErrors()).thenReturn(false);
+        doThrow(new EntityVersionConflictException("modified")).when(curveService).updateCurvePoint(id, curveDTO);
+
+        // Act
+        String viewName = curveController.updateBid(id, curveDTO, bindingResult, model, redirectAttributes);
+
+        // Assert
+        assertEquals("curvePoint/update", viewName);
+        verify(model).addAttribute("curvePoint", curveDTO);
+        verify(model).addAttribute(eq("errorMessage"), contains("modified by another user"));
+        verify(redirectAttributes, never()).addFlashAttribute(eq("successMessage"), any());
+    }
+
     @Test
     void validate_ShouldReturnAddCurvePointViewWhenSaveFails() throws EntitySaveException {
         // Arrange
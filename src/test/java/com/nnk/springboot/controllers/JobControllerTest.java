@@ -0,0 +1,114 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.JobStatus;
+import com.nnk.springboot.dto.JobDTO;
+import com.nnk.springboot.dto.JobRequest;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.jobs.JobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JobControllerTest {
+
+    @Mock
+    private JobService jobService;
+
+    @Mock
+    private Principal principal;
+
+    @InjectMocks
+    private JobController jobController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(principal.getName()).thenReturn("alice");
+    }
+
+    @Test
+    void submit_ShouldAcceptTheJobWithItsLocation() {
+        // Arrange
+        JobRequest request = new JobRequest();
+        request.setType("trade-import");
+        request.setParameters(Map.of("csv", "A,B,1"));
+        when(jobService.submit("trade-import", Map.of("csv", "A,B,1"), "alice")).thenReturn(job(5L, JobStatus.QUEUED));
+
+        // Act
+        ResponseEntity<JobDTO> response = jobController.submit(request, principal);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(URI.create("/jobs/5"), response.getHeaders().getLocation());
+        assertEquals(5L, response.getBody().getId());
+    }
+
+    @Test
+    void submit_ShouldPassEmptyParameters_WhenNoneAreGiven() {
+        // Arrange
+        JobRequest request = new JobRequest();
+        request.setType("trade-reassign");
+        request.setParameters(null);
+        when(jobService.submit("trade-reassign", Map.of(), "alice")).thenReturn(job(6L, JobStatus.QUEUED));
+
+        // Act
+        ResponseEntity<JobDTO> response = jobController.submit(request, principal);
+
+        // Assert
+        assertEquals(6L, response.getBody().getId());
+    }
+
+    @Test
+    void job_ShouldReturnTheJob() {
+        // Arrange
+        when(jobService.getJob(5L)).thenReturn(job(5L, JobStatus.RUNNING));
+
+        // Act
+        JobDTO result = jobController.job(5L);
+
+        // Assert
+        assertEquals(JobStatus.RUNNING, result.getStatus());
+    }
+
+    @Test
+    void cancel_ShouldReturnTheJob() {
+        // Arrange
+        when(jobService.cancel(5L)).thenReturn(job(5L, JobStatus.CANCELLED));
+
+        // Act
+        JobDTO result = jobController.cancel(5L);
+
+        // Assert
+        assertEquals(JobStatus.CANCELLED, result.getStatus());
+    }
+
+    @Test
+    void exceptionHandlers_ShouldMapToStatusCodes() {
+        // Act + Assert
+        assertEquals(HttpStatus.NOT_FOUND,
+                jobController.notFound(new EntityNotFoundException("Job not found with ID: 1")).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                jobController.badRequest(new IllegalArgumentException("Unknown job type: x")).getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                jobController.unavailable(new RejectedExecutionException("Too many jobs queued")).getStatusCode());
+    }
+
+    private static JobDTO job(Long id, JobStatus status) {
+        JobDTO jobDTO = new JobDTO();
+        jobDTO.setId(id);
+        jobDTO.setStatus(status);
+        return jobDTO;
+    }
+}
@@ -3,6 +3,7 @@ package com.nnk.springboot.controllers;
 import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.dto.RatingDTO;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.service.RatingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -96,6 +97,25 @@ class RatingControllerTest {
         verify(model).addAttribute("rating", ratingDTO);
     }
 
+    @Test
+    void updateRating_ShouldReturnUpdateViewWithErrorWhenVersionConflicts() {
+        // Arrange
+        int id = 1;
+        RatingDTO ratingDTO = new RatingDTO();
+        ratingDTO.setVersion(2L);
+        when(bindingResult.hasErrors()).thenReturn(false);
+        doThrow(new EntityVersionConflictException("modified")).when(ratingService).updateRating(id, ratingDTO);
+
+        // Act
+        String viewName = ratingController.updateRating(id, ratingDTO, bindingResult, model, redirectAttributes);
+
+        // Assert
+        assertEquals("rating/update", viewName);
+        verify(model).addAttribute("rating", ratingDTO);
+        verify(model).addAttribute(eq("errorMessage"), contains("modified by another user"));
+        verify(redirectAttributes, never()).addFlashAttribute(eq("successMessage"), any());
+    }
+
     @Test
     void validate_ShouldReturnAddRatingViewWhenSaveFails() throws EntitySaveException {
         // Arrange
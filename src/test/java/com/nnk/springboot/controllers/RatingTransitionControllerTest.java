@@ -0,0 +1,61 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.rating.RatingAgency;
+import com.nnk.springboot.rating.RatingTransitionService;
+import com.nnk.springboot.rating.TransitionMatrix;
+import com.nnk.springboot.rating.TransitionWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RatingTransitionControllerTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Mock
+    private RatingTransitionService ratingTransitionService;
+
+    private RatingTransitionController ratingTransitionController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ratingTransitionController = new RatingTransitionController(ratingTransitionService);
+    }
+
+    @Test
+    void transitions_ShouldStepCohortsByTheHorizonByDefault() {
+        // Arrange
+        TransitionMatrix matrix = new TransitionMatrix(RatingAgency.SANDP, FROM, FROM.plusYears(2), 12, 12, 2, 0, 0,
+                List.of(), new long[0][0], new double[0][0]);
+        when(ratingTransitionService.transitionMatrix(eq(RatingAgency.SANDP), any())).thenReturn(matrix);
+
+        // Act
+        TransitionMatrix result = ratingTransitionController.transitions(RatingAgency.SANDP, FROM, FROM.plusYears(2), 12, null);
+
+        // Assert
+        ArgumentCaptor<TransitionWindow> window = ArgumentCaptor.forClass(TransitionWindow.class);
+        verify(ratingTransitionService).transitionMatrix(eq(RatingAgency.SANDP), window.capture());
+        assertEquals(new TransitionWindow(FROM, FROM.plusYears(2), 12, 12), window.getValue());
+        assertEquals(matrix, result);
+    }
+
+    @Test
+    void transitions_ShouldRejectAWindowShorterThanTheHorizon() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                ratingTransitionController.transitions(RatingAgency.MOODYS, FROM, FROM.plusMonths(6), 12, null));
+        assertEquals(HttpStatus.BAD_REQUEST,
+                ratingTransitionController.badRequest(new IllegalArgumentException("Window")).getStatusCode());
+        verifyNoInteractions(ratingTransitionService);
+    }
+}
@@ -0,0 +1,56 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.risk.VarReport;
+import com.nnk.springboot.risk.VarRequest;
+import com.nnk.springboot.risk.VarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RiskControllerTest {
+
+    @Mock
+    private VarService varService;
+
+    private RiskController riskController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        riskController = new RiskController(varService, 20000);
+    }
+
+    @Test
+    void valueAtRisk_ShouldUseTheDefaultPathsAndARandomSeed() {
+        // Arrange
+        VarReport report = new VarReport(20000, 1, 5L, 3, 20, 10, 0, 12, List.of());
+        when(varService.valueAtRisk(any())).thenReturn(report);
+
+        // Act
+        VarReport result = riskController.valueAtRisk(null, List.of(0.99), 1, null);
+
+        // Assert
+        ArgumentCaptor<VarRequest> request = ArgumentCaptor.forClass(VarRequest.class);
+        verify(varService).valueAtRisk(request.capture());
+        assertEquals(20000, request.getValue().paths());
+        assertEquals(List.of(0.99), request.getValue().confidences());
+        assertEquals(report, result);
+    }
+
+    @Test
+    void valueAtRisk_ShouldRejectInvalidConfidenceLevels() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> riskController.valueAtRisk(100, List.of(99.0), 1, 1L));
+        assertEquals(HttpStatus.BAD_REQUEST,
+                riskController.badRequest(new IllegalArgumentException("Confidence")).getStatusCode());
+        verifyNoInteractions(varService);
+    }
+}
@@ -1,8 +1,15 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.RuleViolation;
 import com.nnk.springboot.dto.RuleNameDTO;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.rules.RuleEvaluationPipeline;
+import com.nnk.springboot.rules.RuleEvaluationStats;
+import com.nnk.springboot.rules.RuleExecutionResult;
+import com.nnk.springboot.rules.RuleExecutionService;
+import com.nnk.springboot.rules.TemplateRenderingService;
 import com.nnk.springboot.service.RuleNameService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +22,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -24,6 +32,15 @@ class RuleNameControllerTest {
     @Mock
     private RuleNameService ruleNameService;
 
+    @Mock
+    private RuleExecutionService ruleExecutionService;
+
+    @Mock
+    private TemplateRenderingService templateRenderingService;
+
+    @Mock
+    private RuleEvaluationPipeline ruleEvaluationPipeline;
+
     @Mock
     private Model model;
 
@@ -96,6 +113,25 @@ class RuleNameControllerTest {
         verify(model).addAttribute("ruleName", ruleNameDTO);
     }
 
+    @Test
+    void updateRuleName_ShouldReturnUpdateViewWithErrorWhenVersionConflicts() {
+        // Arrange
+        int id = 1;
+        RuleNameDTO ruleNameDTO = new RuleNameDTO();
+        ruleNameDTO.setVersion(2L);
+        when(bindingResult.hasErrors()).thenReturn(false);
+        doThrow(new EntityVersionConflictException("modified")).when(ruleNameService).updateRuleName(id, ruleNameDTO);
+
+        // Act
+        String viewName = ruleNameController.updateRuleName(id, ruleNameDTO, bindingResult, model, redirectAttributes);
+
+        // Assert
+        assertEquals("ruleName/update", viewName);
+        verify(model).addAttribute("ruleName", ruleNameDTO);
+        verify(model).addAttribute(eq("errorMessage"), contains("modified by another user"));
+        verify(redirectAttributes, never()).addFlashAttribute(eq("successMessage"), any());
+    }
+
     @Test
     void validate_ShouldReturnAddRuleViewWhenSaveFails() throws EntitySaveException {
         // Arrange
@@ -170,4 +206,72 @@ class RuleNameControllerTest {
         verify(ruleNameService).deleteRuleNameById(id);
         verify(redirectAttributes).addFlashAttribute("successMessage", "Rule successfully deleted");
     }
+
+    @Test
+    void runAll_ShouldReturnRunViewWithResults() {
+        // Arrange
+        Map<String, String> parameters = Map.of("min", "10");
+        List<RuleExecutionResult> results = List.of(new RuleExecutionResult(1, "Rule", 3, 5, null));
+        when(ruleExecutionService.runAllRules(parameters)).thenReturn(results);
+
+        // Act
+        String viewName = ruleNameController.runAll(parameters, model);
+
+        // Assert
+        assertEquals("ruleName/run", viewName);
+        verify(model).addAttribute("results", results);
+    }
+
+    @Test
+    void run_ShouldReturnRunViewWithSingleResult() {
+        // Arrange
+        RuleExecutionResult result = new RuleExecutionResult(1, "Rule", 3, 5, null);
+        when(ruleExecutionService.runRule(1, Map.of())).thenReturn(result);
+
+        // Act
+        String viewName = ruleNameController.run(1, Map.of(), model);
+
+        // Assert
+        assertEquals("ruleName/run", viewName);
+        verify(model).addAttribute("results", List.of(result));
+    }
+
+    @Test
+    void renderTrade_ShouldReturnRenderedTemplate() {
+        // Arrange
+        when(templateRenderingService.renderTrade(1, 2)).thenReturn("rendered");
+
+        // Act
+        String body = ruleNameController.renderTrade(1, 2);
+
+        // Assert
+        assertEquals("rendered", body);
+    }
+
+    @Test
+    void violations_ShouldReturnViolationsViewWithFilteredViolations() {
+        // Arrange
+        List<RuleViolation> violations = List.of(new RuleViolation());
+        when(ruleEvaluationPipeline.getViolations(1, null)).thenReturn(violations);
+
+        // Act
+        String viewName = ruleNameController.violations(1, null, model);
+
+        // Assert
+        assertEquals("ruleName/violations", viewName);
+        verify(model).addAttribute("violations", violations);
+    }
+
+    @Test
+    void evaluationStats_ShouldReturnPipelineStats() {
+        // Arrange
+        RuleEvaluationStats stats = new RuleEvaluationStats(0, 10, 3, 1, 3, 1, 1000, 2000);
+        when(ruleEvaluationPipeline.getStats()).thenReturn(stats);
+
+        // Act
+        RuleEvaluationStats result = ruleNameController.evaluationStats();
+
+        // Assert
+        assertEquals(stats, result);
+    }
 }
@@ -0,0 +1,64 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.scenario.ScenarioDefinition;
+import com.nnk.springboot.scenario.ScenarioService;
+import com.nnk.springboot.scenario.ShockAxis;
+import com.nnk.springboot.scenario.ShockShape;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ScenarioControllerTest {
+
+    @Mock
+    private ScenarioService scenarioService;
+
+    @InjectMocks
+    private ScenarioController scenarioController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void save_ShouldAnswerWithTheLocationOfTheDefinition() {
+        // Arrange
+        ScenarioDefinition definition = new ScenarioDefinition("rates",
+                List.of(new ShockAxis(new ShockShape.Parallel(), -2.0, 2.0, 41)));
+        when(scenarioService.save(definition)).thenReturn(definition);
+
+        // Act
+        ResponseEntity<ScenarioDefinition> response = scenarioController.save(definition);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("/api/v1/scenarios/rates", response.getHeaders().getLocation().toString());
+    }
+
+    @Test
+    void results_ShouldRejectUnknownDefinitionsAndValuations() {
+        // Arrange
+        when(scenarioService.get("missing")).thenThrow(new EntityNotFoundException("Scenario definition not found: missing"));
+        when(scenarioService.get("rates")).thenReturn(new ScenarioDefinition("rates",
+                List.of(new ShockAxis(new ShockShape.Parallel(), -2.0, 2.0, 41))));
+
+        // Act + Assert
+        assertThrows(EntityNotFoundException.class, () -> scenarioController.results("missing", "presentValue"));
+        assertThrows(IllegalArgumentException.class, () -> scenarioController.results("rates", "delta"));
+        verify(scenarioService, never()).run(any(), any(), any());
+        assertEquals(HttpStatus.NOT_FOUND,
+                scenarioController.notFound(new EntityNotFoundException("missing")).getStatusCode());
+    }
+}
@@ -2,6 +2,9 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Trade;
 import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.journal.TradeJournalService;
+import com.nnk.springboot.search.SearchIndexService;
 import com.nnk.springboot.service.TradeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,9 +23,15 @@ import static org.mockito.Mockito.*;
 
 class TradeControllerTest {
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @Mock
     private TradeService tradeService;
 
+    @Mock
+    private TradeJournalService tradeJournalService;
+
     @Mock
     private Model model;
 
@@ -67,7 +76,7 @@ class TradeControllerTest {
     }
 
     @Test
-    void validate_ShouldSaveTradeAndRedirectToTradeList() {
+    void validate_ShouldBookTradeAndRedirectToTradeList() {
         // Arrange
         TradeDTO tradeDTO = new TradeDTO();
         when(bindingResult.hasErrors()).thenReturn(false);
@@ -77,7 +86,7 @@ class TradeControllerTest {
 
         // Assert
         assertEquals("redirect:/trade/list", viewName);
-        verify(tradeService).saveTrade(tradeDTO);
+        verify(tradeJournalService).book(tradeDTO);
         verify(redirectAttributes).addFlashAttribute("successMessage", "Trade added successfully");
     }
 
@@ -95,12 +104,31 @@ class TradeControllerTest {
         verify(model).addAttribute("trade", tradeDTO);
     }
 
+    @Test
+    void updateTrade_ShouldReturnUpdateViewWithErrorWhenVersionConflicts() {
+        // Arrange
+        int id = 1;
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setVersion(2L);
+        when(bindingResult.hasErrors()).thenReturn(false);
+        doThrow(new EntityVersionConflictException("modified")).when(tradeService).updateBidList(id, tradeDTO);
+
+        // Act
+        String viewName = tradeController.updateTrade(id, tradeDTO, bindingResult, model, redirectAttributes);
+
+        // Assert
+        assertEquals("trade/update", viewName);
+        verify(model).addAttribute("trade", tradeDTO);
+        verify(model).addAttribute(eq("errorMessage"), contains("modified by another user"));
+        verify(redirectAttributes, never()).addFlashAttribute(eq("successMessage"), any());
+    }
+
     @Test
     void validate_ShouldReturnAddTradeViewWhenSaveFails() {
         // Arrange
         TradeDTO tradeDTO = new TradeDTO();
         when(bindingResult.hasErrors()).thenReturn(false);
-        doThrow(new RuntimeException("Error saving trade")).when(tradeService).saveTrade(tradeDTO);
+        doThrow(new RuntimeException("Error saving trade")).when(tradeJournalService).book(tradeDTO);
 
         // Act
         String viewName = tradeController.validate(tradeDTO, bindingResult, model, redirectAttributes);
@@ -170,4 +198,21 @@ class TradeControllerTest {
         verify(tradeService).deleteTrade(id);
         verify(redirectAttributes).addFlashAttribute("successMessage", "Trade deleted successfully");
     }
+
+    @Test
+    void search_ShouldReturnListViewWithMatchingRows() {
+        // Arrange
+        List<Trade> rows = List.of(new Trade());
+        List<TradeDTO> dtos = List.of(new TradeDTO());
+        when(searchIndexService.searchTrades("book:fx")).thenReturn(rows);
+        when(tradeService.convertToDTOList(rows)).thenReturn(dtos);
+
+        // Act
+        String viewName = tradeController.search("book:fx", model);
+
+        // Assert
+        assertEquals("trade/list", viewName);
+        verify(model).addAttribute("trades", dtos);
+        verify(model).addAttribute("query", "book:fx");
+    }
 }
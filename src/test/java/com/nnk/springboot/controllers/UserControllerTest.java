@@ -2,6 +2,7 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -95,6 +96,25 @@ class UserControllerTest {
         verify(model).addAttribute("user", userDTO);
     }
 
+    @Test
+    void updateUser_ShouldReturnUpdateViewWithErrorWhenVersionConflicts() {
+        // Arrange
+        int id = 1;
+        UserDTO userDTO = new UserDTO();
+        userDTO.setVersion(2L);
+        when(bindingResult.hasErrors()).thenReturn(false);
+        doThrow(new EntityVersionConflictException("modified")).when(userService).updateUser(id, userDTO);
+
+        // Act
+        String viewName = userController.updateUser(id, userDTO, bindingResult, model, redirectAttributes);
+
+        // Assert
+        assertEquals("user/update", viewName);
+        verify(model).addAttribute("user", userDTO);
+        verify(model).addAttribute(eq("errorMessage"), contains("modified by another user"));
+        verify(redirectAttributes, never()).addFlashAttribute(eq("successMessage"), any());
+    }
+
     @Test
     void validate_ShouldReturnAddUserViewWhenSaveFails() {
         // Arrange
@@ -0,0 +1,224 @@
+package com.nnk.springboot.event;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DomainEventBusTest {
+
+    private DomainEventBus bus;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void onCommitted_ShouldDeliverEventsInOrderAndInBatches() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingConsumer consumer = new RecordingConsumer("trades", 100, 3, OverflowPolicy.DROP, gate);
+        bus = start(consumer);
+
+        for (int i = 1; i <= 7; i++) {
+            bus.onCommitted(DomainEvent.created(Trade.class, i, new Trade()));
+        }
+        gate.countDown();
+
+        awaitTrue(() -> consumer.ids().size() == 7);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), consumer.ids());
+        assertTrue(consumer.batchSizes.stream().allMatch(size -> size <= 3), consumer.batchSizes.toString());
+        EventConsumerStats stats = bus.getStats().get(0);
+        assertEquals(7, stats.published());
+        assertEquals(7, stats.delivered());
+        assertEquals(consumer.batchSizes.size(), stats.batches());
+        assertEquals(0, stats.queueDepth());
+        assertTrue(stats.p99LagNanos() >= stats.p50LagNanos());
+    }
+
+    @Test
+    void onCommitted_ShouldOnlyRouteEventsOfTheConsumedType() throws InterruptedException {
+        RecordingConsumer consumer = new RecordingConsumer("trades", 100, 10, OverflowPolicy.DROP, null);
+        bus = start(consumer);
+
+        bus.onCommitted(DomainEvent.created(BidList.class, 1, new BidList()));
+        bus.onCommitted(DomainEvent.deleted(Trade.class, 2));
+
+        awaitTrue(() -> consumer.ids().size() == 1);
+        assertEquals(List.of(2), consumer.ids());
+        assertEquals(1, bus.getStats().get(0).published());
+    }
+
+    @Test
+    void onCommitted_ShouldDropAndCountEventsBeyondTheQueueCapacity_WhenPolicyIsDrop() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingConsumer consumer = new RecordingConsumer("trades", 2, 1, OverflowPolicy.DROP, gate);
+        bus = start(consumer);
+
+        bus.onCommitted(DomainEvent.created(Trade.class, 1, new Trade()));
+        awaitTrue(consumer.entered::get);
+        for (int i = 2; i <= 6; i++) {
+            bus.onCommitted(DomainEvent.created(Trade.class, i, new Trade()));
+        }
+
+        EventConsumerStats stats = bus.getStats().get(0);
+        assertEquals(3, stats.dropped());
+        assertEquals(2, stats.queueDepth());
+        assertTrue(stats.oldestPendingNanos() > 0);
+        gate.countDown();
+        awaitTrue(() -> consumer.ids().size() == 3);
+        assertEquals(List.of(1, 2, 3), consumer.ids());
+    }
+
+    @Test
+    void onCommitted_ShouldWaitForRoom_WhenPolicyIsBlock() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingConsumer consumer = new RecordingConsumer("trades", 1, 1, OverflowPolicy.BLOCK, gate);
+        bus = start(consumer);
+        bus.onCommitted(DomainEvent.created(Trade.class, 1, new Trade()));
+        awaitTrue(consumer.entered::get);
+        bus.onCommitted(DomainEvent.created(Trade.class, 2, new Trade()));
+
+        Thread writer = new Thread(() -> bus.onCommitted(DomainEvent.created(Trade.class, 3, new Trade())));
+        writer.start();
+        writer.join(300);
+        assertTrue(writer.isAlive(), "the writer should wait while the queue is full");
+
+        gate.countDown();
+        writer.join(5000);
+        assertFalse(writer.isAlive());
+        awaitTrue(() -> consumer.ids().size() == 3);
+        assertEquals(List.of(1, 2, 3), consumer.ids());
+        assertEquals(0, bus.getStats().get(0).dropped());
+    }
+
+    @Test
+    void accept_ShouldCountAFailingBatchAndKeepDelivering() throws InterruptedException {
+        RecordingConsumer consumer = new RecordingConsumer("trades", 100, 1, OverflowPolicy.DROP, null);
+        consumer.failOn = 1;
+        bus = start(consumer);
+
+        bus.onCommitted(DomainEvent.created(Trade.class, 1, new Trade()));
+        bus.onCommitted(DomainEvent.created(Trade.class, 2, new Trade()));
+
+        awaitTrue(() -> consumer.ids().contains(2));
+        EventConsumerStats stats = bus.getStats().get(0);
+        assertEquals(1, stats.failedBatches());
+        assertEquals(1, stats.delivered());
+    }
+
+    @Test
+    void needsBeforeImages_ShouldOnlyHoldForTypesWhoseConsumersAskForThem() {
+        RecordingConsumer consumer = new RecordingConsumer("trades", 100, 10, OverflowPolicy.DROP, null);
+        consumer.beforeImages = true;
+        bus = start(consumer);
+
+        assertTrue(bus.needsBeforeImages(Trade.class));
+        assertFalse(bus.needsBeforeImages(BidList.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DomainEventBus start(DomainEventConsumer<?>... consumers) {
+        ObjectProvider<DomainEventConsumer<?>> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> List.of(consumers).stream());
+        DomainEventBus bus = new DomainEventBus(provider);
+        bus.afterSingletonsInstantiated();
+        return bus;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static final class RecordingConsumer implements DomainEventConsumer<Trade> {
+
+        private final String name;
+        private final int queueCapacity;
+        private final int maxBatchSize;
+        private final OverflowPolicy overflowPolicy;
+        private final CountDownLatch gate;
+        private final AtomicBoolean entered = new AtomicBoolean();
+        private final List<Object> received = new CopyOnWriteArrayList<>();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile int failOn;
+        private volatile boolean beforeImages;
+        private int calls;
+
+        RecordingConsumer(String name, int queueCapacity, int maxBatchSize, OverflowPolicy overflowPolicy,
+                          CountDownLatch gate) {
+            this.name = name;
+            this.queueCapacity = queueCapacity;
+            this.maxBatchSize = maxBatchSize;
+            this.overflowPolicy = overflowPolicy;
+            this.gate = gate;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Class<Trade> entityType() {
+            return Trade.class;
+        }
+
+        @Override
+        public void accept(List<DomainEvent<Trade>> events) {
+            entered.set(true);
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (++calls == failOn) {
+                throw new IllegalStateException("boom");
+            }
+            batchSizes.add(events.size());
+            events.forEach(event -> received.add(event.id()));
+        }
+
+        @Override
+        public int queueCapacity() {
+            return queueCapacity;
+        }
+
+        @Override
+        public int maxBatchSize() {
+            return maxBatchSize;
+        }
+
+        @Override
+        public OverflowPolicy overflowPolicy() {
+            return overflowPolicy;
+        }
+
+        @Override
+        public boolean needsBeforeImages() {
+            return beforeImages;
+        }
+
+        List<Object> ids() {
+            return List.copyOf(received);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class ApiControllerIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("api-admin", "ROLE_ADMIN"));
+        userService.saveUser(user("api-user", "ROLE_USER"));
+    }
+
+    @Test
+    void trades_ShouldReturnNotModified_UntilTradeTableChanges() throws Exception {
+        // Arrange
+        tradeService.saveTrade(trade("ACC1"));
+        MvcResult first = mockMvc.perform(get("/api/v1/trades").header(HttpHeaders.AUTHORIZATION, basic("api-user")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/trades")
+                        .header(HttpHeaders.AUTHORIZATION, basic("api-user"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        tradeService.saveTrade(trade("ACC2"));
+        MvcResult changed = mockMvc.perform(get("/api/v1/trades")
+                        .header(HttpHeaders.AUTHORIZATION, basic("api-user"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andReturn();
+        assertNotEquals(etag, changed.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void trades_ShouldFilterSortAndPage() throws Exception {
+        // Arrange
+        tradeService.saveTrade(trade("ACC1"));
+        tradeService.saveTrade(trade("ACC2"));
+        tradeService.saveTrade(trade("ACC2"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/trades?account=ACC2&sort=tradeId,desc&size=1")
+                        .header(HttpHeaders.AUTHORIZATION, basic("api-user")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].account").value("ACC2"));
+    }
+
+    @Test
+    void trades_ShouldRejectUnsupportedFilter() throws Exception {
+        mockMvc.perform(get("/api/v1/trades?commentary=x").header(HttpHeaders.AUTHORIZATION, basic("api-user")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void trade_ShouldReturnItemWithEtag_OrNotFound() throws Exception {
+        // Arrange
+        Trade trade = tradeService.saveTrade(trade("ACC1"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/trades/" + trade.getTradeId())
+                        .header(HttpHeaders.AUTHORIZATION, basic("api-user")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.account").value("ACC1"));
+        mockMvc.perform(get("/api/v1/trades/" + (trade.getTradeId() + 1000))
+                        .header(HttpHeaders.AUTHORIZATION, basic("api-user")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void users_ShouldHidePasswords_AndRequireAdmin() throws Exception {
+        mockMvc.perform(get("/api/v1/users?sort=username").header(HttpHeaders.AUTHORIZATION, basic("api-admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].username").value("api-admin"))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist());
+        mockMvc.perform(get("/api/v1/users").header(HttpHeaders.AUTHORIZATION, basic("api-user")))
+                .andExpect(status().isForbidden());
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username, String role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole(role);
+        return userDTO;
+    }
+
+    private static TradeDTO trade(String account) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(1.0);
+        return tradeDTO;
+    }
+}
@@ -0,0 +1,205 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.AuditLog;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BidDTO;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.repositories.AuditLogRepository;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.BidListService;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class AuditIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private BidListService bidListService;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository.deleteAll();
+        bidListRepository.deleteAll();
+        userRepository.deleteAll();
+        auditLogRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tradeChanges_ShouldBeStampedAndAuditedWithTheirUser() throws InterruptedException {
+        // Arrange
+        actAs("alice");
+        Trade trade = tradeService.saveTrade(trade("Initial"));
+        TradeDTO read = tradeService.getTradeDTOById(trade.getTradeId());
+
+        // Act
+        actAs("bob");
+        read.setAccount("Updated");
+        tradeService.updateBidList(trade.getTradeId(), read);
+        Trade stored = tradeRepository.findById(trade.getTradeId()).orElseThrow();
+        tradeService.deleteTrade(trade.getTradeId());
+
+        // Assert
+        assertEquals("alice", stored.getCreationName());
+        assertNotNull(stored.getCreationDate());
+        assertEquals("bob", stored.getRevisionName());
+        assertNotNull(stored.getRevisionDate());
+        List<AuditLog> records = awaitRecords(3);
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED),
+                records.stream().map(AuditLog::getAction).toList());
+        assertEquals(List.of("alice", "bob", "bob"), records.stream().map(AuditLog::getUsername).toList());
+        assertTrue(records.stream().allMatch(r -> r.getEntityId().equals(String.valueOf(trade.getTradeId()))));
+        assertEquals("{\"account\":{\"from\":\"Initial\",\"to\":\"Updated\"}}", records.get(1).getChanges());
+        assertTrue(records.get(2).getChanges().contains("\"account\":{\"from\":\"Updated\"}"),
+                records.get(2).getChanges());
+    }
+
+    @Test
+    void bidCreation_ShouldBeStampedAndAudited() throws InterruptedException {
+        // Arrange
+        actAs("carol");
+        BidDTO bidDTO = new BidDTO();
+        bidDTO.setAccount("BidAccount");
+        bidDTO.setType("BidType");
+        bidDTO.setBidQuantity(5.0);
+
+        // Act
+        BidList bid = bidListService.saveBidList(bidDTO);
+
+        // Assert
+        assertEquals("carol", bidListRepository.findById((int) bid.getId()).orElseThrow().getCreationName());
+        AuditLog record = awaitRecords(1).get(0);
+        assertEquals("BidList", record.getEntityType());
+        assertEquals("carol", record.getUsername());
+        assertTrue(record.getChanges().contains("\"bidQuantity\":{\"to\":5.0}"), record.getChanges());
+    }
+
+    @Test
+    void search_ShouldFilterByEntityUserAndTimeRange() throws Exception {
+        // Arrange
+        userService.saveUser(user("admin", "ROLE_ADMIN"));
+        userService.saveUser(user("operator", "ROLE_USER"));
+        actAs("alice");
+        Trade first = tradeService.saveTrade(trade("First"));
+        actAs("bob");
+        tradeService.saveTrade(trade("Second"));
+        awaitRecords(2);
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+
+        // Act + Assert
+        mockMvc.perform(get("/api/v1/audit").param("entityType", "Trade").param("user", "alice")
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].entityId").value(String.valueOf(first.getTradeId())))
+                .andExpect(jsonPath("$.content[0].changes.account.to").value("First"));
+        mockMvc.perform(get("/api/v1/audit").param("entityType", "Trade")
+                        .param("from", LocalDateTime.now().minusHours(1).toString()).param("to", tomorrow.toString())
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].username").value("bob"));
+        mockMvc.perform(get("/api/v1/audit").param("from", tomorrow.toString())
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(get("/api/v1/audit").param("entityId", "1")
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/audit").header(HttpHeaders.AUTHORIZATION, basic("operator")))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<AuditLog> awaitRecords(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<AuditLog> records = auditLogRepository.findAll();
+        while (records.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            records = auditLogRepository.findAll();
+        }
+        assertEquals(count, records.size());
+        return records.stream().sorted(Comparator.comparing(AuditLog::getId)).toList();
+    }
+
+    private static void actAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static TradeDTO trade(String account) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(1.0);
+        return tradeDTO;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username, String role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole(role);
+        return userDTO;
+    }
+}
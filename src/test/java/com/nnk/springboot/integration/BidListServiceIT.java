@@ -1,16 +1,18 @@
 package com.nnk.springboot.integration;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
 import com.nnk.springboot.dto.BidDTO;
+import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
 import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
 import com.nnk.springboot.service.BidListService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.dao.DataAccessException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -28,6 +30,9 @@ public class BidListServiceIT {
     @Autowired
     private BidListRepository bidListRepository;
 
+    @Autowired
+    private TradeRepository tradeRepository;
+
     @BeforeEach
     void setUp() {
         bidListRepository.deleteAll();
@@ -51,6 +56,41 @@ public class BidListServiceIT {
         assertEquals(100D, savedBid.getBidQuantity());
     }
 
+    @Test
+    void saveBidList_ShouldMatchCrossingBidLists() throws Exception {
+        // Arrange
+        String security = "SEC-" + System.nanoTime();
+        BidDTO seller = new BidDTO();
+        seller.setAccount("Seller");
+        seller.setType("TestType");
+        seller.setBidQuantity(1D);
+        seller.setSecurity(security);
+        seller.setAsk(99D);
+        seller.setAskQuantity(10D);
+        BidDTO buyer = new BidDTO();
+        buyer.setAccount("Buyer");
+        buyer.setType("TestType");
+        buyer.setBidQuantity(10D);
+        buyer.setSecurity(security);
+        buyer.setBid(100D);
+
+        // Act
+        bidListService.saveBidList(seller);
+        bidListService.saveBidList(buyer);
+        List<Trade> matched = List.of();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (matched.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            matched = tradeRepository.findAll().stream().filter(trade -> security.equals(trade.getSecurity())).toList();
+        }
+
+        // Assert
+        assertEquals(1, matched.size());
+        assertEquals("Buyer", matched.get(0).getAccount());
+        assertEquals(99D, matched.get(0).getBuyPrice());
+        assertEquals(10D, matched.get(0).getBuyQuantity());
+    }
+
     @Test
     void saveBidList_ShouldThrowExceptionWhenDataInvalid() {
         // Arrange
@@ -118,7 +158,7 @@ public class BidListServiceIT {
         updatedBidDTO.setBidQuantity(200D);
 
         // Act & Assert
-        assertThrows(DataAccessException.class, () -> bidListService.updateBidList(invalidId, updatedBidDTO));
+        assertThrows(EntityNotFoundException.class, () -> bidListService.updateBidList(invalidId, updatedBidDTO));
     }
 
     @Test
@@ -144,6 +184,6 @@ public class BidListServiceIT {
         int invalidId = 999;
 
         // Act & Assert
-        assertThrows(DataAccessException.class, () -> bidListService.deleteBidList(invalidId));
+        assertThrows(EntityNotFoundException.class, () -> bidListService.deleteBidList(invalidId));
     }
 }
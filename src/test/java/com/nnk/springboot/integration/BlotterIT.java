@@ -0,0 +1,168 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "blotter.flush-interval-ms=20")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class BlotterIT {
+
+    private static final String PASSWORD = "Password1!";
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\w+-\\d+)\\nevent:trade");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("trader"));
+    }
+
+    @Test
+    void stream_ShouldPushCommittedTradeChanges() throws Exception {
+        // Arrange
+        MvcResult stream = mockMvc.perform(get("/blotter/stream").param("tables", "trade")
+                        .header(HttpHeaders.AUTHORIZATION, basic("trader")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Act
+        Trade trade = tradeService.saveTrade(trade("Blotter"));
+        String content = awaitContent(stream.getResponse(), "\"op\":\"CREATED\"");
+        tradeService.deleteTrade(trade.getTradeId());
+        content = awaitContent(stream.getResponse(), "\"op\":\"DELETED\"");
+
+        // Assert
+        assertTrue(content.contains("event:trade"), content);
+        assertTrue(content.contains("\"id\":" + trade.getTradeId()), content);
+        assertTrue(content.contains("\"account\":\"Blotter\""), content);
+        assertFalse(content.contains("event:bid"), content);
+    }
+
+    @Test
+    void reconnect_ShouldReplayMissedEventsOrAskForAReload() throws Exception {
+        // Arrange
+        MvcResult first = mockMvc.perform(get("/blotter/stream").param("tables", "trade")
+                        .header(HttpHeaders.AUTHORIZATION, basic("trader")))
+                .andReturn();
+        tradeService.saveTrade(trade("Before"));
+        Matcher matcher = EVENT_ID.matcher(awaitContent(first.getResponse(), "Before"));
+        assertTrue(matcher.find());
+        String lastEventId = matcher.group(1);
+        tradeService.saveTrade(trade("Missed"));
+        awaitContent(first.getResponse(), "Missed");
+
+        // Act
+        MvcResult replay = mockMvc.perform(get("/blotter/stream").param("tables", "trade")
+                        .header(HttpHeaders.AUTHORIZATION, basic("trader")).header("Last-Event-ID", lastEventId))
+                .andReturn();
+        MvcResult reset = mockMvc.perform(get("/blotter/stream").param("tables", "trade")
+                        .header(HttpHeaders.AUTHORIZATION, basic("trader")).header("Last-Event-ID", Long.MAX_VALUE))
+                .andReturn();
+        String otherEpoch = "other" + lastEventId.substring(lastEventId.lastIndexOf('-'));
+        MvcResult restarted = mockMvc.perform(get("/blotter/stream").param("tables", "trade")
+                        .header(HttpHeaders.AUTHORIZATION, basic("trader")).header("Last-Event-ID", otherEpoch))
+                .andReturn();
+
+        // Assert
+        String replayed = replay.getResponse().getContentAsString();
+        assertTrue(replayed.contains("Missed"), replayed);
+        assertFalse(replayed.contains("Before"), replayed);
+        assertTrue(reset.getResponse().getContentAsString().contains("event:reset"));
+        assertTrue(restarted.getResponse().getContentAsString().contains("event:reset"));
+    }
+
+    @Test
+    void stream_ShouldRejectUnknownTables() throws Exception {
+        // Act + Assert
+        mockMvc.perform(get("/blotter/stream").param("tables", "curve")
+                        .header(HttpHeaders.AUTHORIZATION, basic("trader")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listPage_ShouldMarkRowsForPatching() throws Exception {
+        // Arrange
+        Trade trade = tradeService.saveTrade(trade("Rendered"));
+
+        // Act + Assert
+        String page = mockMvc.perform(get("/trade/list").header(HttpHeaders.AUTHORIZATION, basic("trader")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(page.contains("data-blotter=\"trade\""));
+        assertTrue(page.contains("data-id=\"" + trade.getTradeId() + "\""));
+        assertTrue(page.contains("/js/blotter.js"));
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+
+    private static TradeDTO trade(String account) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(1.0);
+        return tradeDTO;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole("ROLE_USER");
+        return userDTO;
+    }
+}
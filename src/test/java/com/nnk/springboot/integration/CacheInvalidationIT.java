@@ -0,0 +1,386 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.analytics.Dimension;
+import com.nnk.springboot.analytics.GroupAggregate;
+import com.nnk.springboot.analytics.Measure;
+import com.nnk.springboot.analytics.TradeAnalyticsService;
+import com.nnk.springboot.analytics.TradeQuery;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RatingHistory;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RatingDTO;
+import com.nnk.springboot.dto.RuleNameDTO;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.InvalidationChannel;
+import com.nnk.springboot.event.TableVersions;
+import com.nnk.springboot.rating.RatingAgency;
+import com.nnk.springboot.rating.RatingTransitionService;
+import com.nnk.springboot.rating.TransitionMatrix;
+import com.nnk.springboot.rating.TransitionWindow;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.RatingHistoryRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.rules.RuleEvaluationPipeline;
+import com.nnk.springboot.rules.TemplateRenderingService;
+import com.nnk.springboot.search.SearchIndexService;
+import com.nnk.springboot.service.RatingService;
+import com.nnk.springboot.service.RuleNameService;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"cache.invalidation.enabled=true", "cache.invalidation.node=node-a",
+        "cache.invalidation.poll-ms=50"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class CacheInvalidationIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    private static ConfigurableApplicationContext nodeB;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private InvalidationChannel invalidationChannel;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RatingTransitionService ratingTransitionService;
+
+    @Autowired
+    private RuleNameService ruleNameService;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeAnalyticsService tradeAnalyticsService;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private RatingHistoryRepository ratingHistoryRepository;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // a second instance sharing the in-memory database
+    @BeforeAll
+    static void startNodeB() {
+        nodeB = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .run("--server.port=0", "--spring.jmx.enabled=false", "--cache.invalidation.enabled=true",
+                        "--cache.invalidation.node=node-b", "--cache.invalidation.poll-ms=50");
+    }
+
+    @AfterAll
+    static void stopNodeB() {
+        nodeB.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        ratingHistoryRepository.deleteAll();
+        tradeRepository.deleteAll();
+        tradeAnalyticsService.load();
+        nodeB.getBean(TradeAnalyticsService.class).load();
+        userRepository.deleteAll();
+        userService.saveUser(user("admin", "ROLE_ADMIN"));
+    }
+
+    @Test
+    void ratingWrite_ShouldBumpTheTableVersionOfEveryNodeOnce() throws Exception {
+        // Arrange
+        TableVersions remoteVersions = nodeB.getBean(TableVersions.class);
+        long localBefore = tableVersions.version(Rating.class);
+        long remoteBefore = remoteVersions.version(Rating.class);
+
+        // Act
+        ratingService.saveRating(rating("A1", "A+", "A+"));
+        long remoteAfter = await(() -> remoteVersions.version(Rating.class), version -> version > remoteBefore);
+        Thread.sleep(200);
+
+        // Assert
+        assertEquals(remoteBefore + 1, remoteAfter);
+        assertEquals(localBefore + 1, tableVersions.version(Rating.class));
+        assertTrue(invalidationChannel.getStats().sent() > 0);
+        assertTrue(nodeB.getBean(InvalidationChannel.class).getStats().received() > 0);
+        mockMvc.perform(get("/events/invalidation/stats").header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.node").value("node-a"));
+    }
+
+    @Test
+    void tradeWrites_ShouldReachTheStoreOfTheOtherNode() throws Exception {
+        // Arrange
+        TradeAnalyticsService remoteAnalytics = nodeB.getBean(TradeAnalyticsService.class);
+        Trade alpha = tradeService.saveTrade(trade("Alpha", 10.0));
+        Trade beta = tradeService.saveTrade(trade("Beta", 5.0));
+        List<GroupAggregate> created = await(() -> byAccount(remoteAnalytics), result -> result.size() == 2);
+
+        // Act
+        TradeDTO update = trade("Alpha", 30.0);
+        update.setVersion(alpha.getVersion());
+        tradeService.updateBidList(alpha.getTradeId(), update);
+        tradeService.deleteTrade(beta.getTradeId());
+        List<GroupAggregate> changed = await(() -> byAccount(remoteAnalytics),
+                result -> result.size() == 1 && result.get(0).sum() == 30.0);
+
+        // Assert
+        assertEquals(List.of(new GroupAggregate("Alpha", 1, 10.0, 10.0, 10.0),
+                new GroupAggregate("Beta", 1, 5.0, 5.0, 5.0)), created);
+        assertEquals(List.of(new GroupAggregate("Alpha", 1, 30.0, 30.0, 30.0)), changed);
+    }
+
+    @Test
+    void ratingHistory_ShouldEvictTheTransitionCountsOfTheOtherNode() throws Exception {
+        // Arrange
+        RatingTransitionService remoteTransitions = nodeB.getBean(RatingTransitionService.class);
+        Rating rating = ratingService.saveRating(rating("A1", "A+", "A+"));
+        await(() -> ratingTransitionService.getHistory(rating.getId()).size(), rows -> rows == 1);
+        ratingHistoryRepository.save(history(rating.getId(), LocalDateTime.of(2023, 1, 1, 0, 0), 5));
+        ratingHistoryRepository.save(history(rating.getId(), LocalDateTime.of(2024, 6, 1, 0, 0), 7));
+        TransitionWindow window = new TransitionWindow(LocalDateTime.of(2023, 1, 1, 0, 0),
+                LocalDateTime.now().plusYears(1).withNano(0), 12, 12);
+        TransitionMatrix before = remoteTransitions.transitionMatrix(RatingAgency.SANDP, window);
+
+        // Act
+        ratingService.deleteRating(rating.getId());
+        TransitionMatrix after = await(() -> remoteTransitions.transitionMatrix(RatingAgency.SANDP, window),
+                matrix -> matrix.counts()[6][22] == 1);
+
+        // Assert
+        assertEquals(1, before.counts()[6][4]);
+        assertEquals(0, after.counts()[6][4]);
+        assertEquals(1, after.counts()[6][22]);
+    }
+
+    @Test
+    void tradeChangeOfUnknownId_ShouldReloadTheStoreOfTheOtherNode() throws Exception {
+        // Arrange
+        TradeAnalyticsService remoteAnalytics = nodeB.getBean(TradeAnalyticsService.class);
+        Trade trade = new Trade();
+        trade.setAccount("Direct");
+        trade.setType("Type");
+        trade.setBuyQuantity(4.0);
+        tradeRepository.save(trade);
+
+        // Act
+        invalidationChannel.announce(Trade.class, null, ChangeType.UPDATED);
+        List<GroupAggregate> reloaded = await(() -> byAccount(remoteAnalytics), result -> !result.isEmpty());
+
+        // Assert
+        assertEquals(List.of(new GroupAggregate("Direct", 1, 4.0, 4.0, 4.0)), reloaded);
+    }
+
+    @Test
+    void ruleWrites_ShouldEvictTheCompiledTemplatesOfTheOtherNode() throws Exception {
+        // Arrange
+        TemplateRenderingService remoteTemplates = nodeB.getBean(TemplateRenderingService.class);
+        Trade trade = new Trade();
+        trade.setAccount("A1");
+        RuleName rule = ruleNameService.saveRuleName(rule("old {{account}}"));
+        String compiled = render(remoteTemplates, rule.getId(), trade);
+
+        // Act
+        ruleNameService.updateRuleName(rule.getId(), rule("new {{account}}"));
+        String updated = await(() -> render(remoteTemplates, rule.getId(), trade), text -> text.startsWith("new"));
+        RuleName stored = ruleNameRepository.findById(rule.getId()).orElseThrow();
+        stored.setTemplate("direct {{account}}");
+        ruleNameRepository.save(stored);
+        invalidationChannel.announce(RuleName.class, null, ChangeType.UPDATED);
+        String cleared = await(() -> render(remoteTemplates, rule.getId(), trade), text -> text.startsWith("direct"));
+
+        // Assert
+        assertEquals("old A1", compiled);
+        assertEquals("new A1", updated);
+        assertEquals("direct A1", cleared);
+    }
+
+    @Test
+    void ruleWrites_ShouldEvictTheTradeRulesOfTheOtherNode() throws Exception {
+        // Arrange
+        RuleEvaluationPipeline remotePipeline = nodeB.getBean(RuleEvaluationPipeline.class);
+        TradeService remoteTrades = nodeB.getBean(TradeService.class);
+        long evaluatedBefore = remotePipeline.getStats().evaluated();
+        Trade before = remoteTrades.saveTrade(trade("Before", 1.0));
+        await(() -> remotePipeline.getStats().evaluated(), evaluated -> evaluated > evaluatedBefore);
+
+        // Act
+        RuleName rule = ruleNameService.saveRuleName(rule("Template"));
+        boolean evaluated = await(() -> {
+            Trade after = remoteTrades.saveTrade(trade("After", 1.0));
+            return awaitViolation(remotePipeline, rule.getId(), after.getTradeId());
+        }, found -> found);
+
+        // Assert
+        assertTrue(evaluated);
+        assertTrue(remotePipeline.getViolations(rule.getId(), before.getTradeId()).isEmpty());
+    }
+
+    @Test
+    void tradeAndBidWrites_ShouldReachTheSearchIndexOfTheOtherNode() throws Exception {
+        // Arrange
+        SearchIndexService remoteSearch = nodeB.getBean(SearchIndexService.class);
+        Trade trade = tradeService.saveTrade(trade("Zephyr", 1.0));
+        await(() -> remoteSearch.searchTrades("zephyr"), found -> found.size() == 1);
+
+        // Act
+        TradeDTO update = trade("Quokka", 1.0);
+        update.setVersion(trade.getVersion());
+        tradeService.updateBidList(trade.getTradeId(), update);
+        List<Trade> renamed = await(() -> remoteSearch.searchTrades("quokka"), found -> found.size() == 1);
+        List<Trade> formerName = remoteSearch.searchTrades("zephyr");
+        tradeService.deleteTrade(trade.getTradeId());
+        List<Trade> deleted = await(() -> remoteSearch.searchTrades("quokka"), List::isEmpty);
+        BidList bidList = new BidList();
+        bidList.setAccount("Wombat");
+        bidList.setType("Type");
+        bidListRepository.save(bidList);
+        invalidationChannel.announce(BidList.class, null, ChangeType.UPDATED);
+        List<BidList> rebuilt = await(() -> remoteSearch.searchBids("wombat"), found -> !found.isEmpty());
+
+        // Assert
+        assertEquals(trade.getTradeId(), renamed.get(0).getTradeId());
+        assertTrue(formerName.isEmpty());
+        assertTrue(deleted.isEmpty());
+        assertEquals(List.of("Wombat"), rebuilt.stream().map(BidList::getAccount).toList());
+    }
+
+    private static boolean awaitViolation(RuleEvaluationPipeline pipeline, int ruleId, int tradeId) {
+        try {
+            return !await(() -> pipeline.getViolations(ruleId, tradeId), violations -> !violations.isEmpty(), 500)
+                    .isEmpty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String render(TemplateRenderingService templates, int ruleId, Trade trade) {
+        return templates.tradeTemplate(ruleId).render(trade, new StringBuilder()).toString();
+    }
+
+    private static List<GroupAggregate> byAccount(TradeAnalyticsService analytics) {
+        return analytics.aggregate(TradeQuery.all(), Dimension.ACCOUNT, Measure.BUY_QUANTITY);
+    }
+
+    private static <T> T await(Supplier<T> supplier, Predicate<T> done) throws InterruptedException {
+        return await(supplier, done, 5_000);
+    }
+
+    private static <T> T await(Supplier<T> supplier, Predicate<T> done, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        T value = supplier.get();
+        while (!done.test(value) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            value = supplier.get();
+        }
+        return value;
+    }
+
+    private static RatingHistory history(int ratingId, LocalDateTime effectiveDate, int notch) {
+        RatingHistory history = new RatingHistory();
+        history.setRatingId(ratingId);
+        history.setEffectiveDate(effectiveDate);
+        history.setMoodysNotch(notch);
+        history.setSandPNotch(notch);
+        history.setFitchNotch(notch);
+        return history;
+    }
+
+    private static RuleNameDTO rule(String template) {
+        RuleNameDTO ruleNameDTO = new RuleNameDTO();
+        ruleNameDTO.setName("Rule");
+        ruleNameDTO.setDescription("Description");
+        ruleNameDTO.setJson("{}");
+        ruleNameDTO.setTemplate(template);
+        ruleNameDTO.setSql("SELECT * FROM trade");
+        ruleNameDTO.setSqlPart("1 = 1");
+        return ruleNameDTO;
+    }
+
+    private static RatingDTO rating(String moodys, String sandP, String fitch) {
+        RatingDTO ratingDTO = new RatingDTO();
+        ratingDTO.setMoodysRating(moodys);
+        ratingDTO.setSandPRating(sandP);
+        ratingDTO.setFitchRating(fitch);
+        ratingDTO.setOrderNumber(1);
+        return ratingDTO;
+    }
+
+    private static TradeDTO trade(String account, double buyQuantity) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(buyQuantity);
+        return tradeDTO;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username, String role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole(role);
+        return userDTO;
+    }
+}
@@ -0,0 +1,186 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class ConditionalUpdateIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void updateWithCurrentVersion_ShouldWriteAndIncrementVersion() {
+        // Arrange
+        Trade trade = new Trade();
+        trade.setAccount("Initial");
+        trade.setType("Type");
+        trade.setBuyQuantity(10.0);
+        trade.setSecurity("Security");
+        trade = tradeRepository.save(trade);
+        TradeDTO read = tradeService.getTradeDTOById(trade.getTradeId());
+
+        // Act
+        read.setAccount("Updated");
+        Trade result = tradeService.updateBidList(trade.getTradeId(), read);
+
+        // Assert
+        Trade stored = tradeRepository.findById(trade.getTradeId()).orElseThrow();
+        assertEquals(0L, read.getVersion());
+        assertEquals(1L, result.getVersion());
+        assertEquals(1L, stored.getVersion());
+        assertEquals("Updated", stored.getAccount());
+        assertEquals("Security", stored.getSecurity(), "columns outside the form must be left untouched");
+    }
+
+    @Test
+    void updateWithStaleVersion_ShouldFailWithoutOverwriting() {
+        // Arrange
+        Trade trade = tradeService.saveTrade(trade("Initial", 10.0));
+        TradeDTO first = tradeService.getTradeDTOById(trade.getTradeId());
+        TradeDTO second = tradeService.getTradeDTOById(trade.getTradeId());
+        first.setAccount("FirstEditor");
+        tradeService.updateBidList(trade.getTradeId(), first);
+
+        // Act
+        second.setAccount("SecondEditor");
+
+        // Assert
+        assertThrows(EntityVersionConflictException.class,
+                () -> tradeService.updateBidList(trade.getTradeId(), second));
+        Trade stored = tradeRepository.findById(trade.getTradeId()).orElseThrow();
+        assertEquals("FirstEditor", stored.getAccount());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void updateOfMissingRow_ShouldFailWithNotFound() {
+        // Arrange
+        TradeDTO dto = trade("Missing", 1.0);
+        dto.setVersion(0L);
+
+        // Act + Assert
+        assertThrows(EntityNotFoundException.class, () -> tradeService.updateBidList(Integer.MAX_VALUE, dto));
+    }
+
+    @Test
+    void concurrentUpdatesFromSameVersion_ShouldLetExactlyOneWin() throws Exception {
+        // Arrange
+        Trade trade = tradeService.saveTrade(trade("Initial", 10.0));
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < writers; i++) {
+            TradeDTO dto = trade("Writer" + i, i);
+            dto.setVersion(0L);
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    tradeService.updateBidList(trade.getTradeId(), dto);
+                    return true;
+                } catch (EntityVersionConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int winners = 0;
+        for (Future<Boolean> result : results) {
+            winners += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, winners);
+        assertEquals(1L, tradeRepository.findById(trade.getTradeId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void updateForm_ShouldCarryTheVersionRead() throws Exception {
+        // Arrange
+        userService.saveUser(user("editor"));
+        Trade trade = tradeService.saveTrade(trade("Initial", 10.0));
+        tradeService.updateBidList(trade.getTradeId(), tradeService.getTradeDTOById(trade.getTradeId()));
+
+        // Act + Assert
+        mockMvc.perform(get("/trade/update/" + trade.getTradeId()).header(HttpHeaders.AUTHORIZATION, basic("editor")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(matchesPattern("(?s).*<input type=\"hidden\"[^>]*name=\"version\" value=\"1\">.*")));
+    }
+
+    private static TradeDTO trade(String account, double quantity) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(quantity);
+        return tradeDTO;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole("ROLE_USER");
+        return userDTO;
+    }
+}
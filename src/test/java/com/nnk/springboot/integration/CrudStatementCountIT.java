@@ -0,0 +1,121 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.RatingDTO;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.service.RatingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.nnk.springboot.integration.StatementCounter")
+@ActiveProfiles("test")
+public class CrudStatementCountIT {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        StatementCounter.reset();
+    }
+
+    @Test
+    void create_ShouldIssueOneStatement() {
+        // Act
+        ratingService.saveRating(rating("Aa1"));
+
+        // Assert
+        assertEquals(1, StatementCounter.count());
+    }
+
+    @Test
+    void update_ShouldIssueOneStatement() {
+        // Arrange
+        Rating rating = ratingService.saveRating(rating("Aa1"));
+        RatingDTO dto = rating("Aa2");
+        dto.setVersion(rating.getVersion());
+        StatementCounter.reset();
+
+        // Act
+        ratingService.updateRating(rating.getId(), dto);
+
+        // Assert
+        assertEquals(1, StatementCounter.count());
+    }
+
+    @Test
+    void conflictingUpdate_ShouldIssueOneLookupAfterTheUpdate() {
+        // Arrange
+        Rating rating = ratingService.saveRating(rating("Aa1"));
+        RatingDTO dto = rating("Aa2");
+        dto.setVersion(rating.getVersion() + 1);
+        StatementCounter.reset();
+
+        // Act + Assert
+        assertThrows(EntityVersionConflictException.class, () -> ratingService.updateRating(rating.getId(), dto));
+        assertEquals(2, StatementCounter.count());
+    }
+
+    @Test
+    void delete_ShouldIssueOneStatement() {
+        // Arrange
+        Rating rating = ratingService.saveRating(rating("Aa1"));
+        StatementCounter.reset();
+
+        // Act
+        ratingService.deleteRating(rating.getId());
+
+        // Assert
+        assertEquals(1, StatementCounter.count());
+        assertFalse(ratingRepository.existsById(rating.getId()));
+    }
+
+    @Test
+    void deleteOfMissingRow_ShouldIssueOneStatement() {
+        // Act + Assert
+        assertThrows(EntityNotFoundException.class, () -> ratingService.deleteRating(Integer.MAX_VALUE));
+        assertEquals(1, StatementCounter.count());
+    }
+
+    @Test
+    void batchDelete_ShouldIssueOneStatement() {
+        // Arrange
+        List<Integer> ids = List.of(
+                ratingService.saveRating(rating("Aa1")).getId(),
+                ratingService.saveRating(rating("Aa2")).getId(),
+                ratingService.saveRating(rating("Aa3")).getId());
+        Rating kept = ratingService.saveRating(rating("A1"));
+        StatementCounter.reset();
+
+        // Act
+        int deleted = ratingService.deleteAllById(List.of(ids.get(0), ids.get(1), ids.get(2), Integer.MAX_VALUE));
+
+        // Assert
+        assertEquals(1, StatementCounter.count());
+        assertEquals(3, deleted);
+        assertEquals(List.of(kept.getId()), ratingRepository.findAll().stream().map(Rating::getId).toList());
+    }
+
+    private static RatingDTO rating(String moodys) {
+        RatingDTO ratingDTO = new RatingDTO();
+        ratingDTO.setMoodysRating(moodys);
+        ratingDTO.setSandPRating("AA");
+        ratingDTO.setFitchRating("AA");
+        ratingDTO.setOrderNumber(1);
+        return ratingDTO;
+    }
+}
@@ -0,0 +1,210 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.event.ChangeType;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.event.DomainEventBus;
+import com.nnk.springboot.event.DomainEventConsumer;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class DomainEventBusIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @TestConfiguration
+    static class ConsumerConfig {
+
+        @Bean
+        TradeRecorder tradeRecorder() {
+            return new TradeRecorder();
+        }
+    }
+
+    static class TradeRecorder implements DomainEventConsumer<Trade> {
+
+        private final List<DomainEvent<Trade>> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String name() {
+            return "trade-recorder";
+        }
+
+        @Override
+        public Class<Trade> entityType() {
+            return Trade.class;
+        }
+
+        @Override
+        public void accept(List<DomainEvent<Trade>> batch) {
+            events.addAll(batch);
+        }
+
+        @Override
+        public boolean needsBeforeImages() {
+            return true;
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TradeRecorder recorder;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+        recorder.events.clear();
+    }
+
+    @Test
+    void changes_ShouldBeDeliveredWithTheirBeforeImages() throws InterruptedException {
+        // Arrange
+        Trade trade = tradeService.saveTrade(trade("Initial"));
+        TradeDTO read = tradeService.getTradeDTOById(trade.getTradeId());
+
+        // Act
+        read.setAccount("Updated");
+        tradeService.updateBidList(trade.getTradeId(), read);
+        tradeService.deleteTrade(trade.getTradeId());
+
+        // Assert
+        List<DomainEvent<Trade>> events = awaitEvents(3);
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED),
+                events.stream().map(DomainEvent::changeType).toList());
+        assertNull(events.get(0).before());
+        assertEquals("Initial", events.get(1).before().getAccount());
+        assertEquals("Updated", events.get(1).entity().getAccount());
+        assertEquals("Updated", events.get(2).before().getAccount());
+        assertNull(events.get(2).entity());
+    }
+
+    @Test
+    void unversionedUpdate_ShouldCarryTheRowItReplaced() throws InterruptedException {
+        // Arrange
+        Trade trade = tradeService.saveTrade(trade("Initial"));
+        TradeDTO blind = trade("Blind");
+        blind.setVersion(null);
+
+        // Act
+        tradeService.updateBidList(trade.getTradeId(), blind);
+
+        // Assert
+        List<DomainEvent<Trade>> events = awaitEvents(2);
+        assertEquals(0L, events.get(1).before().getVersion());
+        assertEquals("Blind", tradeRepository.findById(trade.getTradeId()).orElseThrow().getAccount());
+    }
+
+    @Test
+    void rolledBackChanges_ShouldNotBeDelivered() throws InterruptedException {
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tradeService.saveTrade(trade("RolledBack"));
+            status.setRollbackOnly();
+        });
+        tradeService.saveTrade(trade("Committed"));
+
+        // Assert
+        List<DomainEvent<Trade>> events = awaitEvents(1);
+        Thread.sleep(200);
+        assertEquals(1, recorder.events.size());
+        assertEquals("Committed", events.get(0).entity().getAccount());
+    }
+
+    @Test
+    void stats_ShouldReportTheConsumers() throws Exception {
+        // Arrange
+        userService.saveUser(user("admin", "ROLE_ADMIN"));
+        userService.saveUser(user("operator", "ROLE_USER"));
+        tradeService.saveTrade(trade("Initial"));
+        awaitEvents(1);
+
+        // Act + Assert
+        assertTrue(eventBus.needsBeforeImages(Trade.class));
+        mockMvc.perform(get("/events/stats").header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'trade-recorder')].entityType").value("Trade"))
+                .andExpect(jsonPath("$[?(@.name == 'trade-recorder')].dropped").value(0));
+        mockMvc.perform(get("/events/stats").header(HttpHeaders.AUTHORIZATION, basic("operator")))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<DomainEvent<Trade>> awaitEvents(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (recorder.events.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, recorder.events.size());
+        return List.copyOf(recorder.events);
+    }
+
+    private static TradeDTO trade(String account) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(1.0);
+        return tradeDTO;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username, String role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole(role);
+        return userDTO;
+    }
+}
@@ -0,0 +1,139 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.query.EntityFilter;
+import com.nnk.springboot.query.FilterQueryService;
+import com.nnk.springboot.repositories.RatingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class FilterQueryServiceIT {
+
+    private static final int TRADES = 20_000;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private FilterQueryService filterQueryService;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM trade");
+        List<Object[]> rows = new ArrayList<>(TRADES);
+        for (int i = 0; i < TRADES; i++) {
+            Timestamp date = Timestamp.valueOf(START.plusHours(i));
+            rows.add(new Object[] {"ACC" + (i % 200), "Type" + (i % 5), "Book" + (i % 50),
+                    "Trader" + (i % 100), i % 2 == 0 ? "OPEN" : "DONE", date, date});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO trade (account, type, book, trader, status, trade_date, creation_date) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE TABLE trade");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM trade");
+    }
+
+    @Test
+    void find_ShouldApplyEqualityAndHalfOpenDateRange() {
+        // Arrange
+        EntityFilter filter = EntityFilter.fromParameters(Map.of(
+                "account", "ACC7", "from", "2025-01-01", "to", START.plusHours(1007).toString(),
+                "sort", "tradeDate,desc"));
+
+        // Act
+        Page<Trade> page = filterQueryService.find(Trade.class, filter, 0, 10);
+
+        // Assert
+        assertEquals(5, page.getTotalElements());
+        assertEquals(START.plusHours(807), page.getContent().get(0).getTradeDate());
+        assertTrue(page.getContent().stream().allMatch(trade -> "ACC7".equals(trade.getAccount())));
+    }
+
+    @Test
+    void find_ShouldConvertValuesToAttributeType() {
+        // Arrange
+        ratingRepository.deleteAll();
+        Rating rating = new Rating();
+        rating.setMoodysRating("Aaa");
+        rating.setSandPRating("AAA");
+        rating.setFitchRating("AAA");
+        rating.setOrderNumber(42);
+        ratingRepository.save(rating);
+
+        // Act
+        Page<Rating> page = filterQueryService.find(Rating.class,
+                EntityFilter.fromParameters(Map.of("orderNumber", "42")), 0, 10);
+
+        // Assert
+        assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    void find_ShouldRejectUnindexedAttribute() {
+        // Arrange
+        EntityFilter filter = new EntityFilter().with("dealName", "x");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> filterQueryService.find(Trade.class, filter, 0, 10));
+    }
+
+    @Test
+    void accountAndDateFilter_ShouldUseCompositeIndex() {
+        // Act
+        String plan = explain("SELECT * FROM trade WHERE account = 'ACC7' "
+                + "AND trade_date >= TIMESTAMP '2025-01-01 00:00:00' AND trade_date < TIMESTAMP '2025-02-01 00:00:00' "
+                + "ORDER BY trade_date DESC");
+
+        // Assert
+        assertTrue(plan.contains("IDX_TRADE_ACCOUNT_DATE"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void bookFilter_ShouldUseCompositeIndex() {
+        // Act
+        String plan = explain("SELECT * FROM trade WHERE book = 'Book3'");
+
+        // Assert
+        assertTrue(plan.contains("IDX_TRADE_BOOK_DATE"), plan);
+    }
+
+    @Test
+    void dateRangeOnly_ShouldUseDateIndex() {
+        // Act
+        String plan = explain("SELECT * FROM trade WHERE trade_date >= TIMESTAMP '2025-01-02 00:00:00' "
+                + "AND trade_date < TIMESTAMP '2025-01-03 00:00:00'");
+
+        // Assert
+        assertTrue(plan.contains("IDX_TRADE_DATE"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,244 @@
+package com.nnk.springboot.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Job;
+import com.nnk.springboot.domain.JobStatus;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.JobDTO;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.jobs.JobService;
+import com.nnk.springboot.repositories.JobRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"jobs.chunk-size=2", "jobs.chunk-pause-ms=0"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class JobIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("operator"));
+    }
+
+    @Test
+    void tradeImport_ShouldImportValidLinesAndReportInvalidOnes() throws Exception {
+        // Arrange
+        String csv = "Acc1,Buy,10\nAcc2,Sell,20\nAcc3,Buy,-5\nAcc4,Buy,40\nbroken\n";
+        String body = objectMapper.writeValueAsString(Map.of("type", "trade-import", "parameters", Map.of("csv", csv)));
+
+        // Act
+        String response = mockMvc.perform(post("/jobs").header(HttpHeaders.AUTHORIZATION, basic("operator"))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readValue(response, JobDTO.class).getId();
+        JobDTO job = awaitFinished(id);
+
+        // Assert
+        assertEquals(JobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(5, job.getTotalItems());
+        assertEquals(3, job.getProcessedItems());
+        assertEquals(2, job.getFailedItems());
+        assertEquals(100.0, job.getPercentComplete());
+        assertTrue(job.getLastError().startsWith("Line 5:"), job.getLastError());
+        assertEquals(List.of("Acc1", "Acc2", "Acc4"),
+                tradeRepository.findAll().stream().map(Trade::getAccount).sorted().toList());
+        mockMvc.perform(get("/jobs/" + id).header(HttpHeaders.AUTHORIZATION, basic("operator")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.submittedBy").value("operator"));
+    }
+
+    @Test
+    void tradeReassign_ShouldMoveEveryTradeOfTheAccount() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            tradeService.saveTrade(trade("Old"));
+        }
+        tradeService.saveTrade(trade("Other"));
+
+        // Act
+        JobDTO job = awaitFinished(jobService.submit("trade-reassign",
+                Map.of("fromAccount", "Old", "toAccount", "New"), "operator").getId());
+
+        // Assert
+        assertEquals(JobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(5, job.getProcessedItems());
+        assertEquals(5, tradeRepository.countByAccount("New"));
+        assertEquals(0, tradeRepository.countByAccount("Old"));
+        assertEquals(1, tradeRepository.countByAccount("Other"));
+    }
+
+    @Test
+    void interruptedJob_ShouldResumeAfterItsLastCommittedChunk() throws Exception {
+        // Arrange
+        Job job = new Job();
+        job.setType("trade-import");
+        job.setStatus(JobStatus.RUNNING);
+        job.setParameters(objectMapper.writeValueAsString(Map.of("csv", "Acc1,Buy,1\nAcc2,Buy,2\nAcc3,Buy,3\nAcc4,Buy,4")));
+        job.setTotalItems(4);
+        job.setProcessedItems(2);
+        job.setResumeFrom(2);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setStartedAt(LocalDateTime.now());
+        job = jobRepository.save(job);
+
+        // Act
+        jobService.startWorkers();
+        JobDTO result = awaitFinished(job.getId());
+
+        // Assert
+        assertEquals(JobStatus.SUCCEEDED, result.getStatus());
+        assertEquals(4, result.getProcessedItems());
+        assertEquals(List.of("Acc3", "Acc4"),
+                tradeRepository.findAll().stream().map(Trade::getAccount).sorted().toList());
+    }
+
+    @Test
+    void startWorkers_ShouldLeaveTheLiveJobsOfOtherInstancesAlone() throws Exception {
+        // Arrange
+        Job live = runningJob("other-node", LocalDateTime.now(), "Live1,Buy,1");
+        Job stale = runningJob("other-node", LocalDateTime.now().minusHours(1), "Stale1,Buy,1");
+
+        // Act
+        jobService.startWorkers();
+        JobDTO result = awaitFinished(stale.getId());
+
+        // Assert
+        assertEquals(JobStatus.SUCCEEDED, result.getStatus());
+        Job untouched = jobRepository.findById(live.getId()).orElseThrow();
+        assertEquals(JobStatus.RUNNING, untouched.getStatus());
+        assertEquals("other-node", untouched.getOwner());
+        assertEquals(List.of("Stale1"), tradeRepository.findAll().stream().map(Trade::getAccount).toList());
+    }
+
+    @Test
+    void cancel_ShouldCancelAQueuedJob() throws Exception {
+        // Arrange
+        Job job = new Job();
+        job.setType("trade-reassign");
+        job.setStatus(JobStatus.QUEUED);
+        job.setParameters("{\"fromAccount\":\"Old\",\"toAccount\":\"New\"}");
+        job.setCreatedAt(LocalDateTime.now());
+        job = jobRepository.save(job);
+
+        // Act
+        mockMvc.perform(post("/jobs/" + job.getId() + "/cancel").header(HttpHeaders.AUTHORIZATION, basic("operator")))
+                .andExpect(status().isOk());
+
+        // Assert
+        JobDTO result = awaitFinished(job.getId());
+        assertEquals(JobStatus.CANCELLED, result.getStatus());
+        assertTrue(result.isCancelRequested());
+    }
+
+    @Test
+    void submit_ShouldRejectUnknownTypesAndMissingJobs() throws Exception {
+        // Act + Assert
+        mockMvc.perform(post("/jobs").header(HttpHeaders.AUTHORIZATION, basic("operator"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"type\":\"nope\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown job type: nope"));
+        mockMvc.perform(get("/jobs/" + Long.MAX_VALUE).header(HttpHeaders.AUTHORIZATION, basic("operator")))
+                .andExpect(status().isNotFound());
+    }
+
+    private Job runningJob(String owner, LocalDateTime heartbeatAt, String csv) throws Exception {
+        Job job = new Job();
+        job.setType("trade-import");
+        job.setStatus(JobStatus.RUNNING);
+        job.setParameters(objectMapper.writeValueAsString(Map.of("csv", csv)));
+        job.setTotalItems(1);
+        job.setOwner(owner);
+        job.setHeartbeatAt(heartbeatAt);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setStartedAt(LocalDateTime.now());
+        return jobRepository.save(job);
+    }
+
+    private JobDTO awaitFinished(long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        JobDTO job = jobService.getJob(id);
+        while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = jobService.getJob(id);
+        }
+        return job;
+    }
+
+    private static TradeDTO trade(String account) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(1.0);
+        return tradeDTO;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole("ROLE_USER");
+        return userDTO;
+    }
+}
@@ -0,0 +1,172 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.cache.PageCache;
+import com.nnk.springboot.cache.PageCacheStats;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.RatingDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.event.TableVersions;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.RatingService;
+import com.nnk.springboot.service.UserService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class PageCacheIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("alice"));
+        userService.saveUser(user("bob"));
+        pageCache.clear();
+    }
+
+    @Test
+    void ratingList_ShouldRenderOncePerTableVersion() throws Exception {
+        // Arrange
+        ratingService.saveRating(rating("Aaa"));
+        PageCacheStats before = pageCache.getStats();
+
+        // Act
+        String first = mockMvc.perform(get("/rating/list").header(HttpHeaders.AUTHORIZATION, basic("alice")))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(get("/rating/list").header(HttpHeaders.AUTHORIZATION, basic("alice")))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        ratingService.saveRating(rating("Baa1"));
+        String third = mockMvc.perform(get("/rating/list").header(HttpHeaders.AUTHORIZATION, basic("alice")))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        // Assert
+        PageCacheStats after = pageCache.getStats();
+        assertEquals(first, second);
+        assertTrue(third.contains("Baa1"));
+        assertEquals(1, after.hits() - before.hits());
+        assertEquals(2, after.misses() - before.misses());
+    }
+
+    @Test
+    void ratingList_ShouldKeepItsVersion_WhenWriteRollsBack() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/rating/list").header(HttpHeaders.AUTHORIZATION, basic("alice")))
+                .andExpect(status().isOk());
+        long version = tableVersions.version(Rating.class);
+        PageCacheStats before = pageCache.getStats();
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ratingService.saveRating(rating("Caa1"));
+            status.setRollbackOnly();
+        });
+        String page = mockMvc.perform(get("/rating/list").header(HttpHeaders.AUTHORIZATION, basic("alice")))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertEquals(version, tableVersions.version(Rating.class));
+        assertFalse(page.contains("Caa1"));
+        assertEquals(1, pageCache.getStats().hits() - before.hits());
+    }
+
+    @Test
+    void ratingList_ShouldNotShareRenderedPagesBetweenUsers() throws Exception {
+        // Act
+        mockMvc.perform(get("/rating/list").header(HttpHeaders.AUTHORIZATION, basic("alice")))
+                .andExpect(status().isOk());
+        String bobPage = mockMvc.perform(get("/rating/list").header(HttpHeaders.AUTHORIZATION, basic("bob")))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertTrue(bobPage.contains("bob"));
+        assertFalse(bobPage.contains("alice"));
+    }
+
+    @Test
+    void ratingList_ShouldBypassCache_WhenFlashAttributesArePending() throws Exception {
+        // Arrange
+        Cookie session = mockMvc.perform(post("/rating/validate").header(HttpHeaders.AUTHORIZATION, basic("alice"))
+                        .param("moodysRating", "Aa1").param("sandPRating", "AA+").param("fitchRating", "AA+")
+                        .param("orderNumber", "1"))
+                .andExpect(flash().attributeExists("successMessage"))
+                .andReturn().getResponse().getCookie("SESSION");
+        long bypassed = pageCache.getStats().bypassed();
+
+        // Act
+        mockMvc.perform(get("/rating/list").cookie(session).header(HttpHeaders.AUTHORIZATION, basic("alice")))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(bypassed + 1, pageCache.getStats().bypassed());
+        assertEquals(0, pageCache.getStats().entries());
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole("ROLE_USER");
+        return userDTO;
+    }
+
+    private static RatingDTO rating(String moodys) {
+        RatingDTO ratingDTO = new RatingDTO();
+        ratingDTO.setMoodysRating(moodys);
+        ratingDTO.setSandPRating("AAA");
+        ratingDTO.setFitchRating("AAA");
+        ratingDTO.setOrderNumber(1);
+        return ratingDTO;
+    }
+}
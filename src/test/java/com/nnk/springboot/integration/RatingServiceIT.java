@@ -5,6 +5,7 @@ import com.nnk.springboot.dto.RatingDTO;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.rating.RatingAgency;
 import com.nnk.springboot.repositories.RatingRepository;
 import com.nnk.springboot.service.RatingService;
 import org.junit.jupiter.api.BeforeEach;
@@ -174,4 +175,29 @@ public class RatingServiceIT {
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> ratingService.deleteRating(999));
     }
+
+    @Test
+    void getRatingsBetween_ShouldReturnRatingsWithinNotchRange() {
+        // Arrange
+        ratingService.saveRating(rating("A1", "A+", "A+", 1));
+        ratingService.saveRating(rating("Baa2", "BBB", "BBB", 2));
+        ratingService.saveRating(rating("Ba1", "BB+", "BB+", 3));
+
+        // Act
+        List<Rating> ratings = ratingService.getRatingsBetween(RatingAgency.SANDP, "BBB-", "A+");
+
+        // Assert
+        assertEquals(2, ratings.size());
+        assertEquals("A+", ratings.get(0).getSandPRating());
+        assertEquals("BBB", ratings.get(1).getSandPRating());
+    }
+
+    private static RatingDTO rating(String moodys, String sandP, String fitch, int orderNumber) {
+        RatingDTO ratingDTO = new RatingDTO();
+        ratingDTO.setMoodysRating(moodys);
+        ratingDTO.setSandPRating(sandP);
+        ratingDTO.setFitchRating(fitch);
+        ratingDTO.setOrderNumber(orderNumber);
+        return ratingDTO;
+    }
 }
@@ -0,0 +1,221 @@
+package com.nnk.springboot.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RatingHistory;
+import com.nnk.springboot.dto.RatingDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.rating.RatingTransitionService;
+import com.nnk.springboot.repositories.RatingHistoryRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.RatingService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class RatingTransitionIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RatingTransitionService ratingTransitionService;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private RatingHistoryRepository ratingHistoryRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        ratingHistoryRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("analyst"));
+    }
+
+    @Test
+    void ratingChanges_ShouldBeRecordedAsHistory() throws Exception {
+        // Arrange
+        Rating rating = ratingService.saveRating(rating("A1", "A+", "A+"));
+        RatingDTO downgrade = rating("Baa2", "BBB", "BBB");
+        downgrade.setVersion(rating.getVersion());
+
+        // Act
+        ratingService.updateRating(rating.getId(), downgrade);
+        ratingService.deleteRating(rating.getId());
+        awaitHistory(rating.getId(), 3);
+
+        // Assert
+        mockMvc.perform(get("/api/v1/ratings/{id}/history", rating.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basic("analyst")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].sandPNotch").value(5))
+                .andExpect(jsonPath("$[1].sandPNotch").value(9))
+                .andExpect(jsonPath("$[1].changedBy").value("system"))
+                .andExpect(jsonPath("$[2].sandPNotch").isEmpty());
+    }
+
+    @Test
+    void reconcileHistory_ShouldRecordTheChangesTheHistoryMissed() {
+        // Arrange
+        Rating unchanged = ratingRepository.save(stored("A1", 5));
+        Rating changed = ratingRepository.save(stored("A1", 5));
+        Rating unrecorded = ratingRepository.save(stored("Baa2", 9));
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        ratingHistoryRepository.save(history(unchanged.getId(), yesterday, 5));
+        ratingHistoryRepository.save(history(changed.getId(), yesterday, 5));
+        ratingHistoryRepository.save(history(changed.getId(), yesterday.plusHours(1), 7));
+        ratingHistoryRepository.save(history(unrecorded.getId() + 1000, yesterday, 9));
+
+        // Act
+        ratingTransitionService.reconcileHistory();
+        ratingTransitionService.reconcileHistory();
+
+        // Assert
+        assertEquals(1, ratingTransitionService.getHistory(unchanged.getId()).size());
+        List<RatingHistory> changedHistory = ratingTransitionService.getHistory(changed.getId());
+        assertEquals(3, changedHistory.size());
+        assertEquals(5, changedHistory.get(2).getSandPNotch());
+        List<RatingHistory> unrecordedHistory = ratingTransitionService.getHistory(unrecorded.getId());
+        assertEquals(1, unrecordedHistory.size());
+        assertEquals(9, unrecordedHistory.get(0).getSandPNotch());
+        List<RatingHistory> deletedHistory = ratingTransitionService.getHistory(unrecorded.getId() + 1000);
+        assertEquals(2, deletedHistory.size());
+        assertNull(deletedHistory.get(1).getSandPNotch());
+        assertEquals("system", deletedHistory.get(1).getChangedBy());
+    }
+
+    @Test
+    void transitions_ShouldCountMigrationsUntilNewHistoryArrives() throws Exception {
+        // Arrange
+        Rating rating = ratingService.saveRating(rating("A1", "A+", "A+"));
+        awaitHistory(rating.getId(), 1);
+        ratingHistoryRepository.save(history(rating.getId(), LocalDateTime.of(2023, 1, 1, 0, 0), 5));
+        ratingHistoryRepository.save(history(rating.getId(), LocalDateTime.of(2024, 6, 1, 0, 0), 7));
+        String from = "2023-01-01T00:00:00";
+        String to = LocalDateTime.now().plusYears(1).withNano(0).toString();
+
+        // Act
+        JsonNode before = transitions(from, to);
+        ratingService.deleteRating(rating.getId());
+        awaitHistory(rating.getId(), 4);
+        JsonNode after = transitions(from, to);
+
+        // Assert
+        assertEquals("A+", before.get("states").get(4).asText());
+        assertEquals(1, before.get("counts").get(4).get(4).asLong());
+        assertEquals(1, before.get("counts").get(4).get(6).asLong());
+        assertEquals(1, before.get("counts").get(6).get(4).asLong());
+        assertEquals(before.get("observations"), after.get("observations"));
+        assertEquals(0, after.get("counts").get(6).get(4).asLong());
+        assertEquals(1, after.get("counts").get(6).get(22).asLong());
+    }
+
+    @Test
+    void transitions_ShouldRejectAWindowShorterThanTheHorizon() throws Exception {
+        mockMvc.perform(get("/api/v1/ratings/transitions").param("agency", "FITCH")
+                        .param("from", "2024-01-01T00:00:00").param("to", "2024-06-01T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, basic("analyst")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode transitions(String from, String to) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/ratings/transitions").param("agency", "SANDP")
+                        .param("from", from).param("to", to).param("horizonMonths", "12")
+                        .header(HttpHeaders.AUTHORIZATION, basic("analyst")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void awaitHistory(int ratingId, int rows) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ratingTransitionService.getHistory(ratingId).size() < rows && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(rows, ratingTransitionService.getHistory(ratingId).size());
+    }
+
+    private static RatingHistory history(int ratingId, LocalDateTime effectiveDate, int notch) {
+        RatingHistory history = new RatingHistory();
+        history.setRatingId(ratingId);
+        history.setEffectiveDate(effectiveDate);
+        history.setMoodysNotch(notch);
+        history.setSandPNotch(notch);
+        history.setFitchNotch(notch);
+        return history;
+    }
+
+    // a rating written without going through the service, so no history is appended for it
+    private static Rating stored(String moodys, int notch) {
+        Rating rating = new Rating();
+        rating.setMoodysRating(moodys);
+        rating.setSandPRating(moodys);
+        rating.setFitchRating(moodys);
+        rating.setOrderNumber(1);
+        rating.setMoodysNotch(notch);
+        rating.setSandPNotch(notch);
+        rating.setFitchNotch(notch);
+        return rating;
+    }
+
+    private static RatingDTO rating(String moodys, String sandP, String fitch) {
+        RatingDTO ratingDTO = new RatingDTO();
+        ratingDTO.setMoodysRating(moodys);
+        ratingDTO.setSandPRating(sandP);
+        ratingDTO.setFitchRating(fitch);
+        ratingDTO.setOrderNumber(1);
+        return ratingDTO;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole("ROLE_USER");
+        return userDTO;
+    }
+}
@@ -0,0 +1,172 @@
+package com.nnk.springboot.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"risk.var.chunk-size=500", "risk.var.max-cells=30000"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class RiskIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        curvePointRepository.deleteAll();
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("risk", "ROLE_ADMIN"));
+        userService.saveUser(user("trader", "ROLE_USER"));
+    }
+
+    @Test
+    void valueAtRisk_ShouldBeReproducibleForASeedPerBookAndTrader() throws Exception {
+        // Arrange
+        LocalDateTime day = LocalDateTime.of(2025, 3, 3, 0, 0);
+        int curveId = 1;
+        for (int i = 0; i < 20; i++) {
+            curvePointRepository.save(point(curveId++, day.plusDays(i), 2.0, 3.0 + Math.sin(i) * 0.2));
+            curvePointRepository.save(point(curveId++, day.plusDays(i), 10.0, 4.0 + Math.cos(i) * 0.1));
+        }
+        tradeRepository.save(trade("B1", "Alice", "2Y", 1000.0));
+        tradeRepository.save(trade("B2", "Bob", "10Y", 500.0));
+        tradeRepository.save(trade("B2", "Alice", "Other", 500.0));
+
+        // Act
+        JsonNode first = valueAtRisk("5000", "7");
+        JsonNode second = valueAtRisk("5000", "7");
+
+        // Assert
+        assertEquals(first.get("groups"), second.get("groups"));
+        assertEquals(5000, first.get("paths").asInt());
+        assertEquals(2, first.get("factors").asInt());
+        assertEquals(19, first.get("historyChanges").asInt());
+        assertEquals(2, first.get("positions").asInt());
+        assertEquals(1, first.get("skippedTrades").asInt());
+        assertEquals("total", first.get("groups").get(0).get("group").asText());
+        assertEquals(5, first.get("groups").size());
+        JsonNode total = first.get("groups").get(0).get("measures");
+        assertEquals(0.99, total.get(0).get("confidence").asDouble());
+        assertTrue(total.get(0).get("valueAtRisk").asDouble() > 0);
+        assertTrue(total.get(0).get("expectedShortfall").asDouble() >= total.get(0).get("valueAtRisk").asDouble());
+    }
+
+    @Test
+    void valueAtRisk_ShouldRejectAShortHistoryAndTooManyPaths() throws Exception {
+        mockMvc.perform(get("/api/v1/risk/var").header(HttpHeaders.AUTHORIZATION, basic("risk")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Curve history has 0 complete dates, at least 3 are needed"));
+        mockMvc.perform(get("/api/v1/risk/var").param("paths", "1000000")
+                        .header(HttpHeaders.AUTHORIZATION, basic("risk")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("At most 200000 paths may be simulated"));
+    }
+
+    @Test
+    void valueAtRisk_ShouldRejectMorePathsThanTheGroupsFitIn() throws Exception {
+        // Arrange
+        LocalDateTime day = LocalDateTime.of(2025, 3, 3, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            curvePointRepository.save(point(i + 1, day.plusDays(i), 2.0, 3.0 + i * 0.1));
+        }
+        tradeRepository.save(trade("B1", "Alice", "2Y", 1000.0));
+        tradeRepository.save(trade("B2", "Bob", "2Y", 500.0));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/risk/var").param("paths", "7000")
+                        .header(HttpHeaders.AUTHORIZATION, basic("risk")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("At most 6000 paths may be simulated for 5 books and traders"));
+    }
+
+    @Test
+    void valueAtRisk_ShouldBeForbiddenToUsers() throws Exception {
+        mockMvc.perform(get("/api/v1/risk/var").header(HttpHeaders.AUTHORIZATION, basic("trader")))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode valueAtRisk(String paths, String seed) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/risk/var").param("paths", paths).param("seed", seed)
+                        .param("confidence", "0.99", "0.95").header(HttpHeaders.AUTHORIZATION, basic("risk")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static CurvePoint point(int curveId, LocalDateTime asOfDate, double term, double value) {
+        CurvePoint point = new CurvePoint();
+        point.setCurveId(curveId);
+        point.setAsOfDate(asOfDate);
+        point.setTerm(term);
+        point.setValue(value);
+        return point;
+    }
+
+    private static Trade trade(String book, String trader, String benchmark, double buyQuantity) {
+        Trade trade = new Trade();
+        trade.setAccount("Account");
+        trade.setType("Type");
+        trade.setBook(book);
+        trade.setTrader(trader);
+        trade.setBenchmark(benchmark);
+        trade.setBuyQuantity(buyQuantity);
+        trade.setBuyPrice(1.0);
+        trade.setTradeDate(LocalDateTime.now());
+        return trade;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username, String role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole(role);
+        return userDTO;
+    }
+}
@@ -0,0 +1,153 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.RuleViolation;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RuleNameDTO;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.RuleViolationRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.rules.RuleEvaluationPipeline;
+import com.nnk.springboot.service.RuleNameService;
+import com.nnk.springboot.service.TradeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RuleEvaluationPipelineIT {
+
+    @Autowired
+    private RuleEvaluationPipeline ruleEvaluationPipeline;
+
+    @Autowired
+    private RuleNameService ruleNameService;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+
+    @Autowired
+    private RuleViolationRepository ruleViolationRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RuleName rule;
+
+    @BeforeEach
+    void setUp() {
+        ruleNameRepository.deleteAll();
+        ruleViolationRepository.deleteAll();
+        tradeRepository.deleteAll();
+        rule = ruleNameService.saveRuleName(rule("buy_quantity > :max", "{\"max\": 100}"));
+    }
+
+    @Test
+    void tradeWrite_ShouldRecordViolation_WhenTradeMatchesRule() throws InterruptedException {
+        // Arrange
+        long evaluated = ruleEvaluationPipeline.getStats().evaluated();
+
+        // Act
+        Trade large = tradeService.saveTrade(trade(500.0));
+        Trade small = tradeService.saveTrade(trade(10.0));
+        await(() -> ruleEvaluationPipeline.getStats().evaluated() >= evaluated + 2);
+
+        // Assert
+        List<RuleViolation> violations = ruleEvaluationPipeline.getViolations(rule.getId(), null);
+        assertEquals(1, violations.size());
+        assertEquals(large.getTradeId(), violations.get(0).getTradeId());
+        assertTrue(ruleEvaluationPipeline.getViolations(null, small.getTradeId()).isEmpty());
+    }
+
+    @Test
+    void tradeUpdate_ShouldClearViolation_WhenTradeNoLongerMatches() throws InterruptedException {
+        // Arrange
+        Trade trade = tradeService.saveTrade(trade(500.0));
+        await(() -> ruleViolationRepository.existsByRuleIdAndTradeId(rule.getId(), trade.getTradeId()));
+
+        // Act
+        tradeService.updateBidList(trade.getTradeId(), trade(10.0));
+        await(() -> !ruleViolationRepository.existsByRuleIdAndTradeId(rule.getId(), trade.getTradeId()));
+
+        // Assert
+        assertTrue(ruleEvaluationPipeline.getViolations(rule.getId(), trade.getTradeId()).isEmpty());
+    }
+
+    @Test
+    void tradeDelete_ShouldRemoveItsViolations() throws InterruptedException {
+        // Arrange
+        Trade trade = tradeService.saveTrade(trade(500.0));
+        await(() -> ruleViolationRepository.existsByRuleIdAndTradeId(rule.getId(), trade.getTradeId()));
+
+        // Act
+        tradeService.deleteTrade(trade.getTradeId());
+        await(() -> ruleViolationRepository.findByTradeIdOrderByDetectedAtDesc(trade.getTradeId()).isEmpty());
+
+        // Assert
+        assertTrue(ruleEvaluationPipeline.getViolations(null, trade.getTradeId()).isEmpty());
+    }
+
+    @Test
+    void rolledBackTradeWrite_ShouldNotBeEvaluated() throws InterruptedException {
+        // Arrange
+        long enqueued = ruleEvaluationPipeline.getStats().enqueued();
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tradeService.saveTrade(trade(500.0));
+            status.setRollbackOnly();
+        });
+        Trade committed = tradeService.saveTrade(trade(600.0));
+        await(() -> ruleViolationRepository.existsByRuleIdAndTradeId(rule.getId(), committed.getTradeId()));
+
+        // Assert
+        assertEquals(enqueued + 1, ruleEvaluationPipeline.getStats().enqueued());
+        assertEquals(1, ruleEvaluationPipeline.getViolations(rule.getId(), null).size());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static TradeDTO trade(double quantity) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount("Account");
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(quantity);
+        return tradeDTO;
+    }
+
+    private static RuleNameDTO rule(String sqlPart, String json) {
+        RuleNameDTO ruleNameDTO = new RuleNameDTO();
+        ruleNameDTO.setName("Rule");
+        ruleNameDTO.setDescription("Description");
+        ruleNameDTO.setJson(json);
+        ruleNameDTO.setTemplate("Template");
+        ruleNameDTO.setSql("SELECT * FROM trade");
+        ruleNameDTO.setSqlPart(sqlPart);
+        return ruleNameDTO;
+    }
+}
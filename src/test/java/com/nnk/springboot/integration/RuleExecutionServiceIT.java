@@ -0,0 +1,177 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.dto.RuleNameDTO;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.rules.RuleExecutionResult;
+import com.nnk.springboot.rules.RuleExecutionService;
+import com.nnk.springboot.service.RuleNameService;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class RuleExecutionServiceIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RuleExecutionService ruleExecutionService;
+
+    @Autowired
+    private RuleNameService ruleNameService;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        ruleNameRepository.deleteAll();
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("analyst", "ROLE_USER"));
+        userService.saveUser(user("admin", "ROLE_ADMIN"));
+        tradeService.saveTrade(trade("Small", 10.0));
+        tradeService.saveTrade(trade("Large", 500.0));
+    }
+
+    @Test
+    void runRule_ShouldCountMatchingRows_UsingJsonDefaults() {
+        // Arrange
+        RuleName rule = ruleNameService.saveRuleName(rule("buy_quantity > :min", "{\"min\": 100}"));
+
+        // Act
+        RuleExecutionResult result = ruleExecutionService.runRule(rule.getId(), Map.of());
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(1, result.rowCount());
+    }
+
+    @Test
+    void runRule_ShouldUseRecompiledRule_AfterUpdate() {
+        // Arrange
+        RuleName rule = ruleNameService.saveRuleName(rule("buy_quantity > :min", "{\"min\": 100}"));
+        ruleExecutionService.runRule(rule.getId(), Map.of());
+
+        // Act
+        ruleNameService.updateRuleName(rule.getId(), rule("buy_quantity > :min", "{\"min\": 1}"));
+        RuleExecutionResult result = ruleExecutionService.runRule(rule.getId(), Map.of());
+
+        // Assert
+        assertEquals(2, result.rowCount());
+    }
+
+    @Test
+    void runAllRules_ShouldReportEachRule_IncludingFailures() {
+        // Arrange
+        ruleNameService.saveRuleName(rule("buy_quantity > :min", "{}"));
+        ruleNameService.saveRuleName(rule("account = 'Large'", "{}"));
+
+        // Act
+        List<RuleExecutionResult> results = ruleExecutionService.runAllRules(Map.of());
+
+        // Assert
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).isSuccess());
+        assertEquals(1, results.get(1).rowCount());
+    }
+
+    @Test
+    void runRule_ShouldFail_WhenRuleReadsATableRulesMayNotRead() {
+        // Arrange
+        RuleName rule = ruleNameService.saveRuleName(rule("exists (select 1 from users where password like 'a%')", "{}"));
+
+        // Act
+        RuleExecutionResult result = ruleExecutionService.runRule(rule.getId(), Map.of());
+
+        // Assert
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    void runEndpoints_ShouldBeRestrictedToAdmins() throws Exception {
+        // Arrange
+        RuleName rule = ruleNameService.saveRuleName(rule("buy_quantity > :min", "{\"min\": 100}"));
+
+        // Act & Assert
+        mockMvc.perform(get("/ruleName/run/{id}", rule.getId()).header(HttpHeaders.AUTHORIZATION, basic("analyst")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/ruleName/run").header(HttpHeaders.AUTHORIZATION, basic("analyst")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/ruleName/add").header(HttpHeaders.AUTHORIZATION, basic("analyst")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/ruleName/run/{id}", rule.getId()).header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(status().isOk());
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username, String role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole(role);
+        return userDTO;
+    }
+
+    private static TradeDTO trade(String account, double quantity) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(quantity);
+        return tradeDTO;
+    }
+
+    private static RuleNameDTO rule(String sqlPart, String json) {
+        RuleNameDTO ruleNameDTO = new RuleNameDTO();
+        ruleNameDTO.setName("Rule");
+        ruleNameDTO.setDescription("Description");
+        ruleNameDTO.setJson(json);
+        ruleNameDTO.setTemplate("Template");
+        ruleNameDTO.setSql("SELECT * FROM trade");
+        ruleNameDTO.setSqlPart(sqlPart);
+        return ruleNameDTO;
+    }
+}
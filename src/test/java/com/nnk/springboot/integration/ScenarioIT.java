@@ -0,0 +1,153 @@
+package com.nnk.springboot.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.ScenarioSetRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"scenario.chunk-size=7"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class ScenarioIT {
+
+    private static final String PASSWORD = "Password1!";
+    private static final String DEFINITION = """
+            {"name":"rates","axes":[
+              {"shape":{"type":"parallel"},"from":-1.0,"to":1.0,"steps":21},
+              {"shape":{"type":"keyRate","keyTerm":5.0,"lowerTerm":1.0,"upperTerm":10.0},"from":-0.5,"to":0.5,"steps":5}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Autowired
+    private ScenarioSetRepository scenarioSetRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        scenarioSetRepository.deleteAll();
+        curvePointRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("risk"));
+        curvePointRepository.save(point(1, 1.0, 2.0));
+        curvePointRepository.save(point(2, 5.0, 3.0));
+        curvePointRepository.save(point(3, 10.0, 4.0));
+    }
+
+    @Test
+    void results_ShouldStreamTheValueOfEveryScenarioOfAStoredDefinition() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/v1/scenarios").header(HttpHeaders.AUTHORIZATION, basic("risk"))
+                        .contentType(MediaType.APPLICATION_JSON).content(DEFINITION))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/scenarios/rates"));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/v1/scenarios/rates/results").param("valuation", "averageValue")
+                        .header(HttpHeaders.AUTHORIZATION, basic("risk")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        lines.sort(Comparator.comparingInt(line -> line.get("scenario").asInt()));
+        assertEquals(105, lines.size());
+        JsonNode unshocked = lines.get(10 * 5 + 2);
+        assertEquals(0.0, unshocked.get("amplitudes").get(0).asDouble(), 1e-12);
+        assertEquals(0.0, unshocked.get("amplitudes").get(1).asDouble(), 1e-12);
+        assertEquals(3.0, unshocked.get("value").asDouble(), 1e-12);
+        // +1 everywhere, then +0.5 on the 5-year point only
+        assertEquals(3.0 + 1.0 + 0.5 / 3, lines.get(104).get("value").asDouble(), 1e-12);
+    }
+
+    @Test
+    void definitions_ShouldBeStoredForReuseAndValidated() throws Exception {
+        // Act
+        mockMvc.perform(post("/api/v1/scenarios").header(HttpHeaders.AUTHORIZATION, basic("risk"))
+                        .contentType(MediaType.APPLICATION_JSON).content(DEFINITION))
+                .andExpect(status().isCreated());
+
+        // Assert
+        mockMvc.perform(get("/api/v1/scenarios/rates").header(HttpHeaders.AUTHORIZATION, basic("risk")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.axes[1].shape.type").value("keyRate"))
+                .andExpect(jsonPath("$.axes[1].steps").value(5));
+        mockMvc.perform(get("/api/v1/scenarios/other/results").header(HttpHeaders.AUTHORIZATION, basic("risk")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/scenarios/rates/results").param("valuation", "delta")
+                        .header(HttpHeaders.AUTHORIZATION, basic("risk")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/scenarios").header(HttpHeaders.AUTHORIZATION, basic("risk"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"bad\",\"axes\":[{\"shape\":{\"type\":\"parallel\"},\"from\":0,\"to\":1,\"steps\":0}]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/v1/scenarios/rates").header(HttpHeaders.AUTHORIZATION, basic("risk")))
+                .andExpect(status().isNoContent());
+        assertTrue(scenarioSetRepository.findAll().isEmpty());
+    }
+
+    private static CurvePoint point(int curveId, double term, double value) {
+        CurvePoint point = new CurvePoint();
+        point.setCurveId(curveId);
+        point.setTerm(term);
+        point.setValue(value);
+        return point;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole("ROLE_USER");
+        return userDTO;
+    }
+}
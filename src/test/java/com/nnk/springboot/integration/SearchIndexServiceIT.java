@@ -0,0 +1,150 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BidDTO;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.search.SearchIndexService;
+import com.nnk.springboot.service.BidListService;
+import com.nnk.springboot.service.TradeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SearchIndexServiceIT {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private BidListService bidListService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository.deleteAll();
+        bidListRepository.deleteAll();
+    }
+
+    @Test
+    void buildIndexes_ShouldIndexExistingRows() throws InterruptedException {
+        // Arrange
+        Trade trade = new Trade();
+        trade.setAccount("Scanned Account");
+        trade.setType("Type");
+        trade.setBook("Emerging Markets");
+        tradeRepository.save(trade);
+        BidList bidList = new BidList();
+        bidList.setAccount("Scanned Bid");
+        bidList.setType("Type");
+        bidListRepository.save(bidList);
+
+        // Act
+        searchIndexService.buildIndexes();
+
+        // Assert
+        List<Trade> trades = searchIndexService.searchTrades("book:emerg scanned");
+        assertEquals(1, trades.size());
+        assertEquals("Scanned Account", trades.get(0).getAccount());
+        assertEquals(1, searchIndexService.searchBids("scanned").size());
+    }
+
+    @Test
+    void serviceWrites_ShouldKeepTradeIndexUpToDate() {
+        // Arrange
+        Trade trade = tradeService.saveTrade(trade("Goldman Sachs"));
+
+        // Act
+        tradeService.updateBidList(trade.getTradeId(), trade("Morgan Stanley"));
+
+        // Assert
+        assertTrue(searchIndexService.searchTrades("goldman").isEmpty());
+        assertEquals(trade.getTradeId(), searchIndexService.searchTrades("morgan st").get(0).getTradeId());
+
+        tradeService.deleteTrade(trade.getTradeId());
+        assertTrue(searchIndexService.searchTrades("morgan").isEmpty());
+    }
+
+    @Test
+    void serviceWrites_ShouldKeepBidIndexUpToDate() {
+        // Arrange
+        BidDTO bidDTO = new BidDTO();
+        bidDTO.setAccount("Deutsche Bank");
+        bidDTO.setType("Type");
+
+        // Act
+        BidList bidList = bidListService.saveBidList(bidDTO);
+
+        // Assert
+        List<BidList> bids = searchIndexService.searchBids("account:deut");
+        assertEquals(1, bids.size());
+        assertEquals(bidList.getId(), bids.get(0).getId());
+        bidListService.deleteBidList(bidList.getId());
+        assertTrue(searchIndexService.searchBids("deutsche").isEmpty());
+    }
+
+    @Test
+    void bidUpdate_ShouldClearTheTokensOfAFieldItEmptied() {
+        // Arrange
+        BidDTO bidDTO = new BidDTO();
+        bidDTO.setAccount("Nomura");
+        bidDTO.setType("Type");
+        bidDTO.setSecurity("Gilts");
+        BidList bidList = bidListService.saveBidList(bidDTO);
+        bidDTO.setSecurity(null);
+
+        // Act
+        bidListService.updateBidList(bidList.getId(), bidDTO);
+
+        // Assert
+        assertTrue(searchIndexService.searchBids("security:gilts").isEmpty());
+        assertEquals(1, searchIndexService.searchBids("nomura").size());
+    }
+
+    @Test
+    void rolledBackWrites_ShouldNotBeIndexed() {
+        // Arrange
+        int indexed = searchIndexService.getIndexedTradeCount();
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tradeService.saveTrade(trade("Phantom Capital"));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(indexed, searchIndexService.getIndexedTradeCount());
+        assertTrue(searchIndexService.searchTrades("phantom").isEmpty());
+    }
+
+    private static TradeDTO trade(String account) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(1.0);
+        return tradeDTO;
+    }
+}
@@ -0,0 +1,105 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.UserService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class SessionIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from SPRING_SESSION");
+        userRepository.deleteAll();
+        userService.saveUser(user("alice"));
+    }
+
+    @Test
+    void formLogin_ShouldStoreTheSessionInTheDatabase() throws Exception {
+        // Act
+        Cookie session = login("alice");
+
+        // Assert
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from SPRING_SESSION where PRINCIPAL_NAME = 'alice'", Integer.class));
+        byte[] context = jdbcTemplate.queryForObject("select ATTRIBUTE_BYTES from SPRING_SESSION_ATTRIBUTES "
+                + "where ATTRIBUTE_NAME = 'SPRING_SECURITY_CONTEXT'", byte[].class);
+        assertEquals(1, context[0]);
+        mockMvc.perform(get("/bidList/list").cookie(session))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void session_ShouldBeServedFromTheDatabaseOnly() throws Exception {
+        // Arrange
+        Cookie session = login("alice");
+
+        // Act
+        jdbcTemplate.update("delete from SPRING_SESSION");
+
+        // Assert
+        mockMvc.perform(get("/bidList/list").cookie(session).accept(MediaType.TEXT_HTML))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    @Test
+    void logout_ShouldDeleteTheStoredSession() throws Exception {
+        // Arrange
+        Cookie session = login("alice");
+
+        // Act
+        mockMvc.perform(post("/logout").cookie(session).accept(MediaType.TEXT_HTML))
+                .andExpect(redirectedUrl("/login"));
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from SPRING_SESSION", Integer.class));
+    }
+
+    private Cookie login(String username) throws Exception {
+        Cookie session = mockMvc.perform(post("/login").param("username", username).param("password", PASSWORD))
+                .andExpect(redirectedUrl("/bidList/list"))
+                .andReturn().getResponse().getCookie("SESSION");
+        assertNotNull(session);
+        return session;
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole("ROLE_USER");
+        return userDTO;
+    }
+}
@@ -0,0 +1,94 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RuleNameDTO;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.rules.TemplateRenderingService;
+import com.nnk.springboot.service.RuleNameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TemplateRenderingServiceIT {
+
+    @Autowired
+    private TemplateRenderingService templateRenderingService;
+
+    @Autowired
+    private RuleNameService ruleNameService;
+
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @BeforeEach
+    void setUp() {
+        ruleNameRepository.deleteAll();
+        tradeRepository.deleteAll();
+    }
+
+    @Test
+    void renderTradesForBook_ShouldRenderOneLinePerTradeOfBook() throws IOException {
+        // Arrange
+        tradeRepository.save(trade("A1", "BOOK1"));
+        tradeRepository.save(trade("A2", "BOOK1"));
+        tradeRepository.save(trade("A3", "BOOK2"));
+        RuleName rule = ruleNameService.saveRuleName(rule("{{account}}@{{book}}"));
+        StringWriter writer = new StringWriter();
+
+        // Act
+        long count = templateRenderingService.renderTradesForBook(rule.getId(), "BOOK1", writer);
+
+        // Assert
+        assertEquals(2, count);
+        assertTrue(writer.toString().contains("A1@BOOK1\n"));
+        assertTrue(writer.toString().contains("A2@BOOK1\n"));
+        assertFalse(writer.toString().contains("A3"));
+    }
+
+    @Test
+    void renderTrade_ShouldUseNewTemplate_AfterRuleUpdate() {
+        // Arrange
+        Trade trade = tradeRepository.save(trade("A1", "BOOK1"));
+        RuleName rule = ruleNameService.saveRuleName(rule("old {{account}}"));
+        assertEquals("old A1", templateRenderingService.renderTrade(rule.getId(), trade.getTradeId()));
+
+        // Act
+        ruleNameService.updateRuleName(rule.getId(), rule("new {{account}}"));
+
+        // Assert
+        assertEquals("new A1", templateRenderingService.renderTrade(rule.getId(), trade.getTradeId()));
+    }
+
+    private static Trade trade(String account, String book) {
+        Trade trade = new Trade();
+        trade.setAccount(account);
+        trade.setType("Type");
+        trade.setBook(book);
+        return trade;
+    }
+
+    private static RuleNameDTO rule(String template) {
+        RuleNameDTO ruleNameDTO = new RuleNameDTO();
+        ruleNameDTO.setName("Rule");
+        ruleNameDTO.setDescription("Description");
+        ruleNameDTO.setJson("{}");
+        ruleNameDTO.setTemplate(template);
+        ruleNameDTO.setSql("SELECT * FROM trade");
+        ruleNameDTO.setSqlPart("1 = 1");
+        return ruleNameDTO;
+    }
+}
@@ -0,0 +1,155 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.analytics.Dimension;
+import com.nnk.springboot.analytics.GroupAggregate;
+import com.nnk.springboot.analytics.Measure;
+import com.nnk.springboot.analytics.TradeAnalyticsService;
+import com.nnk.springboot.analytics.TradeQuery;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class TradeAnalyticsIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TradeAnalyticsService tradeAnalyticsService;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository.deleteAll();
+        tradeAnalyticsService.load();
+        userRepository.deleteAll();
+        userService.saveUser(user("analyst", "ROLE_USER"));
+        userService.saveUser(user("admin", "ROLE_ADMIN"));
+    }
+
+    @Test
+    void aggregate_ShouldFollowTradeWrites() throws Exception {
+        // Arrange
+        Trade first = tradeService.saveTrade(trade("Alpha", 10.0));
+        tradeService.saveTrade(trade("Alpha", 30.0));
+        Trade beta = tradeService.saveTrade(trade("Beta", 5.0));
+
+        // Act
+        List<GroupAggregate> created = await(this::byAccount, result -> result.size() == 2);
+        TradeDTO update = trade("Beta", 50.0);
+        update.setVersion(first.getVersion());
+        tradeService.updateBidList(first.getTradeId(), update);
+        tradeService.deleteTrade(beta.getTradeId());
+        List<GroupAggregate> changed = await(this::byAccount,
+                result -> result.size() == 2 && result.get(1).sum() == 50.0);
+
+        // Assert
+        assertEquals(List.of(new GroupAggregate("Alpha", 2, 40.0, 10.0, 30.0),
+                new GroupAggregate("Beta", 1, 5.0, 5.0, 5.0)), created);
+        assertEquals(List.of(new GroupAggregate("Alpha", 1, 30.0, 30.0, 30.0),
+                new GroupAggregate("Beta", 1, 50.0, 50.0, 50.0)), changed);
+        mockMvc.perform(get("/api/v1/analytics/trades").param("measure", "buyQuantity").param("account", "Alpha")
+                        .header(HttpHeaders.AUTHORIZATION, basic("analyst")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].count").value(1))
+                .andExpect(jsonPath("$[0].sum").value(30.0));
+        mockMvc.perform(get("/api/v1/analytics/trades").param("measure", "fees")
+                        .header(HttpHeaders.AUTHORIZATION, basic("analyst")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void load_ShouldReadTradesWrittenBeforeStartup() throws Exception {
+        // Arrange
+        Trade trade = new Trade();
+        trade.setAccount("Loaded");
+        trade.setType("Type");
+        trade.setBuyQuantity(7.0);
+        tradeRepository.save(trade);
+
+        // Act
+        tradeAnalyticsService.load();
+
+        // Assert
+        assertEquals(List.of(new GroupAggregate("Loaded", 1, 7.0, 7.0, 7.0)), byAccount());
+        mockMvc.perform(get("/api/v1/analytics/stats").header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trades").value(1));
+        mockMvc.perform(get("/api/v1/analytics/stats").header(HttpHeaders.AUTHORIZATION, basic("analyst")))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<GroupAggregate> byAccount() {
+        return tradeAnalyticsService.aggregate(TradeQuery.all(), Dimension.ACCOUNT, Measure.BUY_QUANTITY);
+    }
+
+    private static <T> T await(Supplier<T> supplier, Predicate<T> done) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        T value = supplier.get();
+        while (!done.test(value) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            value = supplier.get();
+        }
+        return value;
+    }
+
+    private static TradeDTO trade(String account, double buyQuantity) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(buyQuantity);
+        return tradeDTO;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username, String role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole(role);
+        return userDTO;
+    }
+}
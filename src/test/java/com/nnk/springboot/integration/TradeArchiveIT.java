@@ -0,0 +1,157 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.domain.ArchivedTrade;
+import com.nnk.springboot.domain.JobStatus;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.JobDTO;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.jobs.JobService;
+import com.nnk.springboot.repositories.JobRepository;
+import com.nnk.springboot.repositories.TradeArchiveRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"jobs.chunk-size=2", "jobs.chunk-pause-ms=0"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class TradeArchiveIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private TradeArchiveRepository tradeArchiveRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        tradeArchiveRepository.deleteAll();
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("operator"));
+    }
+
+    @Test
+    void archiveJob_ShouldMoveOnlyOldTradesOfTheGivenStatuses() throws Exception {
+        // Arrange
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        List<Integer> archivable = List.of(
+                trade("Acc1", old, "SETTLED"), trade("Acc2", old, "SETTLED"), trade("Acc3", old.plusDays(1), "SETTLED"));
+        int openOld = trade("Acc4", old, "OPEN");
+        int recent = trade("Acc5", LocalDateTime.now().minusDays(1), "SETTLED");
+
+        // Act
+        JobDTO job = awaitFinished(jobService.submit("trade-archive",
+                Map.of("olderThanDays", "30", "statuses", "SETTLED"), "operator").getId());
+
+        // Assert
+        assertEquals(JobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(3, job.getTotalItems());
+        assertEquals(3, job.getProcessedItems());
+        assertEquals(List.of(openOld, recent), tradeRepository.findAll().stream().map(Trade::getTradeId).sorted().toList());
+        assertEquals(archivable, tradeArchiveRepository.findAll().stream().map(ArchivedTrade::getTradeId).sorted().toList());
+        assertEquals("Acc1", tradeArchiveRepository.findById(archivable.get(0)).orElseThrow().getAccount());
+    }
+
+    @Test
+    void readPaths_ShouldIncludeArchivedTradesOnlyWhenAsked() throws Exception {
+        // Arrange
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        int archived = trade("Cold", old, "SETTLED");
+        int hot = trade("Hot", old.plusHours(1), "OPEN");
+        tradeService.archiveTrades(List.of(archived));
+
+        // Act + Assert
+        assertThrows(EntityNotFoundException.class, () -> tradeService.getTradeDTOById(archived));
+        TradeDTO found = tradeService.getTradeDTOById(archived, true);
+        assertTrue(found.isArchived());
+        assertEquals("Cold", found.getAccount());
+        assertEquals(List.of(hot), tradeService.getTradeDTOsByTradeDate(old.minusDays(1), old.plusDays(1), false)
+                .stream().map(TradeDTO::getId).toList());
+        assertEquals(List.of(archived, hot), tradeService.getTradeDTOsByTradeDate(old.minusDays(1), old.plusDays(1), true)
+                .stream().map(TradeDTO::getId).toList());
+        mockMvc.perform(get("/api/v1/trades/" + archived).header(HttpHeaders.AUTHORIZATION, basic("operator")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/trades/" + archived).param("includeArchived", "true")
+                        .header(HttpHeaders.AUTHORIZATION, basic("operator")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.account").value("Cold"))
+                .andExpect(jsonPath("$.archived").value(true));
+    }
+
+    private int trade(String account, LocalDateTime tradeDate, String status) {
+        Trade trade = new Trade();
+        trade.setAccount(account);
+        trade.setType("Type");
+        trade.setBuyQuantity(1.0);
+        trade.setTradeDate(tradeDate);
+        trade.setStatus(status);
+        return tradeRepository.save(trade).getTradeId();
+    }
+
+    private JobDTO awaitFinished(long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        JobDTO job = jobService.getJob(id);
+        while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = jobService.getJob(id);
+        }
+        return job;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole("ROLE_USER");
+        return userDTO;
+    }
+}
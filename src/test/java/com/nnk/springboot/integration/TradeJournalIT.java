@@ -0,0 +1,193 @@
+package com.nnk.springboot.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.JournalCheckpoint;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.dto.UserDTO;
+import com.nnk.springboot.journal.FsyncPolicy;
+import com.nnk.springboot.journal.TradeJournalService;
+import com.nnk.springboot.repositories.JournalCheckpointRepository;
+import com.nnk.springboot.repositories.JournalDeadLetterRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"journal.enabled=true", "journal.dir=target/journal-it", "journal.segment-size=4096"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class TradeJournalIT {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JournalDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    static void clearJournal() throws IOException {
+        FileSystemUtils.deleteRecursively(Path.of("target/journal-it"));
+        FileSystemUtils.deleteRecursively(Path.of("target/journal-it-a"));
+        FileSystemUtils.deleteRecursively(Path.of("target/journal-it-b"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+        userService.saveUser(user("trader", "ROLE_USER"));
+        userService.saveUser(user("admin", "ROLE_ADMIN"));
+    }
+
+    @Test
+    void validate_ShouldAcknowledgeTheBookingThenSaveItInTheBackground() throws Exception {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            mockMvc.perform(post("/trade/validate").header(HttpHeaders.AUTHORIZATION, basic("trader"))
+                            .param("account", "Journal" + i).param("type", "Type").param("buyQuantity", "1"))
+                    .andExpect(status().is3xxRedirection())
+                    .andExpect(redirectedUrl("/trade/list"));
+        }
+
+        // Assert
+        List<Trade> trades = awaitTrades(100);
+        assertEquals(100, trades.size());
+        assertTrue(trades.stream().allMatch(trade -> "trader".equals(trade.getCreationName())));
+        assertEquals(List.of("Journal0", "Journal1"),
+                trades.stream().sorted((a, b) -> a.getTradeId() - b.getTradeId()).limit(2).map(Trade::getAccount).toList());
+        mockMvc.perform(get("/journal/stats").header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.backlog").value(0))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.deadLetters").value(0));
+    }
+
+    @Test
+    void stats_ShouldBeForbiddenToUsers() throws Exception {
+        mockMvc.perform(get("/journal/stats").header(HttpHeaders.AUTHORIZATION, basic("trader")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deadLetters_ShouldBeListedToAdminsOnly() throws Exception {
+        mockMvc.perform(get("/journal/dead-letters").header(HttpHeaders.AUTHORIZATION, basic("trader")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/journal/dead-letters").header(HttpHeaders.AUTHORIZATION, basic("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void journalsSharingTheDatabase_ShouldEachKeepTheirOwnCheckpoint() throws Exception {
+        // Arrange
+        TradeJournalService nodeA = journalService("target/journal-it-a");
+        TradeJournalService nodeB = journalService("target/journal-it-b");
+        for (int i = 0; i < 3; i++) {
+            nodeA.book(trade("NodeA" + i));
+        }
+        nodeB.book(trade("NodeB0"));
+        nodeA.start();
+        awaitTrades(3);
+
+        // Act
+        nodeB.start();
+        List<Trade> trades = awaitTrades(4);
+
+        // Assert
+        assertEquals(4, trades.size());
+        assertEquals(3, checkpoint("target/journal-it-a"));
+        assertEquals(1, checkpoint("target/journal-it-b"));
+        assertEquals(3, nodeA.getStats().appliedSequence());
+        assertEquals(1, nodeB.getStats().appliedSequence());
+    }
+
+    private TradeJournalService journalService(String directory) {
+        return new TradeJournalService(tradeService, checkpointRepository, deadLetterRepository, objectMapper,
+                transactionManager, true, directory, 4096, FsyncPolicy.ALWAYS, 1, 10, 10);
+    }
+
+    private long checkpoint(String directory) throws IOException {
+        String name = "trade-journal:" + Files.readString(Path.of(directory, "journal.id"));
+        return checkpointRepository.findById(name).map(JournalCheckpoint::getSequence).orElseThrow();
+    }
+
+    private static TradeDTO trade(String account) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(1.0);
+        return tradeDTO;
+    }
+
+    private List<Trade> awaitTrades(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<Trade> trades = tradeRepository.findAll();
+        while (trades.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            trades = tradeRepository.findAll();
+        }
+        return trades;
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserDTO user(String username, String role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setPassword(PASSWORD);
+        userDTO.setFullname(username);
+        userDTO.setRole(role);
+        return userDTO;
+    }
+}
@@ -0,0 +1,85 @@
+package com.nnk.springboot.integration;
+
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.jdbc.BoundedDataSource;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.service.TradeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "datasource.guard.max-concurrency=3"})
+@ActiveProfiles("test")
+public class VirtualThreadExecutionIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository.deleteAll();
+    }
+
+    @Test
+    void dataSource_ShouldBeBoundedInVirtualThreadMode() {
+        // Assert
+        BoundedDataSource bounded = assertInstanceOf(BoundedDataSource.class, dataSource);
+        assertEquals(3, bounded.getMaxConcurrency());
+    }
+
+    @Test
+    void concurrentVirtualThreads_ShouldNeverHoldMoreConnectionsThanTheBound() throws Exception {
+        // Arrange
+        BoundedDataSource bounded = (BoundedDataSource) dataSource;
+        int callers = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                TradeDTO dto = trade("Account" + i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return tradeService.saveTrade(dto).getTradeId();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertNotNull(result.get());
+            }
+        }
+
+        // Assert
+        assertEquals(callers, tradeRepository.count());
+        assertTrue(bounded.getPeakConnections() <= 3, "peak was " + bounded.getPeakConnections());
+    }
+
+    private static TradeDTO trade(String account) {
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount(account);
+        tradeDTO.setType("Type");
+        tradeDTO.setBuyQuantity(1.0);
+        return tradeDTO;
+    }
+}
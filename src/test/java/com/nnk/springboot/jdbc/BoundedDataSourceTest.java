@@ -0,0 +1,79 @@
+package com.nnk.springboot.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedDataSourceTest {
+
+    private DataSource target;
+    private BoundedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new BoundedDataSource(target, 2, 50);
+    }
+
+    @Test
+    void getConnection_ShouldFailOnceAllPermitsAreHeld() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(2, dataSource.getActiveConnections());
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void close_ShouldReleaseThePermitOnlyOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertTrue(first.isClosed());
+        assertEquals(1, dataSource.getActiveConnections());
+        assertNotNull(dataSource.getConnection());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(((ConnectionProxy) first).getTargetConnection()).close();
+        assertFalse(second.isClosed());
+    }
+
+    @Test
+    void getConnection_ShouldReleaseThePermitWhenTheTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+
+    @Test
+    void getConnection_ShouldTrackThePeak() throws SQLException {
+        dataSource.getConnection().close();
+        Connection held = dataSource.getConnection();
+        dataSource.getConnection().close();
+        held.close();
+
+        assertEquals(2, dataSource.getPeakConnections());
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedDataSource(target, 0, 50));
+    }
+}
@@ -0,0 +1,204 @@
+package com.nnk.springboot.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Job;
+import com.nnk.springboot.domain.JobStatus;
+import com.nnk.springboot.dto.JobDTO;
+import com.nnk.springboot.exception.EntityNotFoundException;
+import com.nnk.springboot.repositories.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JobServiceTest {
+
+    private JobRepository jobRepository;
+    private JobHandler handler;
+    private PlatformTransactionManager transactionManager;
+    private JobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        handler = mock(JobHandler.class);
+        when(handler.type()).thenReturn("test");
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(jobRepository.recordChunk(anyLong(), eq("node-a"), anyLong(), anyLong(), anyLong(), any())).thenReturn(1);
+        jobService = new JobService(jobRepository, List.of(handler), new ObjectMapper(), transactionManager,
+                1, 2, 3, 0, 60_000, "node-a", 10_000, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobService.shutdown();
+    }
+
+    @Test
+    void submit_ShouldStoreAQueuedJobWithItsItemCount() {
+        when(handler.countItems(Map.of("key", "value"))).thenReturn(10L);
+        when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> {
+            Job job = invocation.getArgument(0);
+            job.setId(7L);
+            return job;
+        });
+
+        JobDTO result = jobService.submit("test", Map.of("key", "value"), "alice");
+
+        assertEquals(7L, result.getId());
+        assertEquals(JobStatus.QUEUED, result.getStatus());
+        assertEquals(10L, result.getTotalItems());
+        assertEquals("alice", result.getSubmittedBy());
+        verify(jobRepository).save(argThat(job -> "{\"key\":\"value\"}".equals(job.getParameters())));
+    }
+
+    @Test
+    void submit_ShouldRejectUnknownTypes() {
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit("unknown", Map.of(), "alice"));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void submit_ShouldRejectJobsBeyondTheQueueCapacity() {
+        when(jobRepository.countByStatus(JobStatus.QUEUED)).thenReturn(3L);
+
+        assertThrows(RejectedExecutionException.class, () -> jobService.submit("test", Map.of(), "alice"));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void runJob_ShouldRecordEveryChunkThenSucceed() throws InterruptedException {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(0)));
+        when(handler.processChunk(anyMap(), eq(0L), eq(2))).thenReturn(new JobChunk(2, 2, 0, null, false));
+        when(handler.processChunk(anyMap(), eq(2L), eq(2))).thenReturn(new JobChunk(3, 0, 1, "bad line", true));
+
+        jobService.runJob(1L);
+
+        verify(jobRepository).recordChunk(1L, "node-a", 2, 2, 0, null);
+        verify(jobRepository).recordChunk(1L, "node-a", 3, 0, 1, "bad line");
+        verify(jobRepository).finish(eq(1L), eq("node-a"), eq(JobStatus.SUCCEEDED), isNull(), any());
+    }
+
+    @Test
+    void runJob_ShouldResumeFromTheLastCommittedChunk() throws InterruptedException {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(40)));
+        when(handler.processChunk(anyMap(), eq(40L), eq(2))).thenReturn(new JobChunk(41, 1, 0, null, true));
+
+        jobService.runJob(1L);
+
+        verify(handler, never()).processChunk(anyMap(), eq(0L), anyInt());
+        verify(jobRepository).finish(eq(1L), eq("node-a"), eq(JobStatus.SUCCEEDED), isNull(), any());
+    }
+
+    @Test
+    void runJob_ShouldStopBeforeTheNextChunkWhenCancelled() throws InterruptedException {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(0)));
+        when(handler.processChunk(anyMap(), eq(0L), eq(2))).thenReturn(new JobChunk(2, 2, 0, null, false));
+        when(jobRepository.isCancelRequested(1L)).thenReturn(false, true);
+
+        jobService.runJob(1L);
+
+        verify(handler, times(1)).processChunk(anyMap(), anyLong(), anyInt());
+        verify(jobRepository).finish(eq(1L), eq("node-a"), eq(JobStatus.CANCELLED), isNull(), any());
+    }
+
+    @Test
+    void runJob_ShouldFailWithTheErrorOfAFailingChunk() throws InterruptedException {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(0)));
+        when(handler.processChunk(anyMap(), eq(0L), eq(2))).thenThrow(new IllegalStateException("disk full"));
+
+        jobService.runJob(1L);
+
+        verify(jobRepository, never()).recordChunk(anyLong(), any(), anyLong(), anyLong(), anyLong(), any());
+        verify(jobRepository).finish(eq(1L), eq("node-a"), eq(JobStatus.FAILED), eq("disk full"), any());
+    }
+
+    @Test
+    void runJob_ShouldStopAndRollBackWhenAnotherInstanceTookTheJobOver() throws InterruptedException {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(0)));
+        when(handler.processChunk(anyMap(), eq(0L), eq(2))).thenReturn(new JobChunk(2, 2, 0, null, false));
+        when(jobRepository.recordChunk(1L, "node-a", 2, 2, 0, null)).thenReturn(0);
+
+        jobService.runJob(1L);
+
+        verify(handler, times(1)).processChunk(anyMap(), anyLong(), anyInt());
+        verify(transactionManager).commit(argThat(TransactionStatus::isRollbackOnly));
+        verify(jobRepository, never()).finish(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void startWorkers_ShouldRequeueOnlyItsOwnJobsAndStaleOnes() {
+        jobService.startWorkers();
+
+        verify(jobRepository).requeueAbandoned(eq("node-a"),
+                argThat(staleBefore -> staleBefore.isBefore(LocalDateTime.now().minusSeconds(59))));
+    }
+
+    @Test
+    void heartbeat_ShouldRefreshItsJobsAndRequeueOnlyStaleOnes() {
+        jobService.heartbeat();
+
+        verify(jobRepository).heartbeat(eq("node-a"), any());
+        verify(jobRepository).requeueAbandoned(isNull(), any());
+    }
+
+    @Test
+    void getJob_ShouldThrowWhenMissing() {
+        when(jobRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> jobService.getJob(1L));
+    }
+
+    @Test
+    void cancel_ShouldFlagARunningJob() {
+        when(jobRepository.cancelQueued(eq(1L), any())).thenReturn(0);
+        when(jobRepository.requestCancel(1L)).thenReturn(1);
+        Job job = job(0);
+        job.setCancelRequested(true);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        JobDTO result = jobService.cancel(1L);
+
+        assertTrue(result.isCancelRequested());
+        verify(jobRepository).requestCancel(1L);
+    }
+
+    @Test
+    void convertToDTO_ShouldDeriveProgressAndThroughput() {
+        Job job = job(0);
+        job.setTotalItems(200);
+        job.setProcessedItems(90);
+        job.setFailedItems(10);
+        job.setStartedAt(LocalDateTime.of(2024, 1, 1, 10, 0, 0));
+        job.setFinishedAt(LocalDateTime.of(2024, 1, 1, 10, 0, 4));
+        job.setStatus(JobStatus.CANCELLED);
+
+        JobDTO result = jobService.convertToDTO(job);
+
+        assertEquals(50.0, result.getPercentComplete());
+        assertEquals(25.0, result.getItemsPerSecond());
+    }
+
+    private static Job job(long resumeFrom) {
+        Job job = new Job();
+        job.setId(1L);
+        job.setType("test");
+        job.setStatus(JobStatus.RUNNING);
+        job.setParameters("{}");
+        job.setResumeFrom(resumeFrom);
+        return job;
+    }
+}
@@ -0,0 +1,81 @@
+package com.nnk.springboot.jobs;
+
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.service.TradeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TradeArchiveJobHandlerTest {
+
+    private TradeRepository tradeRepository;
+    private TradeService tradeService;
+    private TradeArchiveJobHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository = mock(TradeRepository.class);
+        tradeService = mock(TradeService.class);
+        handler = new TradeArchiveJobHandler(tradeRepository, tradeService, 365);
+    }
+
+    @Test
+    void countItems_ShouldFixTheCutoffFromTheDefaultAge() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(365).atStartOfDay();
+        when(tradeRepository.countArchivable(cutoff, true, List.of(""))).thenReturn(12L);
+        Map<String, String> parameters = new HashMap<>();
+
+        assertEquals(12L, handler.countItems(parameters));
+        assertEquals(cutoff.toString(), parameters.get(TradeArchiveJobHandler.CUTOFF));
+    }
+
+    @Test
+    void countItems_ShouldRestrictToTheGivenStatuses() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(30).atStartOfDay();
+        Map<String, String> parameters = new HashMap<>(Map.of("olderThanDays", "30", "statuses", "SETTLED, CLOSED"));
+
+        handler.countItems(parameters);
+
+        verify(tradeRepository).countArchivable(cutoff, false, List.of("SETTLED", "CLOSED"));
+    }
+
+    @Test
+    void countItems_ShouldRejectInvalidAges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> handler.countItems(new HashMap<>(Map.of("olderThanDays", "0"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> handler.countItems(new HashMap<>(Map.of("olderThanDays", "a year"))));
+    }
+
+    @Test
+    void processChunk_ShouldArchiveTheNextTradesAfterThePosition() {
+        Map<String, String> parameters = Map.of("cutoff", "2024-01-01T00:00");
+        when(tradeRepository.findArchivableIdsAfter(eq(10), eq(LocalDateTime.of(2024, 1, 1, 0, 0)), eq(true),
+                eq(List.of("")), any())).thenReturn(List.of(11, 14));
+        when(tradeService.archiveTrades(List.of(11, 14))).thenReturn(2);
+
+        JobChunk chunk = handler.processChunk(parameters, 10, 2);
+
+        assertEquals(new JobChunk(14, 2, 0, null, false), chunk);
+    }
+
+    @Test
+    void processChunk_ShouldFinishWhenNoTradeIsLeft() {
+        when(tradeRepository.findArchivableIdsAfter(anyInt(), any(), anyBoolean(), anyList(), any()))
+                .thenReturn(List.of());
+
+        JobChunk chunk = handler.processChunk(Map.of("cutoff", "2024-01-01T00:00"), 14, 2);
+
+        assertEquals(new JobChunk(14, 0, 0, null, true), chunk);
+        verifyNoInteractions(tradeService);
+    }
+}
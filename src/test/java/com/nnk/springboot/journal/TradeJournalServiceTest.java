@@ -0,0 +1,161 @@
+package com.nnk.springboot.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.JournalCheckpoint;
+import com.nnk.springboot.domain.JournalDeadLetter;
+import com.nnk.springboot.dto.TradeDTO;
+import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.repositories.JournalCheckpointRepository;
+import com.nnk.springboot.repositories.JournalDeadLetterRepository;
+import com.nnk.springboot.service.TradeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TradeJournalServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private TradeService tradeService;
+    private JournalCheckpointRepository checkpointRepository;
+    private JournalDeadLetterRepository deadLetterRepository;
+    private TradeJournalService service;
+
+    @BeforeEach
+    void setUp() {
+        tradeService = mock(TradeService.class);
+        checkpointRepository = mock(JournalCheckpointRepository.class);
+        deadLetterRepository = mock(JournalDeadLetterRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void start_ShouldReplayOnlyTheEntriesAfterTheCheckpoint() throws InterruptedException {
+        TradeJournalService previousRun = newService(true);
+        previousRun.book(trade("Applied"));
+        previousRun.book(trade("Pending1"));
+        previousRun.book(trade("Pending2"));
+        previousRun.shutdown();
+        when(checkpointRepository.findById(checkpoint()))
+                .thenReturn(Optional.of(new JournalCheckpoint(checkpoint(), 1)));
+        service = newService(true);
+
+        service.start();
+
+        awaitApplied(3);
+        verify(checkpointRepository).advance(checkpoint(), 3);
+        verify(tradeService).saveTrade(argThat(trade -> trade.getAccount().equals("Pending1")), eq("system"), any());
+        verify(tradeService).saveTrade(argThat(trade -> trade.getAccount().equals("Pending2")), eq("system"), any());
+        verify(tradeService, never()).saveTrade(argThat(trade -> trade.getAccount().equals("Applied")), any(), any());
+    }
+
+    @Test
+    void start_ShouldMoveAnEntryTheDatabaseRefusesToTheDeadLetters() throws InterruptedException {
+        when(tradeService.saveTrade(argThat(trade -> trade.getAccount().equals("Refused")), any(), any()))
+                .thenThrow(new EntitySaveException("Failed to create trade.",
+                        new DataIntegrityViolationException("account too long")));
+        service = newService(true);
+        service.book(trade("Refused"));
+        service.book(trade("Accepted"));
+
+        service.start();
+
+        awaitApplied(2);
+        verify(checkpointRepository).advance(checkpoint(), 1);
+        verify(checkpointRepository).advance(checkpoint(), 2);
+        verify(tradeService).saveTrade(argThat(trade -> trade.getAccount().equals("Accepted")), any(), any());
+        ArgumentCaptor<JournalDeadLetter> deadLetter = ArgumentCaptor.forClass(JournalDeadLetter.class);
+        verify(deadLetterRepository).save(deadLetter.capture());
+        assertEquals(1, deadLetter.getValue().getSequence());
+        assertEquals(checkpoint(), TradeJournalService.CHECKPOINT + ":" + deadLetter.getValue().getJournal());
+        assertTrue(deadLetter.getValue().getPayload().contains("\"Refused\""));
+        assertEquals("DataIntegrityViolationException: account too long", deadLetter.getValue().getError());
+        when(deadLetterRepository.count()).thenReturn(1L);
+        JournalStats stats = service.getStats();
+        assertEquals(1, stats.rejected());
+        assertEquals(1, stats.deadLetters());
+        assertEquals(0, stats.backlog());
+    }
+
+    @Test
+    void start_ShouldTakeOverTheCheckpointSharedBeforeEachJournalHadItsOwn() throws InterruptedException {
+        TradeJournalService previousRun = newService(true);
+        previousRun.book(trade("Applied"));
+        previousRun.book(trade("Pending"));
+        previousRun.shutdown();
+        when(checkpointRepository.findById(TradeJournalService.CHECKPOINT))
+                .thenReturn(Optional.of(new JournalCheckpoint(TradeJournalService.CHECKPOINT, 1)));
+        when(checkpointRepository.remove(TradeJournalService.CHECKPOINT)).thenReturn(1);
+        service = newService(true);
+
+        service.start();
+
+        awaitApplied(2);
+        verify(checkpointRepository).save(new JournalCheckpoint(checkpoint(), 1));
+        verify(tradeService).saveTrade(argThat(trade -> trade.getAccount().equals("Pending")), any(), any());
+        verify(tradeService, never()).saveTrade(argThat(trade -> trade.getAccount().equals("Applied")), any(), any());
+    }
+
+    @Test
+    void book_ShouldSaveDirectlyWhenTheJournalIsDisabled() {
+        service = newService(false);
+        TradeDTO trade = trade("Direct");
+
+        service.book(trade);
+
+        verify(tradeService).saveTrade(trade);
+        assertFalse(service.getStats().enabled());
+    }
+
+    private String checkpoint() {
+        try {
+            return TradeJournalService.CHECKPOINT + ":" + Files.readString(directory.resolve(TradeJournal.ID_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitApplied(long sequence) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (service.getStats().appliedSequence() < sequence && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(sequence, service.getStats().appliedSequence());
+    }
+
+    private TradeJournalService newService(boolean enabled) {
+        return new TradeJournalService(tradeService, checkpointRepository, deadLetterRepository,
+                new ObjectMapper().findAndRegisterModules(),
+                mock(PlatformTransactionManager.class), enabled, directory.toString(), 4096, FsyncPolicy.GROUP,
+                1, 10, 10);
+    }
+
+    private static TradeDTO trade(String account) {
+        TradeDTO trade = new TradeDTO();
+        trade.setAccount(account);
+        trade.setType("Type");
+        trade.setBuyQuantity(1.0);
+        return trade;
+    }
+}
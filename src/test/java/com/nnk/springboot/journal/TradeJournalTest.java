@@ -0,0 +1,132 @@
+package com.nnk.springboot.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeJournalTest {
+
+    private static final int SEGMENT_SIZE = 128;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void id_ShouldStayTheSameAcrossReopeningAndDifferBetweenDirectories() {
+        String id;
+        try (TradeJournal journal = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS, 1)) {
+            id = journal.id();
+        }
+        try (TradeJournal reopened = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS, 1);
+             TradeJournal other = new TradeJournal(directory.resolve("other"), SEGMENT_SIZE, FsyncPolicy.ALWAYS, 1)) {
+            assertEquals(id, reopened.id());
+            assertNotEquals(id, other.id());
+        }
+    }
+
+    @Test
+    void append_ShouldNumberEntriesAndReadThemBackInOrder() {
+        try (TradeJournal journal = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS, 1)) {
+            assertEquals(1, journal.append(bytes("a")));
+            assertEquals(2, journal.append(bytes("bb")));
+
+            TradeJournal.Cursor cursor = journal.cursor(0);
+
+            assertEquals(List.of("a", "bb"), strings(cursor.next(10)));
+            assertEquals(List.of(), cursor.next(10));
+            journal.append(bytes("ccc"));
+            assertEquals(List.of("ccc"), strings(cursor.next(10)));
+        }
+    }
+
+    @Test
+    void append_ShouldRollToANewSegmentWhenTheEntryDoesNotFit() {
+        try (TradeJournal journal = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.NONE, 1)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(bytes("entry-" + i + "-padded-to-some-length"));
+            }
+
+            assertTrue(journal.segmentCount() > 1);
+            assertEquals(10, journal.cursor(0).next(100).size());
+            assertEquals(List.of("entry-7-padded-to-some-length"), strings(journal.cursor(7).next(1)));
+            assertThrows(IllegalArgumentException.class, () -> journal.append(new byte[SEGMENT_SIZE]));
+        }
+    }
+
+    @Test
+    void open_ShouldRecoverTheEntriesOfAPreviousRun() {
+        try (TradeJournal journal = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.GROUP, 1)) {
+            for (int i = 0; i < 6; i++) {
+                journal.append(bytes("entry-" + i + "-padded-to-some-length"));
+            }
+        }
+
+        try (TradeJournal journal = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.GROUP, 1)) {
+            assertEquals(6, journal.appendedSequence());
+            assertEquals(7, journal.append(bytes("next")));
+            assertEquals(List.of("entry-5-padded-to-some-length", "next"), strings(journal.cursor(5).next(10)));
+        }
+    }
+
+    @Test
+    void open_ShouldEraseATornEntryAndWhatFollowsIt() throws IOException {
+        try (TradeJournal journal = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS, 1)) {
+            journal.append(bytes("kept"));
+            journal.append(bytes("torn"));
+        }
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // corrupt the payload of the second entry, as a write cut short by a power loss would
+            channel.write(ByteBuffer.wrap(bytes("XX")), 16 + 4 + 16);
+        }
+
+        try (TradeJournal journal = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS, 1)) {
+            assertEquals(1, journal.appendedSequence());
+            assertEquals(2, journal.append(bytes("again")));
+            assertEquals(List.of("kept", "again"), strings(journal.cursor(0).next(10)));
+        }
+    }
+
+    @Test
+    void compact_ShouldDeleteOnlySegmentsWhoseEntriesAreAllApplied() throws IOException {
+        try (TradeJournal journal = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.NONE, 1)) {
+            for (int i = 0; i < 12; i++) {
+                journal.append(bytes("entry-" + i + "-padded-to-some-length"));
+            }
+            int segments = journal.segmentCount();
+
+            assertEquals(0, journal.compact(1));
+            assertEquals(segments - 1, journal.compact(12));
+            assertEquals(1, segments().size());
+            assertEquals(List.of("entry-11-padded-to-some-length"), strings(journal.cursor(11).next(10)));
+        }
+        try (TradeJournal journal = new TradeJournal(directory, SEGMENT_SIZE, FsyncPolicy.NONE, 1)) {
+            assertEquals(12, journal.appendedSequence());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(TradeJournal.SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(List<JournalEntry> entries) {
+        return entries.stream().map(entry -> new String(entry.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
@@ -0,0 +1,198 @@
+package com.nnk.springboot.matching;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.DomainEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MatchingEngineTest {
+
+    @Mock
+    private TradeBatchWriter tradeBatchWriter;
+
+    private MatchingEngine matchingEngine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        matchingEngine = new MatchingEngine(tradeBatchWriter, 2, 16, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        matchingEngine.stop();
+    }
+
+    @Test
+    void submit_ShouldProduceTrade_WhenBidListsCross() {
+        // Arrange
+        BidList seller = bidList((byte) 1, "Seller", null, null, 99.0, 10.0);
+        BidList buyer = bidList((byte) 2, "Buyer", 100.0, 10.0, null, null);
+
+        // Act
+        assertEquals(1, matchingEngine.submit(seller));
+        assertEquals(1, matchingEngine.submit(buyer));
+
+        // Assert
+        ArgumentCaptor<Trade> captor = ArgumentCaptor.forClass(Trade.class);
+        verify(tradeBatchWriter, timeout(2000)).enqueue(captor.capture());
+        Trade trade = captor.getValue();
+        assertEquals("Buyer", trade.getAccount());
+        assertEquals("SEC", trade.getSecurity());
+        assertEquals(99.0, trade.getBuyPrice());
+        assertEquals(10.0, trade.getBuyQuantity());
+        assertEquals("2/1", trade.getSourceListId());
+        assertEquals(1, matchingEngine.getStats().matches());
+    }
+
+    @Test
+    void submit_ShouldThrowIllegalArgumentException_WhenBidListHasNoPricedSide() {
+        BidList bidList = bidList((byte) 1, "A1", null, 10.0, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> matchingEngine.submit(bidList));
+        verifyNoInteractions(tradeBatchWriter);
+    }
+
+    @Test
+    void accept_ShouldSubmitBidListsWithASecurityOnly() {
+        // Arrange
+        BidList seller = bidList((byte) 1, "Seller", null, null, 99.0, 10.0);
+        BidList buyer = bidList((byte) 2, "Buyer", 100.0, 10.0, null, null);
+        BidList unpriced = bidList((byte) 3, "Unpriced", null, 10.0, null, null);
+        BidList noSecurity = bidList((byte) 4, "NoSecurity", 100.0, 10.0, null, null);
+        noSecurity.setSecurity(null);
+
+        // Act
+        matchingEngine.accept(List.of(
+                DomainEvent.created(BidList.class, 1, seller),
+                DomainEvent.updated(BidList.class, 1, seller),
+                DomainEvent.created(BidList.class, 3, unpriced),
+                DomainEvent.created(BidList.class, 4, noSecurity),
+                DomainEvent.created(BidList.class, 2, buyer)));
+
+        // Assert
+        verify(tradeBatchWriter, timeout(2000)).enqueue(any(Trade.class));
+        assertEquals(3, matchingEngine.getStats().submitted());
+        assertEquals(1, matchingEngine.getStats().cancelled());
+    }
+
+    @Test
+    void accept_ShouldReplaceTheRestingOrderOfAnUpdatedBidList() {
+        // Arrange
+        BidList seller = bidList((byte) 1, "Seller", null, null, 99.0, 10.0);
+        BidList repriced = bidList((byte) 1, "Seller", null, null, 101.0, 10.0);
+        BidList buyer = bidList((byte) 2, "Buyer", 100.0, 10.0, null, null);
+        matchingEngine.accept(List.of(DomainEvent.created(BidList.class, 1, seller)));
+
+        // Act
+        matchingEngine.accept(List.of(DomainEvent.updated(BidList.class, 1, repriced),
+                DomainEvent.created(BidList.class, 2, buyer)));
+
+        // Assert
+        verify(tradeBatchWriter, after(200).never()).enqueue(any(Trade.class));
+        assertEquals(1, matchingEngine.getStats().cancelled());
+        assertTrue(matchingEngine.hasOpenOrders(1));
+        assertTrue(matchingEngine.hasOpenOrders(2));
+    }
+
+    @Test
+    void accept_ShouldCancelTheRestingOrderOfADeletedBidList() {
+        // Arrange
+        BidList seller = bidList((byte) 1, "Seller", null, null, 99.0, 10.0);
+        BidList buyer = bidList((byte) 2, "Buyer", 100.0, 10.0, null, null);
+        matchingEngine.accept(List.of(DomainEvent.created(BidList.class, 1, seller)));
+
+        // Act
+        matchingEngine.accept(List.of(DomainEvent.deleted(BidList.class, 1),
+                DomainEvent.created(BidList.class, 2, buyer)));
+
+        // Assert
+        verify(tradeBatchWriter, after(200).never()).enqueue(any(Trade.class));
+        assertEquals(1, matchingEngine.getStats().cancelled());
+        assertFalse(matchingEngine.hasOpenOrders(1));
+        assertTrue(matchingEngine.hasOpenOrders(2));
+    }
+
+    @Test
+    void accept_ShouldWaitForRoom_WhenTheRingBufferIsFull() throws InterruptedException {
+        // Arrange
+        matchingEngine.stop();
+        matchingEngine = new MatchingEngine(tradeBatchWriter, 1, 1, 0);
+        List<DomainEvent<BidList>> events = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            events.add(DomainEvent.created(BidList.class, i, bidList((byte) i, "Buyer", 100.0, 10.0, null, null)));
+        }
+
+        // Act
+        matchingEngine.accept(events);
+
+        // Assert
+        assertEquals(50, matchingEngine.getStats().submitted());
+        assertEquals(0, matchingEngine.getStats().rejected());
+    }
+
+    @Test
+    void resubmit_ShouldBeRefused_WhileOrdersOfTheBidListAreOpen() {
+        // Arrange
+        BidList buyer = bidList((byte) 1, "Buyer", 100.0, 10.0, null, null);
+        BidList seller = bidList((byte) 2, "Seller", null, null, 100.0, 10.0);
+        assertEquals(1, matchingEngine.resubmit(buyer));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> matchingEngine.resubmit(buyer));
+        matchingEngine.submit(seller);
+        verify(tradeBatchWriter, timeout(2000)).enqueue(any(Trade.class));
+        assertFalse(matchingEngine.hasOpenOrders(1));
+        assertEquals(1, matchingEngine.resubmit(buyer));
+    }
+
+    @Test
+    void submit_ShouldStartNoThread_WhenSecuritiesOutnumberTheShards() throws InterruptedException {
+        // Arrange
+        long threadsBefore = matcherThreads();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            BidList bidList = bidList((byte) 1, "Buyer", 100.0, 10.0, null, null);
+            bidList.setSecurity("SEC" + i);
+            matchingEngine.submit(bidList);
+        }
+        long deadline = System.currentTimeMillis() + 2000;
+        while (matchingEngine.getStats().securities() < 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertEquals(100, matchingEngine.getStats().securities());
+        assertEquals(threadsBefore, matcherThreads());
+    }
+
+    private static long matcherThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("matcher-")).count();
+    }
+
+    private static BidList bidList(byte id, String account, Double bid, Double bidQuantity, Double ask, Double askQuantity) {
+        BidList bidList = new BidList();
+        bidList.setId(id);
+        bidList.setAccount(account);
+        bidList.setType("Type");
+        bidList.setSecurity("SEC");
+        bidList.setBid(bid);
+        bidList.setBidQuantity(bidQuantity);
+        bidList.setAsk(ask);
+        bidList.setAskQuantity(askQuantity);
+        return bidList;
+    }
+}
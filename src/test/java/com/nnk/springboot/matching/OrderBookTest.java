@@ -0,0 +1,135 @@
+package com.nnk.springboot.matching;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBookTest {
+
+    private OrderBook orderBook;
+    private List<Fill> fills;
+
+    @BeforeEach
+    void setUp() {
+        orderBook = new OrderBook();
+        fills = new ArrayList<>();
+    }
+
+    @Test
+    void match_ShouldRestOrder_WhenBookIsEmpty() {
+        // Act
+        int count = orderBook.match(new Order(Side.BUY, "SEC", "A1", 100.0, 10.0, 1), fills::add);
+
+        // Assert
+        assertEquals(0, count);
+        assertEquals(100.0, orderBook.bestBid());
+        assertNull(orderBook.bestAsk());
+    }
+
+    @Test
+    void match_ShouldFillAtRestingPrice_WhenPricesCross() {
+        // Arrange
+        orderBook.match(new Order(Side.SELL, "SEC", "Seller", 99.0, 10.0, 1), fills::add);
+
+        // Act
+        orderBook.match(new Order(Side.BUY, "SEC", "Buyer", 101.0, 10.0, 2), fills::add);
+
+        // Assert
+        assertEquals(1, fills.size());
+        assertEquals(99.0, fills.get(0).price());
+        assertEquals(10.0, fills.get(0).quantity());
+        assertEquals("Buyer", fills.get(0).buy().getAccount());
+        assertEquals("Seller", fills.get(0).sell().getAccount());
+        assertEquals(0, orderBook.depth());
+    }
+
+    @Test
+    void match_ShouldNotFill_WhenPricesDoNotCross() {
+        // Arrange
+        orderBook.match(new Order(Side.SELL, "SEC", "Seller", 102.0, 10.0, 1), fills::add);
+
+        // Act
+        orderBook.match(new Order(Side.BUY, "SEC", "Buyer", 101.0, 10.0, 2), fills::add);
+
+        // Assert
+        assertTrue(fills.isEmpty());
+        assertEquals(101.0, orderBook.bestBid());
+        assertEquals(102.0, orderBook.bestAsk());
+    }
+
+    @Test
+    void match_ShouldHonourPriceThenTimePriority() {
+        // Arrange
+        orderBook.match(new Order(Side.SELL, "SEC", "Late", 100.0, 5.0, 1), fills::add);
+        orderBook.match(new Order(Side.SELL, "SEC", "Best", 99.0, 5.0, 2), fills::add);
+        orderBook.match(new Order(Side.SELL, "SEC", "Later", 100.0, 5.0, 3), fills::add);
+
+        // Act
+        orderBook.match(new Order(Side.BUY, "SEC", "Buyer", 100.0, 12.0, 4), fills::add);
+
+        // Assert
+        assertEquals(3, fills.size());
+        assertEquals("Best", fills.get(0).sell().getAccount());
+        assertEquals("Late", fills.get(1).sell().getAccount());
+        assertEquals("Later", fills.get(2).sell().getAccount());
+        assertEquals(2.0, fills.get(2).quantity());
+        assertEquals(100.0, orderBook.bestAsk());
+    }
+
+    @Test
+    void match_ShouldRestRemainder_WhenPartiallyFilled() {
+        // Arrange
+        orderBook.match(new Order(Side.BUY, "SEC", "Buyer", 100.0, 4.0, 1), fills::add);
+
+        // Act
+        orderBook.match(new Order(Side.SELL, "SEC", "Seller", 100.0, 10.0, 2), fills::add);
+
+        // Assert
+        assertEquals(1, fills.size());
+        assertNull(orderBook.bestBid());
+        assertEquals(100.0, orderBook.bestAsk());
+    }
+
+    @Test
+    void cancel_ShouldRemoveBothSidesOfTheBidListOnly() {
+        // Arrange
+        orderBook.match(new Order(Side.BUY, "SEC", "Both", 98.0, 5.0, 1), fills::add);
+        orderBook.match(new Order(Side.SELL, "SEC", "Both", 102.0, 5.0, 1), fills::add);
+        orderBook.match(new Order(Side.BUY, "SEC", "Other", 98.0, 5.0, 2), fills::add);
+
+        // Act
+        List<Order> cancelled = orderBook.cancel(1);
+
+        // Assert
+        assertEquals(2, cancelled.size());
+        assertEquals(98.0, orderBook.bestBid());
+        assertNull(orderBook.bestAsk());
+        orderBook.match(new Order(Side.SELL, "SEC", "Seller", 98.0, 5.0, 3), fills::add);
+        assertEquals("Other", fills.get(0).buy().getAccount());
+        assertEquals(0, orderBook.depth());
+    }
+
+    @Test
+    void cancel_ShouldRemoveNothing_OnceTheOrderIsFilled() {
+        // Arrange
+        orderBook.match(new Order(Side.SELL, "SEC", "Seller", 99.0, 10.0, 1), fills::add);
+        orderBook.match(new Order(Side.BUY, "SEC", "Buyer", 99.0, 10.0, 2), fills::add);
+
+        // Act
+        List<Order> cancelled = orderBook.cancel(1);
+
+        // Assert
+        assertTrue(cancelled.isEmpty());
+        assertEquals(0, orderBook.depth());
+    }
+
+    @Test
+    void order_ShouldRejectNonPositiveQuantity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Order(Side.BUY, "SEC", "A1", 100.0, 0.0, 1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.nnk.springboot.partition;
+
+import com.nnk.springboot.service.TradeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TradePartitionMaintainerTest {
+
+    private static final YearMonth OCTOBER = YearMonth.of(2026, 10);
+
+    private JdbcTemplate jdbcTemplate;
+    private TradeService tradeService;
+    private Statement statement;
+    private ResultSet count;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws SQLException {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        tradeService = mock(TradeService.class);
+        Connection connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        count = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(count);
+        when(count.next()).thenReturn(true);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+    }
+
+    @Test
+    void parse_ShouldReadInformationSchemaDescriptions() {
+        assertEquals(new MonthPartition("p202501", LocalDate.of(2025, 2, 1)),
+                MonthPartition.parse("p202501", "'2025-02-01 00:00:00'"));
+        assertNull(MonthPartition.parse("p_future", "MAXVALUE").lessThan());
+        assertEquals("PARTITION p202611 VALUES LESS THAN ('2026-12-01')",
+                MonthPartition.of(YearMonth.of(2026, 11)).definition());
+    }
+
+    @Test
+    void missing_ShouldFillTheMonthsUpToTheHorizon() {
+        List<MonthPartition> existing = List.of(MonthPartition.of(YearMonth.of(2026, 9)),
+                MonthPartition.of(OCTOBER), new MonthPartition(MonthPartition.FUTURE, null));
+
+        List<MonthPartition> missing = TradePartitionMaintainer.missing(existing, OCTOBER, 2);
+
+        assertEquals(List.of("p202611", "p202612"), missing.stream().map(MonthPartition::name).toList());
+        assertEquals(List.of(), TradePartitionMaintainer.missing(existing, OCTOBER, 0));
+    }
+
+    @Test
+    void expired_ShouldKeepTheRetainedMonths() {
+        List<MonthPartition> existing = List.of(new MonthPartition("p_old", LocalDate.of(2025, 1, 1)),
+                MonthPartition.of(YearMonth.of(2025, 9)), MonthPartition.of(YearMonth.of(2025, 10)),
+                new MonthPartition(MonthPartition.FUTURE, null));
+
+        assertEquals(List.of("p_old", "p202509"), TradePartitionMaintainer.expired(existing, OCTOBER, 12).stream()
+                .map(MonthPartition::name).toList());
+        assertEquals(List.of(), TradePartitionMaintainer.expired(existing, OCTOBER, 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void maintain_ShouldSplitTheFuturePartitionAndDropExpiredOnesOnceArchived() throws SQLException {
+        TradePartitionMaintainer maintainer = new TradePartitionMaintainer(jdbcTemplate, tradeService, 1, 12, 1000, 2);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(
+                MonthPartition.of(YearMonth.of(2025, 9)), MonthPartition.of(OCTOBER),
+                new MonthPartition(MonthPartition.FUTURE, null)));
+        when(jdbcTemplate.queryForList(contains("PARTITION (p202509)"), eq(Integer.class), eq(2)))
+                .thenReturn(List.of(1, 2), List.of(3));
+        when(tradeService.archiveTrades(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        maintainer.maintain(OCTOBER);
+
+        verify(jdbcTemplate).execute("ALTER TABLE trade REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p202611 VALUES LESS THAN ('2026-12-01'), PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+        verify(tradeService).archiveTrades(List.of(1, 2));
+        verify(tradeService).archiveTrades(List.of(3));
+        verify(statement).executeQuery("SELECT COUNT(*) FROM trade PARTITION (p202509)");
+        verify(statement).execute("ALTER TABLE trade DROP PARTITION p202509");
+        verify(statement).execute("UNLOCK TABLES");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void maintain_ShouldKeepThePartition_WhenTradesArriveAfterArchiving() throws SQLException {
+        TradePartitionMaintainer maintainer = new TradePartitionMaintainer(jdbcTemplate, tradeService, 0, 12, 1000, 2);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(
+                MonthPartition.of(YearMonth.of(2025, 9)), MonthPartition.of(OCTOBER),
+                new MonthPartition(MonthPartition.FUTURE, null)));
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(2))).thenReturn(List.of());
+        when(count.getLong(1)).thenReturn(1L);
+
+        maintainer.maintain(OCTOBER);
+
+        verify(statement, never()).execute(startsWith("ALTER TABLE trade DROP PARTITION"));
+        verify(statement).execute("UNLOCK TABLES");
+    }
+}
@@ -0,0 +1,59 @@
+package com.nnk.springboot.query;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityFilterTest {
+
+    @Test
+    void fromParameters_ShouldSplitReservedParametersFromAttributeValues() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("account", "ACC");
+        parameters.put("book", "");
+        parameters.put("from", "2025-01-01");
+        parameters.put("to", "2025-02-01T12:30");
+        parameters.put("sort", "tradeDate,desc;account");
+
+        EntityFilter filter = EntityFilter.fromParameters(parameters);
+
+        assertEquals(Map.of("account", "ACC"), filter.getEqualTo());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), filter.getFrom());
+        assertEquals(LocalDateTime.of(2025, 2, 1, 12, 30), filter.getTo());
+        assertEquals(Sort.by(Sort.Order.desc("tradeDate"), Sort.Order.asc("account")), filter.getSort());
+    }
+
+    @Test
+    void fromParameters_ShouldRejectInvalidDates() {
+        assertThrows(IllegalArgumentException.class, () -> EntityFilter.fromParameters(Map.of("from", "yesterday")));
+    }
+
+    @Test
+    void matching_ShouldRejectAttributesThatAreNotFilterable() {
+        EntityFilter filter = new EntityFilter().with("commentary", "x");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> FilterSpecifications.matching(filter, FilterableFields.BID_LIST));
+    }
+
+    @Test
+    void matching_ShouldRejectDateRangeOnEntitiesWithoutDates() {
+        EntityFilter filter = new EntityFilter();
+        filter.setFrom(LocalDateTime.now());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> FilterSpecifications.matching(filter, FilterableFields.RULE_NAME));
+    }
+
+    @Test
+    void sort_ShouldRejectAttributesThatAreNotSortable() {
+        EntityFilter filter = EntityFilter.fromParameters(Map.of("sort", "password"));
+
+        assertThrows(IllegalArgumentException.class, () -> FilterSpecifications.sort(filter, FilterableFields.USER));
+    }
+}
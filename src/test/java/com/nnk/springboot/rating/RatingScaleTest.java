@@ -0,0 +1,46 @@
+package com.nnk.springboot.rating;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingScaleTest {
+
+    private final RatingScale ratingScale = new RatingScale();
+
+    @Test
+    void notch_ShouldMapEquivalentNotationsToSameNotch() {
+        assertEquals(1, ratingScale.notch(RatingAgency.MOODYS, "Aaa"));
+        assertEquals(1, ratingScale.notch(RatingAgency.SANDP, "AAA"));
+        assertEquals(10, ratingScale.notch(RatingAgency.MOODYS, "Baa3"));
+        assertEquals(10, ratingScale.notch(RatingAgency.SANDP, "BBB-"));
+        assertEquals(10, ratingScale.notch(RatingAgency.FITCH, "bbb-"));
+    }
+
+    @Test
+    void notch_ShouldMapDefaultAliasesToWorstNotch() {
+        assertEquals(RatingScale.WORST, ratingScale.notch(RatingAgency.SANDP, "SD"));
+        assertEquals(RatingScale.WORST, ratingScale.notch(RatingAgency.FITCH, "RD"));
+        assertEquals(21, ratingScale.notch(RatingAgency.MOODYS, "C"));
+    }
+
+    @Test
+    void notch_ShouldReturnNull_WhenNotationUnknown() {
+        assertNull(ratingScale.notch(RatingAgency.SANDP, "Baa3"));
+        assertNull(ratingScale.notch(RatingAgency.MOODYS, " "));
+        assertNull(ratingScale.notch(RatingAgency.FITCH, null));
+    }
+
+    @Test
+    void equivalent_ShouldTranslateBetweenAgencies() {
+        assertEquals("A1", ratingScale.equivalent(RatingAgency.SANDP, "A+", RatingAgency.MOODYS));
+        assertEquals("BB+", ratingScale.equivalent(RatingAgency.MOODYS, "Ba1", RatingAgency.FITCH));
+        assertNull(ratingScale.equivalent(RatingAgency.MOODYS, "unknown", RatingAgency.FITCH));
+    }
+
+    @Test
+    void notation_ShouldThrowIllegalArgumentException_WhenNotchOutOfScale() {
+        assertThrows(IllegalArgumentException.class, () -> ratingScale.notation(RatingAgency.SANDP, 0));
+        assertThrows(IllegalArgumentException.class, () -> ratingScale.notation(RatingAgency.SANDP, 23));
+    }
+}
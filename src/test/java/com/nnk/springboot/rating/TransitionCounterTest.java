@@ -0,0 +1,63 @@
+package com.nnk.springboot.rating;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransitionCounterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final RatingScale scale = new RatingScale();
+
+    @Test
+    void window_ShouldStartACohortEveryStepWhileItsHorizonFits() {
+        TransitionWindow window = new TransitionWindow(START, START.plusMonths(36), 12, 6);
+
+        assertEquals(5, window.cohortCount());
+        assertEquals(START.plusMonths(24), window.cohortStart(4));
+        assertThrows(IllegalArgumentException.class, () -> new TransitionWindow(START, START.plusMonths(11), 12, 12));
+        assertThrows(IllegalArgumentException.class, () -> new TransitionWindow(START, START.plusMonths(12), 0, 12));
+        assertThrows(IllegalArgumentException.class, () -> new TransitionWindow(START, START.plusYears(200), 1, 1));
+    }
+
+    @Test
+    void finish_ShouldCountTheNotchAtTheStartAndEndOfEachCohort() {
+        TransitionCounter counter = new TransitionCounter(new TransitionWindow(START, START.plusYears(3), 12, 12));
+        counter.accept(1, START.minusDays(1), 5, 6, 6);
+        counter.accept(1, START.plusMonths(18), 7, 6, null);
+        counter.accept(2, START.plusMonths(6), 9, 9, 9);
+        counter.accept(2, START.plusMonths(30), null, null, null);
+        counter.accept(3, START.plusYears(5), 1, 1, 1);
+
+        TransitionCounts counts = counter.finish();
+        TransitionMatrix moodys = counts.matrix(RatingAgency.MOODYS, scale);
+        TransitionMatrix fitch = counts.matrix(RatingAgency.FITCH, scale);
+
+        assertEquals(3, counts.ratings());
+        assertEquals(3, moodys.cohorts());
+        assertEquals(5, moodys.observations());
+        assertEquals("A1", moodys.states().get(4));
+        assertEquals("WR", moodys.states().get(22));
+        assertEquals(1, moodys.counts()[4][4]);
+        assertEquals(1, moodys.counts()[4][6]);
+        assertEquals(1, moodys.counts()[6][6]);
+        assertEquals(1, moodys.counts()[8][8]);
+        assertEquals(1, moodys.counts()[8][22]);
+        assertEquals(0.5, moodys.probabilities()[4][6]);
+        assertEquals(0.0, moodys.probabilities()[0][0]);
+        assertEquals(1, fitch.counts()[5][5]);
+        assertEquals(1, fitch.counts()[5][22]);
+    }
+
+    @Test
+    void accept_ShouldRejectUnsortedHistory() {
+        TransitionCounter counter = new TransitionCounter(new TransitionWindow(START, START.plusYears(1), 12, 12));
+        counter.accept(2, START, 5, 5, 5);
+
+        assertThrows(IllegalArgumentException.class, () -> counter.accept(2, START.minusDays(1), 5, 5, 5));
+        assertThrows(IllegalArgumentException.class, () -> counter.accept(1, START, 5, 5, 5));
+    }
+}
@@ -0,0 +1,131 @@
+package com.nnk.springboot.risk;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Trade;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloVarEngineTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 1, 2, 0, 0);
+
+    @Test
+    void curveHistory_ShouldUseOnlyDatesWithEveryTerm() {
+        List<CurvePoint> points = new ArrayList<>(List.of(
+                point(0, 1.0, 2.0), point(0, 5.0, 3.0),
+                point(1, 1.0, 2.5), point(1, 5.0, 3.0), point(1, 5.0, 3.2),
+                point(2, 1.0, 2.0),
+                point(3, 1.0, 2.25), point(3, 5.0, 3.5)));
+
+        CurveHistory history = CurveHistory.of(points);
+
+        assertEquals(2, history.factorCount());
+        assertEquals(2, history.changeCount());
+        assertArrayEquals(new double[] {0.5, 0.1}, history.changes[0], 1e-12);
+        assertArrayEquals(new double[] {-0.25, 0.4}, history.changes[1], 1e-12);
+        assertArrayEquals(new double[] {2.25, 3.5}, history.latest, 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> CurveHistory.of(points.subList(0, 5)));
+    }
+
+    @Test
+    void positions_ShouldNetTradesPerGroupAndMaturity() {
+        Positions positions = Positions.of(List.of(
+                trade("B1", "T1", "10Y", 100.0, null, 2.0),
+                trade("B1", "T2", "10", null, 30.0, null),
+                trade("B2", "T1", "6M", 50.0, 50.0, 1.0),
+                trade("B2", "T1", "6m", 10.0, null, null),
+                trade("B2", "T1", "next year", 10.0, null, null)));
+
+        assertEquals(List.of("total", "book:B1", "book:B2", "trader:T1", "trader:T2"), positions.groups);
+        assertArrayEquals(new double[] {0.5, 10.0}, positions.maturities, 1e-12);
+        assertArrayEquals(new double[] {10.0, 170.0}, positions.notionals[0], 1e-12);
+        assertArrayEquals(new double[] {0.0, -30.0}, positions.notionals[4], 1e-12);
+        assertEquals(3, positions.positionCount());
+        assertEquals(2, positions.skippedCount());
+        assertEquals(13.0 * 7 / 365, Positions.maturity("13W"), 1e-12);
+    }
+
+    @Test
+    void run_ShouldGiveTheSameResultForASeedWhateverTheParallelism() {
+        CurveHistory history = history();
+        Positions positions = Positions.of(List.of(trade("B1", "T1", "1Y", 1000.0, null, 1.0),
+                trade("B2", "T2", "7Y", null, 400.0, 1.0)));
+        VarRequest request = new VarRequest(10_000, 1, List.of(0.99, 0.95), 42L);
+
+        try (MonteCarloVarEngine single = new MonteCarloVarEngine(1, 1000);
+             MonteCarloVarEngine parallel = new MonteCarloVarEngine(4, 1000)) {
+            VarReport first = single.run(history, positions, request);
+            VarReport second = parallel.run(history, positions, request);
+
+            assertEquals(first.groups(), second.groups());
+            assertNotEquals(first.groups(), parallel.run(history, positions,
+                    new VarRequest(10_000, 1, List.of(0.99, 0.95), 43L)).groups());
+        }
+    }
+
+    @Test
+    void run_ShouldMatchTheNormalQuantilesOfASingleFactor() {
+        // the 1-year rate alternates between 2.0 and 2.1: changes of +-0.1 with a sample deviation of 0.11547
+        List<CurvePoint> points = IntStream.range(0, 5).mapToObj(day -> point(day, 1.0, day % 2 == 0 ? 2.0 : 2.1)).toList();
+        Positions positions = Positions.of(List.of(trade("B1", "T1", "1Y", 1_000_000.0, null, 1.0)));
+        double sensitivity = 1_000_000.0 * Math.exp(-2.0 / 100.0) / 100.0 * Math.sqrt(4.0 / 300.0);
+
+        try (MonteCarloVarEngine engine = new MonteCarloVarEngine(2, 5000)) {
+            VarReport report = engine.run(CurveHistory.of(points), positions,
+                    new VarRequest(100_000, 1, List.of(0.99), 7L));
+
+            RiskMeasure total = report.groups().get(0).measures().get(0);
+            assertEquals(2.3263 * sensitivity, total.valueAtRisk(), 0.03 * 2.3263 * sensitivity);
+            assertEquals(2.6652 * sensitivity, total.expectedShortfall(), 0.03 * 2.6652 * sensitivity);
+            assertEquals(1_000_000.0 * Math.exp(-2.0 / 100.0), report.groups().get(0).presentValue(), 1e-6);
+        }
+    }
+
+    @Test
+    void measures_ShouldReadTheTailOfTheSortedProfitAndLoss() {
+        double[] pnl = IntStream.range(0, 100).mapToDouble(i -> 50 - i).toArray();
+
+        List<RiskMeasure> measures = MonteCarloVarEngine.measures(pnl, List.of(0.95, 0.99));
+
+        assertEquals(new RiskMeasure(0.95, 45.0, 47.0), measures.get(0));
+        assertEquals(new RiskMeasure(0.99, 49.0, 49.0), measures.get(1));
+        assertThrows(IllegalArgumentException.class, () -> new VarRequest(10, 1, List.of(1.0), 1L));
+    }
+
+    private static CurveHistory history() {
+        List<CurvePoint> points = new ArrayList<>();
+        double[] terms = {1.0, 5.0, 10.0};
+        for (int day = 0; day < 30; day++) {
+            for (int term = 0; term < terms.length; term++) {
+                points.add(point(day, terms[term], 2.0 + term * 0.5 + Math.sin(day * (term + 1)) * 0.1));
+            }
+        }
+        return CurveHistory.of(points);
+    }
+
+    private static CurvePoint point(int day, double term, double value) {
+        CurvePoint point = new CurvePoint();
+        point.setAsOfDate(DAY.plusDays(day));
+        point.setTerm(term);
+        point.setValue(value);
+        return point;
+    }
+
+    private static Trade trade(String book, String trader, String benchmark, Double buyQuantity, Double sellQuantity,
+                               Double buyPrice) {
+        Trade trade = new Trade();
+        trade.setBook(book);
+        trade.setTrader(trader);
+        trade.setBenchmark(benchmark);
+        trade.setBuyQuantity(buyQuantity);
+        trade.setSellQuantity(sellQuantity);
+        trade.setBuyPrice(buyPrice);
+        return trade;
+    }
+}
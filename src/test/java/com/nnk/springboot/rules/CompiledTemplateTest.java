@@ -0,0 +1,51 @@
+package com.nnk.springboot.rules;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledTemplateTest {
+
+    @Test
+    void render_ShouldReplacePlaceholdersWithFieldValues() {
+        CompiledTemplate<Trade> template = CompiledTemplate.compile(
+                "Trade {{id}} on {{ account }}: {{buyQuantity}} in {{book}}", TemplateFields.TRADE);
+        Trade trade = new Trade();
+        trade.setTradeId(7);
+        trade.setAccount("ACC");
+        trade.setBuyQuantity(10.0);
+
+        String rendered = template.render(trade, new StringBuilder()).toString();
+
+        assertEquals("Trade 7 on ACC: 10.0 in ", rendered);
+    }
+
+    @Test
+    void render_ShouldAppendToReusedBuffer() {
+        CompiledTemplate<BidList> template = CompiledTemplate.compile("[{{account}}]", TemplateFields.BID);
+        BidList bidList = new BidList();
+        bidList.setAccount("A");
+        StringBuilder buffer = new StringBuilder("x");
+
+        template.render(bidList, buffer);
+
+        assertEquals("x[A]", buffer.toString());
+    }
+
+    @Test
+    void compile_ShouldKeepTemplateWithoutPlaceholders() {
+        CompiledTemplate<Trade> template = CompiledTemplate.compile("static text", TemplateFields.TRADE);
+
+        assertEquals("static text", template.render(new Trade(), new StringBuilder()).toString());
+    }
+
+    @Test
+    void compile_ShouldThrowIllegalArgumentException_WhenFieldUnknownOrUnterminated() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledTemplate.compile("{{bidQuantity}}", TemplateFields.TRADE));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledTemplate.compile("{{account", TemplateFields.TRADE));
+    }
+}
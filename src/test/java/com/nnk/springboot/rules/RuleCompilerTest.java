@@ -0,0 +1,79 @@
+package com.nnk.springboot.rules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.RuleName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleCompilerTest {
+
+    private final RuleCompiler ruleCompiler = new RuleCompiler(new ObjectMapper(), RuleSqlPolicy.of(
+            Map.of("trade", Set.of("trade_id", "account", "book", "status", "buy_quantity"))));
+
+    @Test
+    void compile_ShouldAppendSqlPartAsWhereClause() {
+        CompiledRule rule = ruleCompiler.compile(rule("SELECT * FROM trade", "buy_quantity > :min", "{}"));
+
+        assertEquals("SELECT * FROM trade WHERE (buy_quantity > :min)", rule.getSql());
+    }
+
+    @Test
+    void compile_ShouldAppendSqlPartWithAnd_WhenBaseHasWhereClause() {
+        CompiledRule rule = ruleCompiler.compile(rule("select * from trade where status = 'OPEN'", "book = :book", "{}"));
+
+        assertEquals("select * from trade where status = 'OPEN' AND (book = :book)", rule.getSql());
+    }
+
+    @Test
+    void compile_ShouldRejectNonSelectStatements() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ruleCompiler.compile(rule("DELETE FROM trade", "1 = 1", "{}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> ruleCompiler.compile(rule("SELECT 1", "1 = 1; DROP TABLE trade", "{}")));
+    }
+
+    @Test
+    void compile_ShouldRejectTablesRulesMayNotRead() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ruleCompiler.compile(rule("SELECT * FROM trade", "exists (select 1 from users)", "{}")));
+    }
+
+    @Test
+    void bind_ShouldUseJsonDefaults_AndLetParametersOverrideThem() {
+        CompiledRule rule = ruleCompiler.compile(rule("SELECT * FROM trade", "buy_quantity > :min", "{\"min\": 10}"));
+
+        assertNotNull(rule.bind(Map.of()));
+        assertNotNull(rule.bind(Map.of("min", 20)));
+    }
+
+    @Test
+    void bind_ShouldThrowIllegalArgumentException_WhenParameterMissing() {
+        CompiledRule rule = ruleCompiler.compile(rule("SELECT * FROM trade", "book = :book", "not json"));
+
+        assertThrows(IllegalArgumentException.class, () -> rule.bind(Map.of()));
+    }
+
+    @Test
+    void version_ShouldChange_WhenSqlChanges() {
+        RuleName ruleName = rule("SELECT * FROM trade", "book = :book", "{}");
+        long before = ruleCompiler.version(ruleName);
+
+        ruleName.setSqlPart("book <> :book");
+
+        assertNotEquals(before, ruleCompiler.version(ruleName));
+    }
+
+    private static RuleName rule(String sqlStr, String sqlPart, String json) {
+        RuleName ruleName = new RuleName();
+        ruleName.setId(1);
+        ruleName.setName("Rule");
+        ruleName.setSqlStr(sqlStr);
+        ruleName.setSqlPart(sqlPart);
+        ruleName.setJson(json);
+        return ruleName;
+    }
+}
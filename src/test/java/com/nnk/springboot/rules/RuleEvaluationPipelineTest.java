@@ -0,0 +1,55 @@
+package com.nnk.springboot.rules;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.RuleViolationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class RuleEvaluationPipelineTest {
+
+    private RuleNameRepository ruleNameRepository;
+    private RuleEvaluationPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        ruleNameRepository = mock(RuleNameRepository.class);
+        pipeline = new RuleEvaluationPipeline(ruleNameRepository, mock(RuleViolationRepository.class),
+                mock(RuleCompiler.class), mock(DataSource.class), 10, 0, 1);
+    }
+
+    @Test
+    void evaluate_ShouldCompileTheRulesOnce() {
+        when(ruleNameRepository.findAll()).thenReturn(List.of());
+
+        pipeline.evaluate(tradeChange());
+        pipeline.evaluate(tradeChange());
+
+        verify(ruleNameRepository, times(1)).findAll();
+    }
+
+    @Test
+    void evaluate_ShouldNotKeepRulesCompiledWhileARuleChanged() {
+        when(ruleNameRepository.findAll()).thenAnswer(invocation -> {
+            pipeline.onRuleNameCommitted(DomainEvent.updated(RuleName.class, 1, new RuleName()));
+            return List.of();
+        }).thenReturn(List.of());
+
+        pipeline.evaluate(tradeChange());
+        pipeline.evaluate(tradeChange());
+        pipeline.evaluate(tradeChange());
+
+        verify(ruleNameRepository, times(2)).findAll();
+    }
+
+    private static DomainEvent<Trade> tradeChange() {
+        return DomainEvent.created(Trade.class, 1, new Trade());
+    }
+}
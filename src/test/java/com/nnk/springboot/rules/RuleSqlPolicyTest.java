@@ -0,0 +1,57 @@
+package com.nnk.springboot.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleSqlPolicyTest {
+
+    private final RuleSqlPolicy policy = RuleSqlPolicy.of(Map.of(
+            "trade", Set.of("trade_id", "account", "book", "buy_quantity"),
+            "rating", Set.of("id", "moodys_notch")));
+
+    @Test
+    void check_ShouldAcceptAllowedTablesColumnsAndAliases() {
+        assertDoesNotThrow(() -> policy.check("SELECT t.account, COUNT(*) AS trades FROM trade t "
+                + "WHERE t.buy_quantity > :min AND t.account <> 'users password' GROUP BY t.account"));
+        assertDoesNotThrow(() -> policy.check("select * from trade where trade_id in "
+                + "(select trade_id from trade where book = :book)"));
+        assertDoesNotThrow(() -> policy.check("select x.book from (select book from trade) x, rating r "
+                + "where r.moodys_notch > 3"));
+    }
+
+    @Test
+    void check_ShouldRejectOtherTables() {
+        assertThrows(IllegalArgumentException.class, () -> policy.check("SELECT * FROM users"));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select * from trade, users"));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select * from trade join users on 1 = 1"));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select * from trade "
+                + "where exists (select 1 from users where password like 'a%')"));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select * from information_schema.tables"));
+    }
+
+    @Test
+    void check_ShouldRejectAnAliasNamingAnotherTable() {
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select * from trade users "
+                + "where exists (select 1 from users)"));
+    }
+
+    @Test
+    void check_ShouldRejectOtherColumnsAndFunctions() {
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select password from trade"));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select t.password from trade t"));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select sleep(5) from trade"));
+    }
+
+    @Test
+    void check_ShouldRejectQuotedIdentifiersCommentsAndVariables() {
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select * from \"users\""));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select * from `users`"));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select * from trade -- users"));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select * from trade /* users */"));
+        assertThrows(IllegalArgumentException.class, () -> policy.check("select @@version from trade"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.nnk.springboot.rules;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.event.DomainEvent;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TemplateRenderingServiceTest {
+
+    private RuleNameRepository ruleNameRepository;
+    private TemplateRenderingService service;
+
+    @BeforeEach
+    void setUp() {
+        ruleNameRepository = mock(RuleNameRepository.class);
+        service = new TemplateRenderingService(ruleNameRepository, mock(TradeRepository.class),
+                mock(BidListRepository.class), mock(EntityManager.class));
+    }
+
+    @Test
+    void tradeTemplate_ShouldCompileEachRuleOnce() {
+        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(rule("{{account}}")));
+
+        service.tradeTemplate(1);
+        service.tradeTemplate(1);
+
+        verify(ruleNameRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void tradeTemplate_ShouldNotCacheARuleEvictedWhileItWasRead() throws InterruptedException {
+        // Arrange
+        Thread[] eviction = new Thread[1];
+        when(ruleNameRepository.findById(1)).thenAnswer(invocation -> {
+            eviction[0] = new Thread(() -> service.onRuleNameChanged(
+                    DomainEvent.updated(RuleName.class, 1, rule("new {{account}}"))));
+            eviction[0].start();
+            Thread.sleep(100);
+            return Optional.of(rule("old {{account}}"));
+        }).thenReturn(Optional.of(rule("new {{account}}")));
+        Trade trade = new Trade();
+        trade.setAccount("A1");
+
+        // Act
+        service.tradeTemplate(1);
+        eviction[0].join(1000);
+        String rendered = service.tradeTemplate(1).render(trade, new StringBuilder()).toString();
+
+        // Assert
+        assertEquals("new A1", rendered);
+    }
+
+    private static RuleName rule(String template) {
+        RuleName ruleName = new RuleName();
+        ruleName.setId(1);
+        ruleName.setTemplate(template);
+        return ruleName;
+    }
+}
@@ -0,0 +1,108 @@
+package com.nnk.springboot.scenario;
+
+import com.nnk.springboot.domain.CurvePoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioEngineTest {
+
+    private final ScenarioEngine engine = new ScenarioEngine(4, 3, 1000);
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void curveSet_ShouldGroupPointsByCurveSortedByTerm() {
+        CurveSet curves = CurveSet.of(List.of(point(2, 5.0, 3.0), point(1, 10.0, 2.0), point(2, 1.0, 2.5),
+                point(null, 1.0, 1.0)));
+
+        assertEquals(2, curves.curveCount());
+        assertEquals(3, curves.pointCount());
+        assertEquals(1, curves.curveId(0));
+        assertEquals(2, curves.curveId(1));
+        assertEquals(1, curves.firstPoint(1));
+        assertEquals(3, curves.endPoint(1));
+        assertEquals(1.0, curves.term(1));
+        assertEquals(3.0, curves.value(2));
+    }
+
+    @Test
+    void shapes_ShouldWeightPointsByTerm() {
+        ShockShape.KeyRate keyRate = new ShockShape.KeyRate(5.0, 2.0, 10.0);
+
+        assertEquals(1.0, new ShockShape.Parallel().weight(30.0));
+        assertEquals(-2.0, new ShockShape.Twist(7.0).weight(5.0));
+        assertEquals(0.0, keyRate.weight(2.0));
+        assertEquals(0.5, keyRate.weight(3.5));
+        assertEquals(1.0, keyRate.weight(5.0));
+        assertEquals(0.25, keyRate.weight(8.75));
+        assertEquals(0.0, keyRate.weight(12.0));
+        assertThrows(IllegalArgumentException.class, () -> new ShockShape.KeyRate(1.0, 2.0, 10.0));
+    }
+
+    @Test
+    void definition_ShouldCombineEveryAmplitudeOfItsShocks() {
+        ScenarioDefinition definition = new ScenarioDefinition("grid", List.of(
+                new ShockAxis(new ShockShape.Parallel(), -1.0, 1.0, 3),
+                new ShockAxis(new ShockShape.Twist(5.0), 0.0, 0.5, 2)));
+        double[] amplitudes = new double[2];
+
+        definition.amplitudes(3, amplitudes);
+
+        assertEquals(6, definition.scenarioCount());
+        assertArrayEquals(new double[] {0.0, 0.5}, amplitudes);
+        assertTrue(new ScenarioDefinition("huge", List.of(new ShockAxis(new ShockShape.Parallel(), 0, 1, 100_000),
+                new ShockAxis(new ShockShape.Parallel(), 0, 1, 100_000))).scenarioCount() > Integer.MAX_VALUE);
+    }
+
+    @Test
+    void run_ShouldValueEveryScenarioInParallel() {
+        CurveSet base = CurveSet.of(List.of(point(1, 1.0, 2.0), point(1, 5.0, 3.0), point(2, 10.0, 4.0)));
+        ScenarioDefinition definition = new ScenarioDefinition("grid", List.of(
+                new ShockAxis(new ShockShape.Parallel(), -1.0, 1.0, 5),
+                new ShockAxis(new ShockShape.Twist(5.0), -0.1, 0.1, 3)));
+        double[] results = new double[(int) definition.scenarioCount()];
+        double[] amplitudes = new double[2];
+
+        ScenarioRunStats stats = engine.run(base, definition, StandardValuation.AVERAGE_VALUE,
+                (first, values, count) -> System.arraycopy(values, 0, results, first, count));
+
+        assertEquals(15, stats.scenarios());
+        assertEquals(3, stats.points());
+        for (int scenario = 0; scenario < results.length; scenario++) {
+            definition.amplitudes(scenario, amplitudes);
+            // the twist shifts the points by (1 - 5), (5 - 5) and (10 - 5) times its amplitude
+            double expected = 3.0 + amplitudes[0] + amplitudes[1] * (-4.0 + 0.0 + 5.0) / 3;
+            assertEquals(expected, results[scenario], 1e-12);
+        }
+    }
+
+    @Test
+    void run_ShouldRejectTooManyScenariosAndPropagateFailures() {
+        CurveSet base = CurveSet.of(List.of(point(1, 1.0, 2.0)));
+        ScenarioDefinition large = new ScenarioDefinition("large",
+                List.of(new ShockAxis(new ShockShape.Parallel(), -1.0, 1.0, 1001)));
+        ScenarioDefinition small = new ScenarioDefinition("small",
+                List.of(new ShockAxis(new ShockShape.Parallel(), -1.0, 1.0, 10)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.run(base, large, StandardValuation.PRESENT_VALUE, (first, values, count) -> { }));
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> engine.run(base, small,
+                (curves, values) -> { throw new IllegalStateException("no price"); }, (first, values, count) -> { }));
+        assertEquals("no price", failure.getMessage());
+    }
+
+    private static CurvePoint point(Integer curveId, double term, double value) {
+        CurvePoint point = new CurvePoint();
+        point.setCurveId(curveId);
+        point.setTerm(term);
+        point.setValue(value);
+        return point;
+    }
+}
@@ -0,0 +1,101 @@
+package com.nnk.springboot.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextIndexTest {
+
+    private TextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TextIndex(List.of("account", "book", "trader"));
+        index.put(index.document(1, Map.of("account", "JPM London", "book", "FX-Spot", "trader", "alice")));
+        index.put(index.document(2, Map.of("account", "JPM Paris", "book", "Rates", "trader", "bob")));
+        index.put(index.document(3, Map.of("account", "Barclays", "book", "FX Options", "trader", "alice")));
+    }
+
+    @Test
+    void search_ShouldMatchTokenPrefixesInAnyField() {
+        assertArrayEquals(new int[] {1, 2}, index.search("jp", 10));
+        assertArrayEquals(new int[] {1, 3}, index.search("ALI", 10));
+    }
+
+    @Test
+    void search_ShouldIntersectTerms() {
+        assertArrayEquals(new int[] {1}, index.search("jpm fx", 10));
+        assertArrayEquals(new int[] {3}, index.search("book:fx trader:alice barc", 10));
+        assertArrayEquals(new int[0], index.search("jpm options", 10));
+    }
+
+    @Test
+    void search_ShouldRestrictFieldQualifiedTermsToTheirField() {
+        assertArrayEquals(new int[0], index.search("account:alice", 10));
+        assertArrayEquals(new int[] {1, 3}, index.search("trader:alice", 10));
+    }
+
+    @Test
+    void search_ShouldApplyLimit() {
+        assertArrayEquals(new int[] {1}, index.search("jpm", 1));
+        assertArrayEquals(new int[0], index.search("  ", 10));
+    }
+
+    @Test
+    void put_ShouldReplacePreviousTokens() {
+        index.put(index.document(1, Map.of("account", "Citi", "book", "Rates")));
+
+        assertArrayEquals(new int[] {2}, index.search("jpm", 10));
+        assertArrayEquals(new int[] {1, 2}, index.search("book:rates", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void update_ShouldReplaceOnlyTheGivenFields() {
+        index.update(1, Map.of("account", "Citi"));
+
+        assertArrayEquals(new int[] {2}, index.search("jpm", 10));
+        assertArrayEquals(new int[] {1}, index.search("citi spot alice", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void update_ShouldClearTheFieldsGivenANullValue() {
+        Map<String, String> values = new HashMap<>();
+        values.put("account", "Citi");
+        values.put("book", null);
+
+        index.update(1, values);
+
+        assertArrayEquals(new int[] {3}, index.search("book:fx", 10));
+        assertArrayEquals(new int[] {1}, index.search("citi alice", 10));
+        assertArrayEquals(new int[0], index.search("spot", 10));
+    }
+
+    @Test
+    void remove_ShouldDropDocumentAndUnusedTokens() {
+        int keys = index.keyCount();
+
+        index.remove(2);
+
+        assertArrayEquals(new int[] {1}, index.search("jpm", 10));
+        assertArrayEquals(new int[0], index.search("paris", 10));
+        assertEquals(keys - 3, index.keyCount());
+    }
+
+    @Test
+    void putAll_ShouldMergeOutOfOrderBatches() {
+        TextIndex batched = new TextIndex(List.of("book"));
+        batched.putAll(List.of(batched.document(10, Map.of("book", "fx")), batched.document(11, Map.of("book", "fx"))));
+        batched.putAll(List.of(batched.document(4, Map.of("book", "fx")), batched.document(12, Map.of("book", "fx"))));
+
+        assertArrayEquals(new int[] {4, 10, 11, 12}, batched.search("fx", 10));
+        batched.remove(10);
+        assertArrayEquals(new int[] {4, 11, 12}, batched.search("fx", 10));
+    }
+}
@@ -5,12 +5,15 @@ import com.nnk.springboot.dto.BidDTO;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.security.CurrentUser;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 
 import java.util.List;
@@ -25,6 +28,9 @@ class BidListServiceTest {
     @Mock
     private BidListRepository bidListRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BidListService bidListService;
 
@@ -138,50 +144,68 @@ class BidListServiceTest {
         // GIVEN
         int bidId = 1;
         BidDTO dto = new BidDTO();
+        dto.setVersion(0L);
         dto.setAccount("NewAccount");
         dto.setType("NewType");
         dto.setBidQuantity(123.45);
 
-        byte bidByte = 1;
-        BidList existingBid = new BidList();
-        existingBid.setId(bidByte);
-        existingBid.setAccount("OldAccount");
-        existingBid.setType("OldType");
-        existingBid.setBidQuantity(99.99);
-
-        when(bidListRepository.findById(bidId)).thenReturn(Optional.of(existingBid));
-        when(bidListRepository.save(any(BidList.class))).thenReturn(existingBid);
+        when(bidListRepository.updateIfVersion(eq(bidId), eq(0L), eq("NewAccount"), eq("NewType"), eq(123.45),
+                isNull(), isNull(), isNull(), isNull(), eq(CurrentUser.SYSTEM), any())).thenReturn(1);
 
         // WHEN
         BidList result = bidListService.updateBidList(bidId, dto);
 
         // THEN
         assertNotNull(result);
-        assertEquals(bidByte, result.getId());
+        assertEquals((byte) 1, result.getId());
+        assertEquals(1L, result.getVersion());
         assertEquals("NewAccount", result.getAccount());
         assertEquals("NewType", result.getType());
         assertEquals(123.45, result.getBidQuantity());
 
-        verify(bidListRepository).findById(bidId);
-        verify(bidListRepository).save(existingBid);
+        verify(bidListRepository).updateIfVersion(eq(bidId), eq(0L), eq("NewAccount"), eq("NewType"), eq(123.45),
+                isNull(), isNull(), isNull(), isNull(), eq(CurrentUser.SYSTEM), any());
+        verify(bidListRepository, never()).findById(anyInt());
+        verify(bidListRepository, never()).save(any());
     }
 
     @Test
     void shouldThrowEntityNotFoundException_WhenUpdatingNonexistentBidList() {
         // GIVEN
-        int bidId = 999;
+        int bidId = 99;
         BidDTO dto = new BidDTO();
         // ...
 
-        when(bidListRepository.findById(bidId)).thenReturn(Optional.empty());
+        when(bidListRepository.updateIfVersion(eq(bidId), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), isNull(), isNull(), eq(CurrentUser.SYSTEM), any())).thenReturn(0);
+        when(bidListRepository.existsById(bidId)).thenReturn(false);
 
         // WHEN + THEN
         assertThrows(EntityNotFoundException.class, () -> {
             bidListService.updateBidList(bidId, dto);
         });
 
-        verify(bidListRepository).findById(bidId);
-        verify(bidListRepository, never()).save(any());
+        verify(bidListRepository).existsById(bidId);
+    }
+
+    @Test
+    void shouldThrowEntityVersionConflictException_WhenBidListWasModifiedSinceRead() {
+        // GIVEN
+        int bidId = 2;
+        BidDTO dto = new BidDTO();
+        dto.setVersion(4L);
+        dto.setAccount("StaleAccount");
+
+        when(bidListRepository.updateIfVersion(eq(bidId), eq(4L), eq("StaleAccount"), isNull(), isNull(),
+                isNull(), isNull(), isNull(), isNull(), eq(CurrentUser.SYSTEM), any())).thenReturn(0);
+        when(bidListRepository.existsById(bidId)).thenReturn(true);
+
+        // WHEN + THEN
+        assertThrows(EntityVersionConflictException.class, () -> {
+            bidListService.updateBidList(bidId, dto);
+        });
+
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -193,12 +217,9 @@ class BidListServiceTest {
         dto.setType("FailType");
         dto.setBidQuantity(999.99);
 
-        byte bidByte = 1;
-        BidList existingBid = new BidList();
-        existingBid.setId(bidByte);
-
-        when(bidListRepository.findById(bidId)).thenReturn(Optional.of(existingBid));
-        doThrow(new DataAccessException("DB error") {}).when(bidListRepository).save(existingBid);
+        doThrow(new DataAccessException("DB error") {}).when(bidListRepository)
+                .updateIfVersion(eq(bidId), isNull(), eq("FailAccount"), eq("FailType"), eq(999.99),
+                        isNull(), isNull(), isNull(), isNull(), eq(CurrentUser.SYSTEM), any());
 
         // WHEN + THEN
         EntitySaveException ex = assertThrows(EntitySaveException.class, () -> {
@@ -206,24 +227,23 @@ class BidListServiceTest {
         });
         assertTrue(ex.getMessage().contains("Failed to update bid with ID"));
 
-        verify(bidListRepository).findById(bidId);
-        verify(bidListRepository).save(existingBid);
+        verify(bidListRepository, never()).existsById(anyInt());
     }
 
+
     @Test
     void shouldDeleteBidListSuccessfully_WhenValidBidIdProvided() {
         // GIVEN
         int bidId = 1;
 
         // Simuler l'existence de l'entité
-        when(bidListRepository.existsById(bidId)).thenReturn(true);
+        when(bidListRepository.deleteByIdReturningCount(bidId)).thenReturn(1);
 
         // WHEN
         bidListService.deleteBidList(bidId);
 
         // THEN
-        verify(bidListRepository).existsById(bidId);
-        verify(bidListRepository).deleteById(bidId);
+        verify(bidListRepository).deleteByIdReturningCount(bidId);
     }
 
     @Test
@@ -232,7 +252,7 @@ class BidListServiceTest {
         int bidId = 999;
 
         // Simuler l'absence de l'entité
-        when(bidListRepository.existsById(bidId)).thenReturn(false);
+        when(bidListRepository.deleteByIdReturningCount(bidId)).thenReturn(0);
 
         // WHEN + THEN
         assertThrows(EntityNotFoundException.class, () -> {
@@ -240,25 +260,24 @@ class BidListServiceTest {
         });
 
         // Vérifier que deleteById n'a pas été appelé
-        verify(bidListRepository, never()).deleteById(anyInt());
+        verify(bidListRepository, never()).existsById(anyInt());
     }
 
     @Test
     void shouldThrowEntityDeleteException_WhenDeleteBidListFailsDueToDataAccessException() {
         // GIVEN
         int bidId = 2;
-        when(bidListRepository.existsById(bidId)).thenReturn(true);
 
         // Simuler une exception au moment de la suppression
         doThrow(new DataAccessException("DB error") {})
-                .when(bidListRepository).deleteById(bidId);
+                .when(bidListRepository).deleteByIdReturningCount(bidId);
 
         // WHEN + THEN
         assertThrows(EntityDeleteException.class, () -> {
             bidListService.deleteBidList(bidId);
         });
 
-        verify(bidListRepository).deleteById(bidId);
+        verify(bidListRepository).deleteByIdReturningCount(bidId);
     }
 
     @Test
@@ -273,7 +292,7 @@ class BidListServiceTest {
 
         // Vérifier que le repository n'est jamais appelé
         verify(bidListRepository, never()).existsById(anyInt());
-        verify(bidListRepository, never()).deleteById(anyInt());
+        verify(bidListRepository, never()).deleteByIdReturningCount(anyInt());
     }
 
     @Test
@@ -5,11 +5,13 @@ import com.nnk.springboot.dto.CurveDTO;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.repositories.CurvePointRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 
 import java.util.List;
@@ -25,6 +27,9 @@ class CurveServiceTest {
     @Mock
     private CurvePointRepository curvePointRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CurveService curveService;
 
@@ -125,7 +130,7 @@ class CurveServiceTest {
 
         EntitySaveException ex = assertThrows(EntitySaveException.class, () -> curveService.saveCurvePoint(curveDTO));
 
-        assertEquals("Failed to add curve point with ID 1", ex.getMessage());
+        assertEquals("Failed to create curve point.", ex.getMessage());
         verify(curvePointRepository, times(1)).save(any(CurvePoint.class));
 
     }
@@ -134,30 +139,26 @@ class CurveServiceTest {
     void shouldUpdateCurvePointSuccessfully_WhenValidCurveDTOProvided(){
         CurveDTO curveDTO = new CurveDTO();
         curveDTO.setId(1);
+        curveDTO.setVersion(2L);
         curveDTO.setCurveId(1);
         curveDTO.setValue(11D);
         curveDTO.setTerm(10D);
-        CurvePoint curvePoint = new CurvePoint();
-        curvePoint.setCurveId(1);
-        curvePoint.setId(1L);
-        curvePoint.setValue(11D);
-        curvePoint.setTerm(10D);
 
-        when(curvePointRepository.findById(1)).thenReturn(Optional.of(curvePoint));
-
-        when(curvePointRepository.save(curvePoint)).thenAnswer(invocation -> invocation.getArgument(0, CurvePoint.class));
+        when(curvePointRepository.updateIfVersion(1L, 2L, 10D, 1, 11D)).thenReturn(1);
 
         CurvePoint result = curveService.updateCurvePoint(1, curveDTO);
 
         //THEN
 
         assertNotNull(result);
+        assertEquals(1L, result.getId());
+        assertEquals(3L, result.getVersion());
         assertEquals(11D, result.getValue());
-        assertEquals(10D, curveDTO.getTerm());
-        assertEquals(1, curveDTO.getCurveId());
+        assertEquals(10D, result.getTerm());
+        assertEquals(1, result.getCurveId());
 
-        verify(curvePointRepository).findById(1);
-        verify(curvePointRepository).save(curvePoint);
+        verify(curvePointRepository).updateIfVersion(1L, 2L, 10D, 1, 11D);
+        verify(curvePointRepository,never()).save(any());
 
     }
 
@@ -167,13 +168,28 @@ class CurveServiceTest {
         CurveDTO curveDTO = new CurveDTO();
         //...
 
-        when(curvePointRepository.findById(id)).thenReturn(Optional.empty());
+        when(curvePointRepository.updateIfVersion(100L, null, null, null, null)).thenReturn(0);
+        when(curvePointRepository.existsById(id)).thenReturn(false);
 
         //When + Then
         assertThrows(EntityNotFoundException.class, () -> curveService.updateCurvePoint(id, curveDTO));
 
-        verify(curvePointRepository).findById(id);
-        verify(curvePointRepository,never()).save(any());
+        verify(curvePointRepository).existsById(id);
+
+    }
+
+    @Test
+    void shouldThrowEntityVersionConflictException_WhenCurvePointWasModifiedSinceRead(){
+        CurveDTO curveDTO = new CurveDTO();
+        curveDTO.setVersion(0L);
+        curveDTO.setCurveId(7);
+
+        when(curvePointRepository.updateIfVersion(3L, 0L, null, 7, null)).thenReturn(0);
+        when(curvePointRepository.existsById(3)).thenReturn(true);
+
+        assertThrows(EntityVersionConflictException.class, () -> curveService.updateCurvePoint(3, curveDTO));
+
+        verify(eventPublisher,never()).publishEvent(any());
 
     }
 
@@ -186,50 +202,44 @@ class CurveServiceTest {
         curveDTO.setValue(11D);
         curveDTO.setTerm(10D);
 
-        CurvePoint curvePoint = new CurvePoint();
-        curvePoint.setId(1L);
-
-        when(curvePointRepository.findById(1)).thenReturn(Optional.of(curvePoint));
-        doThrow(new DataAccessException("DB error") {}).when(curvePointRepository).save(any(CurvePoint.class));
+        doThrow(new DataAccessException("DB error") {}).when(curvePointRepository)
+                .updateIfVersion(1L, null, 10D, 1, 11D);
 
         EntitySaveException ex = assertThrows(EntitySaveException.class, () -> curveService.updateCurvePoint(1, curveDTO));
 
         assertEquals("Failed to update curve point with ID 1", ex.getMessage());
-        verify(curvePointRepository).findById(1);
-        verify(curvePointRepository).save(curvePoint);
+        verify(curvePointRepository,never()).existsById(anyInt());
 
     }
 
     @Test
     void shouldDeleteCurvePointSuccessfully_WhenValidIdProvided(){
-        when(curvePointRepository.existsById(1)).thenReturn(true);
+        when(curvePointRepository.deleteByIdReturningCount(1)).thenReturn(1);
 
         curveService.deleteCurvePoint(1);
 
-        verify(curvePointRepository).deleteById(1);
-        verify(curvePointRepository).existsById(1);
+        verify(curvePointRepository).deleteByIdReturningCount(1);
 
     }
 
     @Test
     void shouldThrowEntityNotFoundException_WhenDeletingNonexistentCurvePoint(){
         int id = 999;
-        when(curvePointRepository.existsById(id)).thenReturn(false);
+        when(curvePointRepository.deleteByIdReturningCount(id)).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> curveService.deleteCurvePoint(id));
 
-        verify(curvePointRepository,never()).deleteById(id);
+        verify(curvePointRepository, never()).existsById(anyInt());
     }
 
     @Test
     void shouldThrowEntityDeleteException_WhenDeleteCurvePointFailsDueToDataAccessException(){
         int id = 999;
-        when(curvePointRepository.existsById(id)).thenReturn(true);
-        doThrow(new DataAccessException("DB error") {}).when(curvePointRepository).deleteById(id);
+        doThrow(new DataAccessException("DB error") {}).when(curvePointRepository).deleteByIdReturningCount(id);
 
         assertThrows(EntityDeleteException.class, () -> curveService.deleteCurvePoint(id));
 
-        verify(curvePointRepository).deleteById(id);
+        verify(curvePointRepository).deleteByIdReturningCount(id);
     }
 
     @Test
@@ -238,7 +248,7 @@ class CurveServiceTest {
 
         assertThrows(IllegalArgumentException.class, () -> curveService.deleteCurvePoint(id));
 
-        verify(curvePointRepository,never()).deleteById(id);
+        verify(curvePointRepository, never()).deleteByIdReturningCount(id);
         verify(curvePointRepository,never()).existsById(id);
     }
 
@@ -7,11 +7,16 @@ import com.nnk.springboot.dto.RatingDTO;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.rating.RatingAgency;
+import com.nnk.springboot.rating.RatingScale;
 import com.nnk.springboot.repositories.RatingRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 
 import java.awt.*;
@@ -28,6 +33,12 @@ class RatingServiceTest {
     @Mock
     RatingRepository ratingRepository;
 
+    @Spy
+    RatingScale ratingScale = new RatingScale();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     RatingService ratingService;
 
@@ -140,20 +151,14 @@ class RatingServiceTest {
         int id=1;
         RatingDTO dto = new RatingDTO();
         dto.setId(id);
-        dto.setFitchRating("newFitchRating");
-        dto.setMoodysRating("newMoodysRating");
-        dto.setSandPRating("newSandRating");
+        dto.setVersion(5L);
+        dto.setFitchRating("AA");
+        dto.setMoodysRating("Aa1");
+        dto.setSandPRating("AA+");
         dto.setOrderNumber(1);
 
-        Rating updateRating = new Rating();
-        updateRating.setId(id);
-        updateRating.setFitchRating("oldFitchRating2");
-        updateRating.setMoodysRating("oldMoodysRating2");
-        updateRating.setSandPRating("oldSandRating2");
-        updateRating.setOrderNumber(2);
-
-        when(ratingRepository.findById(id)).thenReturn(Optional.of(updateRating));
-        when(ratingRepository.save(any(Rating.class))).thenReturn(updateRating);
+        when(ratingRepository.updateIfVersion(eq(id), eq(5L), eq("Aa1"), eq("AA+"), eq("AA"), eq(1),
+                any(), any(), any())).thenReturn(1);
 
         Rating result=ratingService.updateRating(id,dto);
         assertNotNull(result);
@@ -162,9 +167,13 @@ class RatingServiceTest {
         assertEquals(result.getSandPRating(), dto.getSandPRating());
         assertEquals(result.getOrderNumber(), dto.getOrderNumber());
         assertEquals(id, result.getId());
+        assertEquals(6L, result.getVersion());
+        assertNotNull(result.getMoodysNotch());
 
-        verify(ratingRepository,times(1)).findById(id);
-        verify(ratingRepository,times(1)).save(any(Rating.class));
+        verify(ratingRepository,times(1)).updateIfVersion(id, 5L, "Aa1", "AA+", "AA", 1,
+                result.getMoodysNotch(), result.getSandPNotch(), result.getFitchNotch());
+        verify(ratingRepository,never()).findById(anyInt());
+        verify(ratingRepository,never()).save(any(Rating.class));
 
     }
 
@@ -175,15 +184,35 @@ class RatingServiceTest {
         RatingDTO dto = new RatingDTO();
         // ...
 
-        when(ratingRepository.findById(bidId)).thenReturn(Optional.empty());
+        when(ratingRepository.updateIfVersion(eq(bidId), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+        when(ratingRepository.existsById(bidId)).thenReturn(false);
 
         // WHEN + THEN
         assertThrows(EntityNotFoundException.class, () -> {
             ratingService.updateRating(bidId, dto);
         });
 
-        verify(ratingRepository).findById(bidId);
-        verify(ratingRepository, never()).save(any());
+        verify(ratingRepository).existsById(bidId);
+    }
+
+    @Test
+    void shouldThrowEntityVersionConflictException_WhenRatingWasModifiedSinceRead() {
+        // GIVEN
+        int id = 3;
+        RatingDTO dto = new RatingDTO();
+        dto.setVersion(1L);
+
+        when(ratingRepository.updateIfVersion(eq(id), eq(1L), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+        when(ratingRepository.existsById(id)).thenReturn(true);
+
+        // WHEN + THEN
+        assertThrows(EntityVersionConflictException.class, () -> {
+            ratingService.updateRating(id, dto);
+        });
+
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -197,16 +226,8 @@ class RatingServiceTest {
         dto.setSandPRating("newSandRating");
         dto.setOrderNumber(1);
 
-
-        Rating updateRating = new Rating();
-        updateRating.setId(id);
-        updateRating.setFitchRating("oldFitchRating2");
-        updateRating.setMoodysRating("oldMoodysRating2");
-        updateRating.setSandPRating("oldSandRating2");
-        updateRating.setOrderNumber(1);
-
-        when(ratingRepository.findById(id)).thenReturn(Optional.of(updateRating));
-        doThrow(new DataAccessException("DB error") {}).when(ratingRepository).save(updateRating);
+        doThrow(new DataAccessException("DB error") {}).when(ratingRepository)
+                .updateIfVersion(eq(id), any(), any(), any(), any(), any(), any(), any(), any());
 
         // WHEN + THEN
         EntitySaveException ex = assertThrows(EntitySaveException.class, () -> {
@@ -214,8 +235,7 @@ class RatingServiceTest {
         });
 
         assertEquals("Failed to update rating with ID 1", ex.getMessage());
-        verify(ratingRepository).findById(id);
-        verify(ratingRepository).save(updateRating);
+        verify(ratingRepository, never()).existsById(anyInt());
     }
 
     @Test
@@ -224,14 +244,13 @@ class RatingServiceTest {
         int bidId = 1;
 
         // Simuler l'existence de l'entité
-        when(ratingRepository.existsById(bidId)).thenReturn(true);
+        when(ratingRepository.deleteByIdReturningCount(bidId)).thenReturn(1);
 
         // WHEN
         ratingService.deleteRating(bidId);
 
         // THEN
-        verify(ratingRepository).existsById(bidId);
-        verify(ratingRepository).deleteById(bidId);
+        verify(ratingRepository).deleteByIdReturningCount(bidId);
     }
 
     @Test
@@ -240,7 +259,7 @@ class RatingServiceTest {
         int bidId = 999;
 
         // Simuler l'absence de l'entité
-        when(ratingRepository.existsById(bidId)).thenReturn(false);
+        when(ratingRepository.deleteByIdReturningCount(bidId)).thenReturn(0);
 
         // WHEN + THEN
         assertThrows(EntityNotFoundException.class, () -> {
@@ -248,25 +267,24 @@ class RatingServiceTest {
         });
 
         // Vérifier que deleteById n'a pas été appelé
-        verify(ratingRepository, never()).deleteById(anyInt());
+        verify(ratingRepository, never()).existsById(anyInt());
     }
 
     @Test
     void shouldThrowEntityDeleteException_WhenDeleteRatingFailsDueToDataAccessException() {
         // GIVEN
         int bidId = 2;
-        when(ratingRepository.existsById(bidId)).thenReturn(true);
 
         // Simuler une exception au moment de la suppression
         doThrow(new DataAccessException("DB error") {})
-                .when(ratingRepository).deleteById(bidId);
+                .when(ratingRepository).deleteByIdReturningCount(bidId);
 
         // WHEN + THEN
         assertThrows(EntityDeleteException.class, () -> {
             ratingService.deleteRating(bidId);
         });
 
-        verify(ratingRepository).deleteById(bidId);
+        verify(ratingRepository).deleteByIdReturningCount(bidId);
     }
 
     @Test
@@ -281,7 +299,7 @@ class RatingServiceTest {
 
         // Vérifier que le repository n'est jamais appelé
         verify(ratingRepository, never()).existsById(anyInt());
-        verify(ratingRepository, never()).deleteById(anyInt());
+        verify(ratingRepository, never()).deleteByIdReturningCount(anyInt());
     }
 
     @Test
@@ -337,4 +355,37 @@ class RatingServiceTest {
         verify(ratingRepository, never()).findById(anyInt());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void shouldStoreNotches_WhenSaveRatingCalled() {
+        RatingDTO dto = new RatingDTO();
+        dto.setMoodysRating("Baa3");
+        dto.setSandPRating("BBB-");
+        dto.setFitchRating("unknown");
+        dto.setOrderNumber(1);
+        when(ratingRepository.save(any(Rating.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Rating saved = ratingService.saveRating(dto);
+
+        assertEquals(10, saved.getMoodysNotch());
+        assertEquals(10, saved.getSandPNotch());
+        assertNull(saved.getFitchNotch());
+    }
+
+    @Test
+    void shouldQueryNotchRange_WhenGetRatingsBetweenCalled() {
+        Rating rating = new Rating();
+        when(ratingRepository.findBySandPNotchBetweenOrderBySandPNotchAsc(5, 10)).thenReturn(List.of(rating));
+
+        List<Rating> ratings = ratingService.getRatingsBetween(RatingAgency.SANDP, "BBB-", "A+");
+
+        assertEquals(List.of(rating), ratings);
+    }
+
+    @Test
+    void shouldThrowIllegalArgumentException_WhenRangeBoundUnknown() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ratingService.getRatingsBetween(RatingAgency.MOODYS, "BBB-", "A1"));
+        verifyNoInteractions(ratingRepository);
+    }
+}
@@ -5,11 +5,13 @@ import com.nnk.springboot.dto.RuleNameDTO;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.repositories.RuleNameRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 
 import java.util.List;
@@ -26,6 +28,9 @@ class RuleNameServiceTest {
     @Mock
     private RuleNameRepository ruleNameRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RuleNameService ruleNameService;
 
@@ -169,6 +174,7 @@ class RuleNameServiceTest {
         // GIVEN
         int id = 1;
         RuleNameDTO ruleNameDTO = new RuleNameDTO();
+        ruleNameDTO.setVersion(0L);
         ruleNameDTO.setName("testNew");
         ruleNameDTO.setDescription("newDescription");
         ruleNameDTO.setJson("newJson");
@@ -176,22 +182,16 @@ class RuleNameServiceTest {
         ruleNameDTO.setSqlPart("newSqlPart");
         ruleNameDTO.setSql("newSqlStr");
 
-        RuleName existingRule = new RuleName();
-        existingRule.setName("test1");
-        existingRule.setDescription("description");
-        existingRule.setJson("json");
-        existingRule.setTemplate("template");
-        existingRule.setSqlPart("SqlPart");
-        existingRule.setSqlStr("sqlStr");
-
-        when(ruleNameRepository.findById(id)).thenReturn(Optional.of(existingRule));
-        when(ruleNameRepository.save(any(RuleName.class))).thenReturn(existingRule);
+        when(ruleNameRepository.updateIfVersion(id, 0L, "testNew", "newDescription", "newJson",
+                "newTemplate", "newSqlStr", "newSqlPart")).thenReturn(1);
 
         // WHEN
         RuleName result = ruleNameService.updateRuleName(id, ruleNameDTO);
 
         // THEN
         assertNotNull(result);
+        assertEquals(id, result.getId());
+        assertEquals(1L, result.getVersion());
         assertEquals("testNew", result.getName());
         assertEquals("newDescription", result.getDescription());
         assertEquals("newJson", result.getJson());
@@ -199,8 +199,8 @@ class RuleNameServiceTest {
         assertEquals("newSqlPart", result.getSqlPart());
         assertEquals("newSqlStr", result.getSqlStr());
 
-        verify(ruleNameRepository).findById(id);
-        verify(ruleNameRepository).save(existingRule);
+        verify(ruleNameRepository, never()).findById(anyInt());
+        verify(ruleNameRepository, never()).save(any());
     }
 
     @Test
@@ -210,15 +210,34 @@ class RuleNameServiceTest {
         RuleNameDTO dto = new RuleNameDTO();
         // ...
 
-        when(ruleNameRepository.findById(id)).thenReturn(Optional.empty());
+        when(ruleNameRepository.updateIfVersion(id, null, null, null, null, null, null, null)).thenReturn(0);
+        when(ruleNameRepository.existsById(id)).thenReturn(false);
 
         // WHEN + THEN
         assertThrows(EntityNotFoundException.class, () -> {
             ruleNameService.updateRuleName(id, dto);
         });
 
-        verify(ruleNameRepository).findById(id);
-        verify(ruleNameRepository, never()).save(any());
+        verify(ruleNameRepository).existsById(id);
+    }
+
+    @Test
+    void shouldThrowEntityVersionConflictException_WhenRuleNameWasModifiedSinceRead() {
+        // GIVEN
+        int id = 4;
+        RuleNameDTO dto = new RuleNameDTO();
+        dto.setVersion(2L);
+        dto.setName("stale");
+
+        when(ruleNameRepository.updateIfVersion(id, 2L, "stale", null, null, null, null, null)).thenReturn(0);
+        when(ruleNameRepository.existsById(id)).thenReturn(true);
+
+        // WHEN + THEN
+        assertThrows(EntityVersionConflictException.class, () -> {
+            ruleNameService.updateRuleName(id, dto);
+        });
+
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -233,17 +252,9 @@ class RuleNameServiceTest {
         ruleNameDTO.setSqlPart("newSqlPart");
         ruleNameDTO.setSql("newSqlStr");
 
-        RuleName existingRule = new RuleName();
-        existingRule.setName("test1");
-        existingRule.setDescription("description");
-        existingRule.setJson("json");
-        existingRule.setTemplate("template");
-        existingRule.setSqlPart("SqlPart");
-        existingRule.setSqlStr("sqlStr");
-
-        when(ruleNameRepository.findById(id)).thenReturn(Optional.of(existingRule));
         doThrow(new DataAccessException("DB error") {
-        }).when(ruleNameRepository).save(existingRule);
+        }).when(ruleNameRepository).updateIfVersion(id, null, "testNew", "newDescription", "newJson",
+                "newTemplate", "newSqlStr", "newSqlPart");
 
         // WHEN + THEN
         EntitySaveException ex = assertThrows(EntitySaveException.class, () -> {
@@ -251,8 +262,7 @@ class RuleNameServiceTest {
         });
         assertEquals("Failed to update rule with ID 1", ex.getMessage());
 
-        verify(ruleNameRepository).findById(id);
-        verify(ruleNameRepository).save(existingRule);
+        verify(ruleNameRepository, never()).existsById(anyInt());
     }
 
     @Test
@@ -261,14 +271,13 @@ class RuleNameServiceTest {
         int id = 1;
 
         // Simuler l'existence de l'entité
-        when(ruleNameRepository.existsById(id)).thenReturn(true);
+        when(ruleNameRepository.deleteByIdReturningCount(id)).thenReturn(1);
 
         // WHEN
         ruleNameService.deleteRuleNameById(id);
 
         // THEN
-        verify(ruleNameRepository).existsById(id);
-        verify(ruleNameRepository).deleteById(id);
+        verify(ruleNameRepository).deleteByIdReturningCount(id);
     }
 
     @Test
@@ -277,7 +286,7 @@ class RuleNameServiceTest {
         int id = 999;
 
         // Simuler l'absence de l'entité
-        when(ruleNameRepository.existsById(id)).thenReturn(false);
+        when(ruleNameRepository.deleteByIdReturningCount(id)).thenReturn(0);
 
         // WHEN + THEN
         assertThrows(EntityNotFoundException.class, () -> {
@@ -285,26 +294,25 @@ class RuleNameServiceTest {
         });
 
         // Vérifier que deleteById n'a pas été appelé
-        verify(ruleNameRepository, never()).deleteById(anyInt());
+        verify(ruleNameRepository, never()).existsById(anyInt());
     }
 
     @Test
     void shouldThrowEntityDeleteException_WhenDeleteRuleNameFailsDueToDataAccessException() {
         // GIVEN
         int id = 2;
-        when(ruleNameRepository.existsById(id)).thenReturn(true);
 
         // Simuler une exception au moment de la suppression
         doThrow(new DataAccessException("DB error") {
         })
-                .when(ruleNameRepository).deleteById(id);
+                .when(ruleNameRepository).deleteByIdReturningCount(id);
 
         // WHEN + THEN
         assertThrows(EntityDeleteException.class, () -> {
             ruleNameService.deleteRuleNameById(id);
         });
 
-        verify(ruleNameRepository).deleteById(id);
+        verify(ruleNameRepository).deleteByIdReturningCount(id);
     }
 
     @Test
@@ -319,7 +327,7 @@ class RuleNameServiceTest {
 
         // Vérifier que le repository n'est jamais appelé
         verify(ruleNameRepository, never()).existsById(anyInt());
-        verify(ruleNameRepository, never()).deleteById(anyInt());
+        verify(ruleNameRepository, never()).deleteByIdReturningCount(anyInt());
     }
 
     @Test
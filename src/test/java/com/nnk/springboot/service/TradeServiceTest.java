@@ -1,17 +1,25 @@
 package com.nnk.springboot.service;
 
+import com.nnk.springboot.domain.ArchivedTrade;
 import com.nnk.springboot.domain.Trade;
 import com.nnk.springboot.dto.TradeDTO;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
+import com.nnk.springboot.repositories.TradeArchiveRepository;
 import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.security.CurrentUser;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +32,12 @@ class TradeServiceTest {
     @Mock
     private TradeRepository tradeRepository;
 
+    @Mock
+    private TradeArchiveRepository tradeArchiveRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TradeService tradeService;
 
@@ -182,6 +196,37 @@ class TradeServiceTest {
         verify(tradeRepository, times(1)).save(any(Trade.class));
     }
 
+    @Test
+    void shouldStampCreationAndRevisionColumnsWithTheCurrentUser() {
+        // GIVEN
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("alice", null, List.of()));
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setAccount("TestAccount");
+        tradeDTO.setType("TestType");
+        tradeDTO.setVersion(0L);
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tradeRepository.updateIfVersion(eq(1), eq(0L), eq("TestAccount"), isNull(), eq("TestType"),
+                eq("alice"), any())).thenReturn(1);
+
+        // WHEN
+        Trade created;
+        Trade updated;
+        try {
+            created = tradeService.saveTrade(tradeDTO);
+            updated = tradeService.updateBidList(1, tradeDTO);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        // THEN
+        assertEquals("alice", created.getCreationName());
+        assertNotNull(created.getCreationDate());
+        assertEquals(created.getCreationDate(), created.getTradeDate());
+        assertEquals("alice", updated.getRevisionName());
+        assertNotNull(updated.getRevisionDate());
+    }
+
     @Test
     void shouldThrowIllegalArgumentException_WhenNullTradeDTOProvidedForSave() {
         // GIVEN
@@ -220,28 +265,27 @@ class TradeServiceTest {
         int tradeId = 10;
         TradeDTO tradeDTO = new TradeDTO();
         tradeDTO.setId(tradeId);
+        tradeDTO.setVersion(3L);
         tradeDTO.setAccount("UpdatedAccount");
         tradeDTO.setType("UpdatedType");
         tradeDTO.setBuyQuantity(555.5);
 
-        Trade existingTrade = new Trade();
-        existingTrade.setTradeId(tradeId);
-        existingTrade.setAccount("OldAccount");
-        existingTrade.setType("OldType");
-        existingTrade.setBuyQuantity(100.0);
-
-        when(tradeRepository.findById(tradeId)).thenReturn(Optional.of(existingTrade));
-        when(tradeRepository.save(any(Trade.class))).thenReturn(existingTrade);
+        when(tradeRepository.updateIfVersion(eq(tradeId), eq(3L), eq("UpdatedAccount"), eq(555.5), eq("UpdatedType"),
+                eq(CurrentUser.SYSTEM), any())).thenReturn(1);
 
         // WHEN
-       Trade result = tradeService.updateBidList(tradeId, tradeDTO);
+        Trade result = tradeService.updateBidList(tradeId, tradeDTO);
 
         // THEN
-        verify(tradeRepository).findById(tradeId);
-        verify(tradeRepository).save(existingTrade);
+        verify(tradeRepository).updateIfVersion(eq(tradeId), eq(3L), eq("UpdatedAccount"), eq(555.5), eq("UpdatedType"),
+                eq(CurrentUser.SYSTEM), any());
+        verify(tradeRepository, never()).findById(anyInt());
+        verify(tradeRepository, never()).save(any(Trade.class));
+        assertEquals(tradeId, result.getTradeId());
+        assertEquals(4L, result.getVersion());
         assertEquals("UpdatedAccount", result.getAccount());
         assertEquals("UpdatedType", result.getType());
-        assertEquals(555.5, existingTrade.getBuyQuantity());
+        assertEquals(555.5, result.getBuyQuantity());
     }
 
     @Test
@@ -255,8 +299,7 @@ class TradeServiceTest {
             tradeService.updateBidList(tradeId, tradeDTO);
         });
         assertTrue(ex.getMessage().contains("cannot be null"));
-        verify(tradeRepository, never()).findById(anyInt());
-        verify(tradeRepository, never()).save(any(Trade.class));
+        verify(tradeRepository, never()).updateIfVersion(anyInt(), any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -268,14 +311,36 @@ class TradeServiceTest {
         tradeDTO.setType("NewType");
         tradeDTO.setBuyQuantity(10.0);
 
-        when(tradeRepository.findById(tradeId)).thenReturn(Optional.empty());
+        when(tradeRepository.updateIfVersion(eq(tradeId), isNull(), eq("NewAccount"), eq(10.0), eq("NewType"),
+                eq(CurrentUser.SYSTEM), any())).thenReturn(0);
+        when(tradeRepository.existsById(tradeId)).thenReturn(false);
 
         // WHEN + THEN
         assertThrows(EntityNotFoundException.class, () -> {
             tradeService.updateBidList(tradeId, tradeDTO);
         });
-        verify(tradeRepository).findById(tradeId);
-        verify(tradeRepository, never()).save(any(Trade.class));
+        verify(tradeRepository).existsById(tradeId);
+    }
+
+    @Test
+    void shouldThrowEntityVersionConflictException_WhenTradeWasModifiedSinceRead() {
+        // GIVEN
+        int tradeId = 5;
+        TradeDTO tradeDTO = new TradeDTO();
+        tradeDTO.setVersion(1L);
+        tradeDTO.setAccount("StaleAccount");
+        tradeDTO.setType("StaleType");
+        tradeDTO.setBuyQuantity(20.0);
+
+        when(tradeRepository.updateIfVersion(eq(tradeId), eq(1L), eq("StaleAccount"), eq(20.0), eq("StaleType"),
+                eq(CurrentUser.SYSTEM), any())).thenReturn(0);
+        when(tradeRepository.existsById(tradeId)).thenReturn(true);
+
+        // WHEN + THEN
+        assertThrows(EntityVersionConflictException.class, () -> {
+            tradeService.updateBidList(tradeId, tradeDTO);
+        });
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -288,36 +353,29 @@ class TradeServiceTest {
         dto.setType("FailType");
         dto.setBuyQuantity(999.99);
 
-        Trade existingTrade = new Trade();
-        existingTrade.setTradeId(tradeId);
-        existingTrade.setAccount("OldAccount");
-        existingTrade.setType("OldType");
-        existingTrade.setBuyQuantity(10.0);
-
-        when(tradeRepository.findById(tradeId)).thenReturn(Optional.of(existingTrade));
-        doThrow(new DataAccessException("DB error") {}).when(tradeRepository).save(existingTrade);
+        doThrow(new DataAccessException("DB error") {}).when(tradeRepository)
+                .updateIfVersion(eq(tradeId), isNull(), eq("FailAccount"), eq(999.99), eq("FailType"),
+                        eq(CurrentUser.SYSTEM), any());
 
         // WHEN + THEN
         EntitySaveException ex = assertThrows(EntitySaveException.class, () -> {
             tradeService.updateBidList(tradeId, dto);
         });
         assertTrue(ex.getMessage().contains("Failed to update trade with ID"));
-        verify(tradeRepository).findById(tradeId);
-        verify(tradeRepository).save(existingTrade);
+        verify(tradeRepository, never()).existsById(anyInt());
     }
 
     @Test
     void shouldDeleteTradeSuccessfully_WhenValidIdProvided() {
         // GIVEN
         int tradeId = 2;
-        when(tradeRepository.existsById(tradeId)).thenReturn(true);
+        when(tradeRepository.deleteByIdReturningCount(tradeId)).thenReturn(1);
 
         // WHEN
         tradeService.deleteTrade(tradeId);
 
         // THEN
-        verify(tradeRepository).existsById(tradeId);
-        verify(tradeRepository).deleteById(tradeId);
+        verify(tradeRepository).deleteByIdReturningCount(tradeId);
     }
 
     @Test
@@ -331,32 +389,136 @@ class TradeServiceTest {
         });
         assertTrue(ex.getMessage().contains("must be a positive integer."));
         verify(tradeRepository, never()).existsById(anyInt());
-        verify(tradeRepository, never()).deleteById(anyInt());
+        verify(tradeRepository, never()).deleteByIdReturningCount(anyInt());
     }
 
     @Test
     void shouldThrowEntityNotFoundException_WhenDeletingNonexistentTrade() {
         // GIVEN
         int tradeId = 999;
-        when(tradeRepository.existsById(tradeId)).thenReturn(false);
+        when(tradeRepository.deleteByIdReturningCount(tradeId)).thenReturn(0);
 
         // WHEN + THEN
         assertThrows(EntityNotFoundException.class, () -> {
             tradeService.deleteTrade(tradeId);
         });
-        verify(tradeRepository).existsById(tradeId);
-        verify(tradeRepository, never()).deleteById(anyInt());
+        verify(tradeRepository, never()).existsById(anyInt());
     }
 
     @Test
     void shouldThrowEntityDeleteException_WhenDeleteTradeFailsDueToDataAccessException() {
         // GIVEN
         int tradeId = 3;
-        when(tradeRepository.existsById(tradeId)).thenReturn(true);
-        doThrow(new DataAccessException("DB error") {}).when(tradeRepository).deleteById(tradeId);
+        doThrow(new DataAccessException("DB error") {}).when(tradeRepository).deleteByIdReturningCount(tradeId);
 
         // WHEN + THEN
         assertThrows(EntityDeleteException.class, () -> tradeService.deleteTrade(tradeId));
-        verify(tradeRepository).deleteById(tradeId);
+        verify(tradeRepository).deleteByIdReturningCount(tradeId);
+    }
+
+    @Test
+    void shouldPublishOneEventPerMovedTrade_WhenReassignAccountMovesAllTrades() {
+        // GIVEN
+        when(tradeRepository.reassignAccount(eq(List.of(1, 2)), eq("Old"), eq("New"),
+                eq(CurrentUser.SYSTEM), any())).thenReturn(2);
+
+        // WHEN
+        int moved = tradeService.reassignAccount(List.of(1, 2), "Old", "New");
+
+        // THEN
+        assertEquals(2, moved);
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+        verify(tradeRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldReadTradesBack_WhenReassignAccountMovesFewerTrades() {
+        // GIVEN
+        Trade moved = new Trade();
+        moved.setTradeId(1);
+        moved.setAccount("New");
+        Trade untouched = new Trade();
+        untouched.setTradeId(2);
+        untouched.setAccount("Other");
+        when(tradeRepository.reassignAccount(eq(List.of(1, 2)), eq("Old"), eq("New"),
+                eq(CurrentUser.SYSTEM), any())).thenReturn(1);
+        when(tradeRepository.findAllById(List.of(1, 2))).thenReturn(List.of(moved, untouched));
+
+        // WHEN
+        int result = tradeService.reassignAccount(List.of(1, 2), "Old", "New");
+
+        // THEN
+        assertEquals(1, result);
+        verify(tradeRepository).findAllById(List.of(1, 2));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldCopyThenDeleteTrades_WhenArchiveTradesCalled() {
+        // GIVEN
+        when(tradeArchiveRepository.copyFromTrade(eq(List.of(1, 2)), any())).thenReturn(2);
+        when(tradeRepository.deleteAllByIdReturningCount(List.of(1, 2))).thenReturn(2);
+
+        // WHEN
+        int archived = tradeService.archiveTrades(List.of(1, 2));
+
+        // THEN
+        assertEquals(2, archived);
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldThrowEntitySaveException_WhenArchivedTradesChangedConcurrently() {
+        // GIVEN
+        when(tradeArchiveRepository.copyFromTrade(eq(List.of(1, 2)), any())).thenReturn(2);
+        when(tradeRepository.deleteAllByIdReturningCount(List.of(1, 2))).thenReturn(1);
+
+        // WHEN + THEN
+        assertThrows(EntitySaveException.class, () -> tradeService.archiveTrades(List.of(1, 2)));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldLookInTheArchive_WhenTradeIsMissingAndArchiveIncluded() {
+        // GIVEN
+        ArchivedTrade archivedTrade = new ArchivedTrade();
+        archivedTrade.setTradeId(7);
+        archivedTrade.setAccount("Old");
+        when(tradeRepository.findById(7)).thenReturn(Optional.empty());
+        when(tradeArchiveRepository.findById(7)).thenReturn(Optional.of(archivedTrade));
+
+        // WHEN
+        TradeDTO result = tradeService.getTradeDTOById(7, true);
+
+        // THEN
+        assertTrue(result.isArchived());
+        assertEquals("Old", result.getAccount());
+        assertThrows(EntityNotFoundException.class, () -> tradeService.getTradeDTOById(7, false));
+    }
+
+    @Test
+    void shouldMergeArchivedTradesByTradeDate_WhenArchiveIncluded() {
+        // GIVEN
+        LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2021, 1, 1, 0, 0);
+        Trade hot = new Trade();
+        hot.setTradeId(2);
+        hot.setTradeDate(LocalDateTime.of(2020, 6, 1, 0, 0));
+        ArchivedTrade cold = new ArchivedTrade();
+        cold.setTradeId(1);
+        cold.setTradeDate(LocalDateTime.of(2020, 3, 1, 0, 0));
+        when(tradeRepository.findByTradeDateGreaterThanEqualAndTradeDateLessThanOrderByTradeDateAsc(from, to))
+                .thenReturn(List.of(hot));
+        when(tradeArchiveRepository.findByTradeDateGreaterThanEqualAndTradeDateLessThanOrderByTradeDateAsc(from, to))
+                .thenReturn(List.of(cold));
+
+        // WHEN
+        List<TradeDTO> withArchive = tradeService.getTradeDTOsByTradeDate(from, to, true);
+        List<TradeDTO> hotOnly = tradeService.getTradeDTOsByTradeDate(from, to, false);
+
+        // THEN
+        assertEquals(List.of(1, 2), withArchive.stream().map(TradeDTO::getId).toList());
+        assertEquals(List.of(2), hotOnly.stream().map(TradeDTO::getId).toList());
+        assertThrows(IllegalArgumentException.class, () -> tradeService.getTradeDTOsByTradeDate(to, from, true));
     }
 }
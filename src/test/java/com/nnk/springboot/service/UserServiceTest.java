@@ -5,11 +5,13 @@ import com.nnk.springboot.dto.UserDTO;
 import com.nnk.springboot.exception.EntityDeleteException;
 import com.nnk.springboot.exception.EntityNotFoundException;
 import com.nnk.springboot.exception.EntitySaveException;
+import com.nnk.springboot.exception.EntityVersionConflictException;
 import com.nnk.springboot.repositories.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -28,6 +30,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -221,34 +226,30 @@ class UserServiceTest {
         // GIVEN
         int userId = 10;
         UserDTO dto = new UserDTO();
+        dto.setVersion(7L);
         dto.setUsername("updatedName");
         dto.setPassword("updatedPass");
         dto.setFullname("Updated FullName");
         dto.setRole("ROLE_USER");
 
-        User existingUser = new User();
-        existingUser.setId(userId);
-        existingUser.setUsername("oldName");
-        existingUser.setPassword("oldPass");
-        existingUser.setFullName("Old FullName");
-        existingUser.setRole("ROLE_ADMIN");
-
-        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
         when(passwordEncoder.encode("updatedPass")).thenReturn("encodedUpdatedPass");
-        when(userRepository.save(any(User.class))).thenReturn(existingUser);
+        when(userRepository.updateIfVersion(userId, 7L, "updatedName", "encodedUpdatedPass",
+                "Updated FullName", "ROLE_USER")).thenReturn(1);
 
         // WHEN
         User updated = userService.updateUser(userId, dto);
 
         // THEN
-        verify(userRepository).findById(userId);
         verify(passwordEncoder).encode("updatedPass");
-        verify(userRepository).save(existingUser);
-        assertEquals("updatedName", existingUser.getUsername());
-        assertEquals("encodedUpdatedPass", existingUser.getPassword());
-        assertEquals("Updated FullName", existingUser.getFullName());
-        assertEquals("ROLE_USER", existingUser.getRole());
+        verify(userRepository, never()).findById(anyInt());
+        verify(userRepository, never()).save(any(User.class));
         assertNotNull(updated);
+        assertEquals(userId, updated.getId());
+        assertEquals(8L, updated.getVersion());
+        assertEquals("updatedName", updated.getUsername());
+        assertEquals("encodedUpdatedPass", updated.getPassword());
+        assertEquals("Updated FullName", updated.getFullName());
+        assertEquals("ROLE_USER", updated.getRole());
     }
 
     @Test
@@ -262,8 +263,7 @@ class UserServiceTest {
             userService.updateUser(userId, dto);
         });
         assertTrue(ex.getMessage().contains("cannot be null"));
-        verify(userRepository, never()).findById(anyInt());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).updateIfVersion(anyInt(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -276,15 +276,40 @@ class UserServiceTest {
         dto.setFullname("someFullName");
         dto.setRole("ROLE_USER");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(passwordEncoder.encode("somePass")).thenReturn("encodedSomePass");
+        when(userRepository.updateIfVersion(userId, null, "someName", "encodedSomePass",
+                "someFullName", "ROLE_USER")).thenReturn(0);
+        when(userRepository.existsById(userId)).thenReturn(false);
 
         // WHEN + THEN
         EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () -> {
             userService.updateUser(userId, dto);
         });
-        assertTrue(ex.getMessage().contains("user not found with id"));
-        verify(userRepository).findById(userId);
-        verify(userRepository, never()).save(any(User.class));
+        assertTrue(ex.getMessage().contains("User not found with ID"));
+        verify(userRepository).existsById(userId);
+    }
+
+    @Test
+    void shouldThrowEntityVersionConflictException_WhenUserWasModifiedSinceRead() {
+        // GIVEN
+        int userId = 3;
+        UserDTO dto = new UserDTO();
+        dto.setVersion(1L);
+        dto.setUsername("staleName");
+        dto.setPassword("stalePass");
+        dto.setFullname("staleFullName");
+        dto.setRole("ROLE_USER");
+
+        when(passwordEncoder.encode("stalePass")).thenReturn("encodedStalePass");
+        when(userRepository.updateIfVersion(userId, 1L, "staleName", "encodedStalePass",
+                "staleFullName", "ROLE_USER")).thenReturn(0);
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        // WHEN + THEN
+        assertThrows(EntityVersionConflictException.class, () -> {
+            userService.updateUser(userId, dto);
+        });
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -297,34 +322,29 @@ class UserServiceTest {
         dto.setFullname("failFullName");
         dto.setRole("ROLE_ADMIN");
 
-        User existingUser = new User();
-        existingUser.setId(userId);
-
-        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
         when(passwordEncoder.encode("failPass")).thenReturn("encodedFailPass");
-        doThrow(new DataAccessException("DB error") {}).when(userRepository).save(existingUser);
+        doThrow(new DataAccessException("DB error") {}).when(userRepository)
+                .updateIfVersion(userId, null, "failName", "encodedFailPass", "failFullName", "ROLE_ADMIN");
 
         // WHEN + THEN
         EntitySaveException ex = assertThrows(EntitySaveException.class, () -> {
             userService.updateUser(userId, dto);
         });
-        assertEquals("Failed to update user.", ex.getMessage());
-        verify(userRepository).findById(userId);
-        verify(userRepository).save(existingUser);
+        assertEquals("Failed to update user with ID 2", ex.getMessage());
+        verify(userRepository, never()).existsById(anyInt());
     }
 
     @Test
     void shouldDeleteUserSuccessfully_WhenValidIdProvided() {
         // GIVEN
         int userId = 3;
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.deleteByIdReturningCount(userId)).thenReturn(1);
 
         // WHEN
         userService.deleteUser(userId);
 
         // THEN
-        verify(userRepository).existsById(userId);
-        verify(userRepository).deleteById(userId);
+        verify(userRepository).deleteByIdReturningCount(userId);
     }
 
     @Test
@@ -338,36 +358,34 @@ class UserServiceTest {
         });
         assertTrue(ex.getMessage().contains("must be a positive integer."));
         verify(userRepository, never()).existsById(anyInt());
-        verify(userRepository, never()).deleteById(anyInt());
+        verify(userRepository, never()).deleteByIdReturningCount(anyInt());
     }
 
     @Test
     void shouldThrowEntityNotFoundException_WhenDeletingNonexistentUser() {
         // GIVEN
         int userId = 999;
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.deleteByIdReturningCount(userId)).thenReturn(0);
 
         // WHEN + THEN
         EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () -> {
             userService.deleteUser(userId);
         });
         assertTrue(ex.getMessage().contains("User not found with ID"));
-        verify(userRepository).existsById(userId);
-        verify(userRepository, never()).deleteById(anyInt());
+        verify(userRepository, never()).existsById(anyInt());
     }
 
     @Test
     void shouldThrowEntityDeleteException_WhenDeleteUserFailsDueToDataAccessException() {
         // GIVEN
         int userId = 4;
-        when(userRepository.existsById(userId)).thenReturn(true);
-        doThrow(new DataAccessException("DB error") {}).when(userRepository).deleteById(userId);
+        doThrow(new DataAccessException("DB error") {}).when(userRepository).deleteByIdReturningCount(userId);
 
         // WHEN + THEN
         EntityDeleteException ex = assertThrows(EntityDeleteException.class, () -> {
             userService.deleteUser(userId);
         });
         assertTrue(ex.getMessage().contains("Failed to delete user with ID"));
-        verify(userRepository).deleteById(userId);
+        verify(userRepository).deleteByIdReturningCount(userId);
     }
 }
@@ -0,0 +1,63 @@
+package com.nnk.springboot.session;
+
+import com.nnk.springboot.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionAttributeSerializerTest {
+
+    private final SessionAttributeSerializer serializer =
+            new SessionAttributeSerializer(256, getClass().getClassLoader());
+
+    @Test
+    void serialize_ShouldKeepSmallAttributesUncompressed() {
+        byte[] bytes = serializer.serialize("/bidList/list");
+
+        assertEquals((byte) 0xAC, bytes[0]);
+        assertEquals("/bidList/list", serializer.deserialize(bytes));
+    }
+
+    @Test
+    void serialize_ShouldDeflateASecurityContextByMoreThanAThird() {
+        SecurityContext context = securityContext();
+        byte[] plain = new SerializingConverter().convert(context);
+
+        byte[] bytes = serializer.serialize(context);
+
+        assertEquals(SessionAttributeSerializer.DEFLATED, bytes[0]);
+        assertTrue(bytes.length * 3 < plain.length * 2, bytes.length + " bytes deflated from " + plain.length);
+        SecurityContext read = (SecurityContext) serializer.deserialize(bytes);
+        assertEquals("alice", read.getAuthentication().getName());
+        assertEquals("ROLE_ADMIN", read.getAuthentication().getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void deserialize_ShouldReadAttributesOfTheDefaultConverter() {
+        byte[] plain = new SerializingConverter().convert(securityContext());
+
+        SecurityContext read = (SecurityContext) serializer.deserialize(plain);
+
+        assertEquals("alice", read.getAuthentication().getName());
+    }
+
+    @Test
+    void serialize_ShouldRejectAttributesThatAreNotSerializable() {
+        assertThrows(SerializationFailedException.class, () -> serializer.serialize(new Object()));
+        assertThrows(SerializationFailedException.class, () -> serializer.deserialize(new byte[]{1, 2, 3}));
+    }
+
+    private static SecurityContext securityContext() {
+        User user = new User();
+        user.setId(42);
+        user.setUsername("alice");
+        user.setFullName("Alice Martin");
+        user.setRole("ROLE_ADMIN");
+        return new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+}